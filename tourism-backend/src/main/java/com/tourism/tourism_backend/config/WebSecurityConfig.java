@@ -48,7 +48,9 @@ public class WebSecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtFilter jwtAuthenticationFilter) throws Exception {
         http.csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/users/register", "/api/users/login", "/api/attractions").permitAll()
+                .requestMatchers("/api/users/register", "/api/users/login", "/api/attractions", "/api/attractions/search",
+                        "/api/attractions/search/fuzzy", "/api/attractions/search/autocomplete",
+                        "/api/attractions/nearby", "/api/attractions/nearest", "/api/attractions/map").permitAll()
                 .requestMatchers("/api/users/logout", "/api/users/profile",
                                 "/api/attractions/{id}/traffic", "/api/trips", "/api/reviews, /api/admin").authenticated()
                 .anyRequest().authenticated()
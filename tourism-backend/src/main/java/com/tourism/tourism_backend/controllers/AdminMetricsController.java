@@ -0,0 +1,80 @@
+package com.tourism.tourism_backend.controllers;
+
+import com.tourism.tourism_backend.dto.AttractionCacheMetricsDTO;
+import com.tourism.tourism_backend.dto.TrafficBufferMetricsDTO;
+import com.tourism.tourism_backend.dto.TrafficDedupMetricsDTO;
+import com.tourism.tourism_backend.dto.TrafficQueueMetricsDTO;
+import com.tourism.tourism_backend.services.AttractionDetailCache;
+import com.tourism.tourism_backend.services.TrafficCounterBuffer;
+import com.tourism.tourism_backend.services.TrafficDeduplicator;
+import com.tourism.tourism_backend.services.TrafficIngestionQueue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller exposing operational metrics of in-memory components (Admin only).
+ */
+@RestController
+@RequestMapping("/api/admin/metrics")
+public class AdminMetricsController {
+
+    @Autowired
+    private TrafficCounterBuffer trafficCounterBuffer;
+
+    @Autowired
+    private TrafficIngestionQueue trafficIngestionQueue;
+
+    @Autowired
+    private TrafficDeduplicator trafficDeduplicator;
+
+    @Autowired
+    private AttractionDetailCache attractionDetailCache;
+
+    /**
+     * GET endpoint to retrieve the size and flush lag of the write-behind traffic buffer.
+     *
+     * @return ResponseEntity with the traffic buffer metrics
+     */
+    @GetMapping("/traffic-buffer")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TrafficBufferMetricsDTO> getTrafficBufferMetrics() {
+        return ResponseEntity.ok(trafficCounterBuffer.getMetrics());
+    }
+
+    /**
+     * GET endpoint to retrieve the depth, drop count and drain rate of the traffic ingestion queue.
+     *
+     * @return ResponseEntity with the traffic queue metrics
+     */
+    @GetMapping("/traffic-queue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TrafficQueueMetricsDTO> getTrafficQueueMetrics() {
+        return ResponseEntity.ok(trafficIngestionQueue.getMetrics());
+    }
+
+    /**
+     * GET endpoint to retrieve how many traffic hits the de-duplication window suppressed.
+     *
+     * @return ResponseEntity with the traffic de-duplication metrics
+     */
+    @GetMapping("/traffic-dedup")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TrafficDedupMetricsDTO> getTrafficDedupMetrics() {
+        return ResponseEntity.ok(trafficDeduplicator.getMetrics());
+    }
+
+    /**
+     * GET endpoint to retrieve the size, hit rate, load times and evictions of the attraction detail cache.
+     *
+     * @return ResponseEntity with the attraction cache metrics
+     */
+    @GetMapping("/attraction-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AttractionCacheMetricsDTO> getAttractionCacheMetrics() {
+        return ResponseEntity.ok(attractionDetailCache.getMetrics());
+    }
+}
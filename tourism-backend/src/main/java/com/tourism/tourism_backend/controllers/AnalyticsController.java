@@ -1,14 +1,32 @@
 package com.tourism.tourism_backend.controllers;
 
 import com.tourism.tourism_backend.dto.AnalyticsResponseDTO;
+import com.tourism.tourism_backend.dto.HeavyHitterMergeRequestDTO;
+import com.tourism.tourism_backend.dto.HeavyHittersDTO;
+import com.tourism.tourism_backend.dto.TopRatedPageDTO;
+import com.tourism.tourism_backend.models.TrafficGranularity;
 import com.tourism.tourism_backend.services.AnalyticsService;
+import com.tourism.tourism_backend.services.HeavyHitterService;
+import com.tourism.tourism_backend.services.TopRatedService;
+import com.tourism.tourism_backend.services.TrafficSeriesService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/admin")
 public class AnalyticsController {
@@ -16,15 +34,97 @@ public class AnalyticsController {
     @Autowired
     private AnalyticsService analyticsService;
 
+    @Autowired
+    private TrafficSeriesService trafficSeriesService;
+
+    @Autowired
+    private HeavyHitterService heavyHitterService;
+
+    @Autowired
+    private TopRatedService topRatedService;
+
     /**
      * GET endpoint to retrieve analytics data.
+     * When a range or granularity is given, the response also carries the clicks per bucket
+     * within that range, overall and for the most visited attractions.
      *
+     * @param from        the start of the range (ISO date-time), optional
+     * @param to          the end of the range (ISO date-time), optional
+     * @param granularity HOUR or DAY, optional
+     * @param limit       the maximum number of attraction series to return
      * @return ResponseEntity with analytics data or an error message
      */
     @GetMapping("/analytics")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<AnalyticsResponseDTO> getAnalytics() {
+    public ResponseEntity<AnalyticsResponseDTO> getAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) TrafficGranularity granularity,
+            @RequestParam(defaultValue = "10") int limit) {
         AnalyticsResponseDTO analytics = analyticsService.getAnalytics();
+        if (from != null || to != null || granularity != null) {
+            analytics.setTrafficSeries(trafficSeriesService.getSeries(from, to, granularity, limit));
+        }
         return ResponseEntity.ok(analytics);
     }
+
+    /**
+     * GET endpoint to retrieve the most visited attractions from this node's heavy-hitters sketch.
+     *
+     * @param limit the maximum number of attractions
+     * @return ResponseEntity with the attractions, their counts and the error bound
+     */
+    @GetMapping("/analytics/heavy-hitters")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<HeavyHittersDTO> getHeavyHitters(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(heavyHitterService.getHeavyHitters(limit));
+    }
+
+    /**
+     * GET endpoint to retrieve this node's heavy-hitters sketch, Base64 encoded, for merging on another node.
+     *
+     * @return ResponseEntity with the serialized sketch
+     */
+    @GetMapping("/analytics/heavy-hitters/sketch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, String>> getHeavyHitterSketch() {
+        return ResponseEntity.ok(Map.of("sketch", Base64.getEncoder().encodeToString(heavyHitterService.getSketch())));
+    }
+
+    /**
+     * POST endpoint to merge other nodes' sketches with this node's into a cluster-wide top list.
+     *
+     * @param request the Base64 encoded sketches of the other nodes
+     * @param limit   the maximum number of attractions
+     * @return ResponseEntity with the merged attractions, their counts and the error bound
+     */
+    @PostMapping("/analytics/heavy-hitters/merge")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<HeavyHittersDTO> mergeHeavyHitters(@Valid @RequestBody HeavyHitterMergeRequestDTO request,
+                                                             @RequestParam(defaultValue = "10") int limit) {
+        List<byte[]> sketches = new ArrayList<>(request.getSketches().size());
+        for (String sketch : request.getSketches()) {
+            try {
+                sketches.add(Base64.getDecoder().decode(sketch));
+            } catch (IllegalArgumentException | NullPointerException ex) {
+                throw new IllegalArgumentException("Invalid sketch encoding");
+            }
+        }
+        return ResponseEntity.ok(heavyHitterService.getMergedHeavyHitters(sketches, limit));
+    }
+
+    /**
+     * GET endpoint to retrieve a page of the attractions ranked by Bayesian average rating,
+     * which weighs each average against the number of reviews behind it.
+     *
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return ResponseEntity with the page of attractions, best first
+     */
+    @GetMapping("/analytics/top-rated")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TopRatedPageDTO> getTopRated(@RequestParam(defaultValue = "0") int page,
+                                                       @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(topRatedService.getTopRated(page, size));
+    }
 }
@@ -1,8 +1,21 @@
 package com.tourism.tourism_backend.controllers;
 
 import com.tourism.tourism_backend.dto.AttractionDetailDTO;
+import com.tourism.tourism_backend.dto.AttractionNameMatchDTO;
+import com.tourism.tourism_backend.dto.AttractionSearchResultDTO;
+import com.tourism.tourism_backend.dto.AttractionSummaryDTO;
+import com.tourism.tourism_backend.dto.MapClusterDTO;
+import com.tourism.tourism_backend.dto.NearbyAttractionDTO;
 import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.services.AttractionFilter;
+import com.tourism.tourism_backend.services.AttractionGeoService;
+import com.tourism.tourism_backend.services.AttractionSearchService;
 import com.tourism.tourism_backend.services.AttractionService;
+import com.tourism.tourism_backend.services.AttractionSort;
+import com.tourism.tourism_backend.services.CatalogSnapshotService;
+import com.tourism.tourism_backend.services.CatalogSnapshotService.CatalogSnapshot;
+import com.tourism.tourism_backend.services.CatalogVersionService;
+import com.tourism.tourism_backend.services.CatalogVersionService.CacheValidators;
 import com.tourism.tourism_backend.validation.OnCreate;
 import com.tourism.tourism_backend.validation.OnUpdate;
 
@@ -14,9 +27,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Controller for handling attraction-related requests.
@@ -28,26 +43,175 @@ public class AttractionController {
     @Autowired
     private AttractionService attractionService;
 
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private AttractionSearchService attractionSearchService;
+
+    @Autowired
+    private AttractionGeoService attractionGeoService;
+
     /**
-     * Retrieves a list of all attractions with basic details.
+     * Retrieves the attractions with basic details. Without paging or filter parameters the whole
+     * list is returned; with any of them, one page of the matching attractions and the cursor of
+     * the next page. The whole list answers a matching If-None-Match with 304 Not Modified
+     * without a query, and is served from the pre-serialized snapshot while it is up to date,
+     * gzip-compressed if the client accepts it. Pages carry no validators.
      *
-     * @return a ResponseEntity containing a list of attractions
+     * @param cursor          the cursor returned with the previous page, optional
+     * @param size            the page size, optional
+     * @param sort            id, trafficCount, entranceFee or rating, optional
+     * @param minFee          the lowest entrance fee, optional
+     * @param maxFee          the highest entrance fee, optional
+     * @param minTrafficCount the lowest traffic count, optional
+     * @param minRating       the lowest average rating, optional
+     * @param request         the request, whose conditional headers are checked
+     * @return a ResponseEntity containing a list or a page of attractions
      */
     @GetMapping
-    public ResponseEntity<List<Attraction>> getAllAttractions() {
-        List<Attraction> attractions = attractionService.getAllAttractions();
-        return ResponseEntity.ok(attractions);
+    public ResponseEntity<?> getAllAttractions(@RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer size,
+                                               @RequestParam(required = false) String sort,
+                                               @RequestParam(required = false) Double minFee,
+                                               @RequestParam(required = false) Double maxFee,
+                                               @RequestParam(required = false) Integer minTrafficCount,
+                                               @RequestParam(required = false) Double minRating,
+                                               WebRequest request) {
+        AttractionFilter filter = new AttractionFilter(minFee, maxFee, minTrafficCount, minRating);
+        if (cursor == null && size == null && sort == null && filter.isEmpty()) {
+            CacheValidators validators = catalogVersionService.getAttractionsVersion();
+            Optional<CatalogSnapshot> snapshot = catalogSnapshotService.getAttractions(validators);
+            boolean gzip = snapshot.isPresent() && CatalogSnapshotResponses.acceptsGzip(request);
+            if (request.checkNotModified(CatalogSnapshotResponses.etag(validators, gzip), validators.lastModified())) {
+                return null;
+            }
+            if (snapshot.isPresent()) {
+                return CatalogSnapshotResponses.of(snapshot.get(), gzip);
+            }
+            List<AttractionSummaryDTO> attractions = attractionService.getAllAttractions();
+            return ResponseEntity.ok(attractions);
+        }
+        AttractionSort order = sort != null ? AttractionSort.fromParameter(sort) : null;
+        return ResponseEntity.ok(attractionService.getAttractionsPage(cursor, size, order, filter));
+    }
+
+    /**
+     * Searches attraction names and descriptions. Attractions containing every word of the query
+     * are returned, most relevant first, with matches in the name ranked above matches in the
+     * description.
+     *
+     * @param q     the search query
+     * @param limit the maximum number of attractions to return
+     * @return a ResponseEntity containing the best matches and the number of matching attractions
+     */
+    @GetMapping("/search")
+    public ResponseEntity<AttractionSearchResultDTO> searchAttractions(@RequestParam(required = false) String q,
+                                                                       @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(attractionSearchService.search(q, limit));
+    }
+
+    /**
+     * Looks up attractions by name, tolerating misspellings. Names are ranked by how many
+     * three-letter sequences they share with the query.
+     *
+     * @param q     the name as typed
+     * @param limit the maximum number of attractions to return
+     * @return a ResponseEntity containing the most similar names, best first
+     */
+    @GetMapping("/search/fuzzy")
+    public ResponseEntity<List<AttractionNameMatchDTO>> lookupAttractionsByName(@RequestParam(required = false) String q,
+                                                                               @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(attractionSearchService.lookupByName(q, limit));
+    }
+
+    /**
+     * Completes a typed prefix to attraction names containing a word that starts with it.
+     *
+     * @param q     the prefix typed so far
+     * @param limit the maximum number of attractions to return
+     * @return a ResponseEntity containing the completions, names starting with the prefix first
+     */
+    @GetMapping("/search/autocomplete")
+    public ResponseEntity<List<AttractionNameMatchDTO>> autocompleteAttractionNames(@RequestParam(required = false) String q,
+                                                                                   @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(attractionSearchService.autocomplete(q, limit));
+    }
+
+    /**
+     * Finds the attractions within a radius of a location, nearest first.
+     *
+     * @param lat    the latitude of the location in degrees
+     * @param lng    the longitude of the location in degrees
+     * @param radius the radius in meters
+     * @param limit  the maximum number of attractions to return
+     * @return a ResponseEntity containing the attractions with their distances in meters
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyAttractionDTO>> getNearbyAttractions(@RequestParam(required = false) Double lat,
+                                                                          @RequestParam(required = false) Double lng,
+                                                                          @RequestParam(required = false) Double radius,
+                                                                          @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(attractionGeoService.findWithinRadius(lat, lng, radius, limit));
+    }
+
+    /**
+     * Finds the k attractions nearest to a location, however far away they are.
+     *
+     * @param lat the latitude of the location in degrees
+     * @param lng the longitude of the location in degrees
+     * @param k   the number of attractions to return
+     * @return a ResponseEntity containing the attractions with their distances in meters, nearest first
+     */
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyAttractionDTO>> getNearestAttractions(@RequestParam(required = false) Double lat,
+                                                                           @RequestParam(required = false) Double lng,
+                                                                           @RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(attractionGeoService.findNearest(lat, lng, k));
+    }
+
+    /**
+     * Returns the attractions to draw on a map viewport, grouped into clusters with counts when
+     * zoomed out and one by one when zoomed in.
+     *
+     * @param south the southern edge of the viewport in degrees
+     * @param west  the western edge in degrees
+     * @param north the northern edge in degrees
+     * @param east  the eastern edge in degrees
+     * @param zoom  the map zoom level
+     * @return a ResponseEntity containing the clusters, largest first
+     */
+    @GetMapping("/map")
+    public ResponseEntity<List<MapClusterDTO>> getMapClusters(@RequestParam(required = false) Double south,
+                                                              @RequestParam(required = false) Double west,
+                                                              @RequestParam(required = false) Double north,
+                                                              @RequestParam(required = false) Double east,
+                                                              @RequestParam(required = false) Integer zoom) {
+        return ResponseEntity.ok(attractionGeoService.getMapClusters(south, west, north, east, zoom));
     }
 
     /**
      * GET endpoint to retrieve detailed information for a specific attraction.
+     * Answers a matching If-None-Match with 304 Not Modified without loading the attraction.
      *
-     * @param id the ID of the attraction to retrieve
+     * @param id      the ID of the attraction to retrieve
+     * @param request the request, whose conditional headers are checked
      * @return a ResponseEntity containing detailed attraction information
      */
     @GetMapping("/{id}")
-    public ResponseEntity<AttractionDetailDTO> getAttraction(@PathVariable Long id) {
-        AttractionDetailDTO attractionDetail = attractionService.getAttractionById(id);
+    public ResponseEntity<AttractionDetailDTO> getAttraction(@PathVariable Long id, WebRequest request) {
+        Optional<CacheValidators> validators = catalogVersionService.getAttractionVersion(id);
+        if (validators.isPresent()
+                && request.checkNotModified(validators.get().etag(), validators.get().lastModified())) {
+            return null;
+        }
+        // The detail cache is evicted only after a write commits; a detail cached before that is
+        // reloaded rather than served under the new version's ETag
+        AttractionDetailDTO attractionDetail = attractionService.getAttractionById(id, cached -> validators.isPresent()
+                && validators.get().etag().equals(catalogVersionService.getAttractionEtag(id, cached.getVersion())));
         return ResponseEntity.ok(attractionDetail);
     }
 
@@ -1,10 +1,19 @@
 package com.tourism.tourism_backend.controllers;
 
+import com.tourism.tourism_backend.dto.TrafficBatchRequestDTO;
+import com.tourism.tourism_backend.dto.TrafficBatchResultDTO;
+import com.tourism.tourism_backend.dto.TrendingAttractionDTO;
 import com.tourism.tourism_backend.services.AttractionTrafficService;
+import com.tourism.tourism_backend.services.TrendingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -17,15 +26,23 @@ public class AttractionTrafficController {
     @Autowired
     private AttractionTrafficService attractionTrafficService;
 
+    @Autowired
+    private TrendingService trendingService;
+
     /**
      * POST endpoint to increment the traffic count for an attraction.
      *
-     * @param id the ID of the attraction
+     * @param id        the ID of the attraction
+     * @param principal the authenticated user, counted as a unique visitor
+     * @param request   the HTTP request, whose client IP keys de-duplication of anonymous clicks
      * @return ResponseEntity with the updated traffic count or an error message
      */
     @PostMapping("/{id}/traffic")
-    public ResponseEntity<?> incrementTrafficCount(@PathVariable Long id) {
-        Optional<Integer> updatedTrafficCount = attractionTrafficService.incrementTrafficCount(id);
+    public ResponseEntity<?> incrementTrafficCount(@PathVariable Long id, Principal principal,
+                                                   HttpServletRequest request) {
+        String visitorId = principal != null ? principal.getName() : null;
+        Optional<Integer> updatedTrafficCount =
+                attractionTrafficService.incrementTrafficCount(id, visitorId, request.getRemoteAddr());
 
         if (updatedTrafficCount.isPresent()) {
             // Return the updated traffic count
@@ -35,4 +52,35 @@ public class AttractionTrafficController {
         // Return 404 if attraction not found
         return ResponseEntity.status(404).body("{\"error\": \"Attraction not found with ID: " + id + "\"}");
     }
+
+    /**
+     * POST endpoint to increment the traffic counts of several attractions in one request,
+     * e.g. all attractions viewed while panning the map.
+     *
+     * @param request     the attraction IDs and their view counts
+     * @param principal   the authenticated user, counted as a unique visitor
+     * @param httpRequest the HTTP request, whose client IP keys de-duplication of anonymous clicks
+     * @return ResponseEntity with one result per attraction ID, flagging unknown IDs
+     */
+    @PostMapping("/traffic/batch")
+    public ResponseEntity<?> incrementTrafficCounts(@Valid @RequestBody TrafficBatchRequestDTO request,
+                                                    Principal principal, HttpServletRequest httpRequest) {
+        String visitorId = principal != null ? principal.getName() : null;
+        List<TrafficBatchResultDTO> results = attractionTrafficService.incrementTrafficCounts(
+                request.getItems(), visitorId, httpRequest.getRemoteAddr());
+        return ResponseEntity.ok(Map.of("results", results));
+    }
+
+    /**
+     * GET endpoint to retrieve the attractions with the most recent traffic.
+     * Scores are hit counts decayed with the configured half-life.
+     *
+     * @param limit the maximum number of attractions to return
+     * @return ResponseEntity with the trending attractions, best first
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingAttractionDTO>> getTrendingAttractions(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingService.getTrending(limit));
+    }
 }
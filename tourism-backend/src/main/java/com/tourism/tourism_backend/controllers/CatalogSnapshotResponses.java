@@ -0,0 +1,76 @@
+package com.tourism.tourism_backend.controllers;
+
+import com.tourism.tourism_backend.services.CatalogSnapshotService.CatalogSnapshot;
+import com.tourism.tourism_backend.services.CatalogVersionService.CacheValidators;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Writes a catalog snapshot as a response, gzip-compressed if the client accepts it.
+ * The ETag and Last-Modified headers are set by the conditional request check before; the
+ * gzip representation has an ETag of its own, as a strong validator must differ between
+ * content codings.
+ */
+final class CatalogSnapshotResponses {
+
+    private CatalogSnapshotResponses() {
+    }
+
+    static ResponseEntity<byte[]> of(CatalogSnapshot snapshot, boolean gzip) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? snapshot.gzippedJson() : snapshot.json());
+    }
+
+    /**
+     * Returns the ETag of the listing representation served, suffixed for the gzip one.
+     */
+    static String etag(CacheValidators validators, boolean gzip) {
+        String etag = validators.etag();
+        return gzip ? etag.substring(0, etag.length() - 1) + "-gzip\"" : etag;
+    }
+
+    static boolean acceptsGzip(WebRequest request) {
+        return acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    /**
+     * Returns whether an Accept-Encoding header allows gzip, by name or by wildcard, with a
+     * non-zero quality.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean named = null;
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException ex) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                named = accepted;
+            } else if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return named != null ? named : wildcard;
+    }
+}
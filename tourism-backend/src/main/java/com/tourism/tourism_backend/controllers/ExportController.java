@@ -0,0 +1,89 @@
+package com.tourism.tourism_backend.controllers;
+
+import com.tourism.tourism_backend.services.ExportFormat;
+import com.tourism.tourism_backend.services.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Controller for streaming full data dumps (Admin only).
+ * Rows are written straight to the response while they are read, so the response is never
+ * buffered in memory; with gzip=true the body is compressed on the fly.
+ */
+@RestController
+@RequestMapping("/api/admin/export")
+public class ExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    @Autowired
+    private ExportService exportService;
+
+    /**
+     * GET endpoint to export all attractions.
+     *
+     * @param format   csv or ndjson
+     * @param gzip     whether to gzip the response body
+     * @param response the response to stream the rows to
+     * @throws IOException if writing the response fails
+     */
+    @GetMapping("/attractions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportAttractions(@RequestParam(defaultValue = "csv") String format,
+                                  @RequestParam(defaultValue = "false") boolean gzip,
+                                  HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        OutputStream out = prepare(response, "attractions", exportFormat, gzip);
+        exportService.exportAttractions(exportFormat, out);
+        finish(out);
+    }
+
+    /**
+     * GET endpoint to export all hourly and daily traffic summaries.
+     *
+     * @param format   csv or ndjson
+     * @param gzip     whether to gzip the response body
+     * @param response the response to stream the rows to
+     * @throws IOException if writing the response fails
+     */
+    @GetMapping("/traffic")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportTraffic(@RequestParam(defaultValue = "csv") String format,
+                              @RequestParam(defaultValue = "false") boolean gzip,
+                              HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        OutputStream out = prepare(response, "traffic", exportFormat, gzip);
+        exportService.exportTraffic(exportFormat, out);
+        finish(out);
+    }
+
+    private OutputStream prepare(HttpServletResponse response, String name, ExportFormat format, boolean gzip) throws IOException {
+        // Headers have to be set before the first byte is written
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + "." + format.getExtension() + "\"");
+        if (!gzip) {
+            return response.getOutputStream();
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE);
+    }
+
+    private void finish(OutputStream out) throws IOException {
+        if (out instanceof GZIPOutputStream gzipOut) {
+            gzipOut.finish();
+        }
+        out.flush();
+    }
+}
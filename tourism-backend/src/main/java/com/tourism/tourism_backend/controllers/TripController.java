@@ -2,6 +2,10 @@ package com.tourism.tourism_backend.controllers;
 
 import com.tourism.tourism_backend.dto.TripRequestDTO;
 import com.tourism.tourism_backend.models.Trip;
+import com.tourism.tourism_backend.services.CatalogSnapshotService;
+import com.tourism.tourism_backend.services.CatalogSnapshotService.CatalogSnapshot;
+import com.tourism.tourism_backend.services.CatalogVersionService;
+import com.tourism.tourism_backend.services.CatalogVersionService.CacheValidators;
 import com.tourism.tourism_backend.services.TripService;
 
 import jakarta.validation.Valid;
@@ -17,6 +21,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -31,13 +36,32 @@ public class TripController {
     @Autowired
     private TripService tripService;
 
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
     /**
      * GET endpoint to retrieve all predefined trip plans.
+     * Answers a matching If-None-Match with 304 Not Modified without loading any trip, and
+     * serves the pre-serialized snapshot while it is up to date.
      *
+     * @param request the request, whose conditional headers are checked
      * @return ResponseEntity containing a list of Trip objects
      */
     @GetMapping
-    public ResponseEntity<List<Trip>> getTrips() {
+    public ResponseEntity<?> getTrips(WebRequest request) {
+        CacheValidators validators = catalogVersionService.getTripsVersion();
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.getTrips(validators);
+        boolean gzip = snapshot.isPresent() && CatalogSnapshotResponses.acceptsGzip(request);
+        if (request.checkNotModified(CatalogSnapshotResponses.etag(validators, gzip), validators.lastModified())) {
+            return null;
+        }
+        if (snapshot.isPresent()) {
+            return CatalogSnapshotResponses.of(snapshot.get(), gzip);
+        }
+
         // Retrieve all trips using the service layer
         List<Trip> trips = tripService.getAllTrips();
 
@@ -45,8 +69,22 @@ public class TripController {
         return ResponseEntity.ok(trips);
     }
 
+    /**
+     * GET endpoint to retrieve one trip plan.
+     * Answers a matching If-None-Match with 304 Not Modified without loading the trip.
+     *
+     * @param id      the ID of the trip
+     * @param request the request, whose conditional headers are checked
+     * @return ResponseEntity containing the trip or an error message
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTripDetails(@PathVariable Long id) {
+    public ResponseEntity<?> getTripDetails(@PathVariable Long id, WebRequest request) {
+        Optional<CacheValidators> validators = catalogVersionService.getTripVersion(id);
+        if (validators.isPresent()
+                && request.checkNotModified(validators.get().etag(), validators.get().lastModified())) {
+            return null;
+        }
+
         Optional<Trip> tripOptional = tripService.findTripById(id);
 
         if (tripOptional.isEmpty()) {
@@ -6,6 +6,15 @@ public class AnalyticsResponseDTO {
 
     private int totalClicks;
     private List<String> mostVisitedAttractions;
+    private long clicksThisHour;
+    private long clicksLast24Hours;
+    private long clicksThisWeek;
+    private long clicksLastWeek;
+    private long uniqueVisitorsLast7Days;
+    private List<UniqueVisitorsDTO> topAttractionsByUniqueVisitors;
+    private long snapshotAgeMs;
+    private long trafficAgeMs;
+    private TrafficSeriesDTO trafficSeries;
 
     // Constructor
     public AnalyticsResponseDTO(int totalClicks, List<String> mostVisitedAttractions) {
@@ -13,6 +22,17 @@ public class AnalyticsResponseDTO {
         this.mostVisitedAttractions = mostVisitedAttractions;
     }
 
+    // Constructor including the rolled-up recent traffic
+    public AnalyticsResponseDTO(int totalClicks, List<String> mostVisitedAttractions,
+                                long clicksThisHour, long clicksLast24Hours,
+                                long clicksThisWeek, long clicksLastWeek) {
+        this(totalClicks, mostVisitedAttractions);
+        this.clicksThisHour = clicksThisHour;
+        this.clicksLast24Hours = clicksLast24Hours;
+        this.clicksThisWeek = clicksThisWeek;
+        this.clicksLastWeek = clicksLastWeek;
+    }
+
     // Getters and Setters
     public int getTotalClicks() {
         return totalClicks;
@@ -29,4 +49,76 @@ public class AnalyticsResponseDTO {
     public void setMostVisitedAttractions(List<String> mostVisitedAttractions) {
         this.mostVisitedAttractions = mostVisitedAttractions;
     }
-}
\ No newline at end of file
+
+    public long getClicksThisHour() {
+        return clicksThisHour;
+    }
+
+    public void setClicksThisHour(long clicksThisHour) {
+        this.clicksThisHour = clicksThisHour;
+    }
+
+    public long getClicksLast24Hours() {
+        return clicksLast24Hours;
+    }
+
+    public void setClicksLast24Hours(long clicksLast24Hours) {
+        this.clicksLast24Hours = clicksLast24Hours;
+    }
+
+    public long getClicksThisWeek() {
+        return clicksThisWeek;
+    }
+
+    public void setClicksThisWeek(long clicksThisWeek) {
+        this.clicksThisWeek = clicksThisWeek;
+    }
+
+    public long getClicksLastWeek() {
+        return clicksLastWeek;
+    }
+
+    public void setClicksLastWeek(long clicksLastWeek) {
+        this.clicksLastWeek = clicksLastWeek;
+    }
+
+    public long getUniqueVisitorsLast7Days() {
+        return uniqueVisitorsLast7Days;
+    }
+
+    public void setUniqueVisitorsLast7Days(long uniqueVisitorsLast7Days) {
+        this.uniqueVisitorsLast7Days = uniqueVisitorsLast7Days;
+    }
+
+    public List<UniqueVisitorsDTO> getTopAttractionsByUniqueVisitors() {
+        return topAttractionsByUniqueVisitors;
+    }
+
+    public void setTopAttractionsByUniqueVisitors(List<UniqueVisitorsDTO> topAttractionsByUniqueVisitors) {
+        this.topAttractionsByUniqueVisitors = topAttractionsByUniqueVisitors;
+    }
+
+    public long getSnapshotAgeMs() {
+        return snapshotAgeMs;
+    }
+
+    public void setSnapshotAgeMs(long snapshotAgeMs) {
+        this.snapshotAgeMs = snapshotAgeMs;
+    }
+
+    public long getTrafficAgeMs() {
+        return trafficAgeMs;
+    }
+
+    public void setTrafficAgeMs(long trafficAgeMs) {
+        this.trafficAgeMs = trafficAgeMs;
+    }
+
+    public TrafficSeriesDTO getTrafficSeries() {
+        return trafficSeries;
+    }
+
+    public void setTrafficSeries(TrafficSeriesDTO trafficSeries) {
+        this.trafficSeries = trafficSeries;
+    }
+}
@@ -0,0 +1,87 @@
+package com.tourism.tourism_backend.dto;
+
+/**
+ * DTO exposing the size, hit rate, load times and evictions of the attraction detail cache.
+ */
+public class AttractionCacheMetricsDTO {
+
+    private int entries;
+    private long weightBytes;
+    private long maxWeightBytes;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long loads;
+    private long failedLoads;
+    private double averageLoadMs;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    // Constructor
+    public AttractionCacheMetricsDTO(int entries, long weightBytes, long maxWeightBytes, long hits, long misses,
+                                     double hitRate, long loads, long failedLoads, double averageLoadMs,
+                                     long evictions, long expirations, long invalidations) {
+        this.entries = entries;
+        this.weightBytes = weightBytes;
+        this.maxWeightBytes = maxWeightBytes;
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRate = hitRate;
+        this.loads = loads;
+        this.failedLoads = failedLoads;
+        this.averageLoadMs = averageLoadMs;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.invalidations = invalidations;
+    }
+
+    // Getters
+    public int getEntries() {
+        return entries;
+    }
+
+    public long getWeightBytes() {
+        return weightBytes;
+    }
+
+    public long getMaxWeightBytes() {
+        return maxWeightBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public long getLoads() {
+        return loads;
+    }
+
+    public long getFailedLoads() {
+        return failedLoads;
+    }
+
+    public double getAverageLoadMs() {
+        return averageLoadMs;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+}
@@ -2,8 +2,13 @@ package com.tourism.tourism_backend.dto;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.tourism.tourism_backend.validation.OnCreate;
+import com.tourism.tourism_backend.validation.OnUpdate;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -25,6 +30,28 @@ public class AttractionDetailDTO {
 
     private List<String> photos;
 
+    @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90", groups = {OnCreate.class, OnUpdate.class})
+    @DecimalMax(value = "90", message = "Latitude must be between -90 and 90", groups = {OnCreate.class, OnUpdate.class})
+    private Double latitude;
+
+    @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180", groups = {OnCreate.class, OnUpdate.class})
+    @DecimalMax(value = "180", message = "Longitude must be between -180 and 180", groups = {OnCreate.class, OnUpdate.class})
+    private Double longitude;
+
+    // Rating aggregates are response-only; clients cannot set them on create or update
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int reviewCount;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Double averageRating;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int[] ratingHistogram;
+
+    // Version of the attraction the detail was read at; the ETag carries it instead
+    @JsonIgnore
+    private Long version;
+
     /**
      * Constructor for creating an AttractionDetailDTO.
      *
@@ -72,4 +99,52 @@ public class AttractionDetailDTO {
     public void setPhotos(List<String> photos) {
         this.photos = photos;
     }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(int reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public Double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(Double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public int[] getRatingHistogram() {
+        return ratingHistogram;
+    }
+
+    public void setRatingHistogram(int[] ratingHistogram) {
+        this.ratingHistogram = ratingHistogram;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,43 @@
+package com.tourism.tourism_backend.dto;
+
+/**
+ * An attraction whose name matches a fuzzy lookup or an autocomplete prefix, with its score.
+ */
+public class AttractionNameMatchDTO {
+
+    private Long id;
+    private String name;
+    private double score;
+
+    // Constructor
+    public AttractionNameMatchDTO(Long id, String name, double score) {
+        this.id = id;
+        this.name = name;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
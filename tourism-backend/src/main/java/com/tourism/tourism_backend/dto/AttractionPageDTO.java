@@ -0,0 +1,35 @@
+package com.tourism.tourism_backend.dto;
+
+import java.util.List;
+
+/**
+ * A page of attractions with the cursor of the next page, which is null on the last page.
+ */
+public class AttractionPageDTO {
+
+    private List<AttractionSummaryDTO> items;
+    private String nextCursor;
+
+    // Constructor
+    public AttractionPageDTO(List<AttractionSummaryDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<AttractionSummaryDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<AttractionSummaryDTO> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,33 @@
+package com.tourism.tourism_backend.dto;
+
+/**
+ * An attraction matching a search query, with its relevance score.
+ */
+public class AttractionSearchHitDTO {
+
+    private AttractionSummaryDTO attraction;
+    private double score;
+
+    // Constructor
+    public AttractionSearchHitDTO(AttractionSummaryDTO attraction, double score) {
+        this.attraction = attraction;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public AttractionSummaryDTO getAttraction() {
+        return attraction;
+    }
+
+    public void setAttraction(AttractionSummaryDTO attraction) {
+        this.attraction = attraction;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
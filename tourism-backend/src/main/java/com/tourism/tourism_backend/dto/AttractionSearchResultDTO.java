@@ -0,0 +1,46 @@
+package com.tourism.tourism_backend.dto;
+
+import java.util.List;
+
+/**
+ * The best matches of an attraction search, most relevant first, with the number of attractions
+ * matching the query.
+ */
+public class AttractionSearchResultDTO {
+
+    private String query;
+    private int totalMatches;
+    private List<AttractionSearchHitDTO> items;
+
+    // Constructor
+    public AttractionSearchResultDTO(String query, int totalMatches, List<AttractionSearchHitDTO> items) {
+        this.query = query;
+        this.totalMatches = totalMatches;
+        this.items = items;
+    }
+
+    // Getters and Setters
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public int getTotalMatches() {
+        return totalMatches;
+    }
+
+    public void setTotalMatches(int totalMatches) {
+        this.totalMatches = totalMatches;
+    }
+
+    public List<AttractionSearchHitDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<AttractionSearchHitDTO> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,146 @@
+package com.tourism.tourism_backend.dto;
+
+/**
+ * Data Transfer Object for listing attractions. Built directly by the listing queries from the
+ * attractions table alone: the photos are reduced to the cover photo and the rating histogram
+ * comes from the stored aggregates.
+ */
+public class AttractionSummaryDTO {
+
+    private Long id;
+    private String name;
+    private String shortDescription;
+    private Double entranceFee;
+    private int trafficCount;
+    private String coverPhoto;
+    private Double latitude;
+    private Double longitude;
+    private int reviewCount;
+    private Double averageRating;
+    private int[] ratingHistogram;
+
+    /**
+     * Constructor used by the listing queries.
+     *
+     * @param id               the ID of the attraction
+     * @param name             the name of the attraction
+     * @param shortDescription the description of the attraction
+     * @param entranceFee      the entrance fee
+     * @param trafficCount     the number of recorded visits
+     * @param coverPhoto       the first photo URL, or null without photos
+     * @param latitude         the latitude in degrees, or null without a location
+     * @param longitude        the longitude in degrees, or null without a location
+     * @param reviewCount      the number of reviews
+     * @param ratingSum        the sum of all ratings
+     * @param oneStarCount     the number of 1-star reviews
+     * @param twoStarCount     the number of 2-star reviews
+     * @param threeStarCount   the number of 3-star reviews
+     * @param fourStarCount    the number of 4-star reviews
+     * @param fiveStarCount    the number of 5-star reviews
+     */
+    public AttractionSummaryDTO(Long id, String name, String shortDescription, Double entranceFee, int trafficCount,
+                                String coverPhoto, Double latitude, Double longitude, int reviewCount, long ratingSum,
+                                int oneStarCount, int twoStarCount, int threeStarCount, int fourStarCount,
+                                int fiveStarCount) {
+        this.id = id;
+        this.name = name;
+        this.shortDescription = shortDescription;
+        this.entranceFee = entranceFee;
+        this.trafficCount = trafficCount;
+        this.coverPhoto = coverPhoto;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.reviewCount = reviewCount;
+        this.averageRating = reviewCount == 0 ? null : (double) ratingSum / reviewCount;
+        this.ratingHistogram = new int[]{oneStarCount, twoStarCount, threeStarCount, fourStarCount, fiveStarCount};
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getShortDescription() {
+        return shortDescription;
+    }
+
+    public void setShortDescription(String shortDescription) {
+        this.shortDescription = shortDescription;
+    }
+
+    public Double getEntranceFee() {
+        return entranceFee;
+    }
+
+    public void setEntranceFee(Double entranceFee) {
+        this.entranceFee = entranceFee;
+    }
+
+    public int getTrafficCount() {
+        return trafficCount;
+    }
+
+    public void setTrafficCount(int trafficCount) {
+        this.trafficCount = trafficCount;
+    }
+
+    public String getCoverPhoto() {
+        return coverPhoto;
+    }
+
+    public void setCoverPhoto(String coverPhoto) {
+        this.coverPhoto = coverPhoto;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(int reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public Double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(Double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public int[] getRatingHistogram() {
+        return ratingHistogram;
+    }
+
+    public void setRatingHistogram(int[] ratingHistogram) {
+        this.ratingHistogram = ratingHistogram;
+    }
+}
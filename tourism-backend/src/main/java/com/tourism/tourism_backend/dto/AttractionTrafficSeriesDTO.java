@@ -0,0 +1,51 @@
+package com.tourism.tourism_backend.dto;
+
+public class AttractionTrafficSeriesDTO {
+
+    private Long attractionId;
+    private String name;
+    private long totalClicks;
+    // One entry per bucket of the enclosing series, in the same order
+    private long[] hits;
+
+    // Constructor
+    public AttractionTrafficSeriesDTO(Long attractionId, String name, long totalClicks, long[] hits) {
+        this.attractionId = attractionId;
+        this.name = name;
+        this.totalClicks = totalClicks;
+        this.hits = hits;
+    }
+
+    // Getters and Setters
+    public Long getAttractionId() {
+        return attractionId;
+    }
+
+    public void setAttractionId(Long attractionId) {
+        this.attractionId = attractionId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getTotalClicks() {
+        return totalClicks;
+    }
+
+    public void setTotalClicks(long totalClicks) {
+        this.totalClicks = totalClicks;
+    }
+
+    public long[] getHits() {
+        return hits;
+    }
+
+    public void setHits(long[] hits) {
+        this.hits = hits;
+    }
+}
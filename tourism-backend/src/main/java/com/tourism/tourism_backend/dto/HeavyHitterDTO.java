@@ -0,0 +1,51 @@
+package com.tourism.tourism_backend.dto;
+
+public class HeavyHitterDTO {
+
+    private Long attractionId;
+    private String name;
+    private long count;
+    // The true count lies between count - error and count
+    private long error;
+
+    // Constructor
+    public HeavyHitterDTO(Long attractionId, String name, long count, long error) {
+        this.attractionId = attractionId;
+        this.name = name;
+        this.count = count;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public Long getAttractionId() {
+        return attractionId;
+    }
+
+    public void setAttractionId(Long attractionId) {
+        this.attractionId = attractionId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getError() {
+        return error;
+    }
+
+    public void setError(long error) {
+        this.error = error;
+    }
+}
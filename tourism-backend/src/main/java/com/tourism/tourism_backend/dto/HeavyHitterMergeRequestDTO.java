@@ -0,0 +1,25 @@
+package com.tourism.tourism_backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for merging the heavy-hitter sketches of other nodes into a cluster-wide top list.
+ */
+public class HeavyHitterMergeRequestDTO {
+
+    @NotEmpty(message = "At least one sketch is required")
+    @Size(max = 64, message = "At most 64 sketches can be merged at once")
+    private List<String> sketches;
+
+    // Getters and Setters
+    public List<String> getSketches() {
+        return sketches;
+    }
+
+    public void setSketches(List<String> sketches) {
+        this.sketches = sketches;
+    }
+}
@@ -0,0 +1,53 @@
+package com.tourism.tourism_backend.dto;
+
+import java.util.List;
+
+public class HeavyHittersDTO {
+
+    private long totalHits;
+    private int capacity;
+    // No count is overestimated by more than this, and no attraction left out has more hits
+    private long errorBound;
+    private List<HeavyHitterDTO> attractions;
+
+    // Constructor
+    public HeavyHittersDTO(long totalHits, int capacity, long errorBound, List<HeavyHitterDTO> attractions) {
+        this.totalHits = totalHits;
+        this.capacity = capacity;
+        this.errorBound = errorBound;
+        this.attractions = attractions;
+    }
+
+    // Getters and Setters
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    public void setTotalHits(long totalHits) {
+        this.totalHits = totalHits;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public long getErrorBound() {
+        return errorBound;
+    }
+
+    public void setErrorBound(long errorBound) {
+        this.errorBound = errorBound;
+    }
+
+    public List<HeavyHitterDTO> getAttractions() {
+        return attractions;
+    }
+
+    public void setAttractions(List<HeavyHitterDTO> attractions) {
+        this.attractions = attractions;
+    }
+}
@@ -0,0 +1,63 @@
+package com.tourism.tourism_backend.dto;
+
+/**
+ * A cluster of attractions on a map, or a single attraction when the count is 1.
+ */
+public class MapClusterDTO {
+
+    private double latitude;
+    private double longitude;
+    private int count;
+    private Long attractionId;
+    private String name;
+
+    // Constructor
+    public MapClusterDTO(double latitude, double longitude, int count, Long attractionId, String name) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.count = count;
+        this.attractionId = attractionId;
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public Long getAttractionId() {
+        return attractionId;
+    }
+
+    public void setAttractionId(Long attractionId) {
+        this.attractionId = attractionId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
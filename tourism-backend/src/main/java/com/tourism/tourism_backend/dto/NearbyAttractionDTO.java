@@ -0,0 +1,33 @@
+package com.tourism.tourism_backend.dto;
+
+/**
+ * An attraction near a location, with its distance from it.
+ */
+public class NearbyAttractionDTO {
+
+    private AttractionSummaryDTO attraction;
+    private double distanceMeters;
+
+    // Constructor
+    public NearbyAttractionDTO(AttractionSummaryDTO attraction, double distanceMeters) {
+        this.attraction = attraction;
+        this.distanceMeters = distanceMeters;
+    }
+
+    // Getters and Setters
+    public AttractionSummaryDTO getAttraction() {
+        return attraction;
+    }
+
+    public void setAttraction(AttractionSummaryDTO attraction) {
+        this.attraction = attraction;
+    }
+
+    public double getDistanceMeters() {
+        return distanceMeters;
+    }
+
+    public void setDistanceMeters(double distanceMeters) {
+        this.distanceMeters = distanceMeters;
+    }
+}
@@ -0,0 +1,60 @@
+package com.tourism.tourism_backend.dto;
+
+public class TopRatedAttractionDTO {
+
+    private Long attractionId;
+    private String name;
+    private int reviewCount;
+    private double averageRating;
+    private double score;
+
+    // Constructor
+    public TopRatedAttractionDTO(Long attractionId, String name, int reviewCount, double averageRating, double score) {
+        this.attractionId = attractionId;
+        this.name = name;
+        this.reviewCount = reviewCount;
+        this.averageRating = averageRating;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public Long getAttractionId() {
+        return attractionId;
+    }
+
+    public void setAttractionId(Long attractionId) {
+        this.attractionId = attractionId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(int reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
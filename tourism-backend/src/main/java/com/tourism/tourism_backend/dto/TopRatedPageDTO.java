@@ -0,0 +1,76 @@
+package com.tourism.tourism_backend.dto;
+
+import java.util.List;
+
+/**
+ * A page of the top-rated ranking, with the prior its Bayesian scores were computed with.
+ */
+public class TopRatedPageDTO {
+
+    private int page;
+    private int size;
+    private long totalElements;
+    private double priorMean;
+    private double priorWeight;
+    private List<TopRatedAttractionDTO> attractions;
+
+    // Constructor
+    public TopRatedPageDTO(int page, int size, long totalElements, double priorMean, double priorWeight,
+                           List<TopRatedAttractionDTO> attractions) {
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.priorMean = priorMean;
+        this.priorWeight = priorWeight;
+        this.attractions = attractions;
+    }
+
+    // Getters and Setters
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public double getPriorMean() {
+        return priorMean;
+    }
+
+    public void setPriorMean(double priorMean) {
+        this.priorMean = priorMean;
+    }
+
+    public double getPriorWeight() {
+        return priorWeight;
+    }
+
+    public void setPriorWeight(double priorWeight) {
+        this.priorWeight = priorWeight;
+    }
+
+    public List<TopRatedAttractionDTO> getAttractions() {
+        return attractions;
+    }
+
+    public void setAttractions(List<TopRatedAttractionDTO> attractions) {
+        this.attractions = attractions;
+    }
+}
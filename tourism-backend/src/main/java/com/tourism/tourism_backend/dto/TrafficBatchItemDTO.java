@@ -0,0 +1,45 @@
+package com.tourism.tourism_backend.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO for the number of views of one attraction within a traffic batch.
+ */
+public class TrafficBatchItemDTO {
+
+    @NotNull(message = "Attraction ID is required")
+    private Long attractionId;
+
+    @NotNull(message = "Count is required")
+    @Min(value = 1, message = "Count must be at least 1")
+    @Max(value = 1000, message = "Count must be at most 1000")
+    private Integer count;
+
+    // Default constructor
+    public TrafficBatchItemDTO() {}
+
+    // Constructor
+    public TrafficBatchItemDTO(Long attractionId, Integer count) {
+        this.attractionId = attractionId;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public Long getAttractionId() {
+        return attractionId;
+    }
+
+    public void setAttractionId(Long attractionId) {
+        this.attractionId = attractionId;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+}
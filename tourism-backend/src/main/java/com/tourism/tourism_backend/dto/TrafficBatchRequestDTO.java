@@ -0,0 +1,27 @@
+package com.tourism.tourism_backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for recording the traffic of several attractions in one request.
+ */
+public class TrafficBatchRequestDTO {
+
+    @NotEmpty(message = "At least one attraction is required")
+    @Size(max = 500, message = "A batch can contain at most 500 attractions")
+    @Valid
+    private List<TrafficBatchItemDTO> items;
+
+    // Getters and Setters
+    public List<TrafficBatchItemDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TrafficBatchItemDTO> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,40 @@
+package com.tourism.tourism_backend.dto;
+
+public class TrafficBatchResultDTO {
+
+    private Long attractionId;
+    private boolean found;
+    private Integer trafficCount;
+
+    // Constructor
+    public TrafficBatchResultDTO(Long attractionId, boolean found, Integer trafficCount) {
+        this.attractionId = attractionId;
+        this.found = found;
+        this.trafficCount = trafficCount;
+    }
+
+    // Getters and Setters
+    public Long getAttractionId() {
+        return attractionId;
+    }
+
+    public void setAttractionId(Long attractionId) {
+        this.attractionId = attractionId;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+
+    public Integer getTrafficCount() {
+        return trafficCount;
+    }
+
+    public void setTrafficCount(Integer trafficCount) {
+        this.trafficCount = trafficCount;
+    }
+}
@@ -0,0 +1,75 @@
+package com.tourism.tourism_backend.dto;
+
+/**
+ * DTO exposing the size and flush lag of the write-behind traffic counter buffer.
+ */
+public class TrafficBufferMetricsDTO {
+
+    private int pendingAttractions;
+    private long pendingHits;
+    private int pendingMinuteBuckets;
+    private long flushLagMs;
+    private long lastFlushAt;
+    private long lastFlushDurationMs;
+    private int lastFlushRows;
+    private long flushCount;
+    private long failedFlushCount;
+    private long flushedHits;
+
+    // Constructor
+    public TrafficBufferMetricsDTO(int pendingAttractions, long pendingHits, int pendingMinuteBuckets, long flushLagMs,
+                                   long lastFlushAt, long lastFlushDurationMs, int lastFlushRows,
+                                   long flushCount, long failedFlushCount, long flushedHits) {
+        this.pendingAttractions = pendingAttractions;
+        this.pendingHits = pendingHits;
+        this.pendingMinuteBuckets = pendingMinuteBuckets;
+        this.flushLagMs = flushLagMs;
+        this.lastFlushAt = lastFlushAt;
+        this.lastFlushDurationMs = lastFlushDurationMs;
+        this.lastFlushRows = lastFlushRows;
+        this.flushCount = flushCount;
+        this.failedFlushCount = failedFlushCount;
+        this.flushedHits = flushedHits;
+    }
+
+    // Getters
+    public int getPendingAttractions() {
+        return pendingAttractions;
+    }
+
+    public long getPendingHits() {
+        return pendingHits;
+    }
+
+    public int getPendingMinuteBuckets() {
+        return pendingMinuteBuckets;
+    }
+
+    public long getFlushLagMs() {
+        return flushLagMs;
+    }
+
+    public long getLastFlushAt() {
+        return lastFlushAt;
+    }
+
+    public long getLastFlushDurationMs() {
+        return lastFlushDurationMs;
+    }
+
+    public int getLastFlushRows() {
+        return lastFlushRows;
+    }
+
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    public long getFailedFlushCount() {
+        return failedFlushCount;
+    }
+
+    public long getFlushedHits() {
+        return flushedHits;
+    }
+}
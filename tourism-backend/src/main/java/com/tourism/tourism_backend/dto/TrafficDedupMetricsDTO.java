@@ -0,0 +1,50 @@
+package com.tourism.tourism_backend.dto;
+
+/**
+ * DTO exposing how many traffic hits the de-duplication window checked and suppressed.
+ */
+public class TrafficDedupMetricsDTO {
+
+    private boolean enabled;
+    private long windowSeconds;
+    private long checkedHits;
+    private long suppressedHits;
+    private long keysInCurrentWindow;
+    private long memoryBytes;
+
+    // Constructor
+    public TrafficDedupMetricsDTO(boolean enabled, long windowSeconds, long checkedHits, long suppressedHits,
+                                  long keysInCurrentWindow, long memoryBytes) {
+        this.enabled = enabled;
+        this.windowSeconds = windowSeconds;
+        this.checkedHits = checkedHits;
+        this.suppressedHits = suppressedHits;
+        this.keysInCurrentWindow = keysInCurrentWindow;
+        this.memoryBytes = memoryBytes;
+    }
+
+    // Getters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public long getCheckedHits() {
+        return checkedHits;
+    }
+
+    public long getSuppressedHits() {
+        return suppressedHits;
+    }
+
+    public long getKeysInCurrentWindow() {
+        return keysInCurrentWindow;
+    }
+
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+}
@@ -0,0 +1,32 @@
+package com.tourism.tourism_backend.dto;
+
+import java.time.LocalDateTime;
+
+public class TrafficPointDTO {
+
+    private LocalDateTime bucketStart;
+    private long hits;
+
+    // Constructor
+    public TrafficPointDTO(LocalDateTime bucketStart, long hits) {
+        this.bucketStart = bucketStart;
+        this.hits = hits;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+}
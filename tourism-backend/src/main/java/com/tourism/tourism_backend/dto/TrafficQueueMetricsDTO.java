@@ -0,0 +1,69 @@
+package com.tourism.tourism_backend.dto;
+
+/**
+ * DTO exposing the depth, drop count and drain rate of the traffic ingestion queue.
+ */
+public class TrafficQueueMetricsDTO {
+
+    private int depth;
+    private int capacity;
+    private long pendingHits;
+    private long enqueuedCount;
+    private long droppedCount;
+    private long drainedHits;
+    private double drainRatePerSecond;
+    private long failedWriteCount;
+    private boolean consumerRunning;
+
+    // Constructor
+    public TrafficQueueMetricsDTO(int depth, int capacity, long pendingHits, long enqueuedCount, long droppedCount,
+                                  long drainedHits, double drainRatePerSecond, long failedWriteCount,
+                                  boolean consumerRunning) {
+        this.depth = depth;
+        this.capacity = capacity;
+        this.pendingHits = pendingHits;
+        this.enqueuedCount = enqueuedCount;
+        this.droppedCount = droppedCount;
+        this.drainedHits = drainedHits;
+        this.drainRatePerSecond = drainRatePerSecond;
+        this.failedWriteCount = failedWriteCount;
+        this.consumerRunning = consumerRunning;
+    }
+
+    // Getters
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getPendingHits() {
+        return pendingHits;
+    }
+
+    public long getEnqueuedCount() {
+        return enqueuedCount;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public long getDrainedHits() {
+        return drainedHits;
+    }
+
+    public double getDrainRatePerSecond() {
+        return drainRatePerSecond;
+    }
+
+    public long getFailedWriteCount() {
+        return failedWriteCount;
+    }
+
+    public boolean isConsumerRunning() {
+        return consumerRunning;
+    }
+}
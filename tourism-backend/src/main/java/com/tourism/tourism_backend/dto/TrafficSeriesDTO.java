@@ -0,0 +1,76 @@
+package com.tourism.tourism_backend.dto;
+
+import com.tourism.tourism_backend.models.TrafficGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TrafficSeriesDTO {
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private TrafficGranularity granularity;
+    private long totalClicks;
+    private List<TrafficPointDTO> buckets;
+    private List<AttractionTrafficSeriesDTO> attractions;
+
+    // Constructor
+    public TrafficSeriesDTO(LocalDateTime from, LocalDateTime to, TrafficGranularity granularity, long totalClicks,
+                            List<TrafficPointDTO> buckets, List<AttractionTrafficSeriesDTO> attractions) {
+        this.from = from;
+        this.to = to;
+        this.granularity = granularity;
+        this.totalClicks = totalClicks;
+        this.buckets = buckets;
+        this.attractions = attractions;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public TrafficGranularity getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(TrafficGranularity granularity) {
+        this.granularity = granularity;
+    }
+
+    public long getTotalClicks() {
+        return totalClicks;
+    }
+
+    public void setTotalClicks(long totalClicks) {
+        this.totalClicks = totalClicks;
+    }
+
+    public List<TrafficPointDTO> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(List<TrafficPointDTO> buckets) {
+        this.buckets = buckets;
+    }
+
+    public List<AttractionTrafficSeriesDTO> getAttractions() {
+        return attractions;
+    }
+
+    public void setAttractions(List<AttractionTrafficSeriesDTO> attractions) {
+        this.attractions = attractions;
+    }
+}
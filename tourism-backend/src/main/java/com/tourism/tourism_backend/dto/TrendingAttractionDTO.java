@@ -0,0 +1,40 @@
+package com.tourism.tourism_backend.dto;
+
+public class TrendingAttractionDTO {
+
+    private Long attractionId;
+    private String name;
+    private double score;
+
+    // Constructor
+    public TrendingAttractionDTO(Long attractionId, String name, double score) {
+        this.attractionId = attractionId;
+        this.name = name;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public Long getAttractionId() {
+        return attractionId;
+    }
+
+    public void setAttractionId(Long attractionId) {
+        this.attractionId = attractionId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
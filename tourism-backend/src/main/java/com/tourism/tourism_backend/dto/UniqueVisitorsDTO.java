@@ -0,0 +1,40 @@
+package com.tourism.tourism_backend.dto;
+
+public class UniqueVisitorsDTO {
+
+    private Long attractionId;
+    private String name;
+    private long uniqueVisitors;
+
+    // Constructor
+    public UniqueVisitorsDTO(Long attractionId, String name, long uniqueVisitors) {
+        this.attractionId = attractionId;
+        this.name = name;
+        this.uniqueVisitors = uniqueVisitors;
+    }
+
+    // Getters and Setters
+    public Long getAttractionId() {
+        return attractionId;
+    }
+
+    public void setAttractionId(Long attractionId) {
+        this.attractionId = attractionId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getUniqueVisitors() {
+        return uniqueVisitors;
+    }
+
+    public void setUniqueVisitors(long uniqueVisitors) {
+        this.uniqueVisitors = uniqueVisitors;
+    }
+}
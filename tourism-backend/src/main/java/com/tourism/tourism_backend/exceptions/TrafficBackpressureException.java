@@ -0,0 +1,18 @@
+package com.tourism.tourism_backend.exceptions;
+
+/**
+ * Exception thrown when the traffic ingestion queue is full and a hit cannot be accepted.
+ */
+public class TrafficBackpressureException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TrafficBackpressureException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
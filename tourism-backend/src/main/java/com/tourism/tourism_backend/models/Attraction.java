@@ -1,13 +1,29 @@
 package com.tourism.tourism_backend.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.tourism.tourism_backend.services.CatalogChangeListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Entity representing an attraction in the system.
  */
 @Entity
-@Table(name = "attractions")
+@EntityListeners(CatalogChangeListener.class)
+@JsonIgnoreProperties(value = {"averageRating", "ratingHistogram", "coverPhoto"}, allowGetters = true)
+@Table(name = "attractions",
+        indexes = {
+                // Access paths of the filtered listing; secondary indexes end in the ID for keyset paging
+                @Index(name = "idx_attractions_traffic_count", columnList = "traffic_count"),
+                @Index(name = "idx_attractions_fee", columnList = "entrance_fee, id"),
+                @Index(name = "idx_attractions_fee_traffic", columnList = "entrance_fee, traffic_count, id"),
+                @Index(name = "idx_attractions_rating", columnList = "rating_average, id")
+        })
 public class Attraction {
 
     @Id
@@ -26,9 +42,67 @@ public class Attraction {
     @ElementCollection
     private List<String> photos;
 
-    @Column(nullable = false)
+    // First photo, kept in step with photos so listings need not read the photos table
+    private String coverPhoto;
+
+    // Location in degrees; attractions without one are left off the map
+    private Double latitude;
+
+    private Double longitude;
+
+    // Only ever changed by relative UPDATEs, so saving the entity never writes back a stale count
+    @Column(nullable = false, updatable = false)
     private int trafficCount = 0; // Initialize traffic count to 0
 
+    // Rating aggregates, maintained with every new review so that ratings are shown without reading reviews.
+    // Only ever changed by the atomic addRating UPDATE, so saving the entity never writes back stale values
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int reviewCount = 0;
+
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private long ratingSum = 0;
+
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int oneStarCount = 0;
+
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int twoStarCount = 0;
+
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int threeStarCount = 0;
+
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int fourStarCount = 0;
+
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private int fiveStarCount = 0;
+
+    // Average of the ratings, 0 without reviews; stored so rating filters and sorting can use an index
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private double ratingAverage = 0;
+
+    // Bumped on every change to the attraction, new ratings included; drives the HTTP cache validators
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onChange() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     // Default constructor
     public Attraction() {}
 
@@ -42,7 +116,7 @@ public class Attraction {
     public Attraction(String name, String shortDescription, List<String> photos) {
         this.name = name;
         this.shortDescription = shortDescription;
-        this.photos = photos;
+        setPhotos(photos);
     }
 
     public Attraction(Long id, String name, String shortDescription, Double entranceFee, List<String> photos) {
@@ -50,7 +124,7 @@ public class Attraction {
         this.name = name;
         this.shortDescription = shortDescription;
         this.entranceFee = entranceFee;
-        this.photos = photos;
+        setPhotos(photos);
     }
 
     // Constructor with entrance fee and photos list
@@ -58,7 +132,7 @@ public class Attraction {
         this.name = name;
         this.shortDescription = shortDescription;
         this.entranceFee = entranceFee;
-        this.photos = photos;
+        setPhotos(photos);
     }
 
     // Constructor with all fields including traffic count
@@ -66,7 +140,7 @@ public class Attraction {
         this.name = name;
         this.shortDescription = shortDescription;
         this.entranceFee = entranceFee;
-        this.photos = photos;
+        setPhotos(photos);
         this.trafficCount = trafficCount;
     }
 
@@ -108,7 +182,29 @@ public class Attraction {
     }
 
     public void setPhotos(List<String> photos) {
-        this.photos = photos;
+        // Hibernate updates the list in place on merge, so it must not be an immutable list
+        this.photos = photos != null ? new ArrayList<>(photos) : null;
+        this.coverPhoto = photos == null || photos.isEmpty() ? null : photos.get(0);
+    }
+
+    public String getCoverPhoto() {
+        return coverPhoto;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
     }
 
     public int getTrafficCount() {
@@ -118,4 +214,41 @@ public class Attraction {
     public void setTrafficCount(int trafficCount) {
         this.trafficCount = trafficCount;
     }
+
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
+    @JsonIgnore
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    @JsonIgnore
+    public double getRatingAverage() {
+        return ratingAverage;
+    }
+
+    /**
+     * Returns the average rating of the attraction.
+     *
+     * @return the average rating, or null if the attraction has no reviews
+     */
+    public Double getAverageRating() {
+        return reviewCount == 0 ? null : (double) ratingSum / reviewCount;
+    }
+
+    /**
+     * Returns the number of reviews per rating.
+     *
+     * @return the review counts for 1 to 5 stars, in that order
+     */
+    public int[] getRatingHistogram() {
+        return new int[]{oneStarCount, twoStarCount, threeStarCount, fourStarCount, fiveStarCount};
+    }
 }
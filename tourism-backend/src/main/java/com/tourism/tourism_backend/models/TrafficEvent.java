@@ -0,0 +1,58 @@
+package com.tourism.tourism_backend.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing the traffic hits of an attraction within one minute bucket.
+ * Rows are only ever appended (one per attraction and minute per buffer flush) and are
+ * pruned by bucket once they have been rolled up into {@link TrafficRollup} summaries.
+ */
+@Entity
+@Table(name = "traffic_events", indexes = {
+        @Index(name = "idx_traffic_events_bucket_start", columnList = "bucket_start"),
+        @Index(name = "idx_traffic_events_attraction_bucket", columnList = "attraction_id, bucket_start")
+})
+public class TrafficEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain column instead of a foreign key so appends never touch the attractions table
+    @Column(name = "attraction_id", nullable = false)
+    private Long attractionId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private long hits;
+
+    // Default constructor
+    public TrafficEvent() {}
+
+    // Constructor with all fields except the generated ID
+    public TrafficEvent(Long attractionId, LocalDateTime bucketStart, long hits) {
+        this.attractionId = attractionId;
+        this.bucketStart = bucketStart;
+        this.hits = hits;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAttractionId() {
+        return attractionId;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+}
@@ -0,0 +1,32 @@
+package com.tourism.tourism_backend.models;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Size of the time buckets that traffic summaries are aggregated into.
+ */
+public enum TrafficGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    TrafficGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the start of the bucket that contains the given time.
+     *
+     * @param time the time to truncate
+     * @return the bucket start
+     */
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+}
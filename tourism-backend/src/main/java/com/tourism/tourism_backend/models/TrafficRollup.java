@@ -0,0 +1,64 @@
+package com.tourism.tourism_backend.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing the aggregated traffic hits of an attraction in an hourly or daily bucket.
+ */
+@Entity
+@Table(name = "traffic_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_traffic_rollups_bucket",
+                columnNames = {"attraction_id", "granularity", "bucket_start"}),
+        indexes = @Index(name = "idx_traffic_rollups_granularity_bucket", columnList = "granularity, bucket_start"))
+public class TrafficRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "attraction_id", nullable = false)
+    private Long attractionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TrafficGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private long hits;
+
+    // Default constructor
+    public TrafficRollup() {}
+
+    // Constructor with all fields except the generated ID
+    public TrafficRollup(Long attractionId, TrafficGranularity granularity, LocalDateTime bucketStart, long hits) {
+        this.attractionId = attractionId;
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+        this.hits = hits;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAttractionId() {
+        return attractionId;
+    }
+
+    public TrafficGranularity getGranularity() {
+        return granularity;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+}
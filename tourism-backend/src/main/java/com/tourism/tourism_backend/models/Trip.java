@@ -1,12 +1,18 @@
 package com.tourism.tourism_backend.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tourism.tourism_backend.services.CatalogChangeListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Entity representing a trip in the system.
  */
 @Entity
+@EntityListeners(CatalogChangeListener.class)
 @Table(name = "trips")
 public class Trip {
 
@@ -28,6 +34,20 @@ public class Trip {
     )
     private List<Attraction> attractions;
 
+    // Bumped on every change to the trip, its days and attraction list included
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onChange() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     // Default constructor
     public Trip() {}
 
@@ -63,6 +83,16 @@ public class Trip {
         this.days = days;
     }
 
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
+    @JsonIgnore
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     public List<Attraction> getAttractions() {
         return attractions;
     }
@@ -0,0 +1,60 @@
+package com.tourism.tourism_backend.models;
+
+import com.tourism.tourism_backend.util.HyperLogLog;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Entity holding the serialized HyperLogLog sketch of the distinct visitors of an attraction on one day.
+ */
+@Entity
+@Table(name = "visitor_sketches",
+        uniqueConstraints = @UniqueConstraint(name = "uk_visitor_sketches_attraction_day",
+                columnNames = {"attraction_id", "sketch_day"}),
+        indexes = @Index(name = "idx_visitor_sketches_day", columnList = "sketch_day"))
+public class VisitorSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "attraction_id", nullable = false)
+    private Long attractionId;
+
+    @Column(name = "sketch_day", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false, length = HyperLogLog.SERIALIZED_SIZE)
+    private byte[] registers;
+
+    // Default constructor
+    public VisitorSketch() {}
+
+    // Constructor with all fields except the generated ID
+    public VisitorSketch(Long attractionId, LocalDate day, byte[] registers) {
+        this.attractionId = attractionId;
+        this.day = day;
+        this.registers = registers;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAttractionId() {
+        return attractionId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public byte[] getRegisters() {
+        return registers;
+    }
+
+    public void setRegisters(byte[] registers) {
+        this.registers = registers;
+    }
+}
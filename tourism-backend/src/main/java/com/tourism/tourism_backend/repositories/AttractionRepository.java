@@ -1,12 +1,238 @@
 package com.tourism.tourism_backend.repositories;
 
+import com.tourism.tourism_backend.dto.AttractionSummaryDTO;
 import com.tourism.tourism_backend.models.Attraction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * Repository interface for Attraction entity.
  */
 @Repository
-public interface AttractionRepository extends JpaRepository<Attraction, Long> {
+public interface AttractionRepository extends JpaRepository<Attraction, Long>, AttractionRepositoryCustom {
+
+    /**
+     * Loads an attraction together with its photos in one query.
+     *
+     * @param id the ID of the attraction
+     * @return an Optional containing the attraction, or empty if it does not exist
+     */
+    @EntityGraph(attributePaths = "photos")
+    Optional<Attraction> findWithPhotosById(Long id);
+
+    /**
+     * Reads only the traffic count of an attraction, without loading the entity or its photos.
+     *
+     * @param id the ID of the attraction
+     * @return an Optional containing the persisted traffic count, or empty if the attraction does not exist
+     */
+    @Query("SELECT a.trafficCount FROM Attraction a WHERE a.id = :id")
+    Optional<Integer> findTrafficCountById(@Param("id") Long id);
+
+    /**
+     * Reads the IDs and traffic counts of the given attractions in one query, without loading the entities.
+     * IDs that do not exist are simply absent from the result.
+     *
+     * @param ids the IDs of the attractions
+     * @return a list of [id, trafficCount] rows for the existing attractions
+     */
+    @Query("SELECT a.id, a.trafficCount FROM Attraction a WHERE a.id IN :ids")
+    List<Object[]> findTrafficCountsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Atomically adds a delta to the traffic count of an attraction in a single UPDATE statement.
+     * The increment is relative to the current column value, so concurrent callers never lose updates.
+     * Reading the count back in the same transaction returns the value written by this call,
+     * because the updated row stays locked until the transaction commits.
+     *
+     * @param id    the ID of the attraction
+     * @param delta the number of hits to add
+     * @return the number of updated rows (0 if the attraction does not exist)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Attraction a SET a.trafficCount = a.trafficCount + :delta WHERE a.id = :id")
+    int incrementTrafficCount(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * Adds a rating to the attraction's rating aggregates in a single atomic UPDATE,
+     * so concurrent reviews of the same attraction are never lost. Bumps the version,
+     * as the aggregates are part of the attraction's representation.
+     *
+     * @param id     the attraction ID
+     * @param rating the rating, between 1 and 5
+     * @return the number of rows updated (0 if the attraction does not exist)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    // The average comes first: MySQL evaluates assignments left to right against the new values
+    @Query("UPDATE Attraction a SET a.ratingAverage = CAST(a.ratingSum + :rating AS Double) / (a.reviewCount + 1), "
+            + "a.version = a.version + 1, a.updatedAt = LOCAL DATETIME, "
+            + "a.reviewCount = a.reviewCount + 1, a.ratingSum = a.ratingSum + :rating, "
+            + "a.oneStarCount = a.oneStarCount + CASE WHEN :rating = 1 THEN 1 ELSE 0 END, "
+            + "a.twoStarCount = a.twoStarCount + CASE WHEN :rating = 2 THEN 1 ELSE 0 END, "
+            + "a.threeStarCount = a.threeStarCount + CASE WHEN :rating = 3 THEN 1 ELSE 0 END, "
+            + "a.fourStarCount = a.fourStarCount + CASE WHEN :rating = 4 THEN 1 ELSE 0 END, "
+            + "a.fiveStarCount = a.fiveStarCount + CASE WHEN :rating = 5 THEN 1 ELSE 0 END "
+            + "WHERE a.id = :id")
+    int addRating(@Param("id") Long id, @Param("rating") int rating);
+
+    /**
+     * Sets the stored average rating of attractions reviewed before it was maintained.
+     *
+     * @return the number of attractions updated
+     */
+    @Modifying
+    @Query("UPDATE Attraction a SET a.ratingAverage = CAST(a.ratingSum AS Double) / a.reviewCount "
+            + "WHERE a.ratingAverage = 0 AND a.reviewCount > 0")
+    int backfillRatingAverages();
+
+    /**
+     * Sets the cover photo of attractions saved with photos before it was kept, to the photo
+     * listed first, as the details show it. Native: JPQL has no row limit in a subquery.
+     *
+     * @return the number of attractions updated
+     */
+    @Modifying
+    @Query(value = "UPDATE attractions a SET cover_photo = "
+            + "(SELECT p.photos FROM attraction_photos p WHERE p.attraction_id = a.id LIMIT 1) "
+            + "WHERE a.cover_photo IS NULL "
+            + "AND EXISTS (SELECT 1 FROM attraction_photos p WHERE p.attraction_id = a.id)", nativeQuery = true)
+    int backfillCoverPhotos();
+
+    // Listing columns only: one row per attraction and no access to the photos table
+    String SUMMARY = "new com.tourism.tourism_backend.dto.AttractionSummaryDTO(a.id, a.name, "
+            + "a.shortDescription, a.entranceFee, a.trafficCount, a.coverPhoto, a.latitude, a.longitude, "
+            + "a.reviewCount, a.ratingSum, a.oneStarCount, a.twoStarCount, a.threeStarCount, a.fourStarCount, "
+            + "a.fiveStarCount) ";
+
+    String SELECT_SUMMARY = "SELECT " + SUMMARY + "FROM Attraction a ";
+
+    /**
+     * Lists all attractions in ID order in a single query.
+     *
+     * @return the listing rows of all attractions
+     */
+    @Query(SELECT_SUMMARY + "ORDER BY a.id")
+    List<AttractionSummaryDTO> findAllSummaries();
+
+    /**
+     * Reads the listing rows of the given attractions in a single query.
+     *
+     * @param ids the IDs of the attractions
+     * @return the listing rows of the attractions that exist, in no particular order
+     */
+    @Query(SELECT_SUMMARY + "WHERE a.id IN :ids")
+    List<AttractionSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reads a fingerprint of the whole attractions table in one aggregate query, for the
+     * periodic check for writes the listing validators were not told about. Any insert raises
+     * the maximum ID, any delete lowers the count, and any edit raises the sum of versions; the
+     * traffic sum covers the counts served with the listing.
+     *
+     * @return a single [count, maxId, versionSum, trafficSum, maxUpdatedAt] row
+     */
+    @Query("SELECT COUNT(a), COALESCE(MAX(a.id), 0), COALESCE(SUM(a.version), 0), "
+            + "COALESCE(SUM(a.trafficCount), 0), MAX(a.updatedAt) FROM Attraction a")
+    List<Object[]> findCatalogVersion();
+
+    /**
+     * Reads the cache validators of one attraction without loading it.
+     *
+     * @param id the attraction ID
+     * @return a single [version, updatedAt] row, or no row if the attraction does not exist
+     */
+    @Query("SELECT a.version, a.updatedAt FROM Attraction a WHERE a.id = :id")
+    List<Object[]> findVersionById(@Param("id") Long id);
+
+    /**
+     * Reads the review count and rating sum of one attraction without loading it. Read after
+     * {@link #addRating} in the same transaction, it returns the totals that rating produced.
+     *
+     * @param id the attraction ID
+     * @return a single [reviewCount, ratingSum] row, or no row if the attraction does not exist
+     */
+    @Query("SELECT a.reviewCount, a.ratingSum FROM Attraction a WHERE a.id = :id")
+    List<Object[]> findRatingTotalsById(@Param("id") Long id);
+
+    /**
+     * Sums the traffic counts of all attractions in the database.
+     *
+     * @return the total traffic count, 0 if there are no attractions
+     */
+    @Query("SELECT COALESCE(SUM(a.trafficCount), 0) FROM Attraction a")
+    long sumTrafficCounts();
+
+    /**
+     * Finds the attractions with the highest traffic count, skipping attractions without traffic.
+     * Ties keep insertion order. Served from the traffic_count index.
+     *
+     * @param pageable the number of attractions to return
+     * @return a list of [id, name, trafficCount] rows, most visited first
+     */
+    @Query("SELECT a.id, a.name, a.trafficCount FROM Attraction a WHERE a.trafficCount > 0 ORDER BY a.trafficCount DESC, a.id ASC")
+    List<Object[]> findMostVisited(Pageable pageable);
+
+    /**
+     * Reads the IDs, names and traffic counts of the given attractions in one query.
+     * IDs that do not exist are simply absent from the result.
+     *
+     * @param ids the IDs of the attractions
+     * @return a list of [id, name, trafficCount] rows for the existing attractions
+     */
+    @Query("SELECT a.id, a.name, a.trafficCount FROM Attraction a WHERE a.id IN :ids")
+    List<Object[]> findNamesAndTrafficCountsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams the rating aggregates of every attraction with reviews through a forward-only cursor,
+     * without loading entities. Must be consumed within a transaction.
+     *
+     * @return a stream of [id, reviewCount, ratingSum] rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.id, a.reviewCount, a.ratingSum FROM Attraction a WHERE a.reviewCount > 0")
+    Stream<Object[]> streamRatingAggregates();
+
+    /**
+     * Streams the searchable text of all attractions through a forward-only cursor, without
+     * loading entities. Must be consumed within a transaction.
+     *
+     * @return a stream of [id, name, shortDescription] rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.id, a.name, a.shortDescription FROM Attraction a")
+    Stream<Object[]> streamSearchFields();
+
+    /**
+     * Streams the locations of all attractions that have one through a forward-only cursor,
+     * without loading entities. Must be consumed within a transaction.
+     *
+     * @return a stream of [id, latitude, longitude] rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.id, a.latitude, a.longitude FROM Attraction a WHERE a.latitude IS NOT NULL AND a.longitude IS NOT NULL")
+    Stream<Object[]> streamLocations();
+
+    /**
+     * Streams the scalar columns of all attractions in ID order through a forward-only cursor.
+     * No entities are loaded, so the persistence context stays empty however many rows are read.
+     * Must be consumed within a transaction.
+     *
+     * @return a stream of [id, name, shortDescription, entranceFee, trafficCount] rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.id, a.name, a.shortDescription, a.entranceFee, a.trafficCount FROM Attraction a ORDER BY a.id")
+    Stream<Object[]> streamAllForExport();
 }
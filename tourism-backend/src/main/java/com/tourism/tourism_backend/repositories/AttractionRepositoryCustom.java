@@ -0,0 +1,41 @@
+package com.tourism.tourism_backend.repositories;
+
+import com.tourism.tourism_backend.services.AttractionFilter;
+import com.tourism.tourism_backend.services.AttractionSort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Custom repository operations for the Attraction entity that are executed with plain JDBC or
+ * built at run time.
+ */
+public interface AttractionRepositoryCustom {
+
+    /**
+     * Adds the given deltas to the traffic counts of several attractions in a single JDBC batch.
+     * Each increment is applied relative to the current column value, so concurrent writers never
+     * overwrite each other.
+     *
+     * @param deltas the traffic count delta to apply, keyed by attraction ID
+     * @return the IDs of the attractions that no longer exist (no row was updated)
+     */
+    Set<Long> incrementTrafficCounts(Map<Long, Long> deltas);
+
+    /**
+     * Finds the attractions matching a filter that follow a position in a sort order, in one
+     * query. Only the conditions that are set are written into the query, so the database can
+     * pick the index of the access path they describe; the position is a row-value comparison
+     * on (sort attribute, id), which seeks that index instead of counting skipped rows.
+     *
+     * @param filter    the conditions on the attractions
+     * @param sort      the order
+     * @param afterKey  the sort attribute of the last attraction of the previous page, or null for
+     *                  the first page (ignored when sorting by ID)
+     * @param afterId   the ID of the last attraction of the previous page, or null for the first page
+     * @param limit     the maximum number of attractions
+     * @return [summary, sort attribute] rows of the next attractions in order
+     */
+    List<Object[]> findPage(AttractionFilter filter, AttractionSort sort, Number afterKey, Long afterId, int limit);
+}
@@ -0,0 +1,112 @@
+package com.tourism.tourism_backend.repositories;
+
+import com.tourism.tourism_backend.services.AttractionFilter;
+import com.tourism.tourism_backend.services.AttractionSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC-backed implementation of {@link AttractionRepositoryCustom}.
+ */
+public class AttractionRepositoryImpl implements AttractionRepositoryCustom {
+
+    private static final String INCREMENT_TRAFFIC_SQL =
+            "UPDATE attractions SET traffic_count = traffic_count + ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Set<Long> incrementTrafficCounts(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return Set.of();
+        }
+
+        List<Long> ids = new ArrayList<>(deltas.keySet());
+        List<Object[]> batchArgs = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            batchArgs.add(new Object[]{deltas.get(id), id});
+        }
+
+        int[] updatedRows = jdbcTemplate.batchUpdate(INCREMENT_TRAFFIC_SQL, batchArgs);
+
+        // Drivers may report SUCCESS_NO_INFO (-2) for batched statements; only a definite 0 means a missing row
+        Set<Long> missingIds = new HashSet<>();
+        for (int i = 0; i < updatedRows.length; i++) {
+            if (updatedRows[i] == 0) {
+                missingIds.add(ids.get(i));
+            }
+        }
+        return missingIds;
+    }
+
+    @Override
+    public List<Object[]> findPage(AttractionFilter filter, AttractionSort sort, Number afterKey, Long afterId,
+                                   int limit) {
+        String key = "a." + sort.getAttribute();
+        String direction = sort.isDescending() ? " DESC" : "";
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        List<String> conditions = new ArrayList<>();
+        if (filter.minFee() != null && filter.minFee().equals(filter.maxFee())) {
+            // An equality keeps the rest of the (entrance_fee, id) index in ID order
+            conditions.add("a.entranceFee = :fee");
+            parameters.put("fee", filter.minFee());
+        } else if (filter.minFee() != null) {
+            conditions.add("a.entranceFee >= :minFee");
+            parameters.put("minFee", filter.minFee());
+        }
+        if (filter.maxFee() != null && !filter.maxFee().equals(filter.minFee())) {
+            conditions.add("a.entranceFee <= :maxFee");
+            parameters.put("maxFee", filter.maxFee());
+        }
+        if (filter.minTrafficCount() != null) {
+            conditions.add("a.trafficCount >= :minTrafficCount");
+            parameters.put("minTrafficCount", filter.minTrafficCount());
+        }
+        if (filter.minRating() != null) {
+            conditions.add("a.ratingAverage >= :minRating");
+            parameters.put("minRating", filter.minRating());
+        }
+        if (afterId != null) {
+            String comparison = sort.isDescending() ? " < " : " > ";
+            if (sort == AttractionSort.ID) {
+                conditions.add("a.id" + comparison + ":afterId");
+            } else {
+                conditions.add("(" + key + ", a.id)" + comparison + "(:afterKey, :afterId)");
+                parameters.put("afterKey", afterKey);
+            }
+            parameters.put("afterId", afterId);
+        }
+
+        StringBuilder query = new StringBuilder("SELECT ").append(AttractionRepository.SUMMARY)
+                .append(", ").append(key).append(" FROM Attraction a");
+        if (!conditions.isEmpty()) {
+            query.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        query.append(" ORDER BY ");
+        if (sort != AttractionSort.ID) {
+            query.append(key).append(direction).append(", ");
+        }
+        query.append("a.id").append(direction);
+
+        TypedQuery<Object[]> page = entityManager.createQuery(query.toString(), Object[].class)
+                .setMaxResults(limit);
+        parameters.forEach(page::setParameter);
+        return page.getResultList();
+    }
+}
@@ -0,0 +1,38 @@
+package com.tourism.tourism_backend.repositories;
+
+import com.tourism.tourism_backend.models.TrafficEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for the raw minute-bucketed TrafficEvent entity.
+ */
+@Repository
+public interface TrafficEventRepository extends JpaRepository<TrafficEvent, Long>, TrafficEventRepositoryCustom {
+
+    /**
+     * Sums the hits per attraction and minute bucket for all buckets starting at or after the given time.
+     *
+     * @param from the inclusive lower bound of the bucket start
+     * @return rows of [attractionId (Long), bucketStart (LocalDateTime), hits (Long)]
+     */
+    @Query("SELECT e.attractionId, e.bucketStart, SUM(e.hits) FROM TrafficEvent e " +
+           "WHERE e.bucketStart >= :from GROUP BY e.attractionId, e.bucketStart")
+    List<Object[]> sumHitsPerMinuteSince(@Param("from") LocalDateTime from);
+
+    /**
+     * Prunes all minute buckets that start before the cutoff.
+     *
+     * @param cutoff the exclusive upper bound of the bucket start
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM TrafficEvent e WHERE e.bucketStart < :cutoff")
+    int deleteBucketsBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,18 @@
+package com.tourism.tourism_backend.repositories;
+
+import com.tourism.tourism_backend.models.TrafficEvent;
+
+import java.util.List;
+
+/**
+ * Custom repository operations for the TrafficEvent entity that are executed with plain JDBC.
+ */
+public interface TrafficEventRepositoryCustom {
+
+    /**
+     * Appends minute buckets in a single JDBC batch, bypassing the persistence context.
+     *
+     * @param events the buckets to insert
+     */
+    void appendAll(List<TrafficEvent> events);
+}
@@ -0,0 +1,34 @@
+package com.tourism.tourism_backend.repositories;
+
+import com.tourism.tourism_backend.models.TrafficEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC-backed implementation of {@link TrafficEventRepositoryCustom}.
+ */
+public class TrafficEventRepositoryImpl implements TrafficEventRepositoryCustom {
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO traffic_events (attraction_id, bucket_start, hits) VALUES (?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void appendAll(List<TrafficEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getAttractionId());
+            ps.setTimestamp(2, Timestamp.valueOf(event.getBucketStart()));
+            ps.setLong(3, event.getHits());
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package com.tourism.tourism_backend.repositories;
+
+import com.tourism.tourism_backend.models.TrafficGranularity;
+import com.tourism.tourism_backend.models.TrafficRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for the hourly and daily TrafficRollup summaries.
+ */
+@Repository
+public interface TrafficRollupRepository extends JpaRepository<TrafficRollup, Long>, TrafficRollupRepositoryCustom {
+
+    /**
+     * Finds all summaries of a granularity whose bucket starts at or after the given time.
+     *
+     * @param granularity the bucket size
+     * @param from        the inclusive lower bound of the bucket start
+     * @return the matching summaries
+     */
+    List<TrafficRollup> findByGranularityAndBucketStartGreaterThanEqual(TrafficGranularity granularity, LocalDateTime from);
+
+    /**
+     * Sums the hits of all summaries of a granularity within a bucket range.
+     *
+     * @param granularity the bucket size
+     * @param from        the inclusive lower bound of the bucket start
+     * @param to          the exclusive upper bound of the bucket start
+     * @return the total number of hits, 0 if there are none
+     */
+    @Query("SELECT COALESCE(SUM(r.hits), 0) FROM TrafficRollup r " +
+           "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to")
+    long sumHits(@Param("granularity") TrafficGranularity granularity,
+                 @Param("from") LocalDateTime from,
+                 @Param("to") LocalDateTime to);
+
+    /**
+     * Reads the summaries of a granularity within a bucket range as plain rows, without loading
+     * entities. Served from the (granularity, bucket_start) index.
+     *
+     * @param granularity the bucket size
+     * @param from        the inclusive lower bound of the bucket start
+     * @param to          the exclusive upper bound of the bucket start
+     * @return a list of [attractionId, bucketStart, hits] rows
+     */
+    @Query("SELECT r.attractionId, r.bucketStart, r.hits FROM TrafficRollup r " +
+           "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to")
+    List<Object[]> findHitsInRange(@Param("granularity") TrafficGranularity granularity,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+
+    /**
+     * Deletes all summaries of a granularity whose bucket starts at or after the given time.
+     *
+     * @param granularity the bucket size
+     * @param from        the inclusive lower bound of the bucket start
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM TrafficRollup r WHERE r.granularity = :granularity AND r.bucketStart >= :from")
+    int deleteBucketsFrom(@Param("granularity") TrafficGranularity granularity, @Param("from") LocalDateTime from);
+
+    /**
+     * Prunes all summaries of a granularity whose bucket starts before the cutoff.
+     *
+     * @param granularity the bucket size
+     * @param cutoff      the exclusive upper bound of the bucket start
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM TrafficRollup r WHERE r.granularity = :granularity AND r.bucketStart < :cutoff")
+    int deleteBucketsBefore(@Param("granularity") TrafficGranularity granularity, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Streams all summaries in ID order through a forward-only cursor, without loading entities.
+     * Must be consumed within a transaction.
+     *
+     * @return a stream of [attractionId, granularity, bucketStart, hits] rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.attractionId, r.granularity, r.bucketStart, r.hits FROM TrafficRollup r ORDER BY r.id")
+    Stream<Object[]> streamAllForExport();
+}
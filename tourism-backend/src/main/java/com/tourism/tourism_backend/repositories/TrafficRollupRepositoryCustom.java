@@ -0,0 +1,18 @@
+package com.tourism.tourism_backend.repositories;
+
+import com.tourism.tourism_backend.models.TrafficRollup;
+
+import java.util.List;
+
+/**
+ * Custom repository operations for the TrafficRollup entity that are executed with plain JDBC.
+ */
+public interface TrafficRollupRepositoryCustom {
+
+    /**
+     * Inserts summaries in a single JDBC batch, bypassing the persistence context.
+     *
+     * @param rollups the summaries to insert
+     */
+    void insertAll(List<TrafficRollup> rollups);
+}
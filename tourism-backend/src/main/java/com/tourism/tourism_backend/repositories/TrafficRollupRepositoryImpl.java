@@ -0,0 +1,35 @@
+package com.tourism.tourism_backend.repositories;
+
+import com.tourism.tourism_backend.models.TrafficRollup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC-backed implementation of {@link TrafficRollupRepositoryCustom}.
+ */
+public class TrafficRollupRepositoryImpl implements TrafficRollupRepositoryCustom {
+
+    private static final String INSERT_ROLLUP_SQL =
+            "INSERT INTO traffic_rollups (attraction_id, granularity, bucket_start, hits) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void insertAll(List<TrafficRollup> rollups) {
+        if (rollups.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ROLLUP_SQL, rollups, rollups.size(), (ps, rollup) -> {
+            ps.setLong(1, rollup.getAttractionId());
+            ps.setString(2, rollup.getGranularity().name());
+            ps.setTimestamp(3, Timestamp.valueOf(rollup.getBucketStart()));
+            ps.setLong(4, rollup.getHits());
+        });
+    }
+}
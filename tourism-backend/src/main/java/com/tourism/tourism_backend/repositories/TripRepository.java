@@ -2,12 +2,43 @@ package com.tourism.tourism_backend.repositories;
 
 import com.tourism.tourism_backend.models.Trip;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repository interface for Trip entity.
  */
 @Repository
 public interface TripRepository extends JpaRepository<Trip, Long> {
-    
+
+    /**
+     * Reads a fingerprint of the whole trips table in one aggregate query, for the periodic
+     * check for writes the listing validators were not told about.
+     *
+     * @return a single [count, maxId, versionSum, maxUpdatedAt] row
+     */
+    @Query("SELECT COUNT(t), COALESCE(MAX(t.id), 0), COALESCE(SUM(t.version), 0), MAX(t.updatedAt) FROM Trip t")
+    List<Object[]> findCatalogVersion();
+
+    /**
+     * Reads the cache validators of one trip without loading it.
+     *
+     * @param id the trip ID
+     * @return a single [version, updatedAt] row, or no row if the trip does not exist
+     */
+    @Query("SELECT t.version, t.updatedAt FROM Trip t WHERE t.id = :id")
+    List<Object[]> findVersionById(@Param("id") Long id);
+
+    /**
+     * Reads the cache validators of the attractions embedded in one trip.
+     *
+     * @param id the trip ID
+     * @return a single [count, versionSum, trafficSum, maxUpdatedAt] row
+     */
+    @Query("SELECT COUNT(a), COALESCE(SUM(a.version), 0), COALESCE(SUM(a.trafficCount), 0), MAX(a.updatedAt) "
+            + "FROM Trip t JOIN t.attractions a WHERE t.id = :id")
+    List<Object[]> findAttractionsVersionById(@Param("id") Long id);
 }
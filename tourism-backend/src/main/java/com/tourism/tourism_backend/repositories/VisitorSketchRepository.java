@@ -0,0 +1,55 @@
+package com.tourism.tourism_backend.repositories;
+
+import com.tourism.tourism_backend.models.VisitorSketch;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for the daily VisitorSketch rows.
+ */
+@Repository
+public interface VisitorSketchRepository extends JpaRepository<VisitorSketch, Long> {
+
+    /**
+     * Finds the sketch of an attraction for a day and locks it for a read-modify-write merge.
+     *
+     * @param attractionId the ID of the attraction
+     * @param day          the day of the sketch
+     * @return the locked sketch, or empty if none was written yet
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<VisitorSketch> findByAttractionIdAndDay(Long attractionId, LocalDate day);
+
+    /**
+     * Streams [attractionId, registers] of all sketches from the given day on, ordered by attraction,
+     * so callers can merge one attraction at a time. Must be consumed within a transaction.
+     *
+     * @param from the inclusive first day
+     * @return a stream of [attractionId, registers] rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s.attractionId, s.registers FROM VisitorSketch s WHERE s.day >= :from ORDER BY s.attractionId")
+    Stream<Object[]> streamRegistersSince(@Param("from") LocalDate from);
+
+    /**
+     * Prunes all sketches before the cutoff day.
+     *
+     * @param cutoff the exclusive upper bound of the day
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM VisitorSketch s WHERE s.day < :cutoff")
+    int deleteSketchesBefore(@Param("cutoff") LocalDate cutoff);
+}
@@ -1,41 +1,297 @@
 package com.tourism.tourism_backend.services;
 
 import com.tourism.tourism_backend.dto.AnalyticsResponseDTO;
+import com.tourism.tourism_backend.dto.UniqueVisitorsDTO;
 import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.models.TrafficGranularity;
 import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.TrafficRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
+/**
+ * Service that serves admin analytics from an immutable snapshot kept in memory.
+ * The snapshot is recomputed from scratch on a fixed delay, which also corrects any drift, and
+ * the traffic totals are patched in between whenever buffered or queued hits are written.
+ * Readers only dereference the current snapshot and never wait; writers build a new snapshot
+ * and swap it in by reference. Traffic writes and the recompute's read of the totals exclude
+ * each other, and patches made after that read are replayed onto the recomputed snapshot, so a
+ * write is counted exactly once whichever way the two interleave.
+ */
 @Service
 public class AnalyticsService {
 
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsService.class);
+
+    private static final int TOP_ATTRACTIONS = 5;
+
+    // Most visited first; ties keep insertion order, like the top-N query
+    private static final Comparator<RankedAttraction> RANKING =
+            Comparator.comparingLong(RankedAttraction::trafficCount).reversed()
+                    .thenComparing(RankedAttraction::id);
+
     @Autowired
     private AttractionRepository attractionRepository;
 
+    @Autowired
+    private TrafficRollupRepository trafficRollupRepository;
+
+    @Autowired
+    private UniqueVisitorService uniqueVisitorService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicReference<AnalyticsSnapshot> snapshot = new AtomicReference<>();
+
+    // Held shared by traffic writes from their commit through their patch, and exclusively
+    // while a recompute reads the totals
+    private final ReadWriteLock trafficLock = new ReentrantReadWriteLock();
+
+    private final Lock refreshLock = new ReentrantLock();
+
+    // Patches made since a recompute read the totals, replayed onto its snapshot; both guarded by pendingPatches
+    private final List<UnaryOperator<AnalyticsSnapshot>> pendingPatches = new ArrayList<>();
+    private boolean recording;
+
+    public AnalyticsService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
     /**
-     * Retrieves analytics data including total clicks and most visited attractions.
+     * Retrieves analytics data including total clicks, most visited attractions and recent traffic.
+     * The data comes from the in-memory snapshot; the response reports how old the snapshot is.
+     * Only the very first call, before the scheduled recompute has run, computes it synchronously.
      *
-     * @return AnalyticsResponseDTO containing total clicks and most visited attractions
+     * @return AnalyticsResponseDTO containing total clicks, most visited attractions, recent traffic,
+     *         unique visitors and the snapshot age
      */
     public AnalyticsResponseDTO getAnalytics() {
-        List<Attraction> allAttractions = attractionRepository.findAll();
-    
-        // Calculate total clicks
-        int totalClicks = allAttractions.stream()
-                .mapToInt(Attraction::getTrafficCount)
-                .sum();
-    
-        // Get most visited attractions (exclude attractions with zero traffic count)
-        List<String> mostVisitedAttractions = allAttractions.stream()
-                .filter(attraction -> attraction.getTrafficCount() > 0) // Exclude zero traffic count
-                .sorted((a1, a2) -> Integer.compare(a2.getTrafficCount(), a1.getTrafficCount()))
-                .limit(5) // Limit to top 5 attractions
-                .map(Attraction::getName)
-                .collect(Collectors.toList());
-    
-        return new AnalyticsResponseDTO(totalClicks, mostVisitedAttractions);
-    }    
+        AnalyticsSnapshot current = snapshot.get();
+        if (current == null) {
+            refreshSnapshot();
+            current = snapshot.get();
+        }
+        return current.toResponse(System.currentTimeMillis());
+    }
+
+    /**
+     * Recomputes the whole snapshot from the database and swaps it in.
+     * Recent traffic is read from the hourly and daily rollups only, never from raw traffic events.
+     * Unique visitors are estimated from the daily HyperLogLog sketches of the last 7 days.
+     * All of it is read in one read-only transaction, also when called from within this class.
+     */
+    @Scheduled(fixedDelayString = "${analytics.snapshot.refresh-interval-ms:60000}")
+    public void refreshSnapshot() {
+        refreshLock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> recompute());
+        } finally {
+            synchronized (pendingPatches) {
+                recording = false;
+                pendingPatches.clear();
+            }
+            refreshLock.unlock();
+        }
+    }
+
+    private void recompute() {
+        // Aggregate in the database instead of loading every attraction
+        long totalClicks;
+        List<RankedAttraction> mostVisited;
+        trafficLock.writeLock().lock();
+        try {
+            totalClicks = attractionRepository.sumTrafficCounts();
+            mostVisited = toRankedAttractions(
+                    attractionRepository.findMostVisited(PageRequest.of(0, TOP_ATTRACTIONS)));
+            synchronized (pendingPatches) {
+                recording = true;
+            }
+        } finally {
+            trafficLock.writeLock().unlock();
+        }
+
+        // Windows are aligned to bucket boundaries and include the current, still open bucket
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime currentHour = TrafficGranularity.HOUR.bucketStart(now);
+        LocalDateTime nextHour = currentHour.plusHours(1);
+        LocalDateTime tomorrow = TrafficGranularity.DAY.bucketStart(now).plusDays(1);
+
+        long clicksThisHour = trafficRollupRepository.sumHits(TrafficGranularity.HOUR, currentHour, nextHour);
+        long clicksLast24Hours = trafficRollupRepository.sumHits(TrafficGranularity.HOUR, nextHour.minusHours(24), nextHour);
+        long clicksThisWeek = trafficRollupRepository.sumHits(TrafficGranularity.DAY, tomorrow.minusDays(7), tomorrow);
+        long clicksLastWeek = trafficRollupRepository.sumHits(TrafficGranularity.DAY, tomorrow.minusDays(14), tomorrow.minusDays(7));
+
+        UniqueVisitorService.UniqueVisitorSummary uniqueVisitors =
+                uniqueVisitorService.summarize(LocalDate.now().minusDays(6), TOP_ATTRACTIONS);
+
+        long computedAt = System.currentTimeMillis();
+        AnalyticsSnapshot recomputed = new AnalyticsSnapshot(totalClicks, mostVisited,
+                clicksThisHour, clicksLast24Hours, clicksThisWeek, clicksLastWeek,
+                uniqueVisitors.uniqueVisitors(), toUniqueVisitorsDTOs(uniqueVisitors.topAttractions()),
+                computedAt, computedAt);
+        synchronized (pendingPatches) {
+            for (UnaryOperator<AnalyticsSnapshot> patch : pendingPatches) {
+                recomputed = patch.apply(recomputed);
+            }
+            snapshot.set(recomputed);
+        }
+    }
+
+    /**
+     * Runs a write of traffic counts that ends with {@link #applyTrafficDeltas}, so that a
+     * concurrent recompute either sees the write in the totals it reads or replays the patch,
+     * never both and never neither.
+     *
+     * @param write the write, including its commit and the patch of the snapshot
+     */
+    public void writeTraffic(Runnable write) {
+        trafficLock.readLock().lock();
+        try {
+            write.run();
+        } finally {
+            trafficLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Patches the snapshot with traffic that has just been written to the attractions table.
+     * The total is incremented and the written attractions are re-ranked against the current top
+     * attractions using their persisted counts, one query per call. Must be called after the
+     * deltas are committed. Anything this cannot see, such as deleted attractions or counts that
+     * were reset, is corrected by the next full recompute. Must be called within
+     * {@link #writeTraffic}.
+     *
+     * @param deltas the written hits per attraction ID
+     */
+    public void applyTrafficDeltas(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        synchronized (pendingPatches) {
+            // Before the first recompute there is nothing to patch and nothing to replay onto
+            if (snapshot.get() == null && !recording) {
+                return;
+            }
+        }
+        long addedClicks = 0;
+        for (long hits : deltas.values()) {
+            addedClicks += hits;
+        }
+
+        List<RankedAttraction> updated;
+        try {
+            updated = toRankedAttractions(attractionRepository.findNamesAndTrafficCountsByIdIn(deltas.keySet()));
+        } catch (RuntimeException ex) {
+            // Leave the snapshot as it is; the next full recompute catches up
+            log.warn("Failed to update the analytics snapshot with {} written traffic counts", deltas.size(), ex);
+            return;
+        }
+
+        long clicks = addedClicks;
+        long updatedAt = System.currentTimeMillis();
+        UnaryOperator<AnalyticsSnapshot> patch = current -> current.withTraffic(clicks, updated, updatedAt);
+        synchronized (pendingPatches) {
+            AnalyticsSnapshot current = snapshot.get();
+            if (current != null) {
+                snapshot.set(patch.apply(current));
+            }
+            if (recording) {
+                pendingPatches.add(patch);
+            }
+        }
+    }
+
+    private List<RankedAttraction> toRankedAttractions(List<Object[]> rows) {
+        List<RankedAttraction> attractions = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            attractions.add(new RankedAttraction((Long) row[0], (String) row[1], ((Number) row[2]).longValue()));
+        }
+        return attractions;
+    }
+
+    private List<UniqueVisitorsDTO> toUniqueVisitorsDTOs(Map<Long, Long> estimates) {
+        Map<Long, Attraction> attractions = attractionRepository.findAllById(estimates.keySet()).stream()
+                .collect(Collectors.toMap(Attraction::getId, Function.identity()));
+
+        // Sketches of deleted attractions linger until they expire; leave them out
+        List<UniqueVisitorsDTO> result = new ArrayList<>();
+        estimates.forEach((id, visitors) -> {
+            Attraction attraction = attractions.get(id);
+            if (attraction != null) {
+                result.add(new UniqueVisitorsDTO(id, attraction.getName(), visitors));
+            }
+        });
+        return result;
+    }
+
+    private record RankedAttraction(Long id, String name, long trafficCount) {
+    }
+
+    /**
+     * Immutable analytics state. Every change produces a new instance, so a reader holding a
+     * reference always sees consistent values.
+     */
+    private record AnalyticsSnapshot(long totalClicks, List<RankedAttraction> mostVisited,
+                                     long clicksThisHour, long clicksLast24Hours,
+                                     long clicksThisWeek, long clicksLastWeek,
+                                     long uniqueVisitorsLast7Days, List<UniqueVisitorsDTO> topAttractionsByUniqueVisitors,
+                                     long computedAt, long trafficUpdatedAt) {
+
+        AnalyticsSnapshot {
+            mostVisited = List.copyOf(mostVisited);
+            topAttractionsByUniqueVisitors = List.copyOf(topAttractionsByUniqueVisitors);
+        }
+
+        AnalyticsSnapshot withTraffic(long addedClicks, List<RankedAttraction> updated, long updatedAt) {
+            // Fresh counts replace the ranked entries of the same attraction
+            Map<Long, RankedAttraction> candidates = new HashMap<>();
+            mostVisited.forEach(attraction -> candidates.put(attraction.id(), attraction));
+            updated.forEach(attraction -> candidates.put(attraction.id(), attraction));
+
+            List<RankedAttraction> top = candidates.values().stream()
+                    .filter(attraction -> attraction.trafficCount() > 0)
+                    .sorted(RANKING)
+                    .limit(TOP_ATTRACTIONS)
+                    .toList();
+
+            return new AnalyticsSnapshot(totalClicks + addedClicks, top,
+                    clicksThisHour, clicksLast24Hours, clicksThisWeek, clicksLastWeek,
+                    uniqueVisitorsLast7Days, topAttractionsByUniqueVisitors,
+                    computedAt, updatedAt);
+        }
+
+        AnalyticsResponseDTO toResponse(long now) {
+            List<String> names = mostVisited.stream().map(RankedAttraction::name).collect(Collectors.toList());
+            AnalyticsResponseDTO response = new AnalyticsResponseDTO((int) totalClicks, names,
+                    clicksThisHour, clicksLast24Hours, clicksThisWeek, clicksLastWeek);
+            response.setUniqueVisitorsLast7Days(uniqueVisitorsLast7Days);
+            response.setTopAttractionsByUniqueVisitors(topAttractionsByUniqueVisitors);
+            response.setSnapshotAgeMs(now - computedAt);
+            response.setTrafficAgeMs(now - trafficUpdatedAt);
+            return response;
+        }
+    }
 }
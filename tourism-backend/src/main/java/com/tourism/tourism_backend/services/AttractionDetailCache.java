@@ -0,0 +1,115 @@
+package com.tourism.tourism_backend.services;
+
+import com.tourism.tourism_backend.dto.AttractionCacheMetricsDTO;
+import com.tourism.tourism_backend.dto.AttractionDetailDTO;
+import com.tourism.tourism_backend.util.AfterCommit;
+import com.tourism.tourism_backend.util.ReadThroughCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-process cache of attraction details, bounded by their estimated size in bytes.
+ * Entries are evicted when the attraction is updated, deleted or reviewed, and expire after a
+ * fixed time in any case, which bounds how stale a detail can get through writes that bypass
+ * this service. Concurrent misses on the same attraction are answered by a single query.
+ */
+@Service
+public class AttractionDetailCache {
+
+    // Rough per-object and per-character costs of a cached detail on a 64-bit JVM
+    private static final long DETAIL_OVERHEAD_BYTES = 160;
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    private final ReadThroughCache<Long, AttractionDetailDTO> cache;
+
+    public AttractionDetailCache(@Value("${attractions.detail-cache.max-size-bytes:16777216}") long maxSizeBytes,
+                                 @Value("${attractions.detail-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = new ReadThroughCache<>(maxSizeBytes, ttlSeconds, TimeUnit.SECONDS,
+                AttractionDetailCache::estimateSize);
+    }
+
+    /**
+     * Returns the detail of an attraction, loading it on a miss.
+     *
+     * @param id     the ID of the attraction
+     * @param loader loads the detail; exceptions are passed on to every caller waiting for the load
+     * @return the detail
+     */
+    public AttractionDetailDTO get(Long id, Function<Long, AttractionDetailDTO> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Returns the detail of an attraction, loading it on a miss or when the cached detail is not
+     * current. Writes evict their attraction once they commit, so a detail read in between is
+     * cached until then and must not be served as the committed state.
+     *
+     * @param id        the ID of the attraction
+     * @param isCurrent whether a cached detail is still current
+     * @param loader    loads the detail; exceptions are passed on to every caller waiting for the load
+     * @return the detail
+     */
+    public AttractionDetailDTO get(Long id, Predicate<AttractionDetailDTO> isCurrent,
+                                   Function<Long, AttractionDetailDTO> loader) {
+        AttractionDetailDTO detail = cache.get(id, loader);
+        if (isCurrent.test(detail)) {
+            return detail;
+        }
+        cache.invalidate(id);
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Evicts an attraction right away and again once the current transaction commits, if there
+     * is one, so a read between the two cannot keep the state from before the commit cached.
+     *
+     * @param id the ID of the attraction
+     */
+    public void evictAfterCommit(Long id) {
+        cache.invalidate(id);
+        AfterCommit.run(() -> cache.invalidate(id));
+    }
+
+    /**
+     * Returns the size, hit rate, load times and evictions of the cache.
+     *
+     * @return the cache metrics
+     */
+    public AttractionCacheMetricsDTO getMetrics() {
+        ReadThroughCache.Stats stats = cache.stats();
+        long lookups = stats.hits() + stats.misses();
+        long loads = stats.loadSuccesses() + stats.loadFailures();
+        return new AttractionCacheMetricsDTO(
+                stats.size(),
+                stats.weight(),
+                stats.maxWeight(),
+                stats.hits(),
+                stats.misses(),
+                lookups == 0 ? 0 : (double) stats.hits() / lookups,
+                loads,
+                stats.loadFailures(),
+                stats.loadSuccesses() == 0 ? 0 : stats.totalLoadNanos() / 1e6 / stats.loadSuccesses(),
+                stats.evictions(),
+                stats.expirations(),
+                stats.invalidations()
+        );
+    }
+
+    private static long estimateSize(AttractionDetailDTO detail) {
+        long size = DETAIL_OVERHEAD_BYTES + stringSize(detail.getName()) + stringSize(detail.getDescription());
+        if (detail.getPhotos() != null) {
+            for (String photo : detail.getPhotos()) {
+                size += 8 + stringSize(photo);
+            }
+        }
+        return size;
+    }
+
+    private static long stringSize(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + value.length();
+    }
+}
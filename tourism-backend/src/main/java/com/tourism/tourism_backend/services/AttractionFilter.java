@@ -0,0 +1,44 @@
+package com.tourism.tourism_backend.services;
+
+/**
+ * Conditions on the attractions listed; a null bound is not applied.
+ *
+ * @param minFee          the lowest entrance fee, inclusive
+ * @param maxFee          the highest entrance fee, inclusive
+ * @param minTrafficCount the lowest traffic count, inclusive
+ * @param minRating       the lowest average rating, inclusive; excludes attractions without reviews
+ */
+public record AttractionFilter(Double minFee, Double maxFee, Integer minTrafficCount, Double minRating) {
+
+    public static final AttractionFilter NONE = new AttractionFilter(null, null, null, null);
+
+    /**
+     * Returns whether no condition is set.
+     */
+    public boolean isEmpty() {
+        return minFee == null && maxFee == null && minTrafficCount == null && minRating == null;
+    }
+
+    /**
+     * Checks that the bounds are in range and consistent.
+     *
+     * @throws IllegalArgumentException if a bound is out of range
+     */
+    public void validate() {
+        if (minFee != null && !(minFee >= 0)) {
+            throw new IllegalArgumentException("Minimum fee must not be negative");
+        }
+        if (maxFee != null && !(maxFee >= 0)) {
+            throw new IllegalArgumentException("Maximum fee must not be negative");
+        }
+        if (minFee != null && maxFee != null && minFee > maxFee) {
+            throw new IllegalArgumentException("Minimum fee must not be greater than maximum fee");
+        }
+        if (minTrafficCount != null && minTrafficCount < 0) {
+            throw new IllegalArgumentException("Minimum traffic count must not be negative");
+        }
+        if (minRating != null && !(minRating >= 1 && minRating <= 5)) {
+            throw new IllegalArgumentException("Minimum rating must be between 1 and 5");
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.tourism.tourism_backend.services;
+
+import com.tourism.tourism_backend.dto.AttractionSummaryDTO;
+import com.tourism.tourism_backend.dto.MapClusterDTO;
+import com.tourism.tourism_backend.dto.NearbyAttractionDTO;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.util.AfterCommit;
+import com.tourism.tourism_backend.util.ClusterPyramid;
+import com.tourism.tourism_backend.util.GeoIndex;
+import com.tourism.tourism_backend.util.RebuildableIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Queries over attraction locations, answered from in-memory indexes: "nearby" queries from a
+ * {@link GeoIndex}, and map clusters for a viewport from a {@link ClusterPyramid}. Like the
+ * search indexes, the indexes are built from the database at startup and then kept up to date
+ * by AttractionService once each change commits. Only the attractions returned are read from
+ * the database, by primary key.
+ */
+@Service
+public class AttractionGeoService {
+
+    public static final int MAX_LIMIT = 100;
+
+    // Half the earth's circumference: every point is within this distance
+    public static final double MAX_RADIUS_METERS = 20_000_000;
+
+    // Deepest zoom level of common web map libraries
+    public static final int MAX_MAP_ZOOM = 22;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    private final RebuildableIndex<Indexes> indexes = new RebuildableIndex<>(Indexes::new);
+
+    /**
+     * Finds the attractions within a radius of a location.
+     *
+     * @param latitude     the latitude of the location in degrees
+     * @param longitude    the longitude of the location in degrees
+     * @param radiusMeters the radius in meters
+     * @param limit        the maximum number of attractions to return
+     * @return the nearest attractions within the radius, nearest first
+     * @throws IllegalArgumentException if a parameter is out of bounds
+     */
+    public List<NearbyAttractionDTO> findWithinRadius(Double latitude, Double longitude, Double radiusMeters, int limit) {
+        checkLocation(latitude, longitude);
+        if (radiusMeters == null || !(radiusMeters > 0 && radiusMeters <= MAX_RADIUS_METERS)) {
+            throw new IllegalArgumentException("Radius must be positive and at most " + (long) MAX_RADIUS_METERS + " meters");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return find(latitude, longitude, limit, radiusMeters);
+    }
+
+    /**
+     * Finds the attractions nearest to a location, however far away they are.
+     *
+     * @param latitude  the latitude of the location in degrees
+     * @param longitude the longitude of the location in degrees
+     * @param k         the number of attractions to return
+     * @return the k nearest attractions, nearest first
+     * @throws IllegalArgumentException if a parameter is out of bounds
+     */
+    public List<NearbyAttractionDTO> findNearest(Double latitude, Double longitude, int k) {
+        checkLocation(latitude, longitude);
+        if (k < 1 || k > MAX_LIMIT) {
+            throw new IllegalArgumentException("K must be between 1 and " + MAX_LIMIT);
+        }
+        return find(latitude, longitude, k, Double.POSITIVE_INFINITY);
+    }
+
+    private static void checkLocation(Double latitude, Double longitude) {
+        if (latitude == null || !(latitude >= -90 && latitude <= 90)) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90");
+        }
+        if (longitude == null || !(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        }
+    }
+
+    private List<NearbyAttractionDTO> find(double latitude, double longitude, int limit, double maxDistanceMeters) {
+        List<GeoIndex.Neighbour> neighbours = indexes.read(
+                target -> target.points.nearest(latitude, longitude, limit, maxDistanceMeters));
+        if (neighbours.isEmpty()) {
+            return List.of();
+        }
+
+        // Attractions deleted since the lookup ran are left out
+        Map<Long, AttractionSummaryDTO> summaries = new HashMap<>();
+        for (AttractionSummaryDTO summary : attractionRepository.findSummariesByIdIn(
+                neighbours.stream().map(GeoIndex.Neighbour::id).toList())) {
+            summaries.put(summary.getId(), summary);
+        }
+        List<NearbyAttractionDTO> results = new ArrayList<>(neighbours.size());
+        for (GeoIndex.Neighbour neighbour : neighbours) {
+            AttractionSummaryDTO summary = summaries.get(neighbour.id());
+            if (summary != null) {
+                results.add(new NearbyAttractionDTO(summary, neighbour.distanceMeters()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the clusters of attractions to draw on a map viewport at a zoom level, largest first.
+     * Beyond {@link ClusterPyramid#MAX_ZOOM}, every attraction in the viewport is returned on its own.
+     *
+     * @param south the southern edge of the viewport in degrees
+     * @param west  the western edge in degrees; east of the eastern edge across the antimeridian
+     * @param north the northern edge in degrees
+     * @param east  the eastern edge in degrees
+     * @param zoom  the zoom level
+     * @return the clusters, with the name of the attraction for clusters of one
+     * @throws IllegalArgumentException if a parameter is out of bounds
+     */
+    public List<MapClusterDTO> getMapClusters(Double south, Double west, Double north, Double east, Integer zoom) {
+        checkLocation(south, west);
+        checkLocation(north, east);
+        if (south > north) {
+            throw new IllegalArgumentException("South must not be greater than north");
+        }
+        if (zoom == null || zoom < 0 || zoom > MAX_MAP_ZOOM) {
+            throw new IllegalArgumentException("Zoom must be between 0 and " + MAX_MAP_ZOOM);
+        }
+
+        List<ClusterPyramid.Cluster> clusters = indexes.read(
+                target -> target.clusters.query(south, west, north, east, zoom));
+
+        List<Long> ids = clusters.stream().filter(cluster -> cluster.count() == 1).map(ClusterPyramid.Cluster::id).toList();
+        Map<Long, String> names = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Object[] row : attractionRepository.findNamesAndTrafficCountsByIdIn(ids)) {
+                names.put((Long) row[0], (String) row[1]);
+            }
+        }
+        // Attractions deleted since the lookup ran are left out
+        List<MapClusterDTO> results = new ArrayList<>(clusters.size());
+        for (ClusterPyramid.Cluster cluster : clusters) {
+            if (cluster.count() > 1) {
+                results.add(new MapClusterDTO(cluster.latitude(), cluster.longitude(), cluster.count(), null, null));
+            } else if (names.containsKey(cluster.id())) {
+                results.add(new MapClusterDTO(cluster.latitude(), cluster.longitude(), 1, cluster.id(),
+                        names.get(cluster.id())));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Indexes an attraction's location once the current transaction commits, or right away if
+     * there is none. An attraction without a location is removed from the indexes.
+     *
+     * @param id        the ID of the attraction
+     * @param latitude  the latitude in degrees, or null
+     * @param longitude the longitude in degrees, or null
+     */
+    public void indexAfterCommit(Long id, Double latitude, Double longitude) {
+        AfterCommit.run(() -> index(id, latitude, longitude));
+    }
+
+    /**
+     * Removes an attraction from the indexes once the current transaction commits, or right away
+     * if there is none.
+     *
+     * @param id the ID of the attraction
+     */
+    public void removeAfterCommit(Long id) {
+        AfterCommit.run(() -> remove(id));
+    }
+
+    /**
+     * Indexes an attraction's location, replacing the one indexed for it before. An attraction
+     * without a location is removed from the indexes.
+     *
+     * @param id        the ID of the attraction
+     * @param latitude  the latitude in degrees, or null
+     * @param longitude the longitude in degrees, or null
+     */
+    public void index(Long id, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            remove(id);
+        } else {
+            indexes.apply(target -> target.put(id, latitude, longitude));
+        }
+    }
+
+    /**
+     * Removes an attraction from the indexes.
+     *
+     * @param id the ID of the attraction
+     */
+    public void remove(Long id) {
+        indexes.apply(target -> target.remove(id));
+    }
+
+    /**
+     * Rebuilds the indexes from the attractions table. Queries keep using the previous indexes
+     * until the new ones are complete.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        indexes.rebuild(target -> {
+            try (Stream<Object[]> rows = attractionRepository.streamLocations()) {
+                rows.forEach(row -> target.put((Long) row[0], (Double) row[1], (Double) row[2]));
+            }
+        });
+    }
+
+    /**
+     * Returns the number of indexed attractions.
+     */
+    public int size() {
+        return indexes.read(target -> target.points.size());
+    }
+
+    /**
+     * The point index and the cluster pyramid, always changed together.
+     */
+    private static final class Indexes {
+        private final GeoIndex points = new GeoIndex();
+        private final ClusterPyramid clusters = new ClusterPyramid();
+
+        void put(Long id, double latitude, double longitude) {
+            points.put(id, latitude, longitude);
+            clusters.put(id, latitude, longitude);
+        }
+
+        void remove(Long id) {
+            points.remove(id);
+            clusters.remove(id);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.tourism.tourism_backend.services;
+
+import com.tourism.tourism_backend.dto.AttractionNameMatchDTO;
+import com.tourism.tourism_backend.dto.AttractionSearchHitDTO;
+import com.tourism.tourism_backend.dto.AttractionSearchResultDTO;
+import com.tourism.tourism_backend.dto.AttractionSummaryDTO;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.util.AfterCommit;
+import com.tourism.tourism_backend.util.InvertedIndex;
+import com.tourism.tourism_backend.util.RebuildableIndex;
+import com.tourism.tourism_backend.util.TrigramIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Search over attractions, answered from in-memory indexes: full-text search over names and
+ * descriptions from an {@link InvertedIndex}, and typo-tolerant name lookup and autocomplete
+ * from a {@link TrigramIndex}. The indexes are built from the database at startup and then kept
+ * up to date by AttractionService as attractions are added, updated and deleted; changes are
+ * applied once their transaction commits. Only the matches returned are read from the database,
+ * by primary key.
+ */
+@Service
+public class AttractionSearchService {
+
+    public static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Value("${attractions.search.fuzzy-threshold:0.3}")
+    private double fuzzyThreshold;
+
+    private final RebuildableIndex<Indexes> indexes = new RebuildableIndex<>(Indexes::new);
+
+    /**
+     * Finds the attractions whose name or description contains every word of a query.
+     *
+     * @param query the query
+     * @param limit the maximum number of attractions to return
+     * @return the best matches, most relevant first
+     * @throws IllegalArgumentException if the query has no words or the limit is out of bounds
+     */
+    public AttractionSearchResultDTO search(String query, int limit) {
+        validate(query, limit);
+
+        InvertedIndex.Result result = indexes.read(target -> target.text.search(query, limit));
+
+        // Attractions deleted since the search ran are left out
+        Map<Long, AttractionSummaryDTO> summaries = new HashMap<>();
+        if (!result.hits().isEmpty()) {
+            for (AttractionSummaryDTO summary : attractionRepository.findSummariesByIdIn(
+                    result.hits().stream().map(InvertedIndex.Hit::id).toList())) {
+                summaries.put(summary.getId(), summary);
+            }
+        }
+        List<AttractionSearchHitDTO> items = new ArrayList<>(result.hits().size());
+        for (InvertedIndex.Hit hit : result.hits()) {
+            AttractionSummaryDTO summary = summaries.get(hit.id());
+            if (summary != null) {
+                items.add(new AttractionSearchHitDTO(summary, hit.score()));
+            }
+        }
+        return new AttractionSearchResultDTO(query, result.totalMatches(), items);
+    }
+
+    /**
+     * Finds the attractions whose names are most similar to a query, allowing for misspellings.
+     * Names below the configured trigram similarity are left out.
+     *
+     * @param query the query
+     * @param limit the maximum number of attractions to return
+     * @return the matches, most similar first, scored by trigram similarity
+     * @throws IllegalArgumentException if the query has no words or the limit is out of bounds
+     */
+    public List<AttractionNameMatchDTO> lookupByName(String query, int limit) {
+        validate(query, limit);
+
+        List<TrigramIndex.Match> matches = indexes.read(
+                target -> target.names.lookup(query, fuzzyThreshold, limit));
+        return withNames(matches);
+    }
+
+    /**
+     * Completes a typed prefix to attraction names in which a word starts with it. Names that
+     * start with the prefix come first, then shorter names.
+     *
+     * @param prefix the typed prefix
+     * @param limit  the maximum number of attractions to return
+     * @return the matches, best first, scored by the share of the name the prefix covers
+     * @throws IllegalArgumentException if the prefix has no words or the limit is out of bounds
+     */
+    public List<AttractionNameMatchDTO> autocomplete(String prefix, int limit) {
+        validate(prefix, limit);
+
+        List<TrigramIndex.Match> matches = indexes.read(target -> target.names.complete(prefix, limit));
+        return withNames(matches);
+    }
+
+    private static void validate(String query, int limit) {
+        if (query == null || InvertedIndex.tokenize(query).isEmpty()) {
+            throw new IllegalArgumentException("Query must contain at least one word");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    // Attractions deleted since the lookup ran are left out
+    private List<AttractionNameMatchDTO> withNames(List<TrigramIndex.Match> matches) {
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (Object[] row : attractionRepository.findNamesAndTrafficCountsByIdIn(
+                matches.stream().map(TrigramIndex.Match::id).toList())) {
+            names.put((Long) row[0], (String) row[1]);
+        }
+        List<AttractionNameMatchDTO> results = new ArrayList<>(matches.size());
+        for (TrigramIndex.Match match : matches) {
+            String name = names.get(match.id());
+            if (name != null) {
+                results.add(new AttractionNameMatchDTO(match.id(), name, match.score()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Indexes an attraction's current name and description once the current transaction commits,
+     * or right away if there is none.
+     *
+     * @param id          the ID of the attraction
+     * @param name        the name of the attraction
+     * @param description the description of the attraction
+     */
+    public void indexAfterCommit(Long id, String name, String description) {
+        AfterCommit.run(() -> index(id, name, description));
+    }
+
+    /**
+     * Removes an attraction from the index once the current transaction commits, or right away
+     * if there is none.
+     *
+     * @param id the ID of the attraction
+     */
+    public void removeAfterCommit(Long id) {
+        AfterCommit.run(() -> remove(id));
+    }
+
+    /**
+     * Indexes an attraction's name and description, replacing what was indexed for it before.
+     *
+     * @param id          the ID of the attraction
+     * @param name        the name of the attraction
+     * @param description the description of the attraction
+     */
+    public void index(Long id, String name, String description) {
+        indexes.apply(target -> target.put(id, name, description));
+    }
+
+    /**
+     * Removes an attraction from the index.
+     *
+     * @param id the ID of the attraction
+     */
+    public void remove(Long id) {
+        indexes.apply(target -> target.remove(id));
+    }
+
+    /**
+     * Rebuilds the indexes from the attractions table. Searches keep using the previous indexes
+     * until the new ones are complete.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        indexes.rebuild(target -> {
+            try (Stream<Object[]> rows = attractionRepository.streamSearchFields()) {
+                rows.forEach(row -> target.put((Long) row[0], (String) row[1], (String) row[2]));
+            }
+        });
+    }
+
+    /**
+     * Returns the number of indexed attractions.
+     */
+    public int size() {
+        return indexes.read(target -> target.text.size());
+    }
+
+    /**
+     * The full-text and name indexes, always changed together.
+     */
+    private static final class Indexes {
+        private final InvertedIndex text = new InvertedIndex();
+        private final TrigramIndex names = new TrigramIndex();
+
+        void put(Long id, String name, String description) {
+            text.put(id, name, description);
+            names.put(id, name);
+        }
+
+        void remove(Long id) {
+            text.remove(id);
+            names.remove(id);
+        }
+    }
+}
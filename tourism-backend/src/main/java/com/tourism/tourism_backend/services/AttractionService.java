@@ -1,17 +1,27 @@
 package com.tourism.tourism_backend.services;
 
 import com.tourism.tourism_backend.dto.AttractionDetailDTO;
+import com.tourism.tourism_backend.dto.AttractionPageDTO;
+import com.tourism.tourism_backend.dto.AttractionSummaryDTO;
 import com.tourism.tourism_backend.exceptions.ResourceNotFoundException;
 import com.tourism.tourism_backend.models.Attraction;
 import com.tourism.tourism_backend.repositories.AttractionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * Service class for handling attraction-related operations.
@@ -22,34 +32,140 @@ public class AttractionService {
     @Autowired
     private AttractionRepository attractionRepository;
 
+    @Autowired
+    private TrafficCounterBuffer trafficCounterBuffer;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private TopRatedService topRatedService;
+
+    @Autowired
+    private AttractionDetailCache attractionDetailCache;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private AttractionSearchService attractionSearchService;
+
+    @Autowired
+    private AttractionGeoService attractionGeoService;
+
+    @Value("${attractions.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${attractions.page.max-size:100}")
+    private int maxPageSize;
+
     /**
-     * Retrieves all attractions from the database.
+     * Retrieves all attractions from the database in a single query, without their photo lists.
      *
      * @return a list of all attractions
      */
-    public List<Attraction> getAllAttractions() {
-        return attractionRepository.findAll();
+    public List<AttractionSummaryDTO> getAllAttractions() {
+        return attractionRepository.findAllSummaries();
+    }
+
+    /**
+     * Retrieves one page of attractions using keyset pagination, optionally filtered. Each page
+     * continues after the last attraction of the previous one, so it costs an index seek however
+     * deep the client has paged. The filter is not part of the cursor and must be sent with every
+     * page. Attractions added while paging by ID appear on a later page; an attraction whose
+     * sorted value changes while paging by it may be skipped or repeated.
+     *
+     * @param cursor the cursor of the previous page, or null for the first page
+     * @param size   the page size, or null for the configured default
+     * @param sort   the order, or null for the cursor's order (ID on the first page)
+     * @param filter the conditions on the attractions
+     * @return the page with the cursor of the next page
+     * @throws IllegalArgumentException if the size or a filter bound is out of bounds or the cursor is invalid
+     */
+    public AttractionPageDTO getAttractionsPage(String cursor, Integer size, AttractionSort sort, AttractionFilter filter) {
+        int pageSize = size != null ? size : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Size must be between 1 and " + maxPageSize);
+        }
+        filter.validate();
+        PageCursor position = cursor != null ? PageCursor.decode(cursor) : null;
+        AttractionSort order = sort != null ? sort : position != null ? position.sort() : AttractionSort.ID;
+        if (position != null && position.sort() != order) {
+            throw new IllegalArgumentException("Cursor does not match sort: " + order.getParameter());
+        }
+
+        // One extra row tells whether there is a next page, without a count query
+        List<Object[]> rows = attractionRepository.findPage(filter, order,
+                position != null ? position.key() : null, position != null ? position.id() : null, pageSize + 1);
+
+        List<AttractionSummaryDTO> attractions = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (int i = 0; i < rows.size() && i < pageSize; i++) {
+            attractions.add((AttractionSummaryDTO) rows.get(i)[0]);
+        }
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            Object[] last = rows.get(pageSize - 1);
+            nextCursor = new PageCursor(order, (Number) last[1], ((AttractionSummaryDTO) last[0]).getId()).encode();
+        }
+        return new AttractionPageDTO(attractions, nextCursor);
+    }
+
+    /**
+     * Sets the stored average rating of attractions reviewed before it was kept, so rating
+     * filters see them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillRatingAverages() {
+        attractionRepository.backfillRatingAverages();
+    }
+
+    /**
+     * Sets the cover photo of attractions saved with photos before it was kept, so the listing
+     * shows them with one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillCoverPhotos() {
+        if (attractionRepository.backfillCoverPhotos() > 0) {
+            // Written behind the entity listener's back, and a snapshot may already be built
+            catalogSnapshotService.refreshAttractionsAfterCommit();
+        }
     }
 
     /**
-     * Retrieves detailed information for a specific attraction by its ID.
+     * Retrieves detailed information for a specific attraction by its ID, from the detail cache
+     * when possible. The returned DTO may be shared with other callers and must not be modified.
      *
-     * @param id the ID of the attraction to retrieve
+     * @param id        the ID of the attraction to retrieve
+     * @param isCurrent whether a cached detail may be served; otherwise it is reloaded
      * @return an AttractionDetailDTO containing detailed information
      * @throws ResourceNotFoundException if the attraction is not found
      */
-    public AttractionDetailDTO getAttractionById(Long id) {
+    public AttractionDetailDTO getAttractionById(Long id, Predicate<AttractionDetailDTO> isCurrent) {
+        return attractionDetailCache.get(id, isCurrent, this::loadAttractionDetail);
+    }
+
+    private AttractionDetailDTO loadAttractionDetail(Long id) {
         // Find attraction by ID or throw exception if not found
-        Attraction attraction = attractionRepository.findById(id)
+        Attraction attraction = attractionRepository.findWithPhotosById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Attraction not found with id: " + id));
 
-        // Return a DTO with detailed attraction information
-        return new AttractionDetailDTO(
+        // Return a DTO with detailed attraction information; the photos are copied out of the
+        // persistence context so the cached DTO does not hold on to it
+        AttractionDetailDTO detail = new AttractionDetailDTO(
                 attraction.getName(),
                 attraction.getShortDescription(),
                 attraction.getEntranceFee(),
-                attraction.getPhotos()
+                attraction.getPhotos() != null ? Collections.unmodifiableList(new ArrayList<>(attraction.getPhotos())) : null
         );
+        detail.setLatitude(attraction.getLatitude());
+        detail.setLongitude(attraction.getLongitude());
+        detail.setReviewCount(attraction.getReviewCount());
+        detail.setAverageRating(attraction.getAverageRating());
+        detail.setRatingHistogram(attraction.getRatingHistogram());
+        detail.setVersion(attraction.getVersion());
+        return detail;
     }
 
     /**
@@ -59,24 +175,34 @@ public class AttractionService {
      */
     @Transactional
     public void addAttraction(AttractionDetailDTO attractionDTO) {
+        checkLocation(attractionDTO);
 
         Attraction attraction = new Attraction();
         attraction.setName(attractionDTO.getName().trim());
         attraction.setShortDescription(attractionDTO.getDescription().trim());
         attraction.setEntranceFee(attractionDTO.getEntranceFee());
         attraction.setPhotos(attractionDTO.getPhotos());
+        attraction.setLatitude(attractionDTO.getLatitude());
+        attraction.setLongitude(attractionDTO.getLongitude());
 
-        attractionRepository.save(attraction);
+        Attraction saved = attractionRepository.save(attraction);
+        attractionSearchService.indexAfterCommit(saved.getId(), saved.getName(), saved.getShortDescription());
+        attractionGeoService.indexAfterCommit(saved.getId(), saved.getLatitude(), saved.getLongitude());
+        catalogSnapshotService.refreshAttractionsAfterCommit();
     }
 
     /**
-     * Updates an existing attraction by ID.
+     * Updates an existing attraction by ID. The attraction is read and edited within one
+     * transaction, and the version check fails the update if the attraction was changed after
+     * it was read.
      *
      * @param id the ID of the attraction to update
      * @param attractionDTO the updated attraction details
      * @return the updated Attraction entity
      * @throws ResourceNotFoundException if the attraction is not found
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the attraction was changed concurrently
      */
+    @Transactional
     public Attraction updateAttraction(Long id, AttractionDetailDTO attractionDTO) {
         Attraction attraction = attractionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Attraction not found with ID: " + id));
@@ -84,13 +210,15 @@ public class AttractionService {
     // Check if all fields are missing
     if ((attractionDTO.getName() == null || attractionDTO.getName().trim().isEmpty()) && 
         (attractionDTO.getDescription() == null || attractionDTO.getDescription().trim().isEmpty()) &&
-        (attractionDTO.getEntranceFee() == null) && (attractionDTO.getPhotos() == null || attractionDTO.getPhotos().isEmpty())) {
+        (attractionDTO.getEntranceFee() == null) && (attractionDTO.getPhotos() == null || attractionDTO.getPhotos().isEmpty()) &&
+        (attractionDTO.getLatitude() == null && attractionDTO.getLongitude() == null)) {
         throw new IllegalArgumentException("At least one field is required for update");
     }
 
     if (attractionDTO.getEntranceFee() != null && attractionDTO.getEntranceFee() < 0) {
         throw new IllegalArgumentException("Entrance fee must be a positive number");
     }
+    checkLocation(attractionDTO);
 
     // Update only if new values are provided
     if (attractionDTO.getName() != null && !attractionDTO.getName().isEmpty()) {
@@ -105,8 +233,18 @@ public class AttractionService {
     if (attractionDTO.getPhotos() != null) {
         attraction.setPhotos(attractionDTO.getPhotos());
     }
+    if (attractionDTO.getLatitude() != null) {
+        attraction.setLatitude(attractionDTO.getLatitude());
+        attraction.setLongitude(attractionDTO.getLongitude());
+    }
 
-        return attractionRepository.save(attraction);
+        // Flush now, so a concurrent change is reported here rather than at commit
+        Attraction saved = attractionRepository.saveAndFlush(attraction);
+        attractionDetailCache.evictAfterCommit(id);
+        attractionSearchService.indexAfterCommit(id, saved.getName(), saved.getShortDescription());
+        attractionGeoService.indexAfterCommit(id, saved.getLatitude(), saved.getLongitude());
+        catalogSnapshotService.refreshAttractionsAfterCommit();
+        return saved;
     }
 
     /**
@@ -121,6 +259,57 @@ public class AttractionService {
             throw new ResourceNotFoundException("Attraction not found with ID: " + id);
         }
         attractionRepository.deleteById(id);
+        // Buffered clicks for a deleted attraction have nowhere to go
+        trafficCounterBuffer.discardAfterCommit(id);
+        trendingService.removeAfterCommit(id);
+        topRatedService.removeAfterCommit(id);
+        attractionDetailCache.evictAfterCommit(id);
+        attractionSearchService.removeAfterCommit(id);
+        attractionGeoService.removeAfterCommit(id);
+        catalogSnapshotService.refreshAttractionsAfterCommit();
+    }
+
+    // A location needs both coordinates
+    private static void checkLocation(AttractionDetailDTO attractionDTO) {
+        if ((attractionDTO.getLatitude() == null) != (attractionDTO.getLongitude() == null)) {
+            throw new IllegalArgumentException("Latitude and longitude must be given together");
+        }
+    }
+
+    /**
+     * Position after the last attraction of a page: the sort attribute (an int for traffic
+     * counts, a double for fees and ratings) and the ID. Encoded as URL-safe Base64 so clients
+     * treat it as an opaque token.
+     */
+    private record PageCursor(AttractionSort sort, Number key, long id) {
+
+        String encode() {
+            String position = sort == AttractionSort.ID
+                    ? sort.getParameter() + ":" + id
+                    : sort.getParameter() + ":" + key + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PageCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+                AttractionSort sort = AttractionSort.fromParameter(parts[0]);
+                if (sort == AttractionSort.ID && parts.length == 2) {
+                    return new PageCursor(sort, null, Long.parseLong(parts[1]));
+                }
+                if (sort == AttractionSort.TRAFFIC_COUNT && parts.length == 3) {
+                    return new PageCursor(sort, Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+                }
+                if (sort != AttractionSort.ID && parts.length == 3) {
+                    double key = Double.parseDouble(parts[1]);
+                    if (Double.isFinite(key)) {
+                        return new PageCursor(sort, key, Long.parseLong(parts[2]));
+                    }
+                }
+            } catch (IllegalArgumentException ex) {
+                // Not Base64, an unknown sort or not a number: reported below
+            }
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
-    
 }
@@ -0,0 +1,63 @@
+package com.tourism.tourism_backend.services;
+
+/**
+ * Orders in which attractions can be paged through.
+ */
+public enum AttractionSort {
+
+    /** Ascending ID, i.e. creation order. */
+    ID("id", "id", false),
+
+    /** Most visited first; ties broken by descending ID. */
+    TRAFFIC_COUNT("trafficCount", "trafficCount", true),
+
+    /** Cheapest first; ties broken by ascending ID. */
+    ENTRANCE_FEE("entranceFee", "entranceFee", false),
+
+    /** Best rated first, attractions without reviews last; ties broken by descending ID. */
+    RATING("rating", "ratingAverage", true);
+
+    private final String parameter;
+    private final String attribute;
+    private final boolean descending;
+
+    AttractionSort(String parameter, String attribute, boolean descending) {
+        this.parameter = parameter;
+        this.attribute = attribute;
+        this.descending = descending;
+    }
+
+    /**
+     * Resolves a sort order from a request parameter, ignoring case.
+     *
+     * @param value the requested sort order
+     * @return the matching sort order
+     * @throws IllegalArgumentException if the sort order is not supported
+     */
+    public static AttractionSort fromParameter(String value) {
+        for (AttractionSort sort : values()) {
+            if (sort.parameter.equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + value);
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    /**
+     * Returns the Attraction attribute sorted on, before the ID.
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Returns whether the attribute and the ID are sorted in descending order.
+     */
+    public boolean isDescending() {
+        return descending;
+    }
+}
@@ -1,12 +1,21 @@
 package com.tourism.tourism_backend.services;
 
-import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.dto.TrafficBatchItemDTO;
+import com.tourism.tourism_backend.dto.TrafficBatchResultDTO;
+import com.tourism.tourism_backend.exceptions.TrafficBackpressureException;
 import com.tourism.tourism_backend.repositories.AttractionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class for handling attraction traffic count operations.
@@ -17,33 +26,186 @@ public class AttractionTrafficService {
     @Autowired
     private AttractionRepository attractionRepository;
 
+    @Autowired
+    private TrafficCounterBuffer trafficCounterBuffer;
+
+    @Autowired
+    private UniqueVisitorService uniqueVisitorService;
+
+    @Autowired
+    private TrafficIngestionQueue trafficIngestionQueue;
+
+    @Autowired
+    private TrafficDeduplicator trafficDeduplicator;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private HeavyHitterService heavyHitterService;
+
+    @Value("${traffic.ingestion.mode:WRITE_BEHIND}")
+    private TrafficIngestionMode ingestionMode;
+
     /**
-     * Increments the traffic count for an attraction.
+     * Increments the traffic count for an attraction, persisting it according to the ingestion mode.
+     * With WRITE_BEHIND the click is buffered in memory and with QUEUE it is put on the bounded
+     * ingestion queue; in both cases the returned count is the persisted count plus the hits that
+     * are still waiting to be written. With SYNC the count is incremented with a single atomic
+     * UPDATE and read back within the same transaction.
+     * In all modes the visitor is added to the attraction's unique-visitor sketch for today and
+     * the click is added to the attraction's trending score.
+     * A repeated click within the de-duplication window is not counted; the current count is returned.
+     * A click is remembered for de-duplication only once it has been accepted.
+     *
+     * @param id        the ID of the attraction
+     * @param visitorId the username of the visitor, or null if unknown
+     * @param clientIp  the IP address of the caller, used to de-duplicate anonymous clicks
+     * @return the updated traffic count, or empty if the attraction does not exist
+     * @throws TrafficBackpressureException if the ingestion queue is full
+     */
+    @Transactional
+    public Optional<Integer> incrementTrafficCount(Long id, String visitorId, String clientIp) {
+        if (trafficDeduplicator.countableHits(id, visitorId, clientIp, 1) == 0) {
+            return getTrafficCount(id);
+        }
+
+        if (ingestionMode == TrafficIngestionMode.WRITE_BEHIND) {
+            // Read only the counter column; the write itself happens in the next batch flush
+            return attractionRepository.findTrafficCountById(id)
+                    .map(persistedCount -> {
+                        trafficCounterBuffer.record(id, 1);
+                        trafficDeduplicator.record(id, visitorId, clientIp);
+                        uniqueVisitorService.record(id, visitorId);
+                        trendingService.record(id, 1);
+                        heavyHitterService.record(id, 1);
+                        return (int) (persistedCount + trafficCounterBuffer.pendingFor(id));
+                    });
+        }
+
+        if (ingestionMode == TrafficIngestionMode.QUEUE) {
+            // Same read as above; the write happens on the queue consumer thread
+            return attractionRepository.findTrafficCountById(id)
+                    .map(persistedCount -> {
+                        // Remembered only once accepted, so a click turned away here counts when retried
+                        trafficIngestionQueue.enqueue(Map.of(id, 1L));
+                        trafficDeduplicator.record(id, visitorId, clientIp);
+                        uniqueVisitorService.record(id, visitorId);
+                        trendingService.record(id, 1);
+                        heavyHitterService.record(id, 1);
+                        return (int) (persistedCount + trafficIngestionQueue.pendingFor(id));
+                    });
+        }
+
+        // No row updated means the attraction does not exist
+        if (attractionRepository.incrementTrafficCount(id, 1) == 0) {
+            return Optional.empty();
+        }
+        trafficCounterBuffer.recordEvent(id, 1);
+        trafficDeduplicator.record(id, visitorId, clientIp);
+        uniqueVisitorService.record(id, visitorId);
+        trendingService.record(id, 1);
+        heavyHitterService.record(id, 1);
+
+        // The row is locked by our UPDATE, so this reads exactly the count we produced
+        return attractionRepository.findTrafficCountById(id);
+    }
+
+    /**
+     * Returns the traffic count of an attraction including the hits that are not written yet.
      *
      * @param id the ID of the attraction
-     * @return the updated traffic count or an error message
+     * @return the traffic count, or empty if the attraction does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<Integer> getTrafficCount(Long id) {
+        return attractionRepository.findTrafficCountById(id)
+                .map(persistedCount -> (int) (persistedCount + pendingFor(id)));
+    }
+
+    private long pendingFor(Long id) {
+        return switch (ingestionMode) {
+            case WRITE_BEHIND -> trafficCounterBuffer.pendingFor(id);
+            case QUEUE -> trafficIngestionQueue.pendingFor(id);
+            case SYNC -> 0;
+        };
+    }
+
+    /**
+     * Increments the traffic counts of several attractions at once.
+     * All IDs are validated with a single query; unknown IDs are reported and skipped. The known
+     * IDs are buffered for the next write-behind flush, put on the ingestion queue as one entry, or
+     * in SYNC mode written with one JDBC batch UPDATE. Repeated IDs within a batch are summed, and
+     * with de-duplication enabled each attraction counts at most once per window.
+     *
+     * @param items     the attraction IDs and their view counts
+     * @param visitorId the username of the visitor, or null if unknown
+     * @param clientIp  the IP address of the caller, used to de-duplicate anonymous clicks
+     * @return one result per distinct attraction ID, in request order
+     * @throws TrafficBackpressureException if the ingestion queue is full
      */
-    public Optional<Integer> incrementTrafficCount(Long id) {
+    @Transactional
+    public List<TrafficBatchResultDTO> incrementTrafficCounts(List<TrafficBatchItemDTO> items, String visitorId,
+                                                              String clientIp) {
+        Map<Long, Long> requested = new LinkedHashMap<>();
+        for (TrafficBatchItemDTO item : items) {
+            requested.merge(item.getAttractionId(), item.getCount().longValue(), Long::sum);
+        }
 
-        // Validate if the ID is a positive numeric value
-        // if (!String.valueOf(id).matches("\\d+")) {
-        //     throw new IllegalArgumentException("Invalid ID");
-        // }
+        Map<Long, Integer> persistedCounts = new HashMap<>();
+        for (Object[] row : attractionRepository.findTrafficCountsByIdIn(requested.keySet())) {
+            persistedCounts.put((Long) row[0], (Integer) row[1]);
+        }
 
-        // Find the attraction by ID
-        Optional<Attraction> attractionOptional = attractionRepository.findById(id);
+        Map<Long, Long> deltas = new HashMap<>();
+        requested.forEach((id, count) -> {
+            if (persistedCounts.containsKey(id)) {
+                long hits = trafficDeduplicator.countableHits(id, visitorId, clientIp, count);
+                if (hits > 0) {
+                    deltas.put(id, hits);
+                }
+            }
+        });
 
-        if (attractionOptional.isPresent()) {
-            Attraction attraction = attractionOptional.get();
-            // Increment the traffic count
-            attraction.setTrafficCount(attraction.getTrafficCount() + 1);
-            // Save the updated attraction
-            attractionRepository.save(attraction);
-            // Return the updated traffic count
-            return Optional.of(attraction.getTrafficCount());
+        Set<Long> missingIds = Set.of();
+        if (ingestionMode == TrafficIngestionMode.WRITE_BEHIND) {
+            deltas.forEach(trafficCounterBuffer::record);
+        } else if (ingestionMode == TrafficIngestionMode.QUEUE) {
+            if (!deltas.isEmpty()) {
+                trafficIngestionQueue.enqueue(deltas);
+            }
+        } else if (!deltas.isEmpty()) {
+            // A row deleted between the check and the update is reported as unknown
+            missingIds = attractionRepository.incrementTrafficCounts(deltas);
+            for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                if (!missingIds.contains(entry.getKey())) {
+                    trafficCounterBuffer.recordEvent(entry.getKey(), entry.getValue());
+                }
+            }
         }
 
-        // Return empty if attraction not found
-        return Optional.empty();
+        List<TrafficBatchResultDTO> results = new ArrayList<>(requested.size());
+        for (Long id : requested.keySet()) {
+            Integer persistedCount = persistedCounts.get(id);
+            if (persistedCount == null || missingIds.contains(id)) {
+                results.add(new TrafficBatchResultDTO(id, false, null));
+                continue;
+            }
+            uniqueVisitorService.record(id, visitorId);
+            Long hits = deltas.get(id);
+            if (hits != null) {
+                trafficDeduplicator.record(id, visitorId, clientIp);
+                trendingService.record(id, hits);
+                heavyHitterService.record(id, hits);
+            }
+
+            // Same contract as the single click: the persisted count plus this request's hits,
+            // and when writing asynchronously also everyone else's hits that are not written yet
+            long trafficCount = persistedCount + (ingestionMode == TrafficIngestionMode.SYNC
+                    ? deltas.getOrDefault(id, 0L)
+                    : pendingFor(id));
+            results.add(new TrafficBatchResultDTO(id, true, (int) trafficCount));
+        }
+        return results;
     }
 }
@@ -0,0 +1,33 @@
+package com.tourism.tourism_backend.services;
+
+import com.tourism.tourism_backend.models.Trip;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * JPA entity listener that reports every attraction and trip written through the persistence
+ * context to {@link CatalogVersionService}, so the listing validators change with any write
+ * path, not only those that refresh the snapshots. Bulk JPQL updates bypass it and are
+ * reported by their services.
+ */
+public class CatalogChangeListener {
+
+    // Lazy: Hibernate creates listeners while the repositories the service needs are still being built
+    @Autowired
+    @Lazy
+    private CatalogVersionService catalogVersionService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        if (entity instanceof Trip) {
+            catalogVersionService.tripsChanged();
+        } else {
+            catalogVersionService.attractionsChanged();
+        }
+    }
+}
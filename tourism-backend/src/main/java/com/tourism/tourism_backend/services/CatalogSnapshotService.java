@@ -0,0 +1,274 @@
+package com.tourism.tourism_backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.TripRepository;
+import com.tourism.tourism_backend.services.CatalogVersionService.CacheValidators;
+import com.tourism.tourism_backend.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service that keeps the full attraction and trip listings serialized in memory, as JSON bytes
+ * and gzip-compressed JSON bytes, so a listing request is answered without loading an entity or
+ * running Jackson. Each snapshot is tagged with the cache validators it was built from and is
+ * only served while they are still the current ones, so a write this service is not told about
+ * makes the listing fall back to the database instead of serving stale JSON.
+ * Snapshots are rebuilt on a background thread once a write commits, and on a fixed delay once
+ * the periodic check of {@link CatalogVersionService} finds any other write. Readers only
+ * dereference the current snapshot; a rebuild swaps in a new one by reference.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+    private final long maxSizeBytes;
+
+    // One thread, so rebuilds never overlap and a burst of writes queues at most one per catalog
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot-rebuilder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Catalog attractions;
+    private final Catalog trips;
+
+    public CatalogSnapshotService(PlatformTransactionManager transactionManager,
+                                  @Value("${catalog.snapshot.max-size-bytes:67108864}") long maxSizeBytes) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.maxSizeBytes = maxSizeBytes;
+        this.attractions = new Catalog("attractions",
+                () -> catalogVersionService.getAttractionsVersion(), () -> attractionRepository.findAllSummaries());
+        this.trips = new Catalog("trips",
+                () -> catalogVersionService.getTripsVersion(), () -> tripRepository.findAll());
+    }
+
+    /**
+     * A serialized listing and the validators it was built from.
+     *
+     * @param validators  the validators of the listing when it was read
+     * @param json        the listing as UTF-8 JSON
+     * @param gzippedJson the same JSON, gzip-compressed
+     */
+    public record CatalogSnapshot(CacheValidators validators, byte[] json, byte[] gzippedJson) {
+    }
+
+    /**
+     * Returns the attraction listing snapshot if it is up to date.
+     *
+     * @param current the current validators of the attraction listing
+     * @return the snapshot, or empty if there is none built from these validators
+     */
+    public Optional<CatalogSnapshot> getAttractions(CacheValidators current) {
+        return attractions.get(current);
+    }
+
+    /**
+     * Returns the trip listing snapshot if it is up to date.
+     *
+     * @param current the current validators of the trip listing
+     * @return the snapshot, or empty if there is none built from these validators
+     */
+    public Optional<CatalogSnapshot> getTrips(CacheValidators current) {
+        return trips.get(current);
+    }
+
+    /**
+     * Changes the validators of both listings and rebuilds both snapshots in the background once
+     * the current transaction commits, or right away if there is none. Trips embed their
+     * attractions, so any attraction write changes both.
+     */
+    public void refreshAttractionsAfterCommit() {
+        catalogVersionService.attractionsChanged();
+        AfterCommit.run(() -> {
+            attractions.schedule();
+            trips.schedule();
+        });
+    }
+
+    /**
+     * Changes the validators of the trip listing and rebuilds its snapshot in the background
+     * once the current transaction commits, or right away if there is none.
+     */
+    public void refreshTripsAfterCommit() {
+        catalogVersionService.tripsChanged();
+        AfterCommit.run(trips::schedule);
+    }
+
+    /**
+     * Checks the tables for writes the validators were not told about, then rebuilds, in the
+     * background, the snapshots whose validators have changed since they were built; the first
+     * run builds them at startup.
+     */
+    @Scheduled(fixedDelayString = "${catalog.snapshot.refresh-interval-ms:60000}")
+    public void refreshStale() {
+        try {
+            catalogVersionService.checkForChanges();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to check the catalog for changes", ex);
+        }
+        attractions.schedule();
+        trips.schedule();
+    }
+
+    /**
+     * Rebuilds both snapshots on the calling thread, inside its transaction if it has one.
+     */
+    public void refresh() {
+        attractions.rebuild();
+        trips.rebuild();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    // Stops writing once the JSON outgrows the limit, rather than serializing all of it first
+    private byte[] serialize(Object content) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream() {
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                if (count + length > maxSizeBytes) {
+                    throw new SnapshotTooLargeException();
+                }
+                super.write(bytes, offset, length);
+            }
+
+            @Override
+            public void write(int b) {
+                if (count + 1 > maxSizeBytes) {
+                    throw new SnapshotTooLargeException();
+                }
+                super.write(b);
+            }
+        };
+        try {
+            objectMapper.writeValue(json, content);
+        } catch (IOException | RuntimeException ex) {
+            // Jackson wraps what the stream throws
+            for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+                if (cause instanceof SnapshotTooLargeException tooLarge) {
+                    throw tooLarge;
+                }
+            }
+            throw ex instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) ex;
+        }
+        return json.toByteArray();
+    }
+
+    private byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        // Compressed once per rebuild and served many times, so the slowest level pays off
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static final class SnapshotTooLargeException extends RuntimeException {
+        SnapshotTooLargeException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * One listing: how to read its validators and its content, and its current snapshot.
+     */
+    private final class Catalog {
+        private final String name;
+        private final Supplier<CacheValidators> validators;
+        private final Supplier<Object> content;
+        private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Catalog(String name, Supplier<CacheValidators> validators, Supplier<Object> content) {
+            this.name = name;
+            this.validators = validators;
+            this.content = content;
+        }
+
+        Optional<CatalogSnapshot> get(CacheValidators current) {
+            CatalogSnapshot latest = snapshot.get();
+            return latest != null && latest.validators().equals(current) ? Optional.of(latest) : Optional.empty();
+        }
+
+        void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            rebuilder.execute(() -> {
+                // Cleared first, so a write committed during the rebuild schedules another one
+                scheduled.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException ex) {
+                    // Keep serving the previous snapshot while it matches; the next write or check retries
+                    log.warn("Failed to rebuild the {} snapshot", name, ex);
+                }
+            });
+        }
+
+        void rebuild() {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Validators are read before the content, so a snapshot is never tagged newer than its body
+                CacheValidators current = validators.get();
+                CatalogSnapshot latest = snapshot.get();
+                if (latest != null && latest.validators().equals(current)) {
+                    return;
+                }
+                byte[] json;
+                try {
+                    json = serialize(content.get());
+                } catch (SnapshotTooLargeException ex) {
+                    log.warn("The {} listing is over the snapshot limit of {} bytes; serving it from the database",
+                            name, maxSizeBytes);
+                    snapshot.set(null);
+                    return;
+                }
+                snapshot.set(new CatalogSnapshot(current, json, gzip(json)));
+            });
+        }
+    }
+}
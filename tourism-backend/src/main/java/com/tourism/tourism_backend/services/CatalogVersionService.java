@@ -0,0 +1,270 @@
+package com.tourism.tourism_backend.services;
+
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.TripRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Service that derives HTTP cache validators (strong ETag and Last-Modified) for the catalog
+ * endpoints. A single attraction or trip is tagged from its version column, without loading it.
+ * The listings are tagged from a hash of cheap table aggregates (count, max ID, version sums and
+ * last update), so every instance sends the same tag for the same data. The aggregates are
+ * cached against an in-memory generation, bumped when a write to the table is flushed and again
+ * once the transaction completes, and reread when the generation moves or the cached read is
+ * older than a second or so; that bounds how long writes made elsewhere, such as on other
+ * instances or through direct SQL, go unnoticed. Controllers read the validators before the
+ * resource, so a response is never tagged newer than its body.
+ */
+@Service
+public class CatalogVersionService {
+
+    private final Generation attractions;
+    private final Generation trips;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    public CatalogVersionService(@Value("${catalog.validators.max-age-ms:1000}") long maxAgeMillis) {
+        this.attractions = new Generation("attractions", maxAgeMillis,
+                () -> attractionRepository.findCatalogVersion().get(0));
+        this.trips = new Generation("trips", maxAgeMillis, () -> tripRepository.findCatalogVersion().get(0));
+    }
+
+    /**
+     * Validators of an HTTP representation.
+     *
+     * @param etag         the strong entity tag, quoted
+     * @param lastModified the last modification in epoch milliseconds, or -1 if unknown
+     */
+    public record CacheValidators(String etag, long lastModified) {
+    }
+
+    /**
+     * Returns the validators of the full attraction listing, without a query unless the cached
+     * aggregates are out of date.
+     *
+     * @return the validators
+     */
+    public CacheValidators getAttractionsVersion() {
+        Fingerprint current = attractions.fingerprint(false);
+        return new CacheValidators(etag("attractions", hash(current.aggregates())), current.lastModified());
+    }
+
+    /**
+     * Returns the validators of one attraction's details.
+     *
+     * @param id the attraction ID
+     * @return the validators, or empty if the attraction does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<CacheValidators> getAttractionVersion(Long id) {
+        List<Object[]> rows = attractionRepository.findVersionById(id);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] attraction = rows.get(0);
+        return Optional.of(new CacheValidators(getAttractionEtag(id, (Long) attraction[0]),
+                epochMillis((LocalDateTime) attraction[1])));
+    }
+
+    /**
+     * Returns the ETag of one attraction's details at the given version, without a query.
+     *
+     * @param id      the attraction ID
+     * @param version the attraction version
+     * @return the ETag
+     */
+    public String getAttractionEtag(Long id, Long version) {
+        return etag("attraction", id, version);
+    }
+
+    /**
+     * Returns the validators of the trip listing, without a query unless the cached aggregates
+     * are out of date. Trips embed their attractions, so the attraction aggregates are part of
+     * the tag.
+     *
+     * @return the validators
+     */
+    public CacheValidators getTripsVersion() {
+        Fingerprint attractionsNow = attractions.fingerprint(false);
+        Fingerprint tripsNow = trips.fingerprint(false);
+        return new CacheValidators(etag("trips", hash(List.of(tripsNow.aggregates(), attractionsNow.aggregates()))),
+                Math.max(tripsNow.lastModified(), attractionsNow.lastModified()));
+    }
+
+    /**
+     * Returns the validators of one trip's details, including its embedded attractions.
+     *
+     * @param id the trip ID
+     * @return the validators, or empty if the trip does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<CacheValidators> getTripVersion(Long id) {
+        List<Object[]> rows = tripRepository.findVersionById(id);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] trip = rows.get(0);
+        Object[] attractions = tripRepository.findAttractionsVersionById(id).get(0);
+        return Optional.of(new CacheValidators(
+                etag("trip", id, trip[0], attractions[0], attractions[1], attractions[2]),
+                Math.max(epochMillis((LocalDateTime) trip[1]), epochMillis((LocalDateTime) attractions[3]))));
+    }
+
+    /**
+     * Records a write to the attractions table, changing the validators of both listings now
+     * and again once the current transaction completes.
+     */
+    public void attractionsChanged() {
+        attractions.changed();
+    }
+
+    /**
+     * Records a write to the trips table, changing the validators of the trip listing now and
+     * again once the current transaction completes.
+     */
+    public void tripsChanged() {
+        trips.changed();
+    }
+
+    /**
+     * Rereads the aggregates of both tables and bumps the generation of any table that changed
+     * since they were last read. This picks up writes no listener saw, such as traffic counts,
+     * which are left out of the tracked writes on purpose.
+     */
+    @Transactional(readOnly = true)
+    public void checkForChanges() {
+        attractions.fingerprint(true);
+        trips.fingerprint(true);
+    }
+
+    private static String etag(String resource, Object... parts) {
+        StringBuilder tag = new StringBuilder("\"").append(resource);
+        for (Object part : parts) {
+            tag.append('-').append(part);
+        }
+        return tag.append('"').toString();
+    }
+
+    // Stable across instances and restarts, unlike hashCode, and 64 bits leave no practical collisions
+    private static String hash(List<?> aggregates) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(aggregates.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    private record Stamp(long number, long changedAt) {
+    }
+
+    /**
+     * The aggregates of one table as read at a generation.
+     *
+     * @param generation   the generation they were read at
+     * @param aggregates   the aggregate row, whose last column is the latest update
+     * @param lastModified the latest update, or the last local change if that is later, since
+     *                     deletes leave the latest update as it was
+     * @param readAt       when they were read, in epoch milliseconds
+     */
+    private record Fingerprint(long generation, List<Object> aggregates, long lastModified, long readAt) {
+    }
+
+    /**
+     * The generation of one table's listing and the aggregates last read for it.
+     */
+    private static final class Generation {
+        private final String name;
+        private final long maxAgeMillis;
+        private final Supplier<Object[]> aggregates;
+        private final AtomicReference<Stamp> stamp = new AtomicReference<>(new Stamp(0, System.currentTimeMillis()));
+        private volatile Fingerprint fingerprint;
+
+        Generation(String name, long maxAgeMillis, Supplier<Object[]> aggregates) {
+            this.name = name;
+            this.maxAgeMillis = maxAgeMillis;
+            this.aggregates = aggregates;
+        }
+
+        // The local fast path: no query while the generation is unchanged and the read is recent
+        Fingerprint fingerprint(boolean reread) {
+            // Read before the aggregates, so they are never cached under a newer generation than theirs
+            Stamp current = stamp.get();
+            Fingerprint cached = fingerprint;
+            long now = System.currentTimeMillis();
+            boolean sameGeneration = cached != null && cached.generation() == current.number();
+            if (!reread && sameGeneration && now - cached.readAt() < maxAgeMillis) {
+                return cached;
+            }
+            List<Object> aggregatesNow = Arrays.asList(aggregates.get());
+            if (sameGeneration && !cached.aggregates().equals(aggregatesNow)) {
+                // Changed where no listener saw it
+                bump();
+                current = stamp.get();
+            }
+            Object latestUpdate = aggregatesNow.get(aggregatesNow.size() - 1);
+            Fingerprint read = new Fingerprint(current.number(), aggregatesNow,
+                    Math.max(epochMillis((LocalDateTime) latestUpdate), current.changedAt()), now);
+            fingerprint = read;
+            return read;
+        }
+
+        void bump() {
+            stamp.updateAndGet(previous ->
+                    new Stamp(previous.number() + 1, Math.max(previous.changedAt(), System.currentTimeMillis())));
+        }
+
+        // Bumped now, so requests during the transaction are not tagged as the old listing, and again
+        // after it, so no listing read before the commit keeps the final tag; once per transaction
+        void changed() {
+            bump();
+            if (!TransactionSynchronizationManager.isSynchronizationActive()
+                    || TransactionSynchronizationManager.hasResource(this)) {
+                return;
+            }
+            TransactionSynchronizationManager.bindResource(this, name);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // Before the snapshot rebuilds scheduled after commit read the tag
+                    bump();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(Generation.this);
+                    if (status != STATUS_COMMITTED) {
+                        // Anything read inside the rolled back transaction must not keep the tag either
+                        bump();
+                    }
+                }
+            });
+        }
+    }
+}
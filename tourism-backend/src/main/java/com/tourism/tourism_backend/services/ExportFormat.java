@@ -0,0 +1,45 @@
+package com.tourism.tourism_backend.services;
+
+/**
+ * Output formats of the admin data exports.
+ */
+public enum ExportFormat {
+
+    /** Comma-separated values with a header row, quoted as described in RFC 4180. */
+    CSV("text/csv", "csv"),
+
+    /** One JSON object per line. */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * Resolves a format from a request parameter, ignoring case.
+     *
+     * @param value the requested format
+     * @return the matching format
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static ExportFormat fromParameter(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,155 @@
+package com.tourism.tourism_backend.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.TrafficRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Service that streams full attraction and traffic dumps for offline analysis.
+ * Rows are read through a forward-only cursor with a bounded fetch size and written to the
+ * output as they arrive, so memory use stays flat whatever the number of rows. Only scalar
+ * columns are selected, which keeps the persistence context empty during the export.
+ */
+@Service
+public class ExportService {
+
+    private static final List<String> ATTRACTION_COLUMNS =
+            List.of("id", "name", "shortDescription", "entranceFee", "trafficCount");
+    private static final List<String> TRAFFIC_COLUMNS =
+            List.of("attractionId", "granularity", "bucketStart", "hits");
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private TrafficRollupRepository trafficRollupRepository;
+
+    /**
+     * Writes all attractions to the output. The output is flushed but not closed.
+     *
+     * @param format the output format
+     * @param out    the stream to write to
+     * @return the number of exported rows
+     * @throws IOException if writing to the output fails
+     */
+    @Transactional(readOnly = true)
+    public long exportAttractions(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Object[]> rows = attractionRepository.streamAllForExport()) {
+            return write(format, ATTRACTION_COLUMNS, rows.iterator(), out);
+        }
+    }
+
+    /**
+     * Writes all hourly and daily traffic summaries to the output. The output is flushed but not closed.
+     *
+     * @param format the output format
+     * @param out    the stream to write to
+     * @return the number of exported rows
+     * @throws IOException if writing to the output fails
+     */
+    @Transactional(readOnly = true)
+    public long exportTraffic(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Object[]> rows = trafficRollupRepository.streamAllForExport()) {
+            return write(format, TRAFFIC_COLUMNS, rows.iterator(), out);
+        }
+    }
+
+    private long write(ExportFormat format, List<String> columns, Iterator<Object[]> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count = format == ExportFormat.CSV
+                ? writeCsv(columns, rows, writer)
+                : writeNdjson(columns, rows, writer);
+        writer.flush();
+        return count;
+    }
+
+    private long writeCsv(List<String> columns, Iterator<Object[]> rows, Writer writer) throws IOException {
+        writer.write(String.join(",", columns));
+        writer.write("\r\n");
+
+        long count = 0;
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvField(row[i]));
+            }
+            writer.write("\r\n");
+            count++;
+        }
+        return count;
+    }
+
+    private String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = text(value);
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    // Timestamps always include seconds, like the JSON API
+    private String text(Object value) {
+        if (value instanceof LocalDateTime time) {
+            return time.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        }
+        return value.toString();
+    }
+
+    private long writeNdjson(List<String> columns, Iterator<Object[]> rows, Writer writer) throws IOException {
+        // The generator must not close the writer; the caller owns the underlying stream
+        JsonGenerator generator = JSON_FACTORY.createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Rows are separated by the newline written below, not by the default space
+        generator.setRootValueSeparator(null);
+
+        long count = 0;
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            generator.writeStartObject();
+            for (int i = 0; i < row.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                Object value = row[i];
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Long number) {
+                    generator.writeNumber(number);
+                } else if (value instanceof Integer number) {
+                    generator.writeNumber(number);
+                } else if (value instanceof Double number) {
+                    generator.writeNumber(number);
+                } else {
+                    generator.writeString(text(value));
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            count++;
+        }
+        generator.flush();
+        return count;
+    }
+}
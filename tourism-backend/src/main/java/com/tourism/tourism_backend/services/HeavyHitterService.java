@@ -0,0 +1,149 @@
+package com.tourism.tourism_backend.services;
+
+import com.tourism.tourism_backend.dto.HeavyHitterDTO;
+import com.tourism.tourism_backend.dto.HeavyHittersDTO;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.util.SpaceSaving;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Most visited attractions of this node, answered from a Space-Saving heavy-hitters summary that
+ * is updated on every counted hit. Reading the top k costs O(k) and never touches the database
+ * except to resolve names; every count comes with its maximum overestimation.
+ * On startup the summary is seeded with the persisted counts of the {@code capacity} most visited
+ * attractions. That is a valid Space-Saving state for all-time traffic: every attraction left out
+ * has at most as many hits as the smallest seeded count, which becomes the error bound.
+ * The serialized summary can be shipped to another node and merged there for a cluster-wide list.
+ */
+@Service
+public class HeavyHitterService {
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    private final int capacity;
+    private SpaceSaving summary;
+
+    public HeavyHitterService(@Value("${traffic.heavy-hitters.capacity:1000}") int capacity) {
+        this.capacity = capacity;
+        this.summary = new SpaceSaving(capacity);
+    }
+
+    /**
+     * Adds counted hits of an attraction.
+     *
+     * @param attractionId the ID of the attraction
+     * @param hits         the number of hits
+     */
+    public synchronized void record(Long attractionId, long hits) {
+        summary.add(attractionId, hits);
+    }
+
+    /**
+     * Seeds the summary from the persisted traffic counts, e.g. after a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Object[]> rows = attractionRepository.findMostVisited(PageRequest.of(0, capacity));
+        long totalHits = attractionRepository.sumTrafficCounts();
+
+        SpaceSaving seeded = new SpaceSaving(capacity);
+        long seededHits = 0;
+        long smallestSeeded = 0;
+        for (Object[] row : rows) {
+            long count = ((Number) row[2]).longValue();
+            seeded.add((Long) row[0], count);
+            seededHits += count;
+            smallestSeeded = count;
+        }
+        // With fewer rows than the capacity every attraction with traffic is monitored exactly
+        if (rows.size() == capacity) {
+            seeded.addUnmonitored(totalHits - seededHits, smallestSeeded);
+        }
+
+        synchronized (this) {
+            summary = seeded;
+        }
+    }
+
+    /**
+     * Returns the most visited attractions seen by this node.
+     *
+     * @param limit the maximum number of attractions, at most the summary's capacity
+     * @return the heavy hitters with their counts and error bounds
+     */
+    public HeavyHittersDTO getHeavyHitters(int limit) {
+        validateLimit(limit);
+        long totalHits;
+        long errorBound;
+        List<SpaceSaving.Counter> top;
+        synchronized (this) {
+            totalHits = summary.total();
+            errorBound = summary.errorBound();
+            top = summary.top(limit);
+        }
+        return toDTO(totalHits, capacity, errorBound, top);
+    }
+
+    /**
+     * Returns the most visited attractions across this node and the given peer summaries.
+     *
+     * @param peerSketches summaries produced by {@link #getSketch()} on other nodes
+     * @param limit        the maximum number of attractions, at most the summary's capacity
+     * @return the cluster-wide heavy hitters with their counts and error bounds
+     * @throws IllegalArgumentException if a sketch is malformed
+     */
+    public HeavyHittersDTO getMergedHeavyHitters(List<byte[]> peerSketches, int limit) {
+        validateLimit(limit);
+        SpaceSaving merged = SpaceSaving.fromBytes(getSketch());
+        for (byte[] sketch : peerSketches) {
+            merged.merge(SpaceSaving.fromBytes(sketch));
+        }
+        return toDTO(merged.total(), merged.capacity(), merged.errorBound(), merged.top(limit));
+    }
+
+    /**
+     * Serializes this node's summary for merging elsewhere.
+     *
+     * @return the serialized summary
+     */
+    public synchronized byte[] getSketch() {
+        return summary.toBytes();
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > capacity) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + capacity);
+        }
+    }
+
+    private HeavyHittersDTO toDTO(long totalHits, int summaryCapacity, long errorBound, List<SpaceSaving.Counter> top) {
+        Map<Long, String> names = new HashMap<>();
+        if (!top.isEmpty()) {
+            for (Object[] row : attractionRepository.findNamesAndTrafficCountsByIdIn(
+                    top.stream().map(SpaceSaving.Counter::item).toList())) {
+                names.put((Long) row[0], (String) row[1]);
+            }
+        }
+
+        // Deleted attractions keep their counter until it is evicted; leave them out
+        List<HeavyHitterDTO> attractions = new ArrayList<>(top.size());
+        for (SpaceSaving.Counter counter : top) {
+            String name = names.get(counter.item());
+            if (name != null) {
+                attractions.add(new HeavyHitterDTO(counter.item(), name, counter.count(), counter.error()));
+            }
+        }
+        return new HeavyHittersDTO(totalHits, summaryCapacity, errorBound, attractions);
+    }
+}
@@ -11,6 +11,7 @@ import com.tourism.tourism_backend.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +29,15 @@ public class ReviewService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TopRatedService topRatedService;
+
+    @Autowired
+    private AttractionDetailCache attractionDetailCache;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
     /**
      * Adds a new review for an attraction.
      *
@@ -36,6 +46,7 @@ public class ReviewService {
      * @param auth          Authentication object to get the current user
      * @return The saved review
      */
+    @Transactional
     public Long addReview(Long attractionId, ReviewRequestDTO reviewRequest, Authentication auth) {
         // Find the logged-in user by email
         String email = auth.getName();
@@ -52,6 +63,14 @@ public class ReviewService {
         // Save the review
         Review savedReview = reviewRepository.save(review);
 
+        // Keep the attraction's rating aggregates in step with its reviews
+        attractionRepository.addRating(attractionId, reviewRequest.getRating());
+        // The row stays locked by the update until commit, so these are exactly the totals it produced
+        Object[] totals = attractionRepository.findRatingTotalsById(attractionId).get(0);
+        topRatedService.recordAfterCommit(attractionId, ((Number) totals[0]).intValue(), ((Number) totals[1]).longValue());
+        attractionDetailCache.evictAfterCommit(attractionId);
+        catalogSnapshotService.refreshAttractionsAfterCommit();
+
         // Return the saved review's ID
         return savedReview.getId();
     }
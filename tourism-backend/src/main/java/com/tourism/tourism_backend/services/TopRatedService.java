@@ -0,0 +1,338 @@
+package com.tourism.tourism_backend.services;
+
+import com.tourism.tourism_backend.dto.TopRatedAttractionDTO;
+import com.tourism.tourism_backend.dto.TopRatedPageDTO;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.util.AfterCommit;
+import com.tourism.tourism_backend.util.RebuildableIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * "Top rated" ranking of attractions by Bayesian average rating.
+ * An attraction's score is (C * m + ratingSum) / (C + reviewCount): its reviews plus C virtual
+ * reviews at the catalog-wide mean m. A single 5-star review barely moves an attraction away from
+ * m, while a long record of good reviews dominates the prior. The prior is fixed between rebuilds,
+ * so every score is computed with the same m and each new review re-scores only its own attraction
+ * in the ordered index. A periodic rebuild picks up the drift of m from the persisted rating
+ * aggregates; it reads one scalar row per rated attraction and never loads reviews. Reviews
+ * recorded while it reads are replayed onto the rebuilt ranking. Each records the attraction's
+ * totals rather than a single rating, so a replayed review that the rebuild already read is
+ * not counted twice.
+ */
+@Service
+public class TopRatedService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Mean used as the prior while there are no reviews at all: the middle of the 1-5 scale
+    private static final double DEFAULT_PRIOR_MEAN = 3.0;
+
+    // Fork-join tasks process ranges of at most this many rows sequentially
+    private static final int FORK_THRESHOLD = 10_000;
+
+    private static final Comparator<Entry> BY_SCORE_DESC = Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparing(Entry::attractionId);
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    private final double priorWeight;
+
+    private final RebuildableIndex<Ranking> ranking = new RebuildableIndex<>(Ranking::new);
+
+    // Array copy of the ranking that pages index into, taken on the first read after a change;
+    // null while stale. Cleared under the ranking's write lock and set under its read lock
+    private volatile RankedSnapshot snapshot;
+
+    public TopRatedService(@Value("${reviews.top-rated.prior-weight:10}") double priorWeight) {
+        this.priorWeight = priorWeight;
+    }
+
+    /**
+     * Records an attraction's rating totals once the current transaction commits, or right away
+     * if there is none, so a rolled-back review never reaches the ranking.
+     *
+     * @param attractionId the ID of the attraction
+     * @param reviewCount  the attraction's review count including the new review
+     * @param ratingSum    the attraction's rating sum including the new review
+     */
+    public void recordAfterCommit(Long attractionId, int reviewCount, long ratingSum) {
+        AfterCommit.run(() -> record(attractionId, reviewCount, ratingSum));
+    }
+
+    /**
+     * Records an attraction's rating totals and re-scores it. Totals with no more reviews than
+     * those already ranked are ignored, so recording the same review twice, or two reviews out
+     * of order, leaves the ranking as if each was recorded once and in order.
+     *
+     * @param attractionId the ID of the attraction
+     * @param reviewCount  the attraction's review count
+     * @param ratingSum    the attraction's rating sum
+     */
+    public void record(Long attractionId, int reviewCount, long ratingSum) {
+        ranking.apply(current -> {
+            Entry previous = current.entries.get(attractionId);
+            if (previous != null && previous.reviewCount() >= reviewCount) {
+                return;
+            }
+            current.put(new Entry(attractionId, reviewCount, ratingSum, score(reviewCount, ratingSum, current.priorMean)));
+            snapshot = null;
+        });
+    }
+
+    /**
+     * Forgets an attraction once the current transaction commits, or right away if there is
+     * none, so a delete that rolls back keeps the attraction ranked.
+     *
+     * @param attractionId the ID of the attraction
+     */
+    public void removeAfterCommit(Long attractionId) {
+        AfterCommit.run(() -> remove(attractionId));
+    }
+
+    /**
+     * Forgets an attraction, e.g. when it is deleted.
+     *
+     * @param attractionId the ID of the attraction
+     */
+    public void remove(Long attractionId) {
+        ranking.apply(current -> {
+            if (current.remove(attractionId)) {
+                snapshot = null;
+            }
+        });
+    }
+
+    /**
+     * Returns a page of the rated attractions, best score first. Pages are cut from an array copy
+     * of the ranking, so a deep page costs no more than the first one.
+     *
+     * @param page the zero-based page number
+     * @param size the page size, at most {@link #MAX_PAGE_SIZE}
+     * @return the page with the prior the scores were computed with
+     * @throws IllegalArgumentException if the page or size is out of bounds
+     */
+    public TopRatedPageDTO getTopRated(int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        RankedSnapshot ranked = rankedSnapshot();
+        int totalElements = ranked.entries().length;
+        int from = (int) Math.min((long) page * size, totalElements);
+        int to = (int) Math.min((long) from + size, totalElements);
+        List<Entry> pageEntries = Arrays.asList(ranked.entries()).subList(from, to);
+        double mean = ranked.priorMean();
+
+        // Attractions deleted since the entry was read are left out of the page
+        Map<Long, String> names = new HashMap<>();
+        if (!pageEntries.isEmpty()) {
+            for (Object[] row : attractionRepository.findNamesAndTrafficCountsByIdIn(
+                    pageEntries.stream().map(Entry::attractionId).toList())) {
+                names.put((Long) row[0], (String) row[1]);
+            }
+        }
+        List<TopRatedAttractionDTO> attractions = new ArrayList<>(pageEntries.size());
+        for (Entry entry : pageEntries) {
+            String name = names.get(entry.attractionId());
+            if (name != null) {
+                attractions.add(new TopRatedAttractionDTO(entry.attractionId(), name, entry.reviewCount(),
+                        (double) entry.ratingSum() / entry.reviewCount(), entry.score()));
+            }
+        }
+        return new TopRatedPageDTO(page, size, totalElements, mean, priorWeight, attractions);
+    }
+
+    /**
+     * Rebuilds the ranking from the persisted rating aggregates, recomputing the prior mean.
+     * The rows are read into primitive arrays, then summed and scored by fork-join tasks. Pages
+     * keep being served from the previous ranking until the new one is swapped in.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${reviews.top-rated.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${reviews.top-rated.rebuild-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        ranking.rebuild(rebuilt -> {
+            RatingRows rows = new RatingRows();
+            try (Stream<Object[]> aggregates = attractionRepository.streamRatingAggregates()) {
+                aggregates.forEach(row -> rows.add((Long) row[0], ((Number) row[1]).intValue(), ((Number) row[2]).longValue()));
+            }
+
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            long[] totals = pool.invoke(new SumTask(rows, 0, rows.size));
+            double mean = totals[0] == 0 ? DEFAULT_PRIOR_MEAN : (double) totals[1] / totals[0];
+            Entry[] scored = new Entry[rows.size];
+            pool.invoke(new ScoreTask(rows, mean, scored, 0, rows.size));
+
+            rebuilt.priorMean = mean;
+            for (Entry entry : scored) {
+                rebuilt.entries.put(entry.attractionId(), entry);
+            }
+            rebuilt.ordered.addAll(Arrays.asList(scored));
+        });
+        // Taken from the previous ranking at the latest before the swap
+        snapshot = null;
+    }
+
+    private RankedSnapshot rankedSnapshot() {
+        RankedSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        // Under the read lock, so no change can clear the snapshot between the copy and setting it
+        return ranking.read(ranked -> {
+            RankedSnapshot copy = snapshot;
+            if (copy == null) {
+                copy = new RankedSnapshot(ranked.ordered.toArray(new Entry[0]), ranked.priorMean);
+                snapshot = copy;
+            }
+            return copy;
+        });
+    }
+
+    private double score(int reviewCount, long ratingSum, double mean) {
+        return (priorWeight * mean + ratingSum) / (priorWeight + reviewCount);
+    }
+
+    private record Entry(Long attractionId, int reviewCount, long ratingSum, double score) {
+    }
+
+    /**
+     * The ranked entries by attraction and in score order, and the prior mean they were scored
+     * with. Not thread-safe; guarded by its {@link RebuildableIndex}.
+     */
+    private static final class Ranking {
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final TreeSet<Entry> ordered = new TreeSet<>(BY_SCORE_DESC);
+        private double priorMean = DEFAULT_PRIOR_MEAN;
+
+        void put(Entry entry) {
+            Entry previous = entries.put(entry.attractionId(), entry);
+            if (previous != null) {
+                ordered.remove(previous);
+            }
+            ordered.add(entry);
+        }
+
+        boolean remove(Long attractionId) {
+            Entry entry = entries.remove(attractionId);
+            return entry != null && ordered.remove(entry);
+        }
+    }
+
+    /**
+     * The ranking in order and the prior mean its scores were computed with. Never modified.
+     */
+    private record RankedSnapshot(Entry[] entries, double priorMean) {
+    }
+
+    /**
+     * Growable column arrays of [id, reviewCount, ratingSum] rows.
+     */
+    private static final class RatingRows {
+        private long[] ids = new long[1024];
+        private int[] reviewCounts = new int[1024];
+        private long[] ratingSums = new long[1024];
+        private int size;
+
+        void add(long id, int reviewCount, long ratingSum) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                reviewCounts = Arrays.copyOf(reviewCounts, size * 2);
+                ratingSums = Arrays.copyOf(ratingSums, size * 2);
+            }
+            ids[size] = id;
+            reviewCounts[size] = reviewCount;
+            ratingSums[size] = ratingSum;
+            size++;
+        }
+    }
+
+    /**
+     * Sums the review counts and rating sums of a range of rows: [reviews, ratingSum].
+     */
+    private static final class SumTask extends RecursiveTask<long[]> {
+        private final RatingRows rows;
+        private final int from;
+        private final int to;
+
+        SumTask(RatingRows rows, int from, int to) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= FORK_THRESHOLD) {
+                long reviews = 0;
+                long ratingSum = 0;
+                for (int i = from; i < to; i++) {
+                    reviews += rows.reviewCounts[i];
+                    ratingSum += rows.ratingSums[i];
+                }
+                return new long[]{reviews, ratingSum};
+            }
+            int middle = (from + to) >>> 1;
+            SumTask left = new SumTask(rows, from, middle);
+            left.fork();
+            long[] right = new SumTask(rows, middle, to).compute();
+            long[] leftTotals = left.join();
+            return new long[]{leftTotals[0] + right[0], leftTotals[1] + right[1]};
+        }
+    }
+
+    /**
+     * Scores a range of rows against a fixed prior mean into the matching slots of the output.
+     */
+    private final class ScoreTask extends RecursiveAction {
+        private final RatingRows rows;
+        private final double mean;
+        private final Entry[] scored;
+        private final int from;
+        private final int to;
+
+        ScoreTask(RatingRows rows, double mean, Entry[] scored, int from, int to) {
+            this.rows = rows;
+            this.mean = mean;
+            this.scored = scored;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= FORK_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    scored[i] = new Entry(rows.ids[i], rows.reviewCounts[i], rows.ratingSums[i],
+                            score(rows.reviewCounts[i], rows.ratingSums[i], mean));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ScoreTask(rows, mean, scored, from, middle), new ScoreTask(rows, mean, scored, middle, to));
+        }
+    }
+}
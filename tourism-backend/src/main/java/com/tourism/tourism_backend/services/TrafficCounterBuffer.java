@@ -0,0 +1,262 @@
+package com.tourism.tourism_backend.services;
+
+import com.tourism.tourism_backend.dto.TrafficBufferMetricsDTO;
+import com.tourism.tourism_backend.models.TrafficEvent;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.TrafficEventRepository;
+import com.tourism.tourism_backend.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for attraction traffic counts.
+ * Clicks are counted in memory with one LongAdder per attraction and the aggregated deltas are
+ * written to the attractions table in periodic JDBC batches, so a burst of clicks on the same
+ * attraction costs a single UPDATE instead of one read and one write per click.
+ * Alongside the counters, hits are bucketed per attraction and minute and appended to the
+ * traffic_events table in the same transaction, where {@link TrafficRollupService} picks them up.
+ */
+@Service
+public class TrafficCounterBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(TrafficCounterBuffer.class);
+
+    // Number of consecutive flushes an ID may miss its row before its delta is dropped
+    private static final int MAX_MISSED_FLUSHES = 3;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private TrafficEventRepository trafficEventRepository;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Adders are kept after a flush (removing them could race with a concurrent record), so the
+    // map is bounded by the number of attractions that were ever clicked, not by traffic volume
+    private final ConcurrentHashMap<Long, LongAdder> pendingCounts = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> missedFlushes = new HashMap<>();
+
+    // Minute buckets are updated with merge() and drained with remove(), both atomic per key,
+    // so a hit racing with a flush lands either in this flush or in a fresh bucket for the next one
+    private final ConcurrentHashMap<MinuteBucket, Long> pendingBuckets = new ConcurrentHashMap<>();
+
+    // Timestamp of the oldest hit that has not been written yet, or 0 when nothing is pending
+    private final AtomicLong oldestPendingAt = new AtomicLong();
+
+    private final AtomicLong flushedHits = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong failedFlushCount = new AtomicLong();
+    private volatile long lastFlushAt;
+    private volatile long lastFlushDurationMs;
+    private volatile int lastFlushRows;
+
+    public TrafficCounterBuffer(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Records hits for an attraction. The hits become visible in the database on the next flush.
+     *
+     * @param attractionId the ID of the attraction
+     * @param hits         the number of hits to add
+     */
+    public void record(Long attractionId, long hits) {
+        addCount(attractionId, hits);
+        recordEvent(attractionId, hits);
+    }
+
+    /**
+     * Records hits in the minute buckets only, for callers that already updated the counter column.
+     *
+     * @param attractionId the ID of the attraction
+     * @param hits         the number of hits to add
+     */
+    public void recordEvent(Long attractionId, long hits) {
+        MinuteBucket bucket = new MinuteBucket(attractionId, LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES));
+        pendingBuckets.merge(bucket, hits, Long::sum);
+        oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+    }
+
+    private void addCount(Long attractionId, long hits) {
+        pendingCounts.computeIfAbsent(attractionId, id -> new LongAdder()).add(hits);
+        oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the hits recorded for an attraction that have not been flushed yet.
+     *
+     * @param attractionId the ID of the attraction
+     * @return the number of pending hits
+     */
+    public long pendingFor(Long attractionId) {
+        LongAdder adder = pendingCounts.get(attractionId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * Drops the pending hits of an attraction, e.g. when the attraction is deleted.
+     *
+     * @param attractionId the ID of the attraction
+     */
+    public void discard(Long attractionId) {
+        pendingCounts.remove(attractionId);
+    }
+
+    /**
+     * Drops the pending hits of an attraction once the current transaction commits, or right
+     * away if there is none, so a delete that rolls back keeps its clicks.
+     *
+     * @param attractionId the ID of the attraction
+     */
+    public void discardAfterCommit(Long attractionId) {
+        AfterCommit.run(() -> discard(attractionId));
+    }
+
+    /**
+     * Writes all pending deltas and minute buckets to the database in a single transaction.
+     * Runs on a fixed delay and once more on graceful shutdown.
+     */
+    @Scheduled(fixedDelayString = "${traffic.write-behind.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        long startedAt = System.currentTimeMillis();
+        long pendingSince = oldestPendingAt.getAndSet(0);
+
+        // Drain every adder; hits recorded while we flush simply stay in the adder for the next round
+        Map<Long, Long> deltas = new HashMap<>();
+        pendingCounts.forEach((id, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(id, delta);
+            }
+        });
+        List<TrafficEvent> events = new ArrayList<>();
+        for (MinuteBucket bucket : pendingBuckets.keySet()) {
+            Long hits = pendingBuckets.remove(bucket);
+            if (hits != null) {
+                events.add(new TrafficEvent(bucket.attractionId(), bucket.minute(), hits));
+            }
+        }
+        if (deltas.isEmpty() && events.isEmpty()) {
+            return;
+        }
+
+        // Counted exactly once by a concurrent analytics recompute
+        analyticsService.writeTraffic(() -> write(deltas, events, pendingSince, startedAt));
+    }
+
+    private void write(Map<Long, Long> deltas, List<TrafficEvent> events, long pendingSince, long startedAt) {
+        Set<Long> missingIds;
+        try {
+            missingIds = transactionTemplate.execute(status -> {
+                trafficEventRepository.appendAll(events);
+                return attractionRepository.incrementTrafficCounts(deltas);
+            });
+        } catch (RuntimeException ex) {
+            // Put everything back so no hit is lost; it is retried on the next flush
+            deltas.forEach(this::addCount);
+            events.forEach(event -> pendingBuckets.merge(
+                    new MinuteBucket(event.getAttractionId(), event.getBucketStart()), event.getHits(), Long::sum));
+            oldestPendingAt.accumulateAndGet(pendingSince, (current, since) -> current == 0 ? since : Math.min(current, since));
+            failedFlushCount.incrementAndGet();
+            log.warn("Failed to flush {} buffered traffic counts and {} minute buckets, will retry",
+                    deltas.size(), events.size(), ex);
+            return;
+        }
+
+        Map<Long, Long> writtenDeltas = new HashMap<>();
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            Long id = entry.getKey();
+            if (!missingIds.contains(id)) {
+                missedFlushes.remove(id);
+                writtenDeltas.put(id, entry.getValue());
+                continue;
+            }
+            // The row may be deleted or not yet visible to this transaction; give it a few more rounds
+            int misses = missedFlushes.merge(id, 1, Integer::sum);
+            if (misses < MAX_MISSED_FLUSHES) {
+                addCount(id, entry.getValue());
+            } else {
+                missedFlushes.remove(id);
+                pendingCounts.remove(id);
+                log.debug("Dropping {} buffered hits for missing attraction {}", entry.getValue(), id);
+            }
+        }
+
+        long written = 0;
+        for (long hits : writtenDeltas.values()) {
+            written += hits;
+        }
+        flushedHits.addAndGet(written);
+        flushCount.incrementAndGet();
+        lastFlushRows = writtenDeltas.size();
+        lastFlushAt = System.currentTimeMillis();
+        lastFlushDurationMs = lastFlushAt - startedAt;
+
+        // The cached listings pick the new counts up at their periodic check, not on every flush
+        analyticsService.applyTrafficDeltas(writtenDeltas);
+    }
+
+    /**
+     * Flushes outstanding hits before the application context shuts down.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Returns a snapshot of the buffer's size and flush lag metrics.
+     *
+     * @return the current buffer metrics
+     */
+    public TrafficBufferMetricsDTO getMetrics() {
+        int pendingAttractions = 0;
+        long pendingHits = 0;
+        for (LongAdder adder : pendingCounts.values()) {
+            long hits = adder.sum();
+            if (hits != 0) {
+                pendingAttractions++;
+                pendingHits += hits;
+            }
+        }
+        long oldest = oldestPendingAt.get();
+        long flushLagMs = oldest == 0 ? 0 : System.currentTimeMillis() - oldest;
+
+        return new TrafficBufferMetricsDTO(
+                pendingAttractions,
+                pendingHits,
+                pendingBuckets.size(),
+                flushLagMs,
+                lastFlushAt,
+                lastFlushDurationMs,
+                lastFlushRows,
+                flushCount.get(),
+                failedFlushCount.get(),
+                flushedHits.get()
+        );
+    }
+
+    private record MinuteBucket(Long attractionId, LocalDateTime minute) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.tourism.tourism_backend.services;
+
+import com.tourism.tourism_backend.dto.TrafficDedupMetricsDTO;
+import com.tourism.tourism_backend.util.BloomFilter;
+import com.tourism.tourism_backend.util.Hashing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * De-duplication window for traffic hits, keyed by (user, attraction) or, for anonymous callers,
+ * optionally by (client IP, attraction). Keys are remembered in two rotating Bloom filters: new
+ * keys go into the current filter, and on every rotation the current filter becomes the previous
+ * one and the old previous filter is dropped. A repeated hit is therefore suppressed for at least
+ * one window and at most two, in memory that is fixed by the configured number of keys per window.
+ * False positives of the filters mean a small fraction of first hits is suppressed as well.
+ */
+@Service
+public class TrafficDeduplicator {
+
+    @Value("${traffic.dedup.by-ip:false}")
+    private boolean byIp;
+
+    @Value("${traffic.dedup.window-seconds:60}")
+    private long windowSeconds;
+
+    private final boolean enabled;
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+
+    private volatile Generations generations;
+
+    private final AtomicLong checkedHits = new AtomicLong();
+    private final AtomicLong suppressedHits = new AtomicLong();
+
+    public TrafficDeduplicator(@Value("${traffic.dedup.enabled:false}") boolean enabled,
+                               @Value("${traffic.dedup.expected-keys-per-window:1000000}") long expectedKeys,
+                               @Value("${traffic.dedup.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.enabled = enabled;
+        this.expectedKeys = expectedKeys;
+        this.falsePositiveRate = falsePositiveRate;
+        // Filters are only allocated when de-duplication is switched on
+        if (enabled) {
+            this.generations = new Generations(newFilter(), newFilter(), new AtomicLong());
+        }
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(expectedKeys, falsePositiveRate);
+    }
+
+    /**
+     * Returns how many of a caller's hits on an attraction should be counted. A caller's first
+     * hits within the window count once, repeats within the window do not count at all. Hits
+     * without a user and, unless IP keying is enabled, without an IP are never de-duplicated.
+     * Only checks the window: the hit is remembered by {@link #record} once it has been accepted,
+     * so a hit on an unknown attraction or one turned away by backpressure counts when retried.
+     *
+     * @param attractionId the ID of the attraction
+     * @param visitorId    the username of the visitor, or null for anonymous callers
+     * @param clientIp     the IP address of the caller, or null if unknown
+     * @param hits         the number of hits the caller reported
+     * @return the number of hits to count: 0, 1, or all of them when de-duplication does not apply
+     */
+    public long countableHits(Long attractionId, String visitorId, String clientIp, long hits) {
+        String key = enabled ? key(attractionId, visitorId, clientIp) : null;
+        if (key == null) {
+            return hits;
+        }
+        checkedHits.addAndGet(hits);
+
+        long hash = Hashing.hash64(key);
+        Generations current = generations;
+        if (current.previous().mightContain(hash) || current.current().mightContain(hash)) {
+            suppressedHits.addAndGet(hits);
+            return 0;
+        }
+        suppressedHits.addAndGet(hits - 1);
+        return 1;
+    }
+
+    /**
+     * Remembers an accepted hit, so the caller's repeats on the attraction within the window are
+     * not counted. Two identical hits checked before either is recorded both count.
+     *
+     * @param attractionId the ID of the attraction
+     * @param visitorId    the username of the visitor, or null for anonymous callers
+     * @param clientIp     the IP address of the caller, or null if unknown
+     */
+    public void record(Long attractionId, String visitorId, String clientIp) {
+        String key = enabled ? key(attractionId, visitorId, clientIp) : null;
+        if (key == null) {
+            return;
+        }
+        Generations current = generations;
+        if (current.current().put(Hashing.hash64(key))) {
+            current.keys().incrementAndGet();
+        }
+    }
+
+    // The window key of a hit, or null if the hit is not de-duplicated
+    private String key(Long attractionId, String visitorId, String clientIp) {
+        if (visitorId != null) {
+            return "user:" + visitorId + "#" + attractionId;
+        }
+        if (byIp && clientIp != null) {
+            return "ip:" + clientIp + "#" + attractionId;
+        }
+        return null;
+    }
+
+    /**
+     * Starts a new window: the current filter becomes the previous one and a fresh filter is started.
+     */
+    @Scheduled(fixedRateString = "${traffic.dedup.window-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void rotate() {
+        if (!enabled) {
+            return;
+        }
+        Generations old = generations;
+        generations = new Generations(newFilter(), old.current(), new AtomicLong());
+    }
+
+    /**
+     * Returns a snapshot of the de-duplication counters.
+     *
+     * @return the current de-duplication metrics
+     */
+    public TrafficDedupMetricsDTO getMetrics() {
+        Generations current = generations;
+        return new TrafficDedupMetricsDTO(
+                enabled,
+                windowSeconds,
+                checkedHits.get(),
+                suppressedHits.get(),
+                current != null ? current.keys().get() : 0,
+                current != null ? current.current().sizeInBytes() + current.previous().sizeInBytes() : 0
+        );
+    }
+
+    private record Generations(BloomFilter current, BloomFilter previous, AtomicLong keys) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.tourism.tourism_backend.services;
+
+/**
+ * Strategies for persisting attraction traffic hits, selected with the traffic.ingestion.mode property.
+ */
+public enum TrafficIngestionMode {
+
+    /** Each hit is written with an atomic UPDATE on the request thread. */
+    SYNC,
+
+    /** Hits are counted in memory and written in periodic batches by {@link TrafficCounterBuffer}. */
+    WRITE_BEHIND,
+
+    /** Hits are put on a bounded queue and written by the consumer of {@link TrafficIngestionQueue}. */
+    QUEUE
+}
@@ -0,0 +1,255 @@
+package com.tourism.tourism_backend.services;
+
+import com.tourism.tourism_backend.dto.TrafficQueueMetricsDTO;
+import com.tourism.tourism_backend.exceptions.TrafficBackpressureException;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-memory queue for attraction traffic hits, drained by a dedicated consumer thread.
+ * Request threads only offer to the queue and never wait for a database write; when the queue is
+ * full the hit is rejected with a {@link TrafficBackpressureException} instead of piling up work.
+ * The consumer drains up to {@link #MAX_BATCH} entries at a time, sums them per attraction and
+ * writes them with one JDBC batch UPDATE. A failed write is retried until it succeeds, which
+ * fills the queue and pushes back on clients while the database is unavailable.
+ */
+@Service
+public class TrafficIngestionQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TrafficIngestionQueue.class);
+
+    private static final int MAX_BATCH = 500;
+    private static final long POLL_TIMEOUT_MS = 200;
+    private static final long RETRY_BACKOFF_MS = 1000;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private TrafficCounterBuffer trafficCounterBuffer;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Value("${traffic.queue.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private final int capacity;
+    private final BlockingQueue<Map<Long, Long>> queue;
+
+    // Hits accepted but not yet written, per attraction, so callers can report an up-to-date count
+    private final ConcurrentHashMap<Long, LongAdder> pendingCounts = new ConcurrentHashMap<>();
+
+    // Entries the consumer took off the queue but could not write before it was stopped
+    private final List<Map<Long, Long>> unwritten = new ArrayList<>();
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong drainedHits = new AtomicLong();
+    private final AtomicLong failedWriteCount = new AtomicLong();
+    private volatile double drainRatePerSecond;
+
+    private volatile boolean running;
+    private Thread consumer;
+
+    public TrafficIngestionQueue(@Value("${traffic.queue.capacity:10000}") int capacity) {
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Queues hits for one or more attractions without blocking.
+     *
+     * @param deltas the number of hits per attraction ID
+     * @throws TrafficBackpressureException if the queue is full
+     */
+    public void enqueue(Map<Long, Long> deltas) {
+        // Count as pending before offering, so the consumer can never subtract hits that were not added
+        deltas.forEach(this::addPending);
+        if (!queue.offer(deltas)) {
+            deltas.forEach((id, hits) -> addPending(id, -hits));
+            droppedCount.incrementAndGet();
+            throw new TrafficBackpressureException("Too much traffic, please retry later", retryAfterSeconds);
+        }
+        enqueuedCount.incrementAndGet();
+    }
+
+    private void addPending(Long attractionId, long hits) {
+        pendingCounts.computeIfAbsent(attractionId, id -> new LongAdder()).add(hits);
+    }
+
+    /**
+     * Returns the hits queued for an attraction that have not been written yet.
+     *
+     * @param attractionId the ID of the attraction
+     * @return the number of pending hits
+     */
+    public long pendingFor(Long attractionId) {
+        LongAdder adder = pendingCounts.get(attractionId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        consumer = new Thread(this::consume, "traffic-queue-consumer");
+        consumer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            consumer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        consumer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consume() {
+        List<Map<Long, Long>> batch = new ArrayList<>(MAX_BATCH);
+        long sampledAt = System.nanoTime();
+        long sampledHits = 0;
+
+        while (running) {
+            try {
+                Map<Long, Long> first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                    writeUntilSuccess(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            long now = System.nanoTime();
+            if (now - sampledAt >= TimeUnit.SECONDS.toNanos(1)) {
+                long hits = drainedHits.get();
+                drainRatePerSecond = (hits - sampledHits) / ((now - sampledAt) / 1_000_000_000.0);
+                sampledAt = now;
+                sampledHits = hits;
+            }
+        }
+    }
+
+    private void writeUntilSuccess(List<Map<Long, Long>> batch) throws InterruptedException {
+        while (running) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException ex) {
+                failedWriteCount.incrementAndGet();
+                log.warn("Failed to write {} queued traffic entries, retrying in {} ms", batch.size(), RETRY_BACKOFF_MS, ex);
+                Thread.sleep(RETRY_BACKOFF_MS);
+            }
+        }
+        // Stopped while the database was failing; leave the batch for the final drain
+        unwritten.addAll(batch);
+    }
+
+    private void write(List<Map<Long, Long>> batch) {
+        // Counted exactly once by a concurrent analytics recompute
+        analyticsService.writeTraffic(() -> writeDeltas(batch));
+    }
+
+    private void writeDeltas(List<Map<Long, Long>> batch) {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map<Long, Long> entry : batch) {
+            entry.forEach((id, hits) -> deltas.merge(id, hits, Long::sum));
+        }
+
+        Set<Long> missingIds = attractionRepository.incrementTrafficCounts(deltas);
+
+        long written = 0;
+        Map<Long, Long> writtenDeltas = new HashMap<>();
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            addPending(entry.getKey(), -entry.getValue());
+            // The attraction was deleted after the hit was accepted
+            if (missingIds.contains(entry.getKey())) {
+                log.debug("Dropping {} queued hits for missing attraction {}", entry.getValue(), entry.getKey());
+                continue;
+            }
+            trafficCounterBuffer.recordEvent(entry.getKey(), entry.getValue());
+            writtenDeltas.put(entry.getKey(), entry.getValue());
+            written += entry.getValue();
+        }
+        drainedHits.addAndGet(written);
+
+        // The cached listings pick the new counts up at their periodic check, not on every flush
+        analyticsService.applyTrafficDeltas(writtenDeltas);
+    }
+
+    /**
+     * Writes whatever is still queued once the consumer has been stopped on shutdown.
+     */
+    @PreDestroy
+    public void drainOnShutdown() {
+        queue.drainTo(unwritten);
+        if (unwritten.isEmpty()) {
+            return;
+        }
+        try {
+            write(unwritten);
+        } catch (RuntimeException ex) {
+            log.error("Failed to write {} queued traffic entries on shutdown", unwritten.size(), ex);
+        }
+        unwritten.clear();
+    }
+
+    /**
+     * Returns a snapshot of the queue's depth, drop count and drain rate.
+     *
+     * @return the current queue metrics
+     */
+    public TrafficQueueMetricsDTO getMetrics() {
+        long pendingHits = 0;
+        for (LongAdder adder : pendingCounts.values()) {
+            pendingHits += adder.sum();
+        }
+
+        return new TrafficQueueMetricsDTO(
+                queue.size(),
+                capacity,
+                pendingHits,
+                enqueuedCount.get(),
+                droppedCount.get(),
+                drainedHits.get(),
+                drainRatePerSecond,
+                failedWriteCount.get(),
+                running
+        );
+    }
+}
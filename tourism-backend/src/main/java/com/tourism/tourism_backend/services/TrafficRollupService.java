@@ -0,0 +1,127 @@
+package com.tourism.tourism_backend.services;
+
+import com.tourism.tourism_backend.models.TrafficGranularity;
+import com.tourism.tourism_backend.models.TrafficRollup;
+import com.tourism.tourism_backend.repositories.TrafficEventRepository;
+import com.tourism.tourism_backend.repositories.TrafficRollupRepository;
+import com.tourism.tourism_backend.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service that aggregates raw minute traffic buckets into hourly and daily summaries.
+ * Each run recomputes the hours since the previous successful run, at least the current and the
+ * previous hour, from the minute buckets, then the days those hours fall in from the hourly
+ * summaries. The first run after startup covers every hour still complete in the minute
+ * buckets, so hours missed while the application was down are rolled up before they are
+ * pruned. Recomputing (instead of adding increments) keeps the job idempotent, so a rerun or a
+ * crashed run never double counts.
+ */
+@Service
+public class TrafficRollupService {
+
+    @Autowired
+    private TrafficEventRepository trafficEventRepository;
+
+    @Autowired
+    private TrafficRollupRepository trafficRollupRepository;
+
+    // Raw minute buckets must outlive the gap between two runs, or the hours in between are lost
+    @Value("${traffic.events.retention-hours:48}")
+    private long eventRetentionHours;
+
+    @Value("${traffic.rollups.hourly-retention-days:90}")
+    private long hourlyRetentionDays;
+
+    // Bumped whenever summaries may have changed, so readers can tell whether cached results are stale
+    private final AtomicLong generation = new AtomicLong();
+
+    // Reference time of the last committed run; null until the first one after startup
+    private volatile LocalDateTime lastRunAt;
+
+    /**
+     * Scheduled task that rolls up recent traffic and prunes expired buckets.
+     */
+    @Scheduled(fixedDelayString = "${traffic.rollup.interval-ms:60000}")
+    @Transactional
+    public void rollUp() {
+        rollUp(LocalDateTime.now());
+    }
+
+    /**
+     * Rolls up traffic as of the given time.
+     *
+     * @param now the reference time of this run
+     */
+    @Transactional
+    public void rollUp(LocalDateTime now) {
+        // Once now for readers of this transaction, and again after commit for everyone else
+        generation.incrementAndGet();
+        AfterCommit.run(() -> generation.incrementAndGet());
+
+        LocalDateTime hourFrom = TrafficGranularity.HOUR.bucketStart(now).minusHours(1);
+        // The oldest hour whose minute buckets have not been pruned in part
+        LocalDateTime oldestComplete = TrafficGranularity.HOUR.bucketStart(now.minusHours(eventRetentionHours)).plusHours(1);
+        LocalDateTime previousRun = lastRunAt;
+        LocalDateTime missedFrom = previousRun == null || previousRun.isBefore(oldestComplete)
+                ? oldestComplete : TrafficGranularity.HOUR.bucketStart(previousRun);
+        if (missedFrom.isBefore(hourFrom)) {
+            hourFrom = missedFrom;
+        }
+        LocalDateTime dayFrom = TrafficGranularity.DAY.bucketStart(hourFrom);
+        if (dayFrom.isAfter(TrafficGranularity.DAY.bucketStart(now).minusDays(1))) {
+            dayFrom = TrafficGranularity.DAY.bucketStart(now).minusDays(1);
+        }
+        AfterCommit.run(() -> lastRunAt = now);
+
+        // Minute buckets -> hourly summaries
+        Map<RollupKey, Long> hourlyHits = new HashMap<>();
+        for (Object[] row : trafficEventRepository.sumHitsPerMinuteSince(hourFrom)) {
+            RollupKey key = new RollupKey((Long) row[0], TrafficGranularity.HOUR.bucketStart((LocalDateTime) row[1]));
+            hourlyHits.merge(key, ((Number) row[2]).longValue(), Long::sum);
+        }
+        replaceBuckets(TrafficGranularity.HOUR, hourFrom, hourlyHits);
+
+        // Hourly summaries -> daily summaries
+        Map<RollupKey, Long> dailyHits = new HashMap<>();
+        for (TrafficRollup hourly : trafficRollupRepository.findByGranularityAndBucketStartGreaterThanEqual(TrafficGranularity.HOUR, dayFrom)) {
+            RollupKey key = new RollupKey(hourly.getAttractionId(), TrafficGranularity.DAY.bucketStart(hourly.getBucketStart()));
+            dailyHits.merge(key, hourly.getHits(), Long::sum);
+        }
+        replaceBuckets(TrafficGranularity.DAY, dayFrom, dailyHits);
+
+        // Prune by bucket: raw minutes are only needed until their hour is final
+        trafficEventRepository.deleteBucketsBefore(now.minusHours(eventRetentionHours));
+        trafficRollupRepository.deleteBucketsBefore(TrafficGranularity.HOUR, now.minusDays(hourlyRetentionDays));
+    }
+
+    /**
+     * Returns a counter that changes every time the summaries may have been rewritten.
+     *
+     * @return the current summary generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    private void replaceBuckets(TrafficGranularity granularity, LocalDateTime from, Map<RollupKey, Long> hits) {
+        trafficRollupRepository.deleteBucketsFrom(granularity, from);
+
+        List<TrafficRollup> rollups = new ArrayList<>(hits.size());
+        hits.forEach((key, count) -> rollups.add(new TrafficRollup(key.attractionId(), granularity, key.bucketStart(), count)));
+        trafficRollupRepository.insertAll(rollups);
+    }
+
+    private record RollupKey(Long attractionId, LocalDateTime bucketStart) {
+    }
+}
@@ -0,0 +1,182 @@
+package com.tourism.tourism_backend.services;
+
+import com.tourism.tourism_backend.dto.AttractionTrafficSeriesDTO;
+import com.tourism.tourism_backend.dto.TrafficPointDTO;
+import com.tourism.tourism_backend.dto.TrafficSeriesDTO;
+import com.tourism.tourism_backend.models.TrafficGranularity;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.TrafficRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service that answers time-range traffic queries from the hourly and daily rollups.
+ * A range is aligned to whole buckets and read with one index range scan, so a 90-day daily
+ * query reads at most 90 rows per attraction and never touches raw traffic events.
+ * Results are cached per (range, granularity) in a small LRU map; an entry is recomputed as
+ * soon as the rollup job may have rewritten the summaries it was built from.
+ */
+@Service
+public class TrafficSeriesService {
+
+    public static final int MAX_BUCKETS = 1000;
+    public static final int MAX_ATTRACTIONS = 100;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private TrafficRollupRepository trafficRollupRepository;
+
+    @Autowired
+    private TrafficRollupService trafficRollupService;
+
+    private final Map<RangeKey, RangeSeries> cache;
+
+    public TrafficSeriesService(@Value("${analytics.range-cache.max-entries:32}") int maxEntries) {
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RangeKey, RangeSeries> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Retrieves the clicks per bucket within a time range, overall and for the most visited attractions.
+     * The range is widened to whole buckets: {@code from} is rounded down and {@code to} is rounded
+     * up, so the bucket containing {@code to} is included unless {@code to} is a bucket boundary.
+     *
+     * @param from        the start of the range, or null for 7 days (24 hours) before {@code to}
+     * @param to          the end of the range, or null for now
+     * @param granularity the bucket size, or null for days
+     * @param limit       the maximum number of attractions to return a series for
+     * @return the traffic series of the range
+     * @throws IllegalArgumentException if the range is empty or too long, or the limit is out of bounds
+     */
+    @Transactional(readOnly = true)
+    public TrafficSeriesDTO getSeries(LocalDateTime from, LocalDateTime to, TrafficGranularity granularity, int limit) {
+        if (limit < 1 || limit > MAX_ATTRACTIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_ATTRACTIONS);
+        }
+        TrafficGranularity bucketSize = granularity != null ? granularity : TrafficGranularity.DAY;
+        ChronoUnit unit = bucketSize.getUnit();
+
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime rangeTo = bucketSize.bucketStart(end);
+        if (rangeTo.isBefore(end)) {
+            rangeTo = rangeTo.plus(1, unit);
+        }
+        LocalDateTime rangeFrom = from != null
+                ? bucketSize.bucketStart(from)
+                : rangeTo.minus(bucketSize == TrafficGranularity.HOUR ? 24 : 7, unit);
+
+        if (!rangeFrom.isBefore(rangeTo)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        long buckets = unit.between(rangeFrom, rangeTo);
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("A range can span at most " + MAX_BUCKETS + " buckets");
+        }
+
+        RangeKey key = new RangeKey(rangeFrom, rangeTo, bucketSize);
+        // Read the generation before loading, so a concurrent rollup invalidates what we load now
+        long generation = trafficRollupService.getGeneration();
+        RangeSeries series = cache.get(key);
+        if (series == null || series.generation() != generation) {
+            series = load(key, (int) buckets, generation);
+            cache.put(key, series);
+        }
+        return series.toDTO(limit);
+    }
+
+    private RangeSeries load(RangeKey key, int buckets, long generation) {
+        ChronoUnit unit = key.granularity().getUnit();
+        long[] bucketHits = new long[buckets];
+        Map<Long, long[]> hitsPerAttraction = new HashMap<>();
+
+        for (Object[] row : trafficRollupRepository.findHitsInRange(key.granularity(), key.from(), key.to())) {
+            int index = (int) unit.between(key.from(), (LocalDateTime) row[1]);
+            long hits = ((Number) row[2]).longValue();
+            hitsPerAttraction.computeIfAbsent((Long) row[0], id -> new long[buckets])[index] += hits;
+            bucketHits[index] += hits;
+        }
+
+        long totalClicks = 0;
+        for (long hits : bucketHits) {
+            totalClicks += hits;
+        }
+
+        // Rank every attraction with traffic, but keep the series of the top ones only
+        List<AttractionSeries> ranked = new ArrayList<>(hitsPerAttraction.size());
+        hitsPerAttraction.forEach((id, hits) -> {
+            long total = 0;
+            for (long bucket : hits) {
+                total += bucket;
+            }
+            ranked.add(new AttractionSeries(id, null, total, hits));
+        });
+        ranked.sort(Comparator.comparingLong(AttractionSeries::totalClicks).reversed()
+                .thenComparing(AttractionSeries::id));
+        List<AttractionSeries> top = ranked.subList(0, Math.min(MAX_ATTRACTIONS, ranked.size()));
+
+        // Deleted attractions still count towards the totals but get no series of their own
+        Map<Long, String> names = new HashMap<>();
+        if (!top.isEmpty()) {
+            for (Object[] row : attractionRepository.findNamesAndTrafficCountsByIdIn(
+                    top.stream().map(AttractionSeries::id).toList())) {
+                names.put((Long) row[0], (String) row[1]);
+            }
+        }
+        List<AttractionSeries> attractions = new ArrayList<>(top.size());
+        for (AttractionSeries series : top) {
+            String name = names.get(series.id());
+            if (name != null) {
+                attractions.add(new AttractionSeries(series.id(), name, series.totalClicks(), series.hits()));
+            }
+        }
+
+        return new RangeSeries(key, totalClicks, bucketHits, List.copyOf(attractions), generation);
+    }
+
+    private record RangeKey(LocalDateTime from, LocalDateTime to, TrafficGranularity granularity) {
+    }
+
+    private record AttractionSeries(Long id, String name, long totalClicks, long[] hits) {
+    }
+
+    /**
+     * Cached result of one range. The arrays are never modified after loading; responses get copies.
+     */
+    private record RangeSeries(RangeKey key, long totalClicks, long[] bucketHits,
+                               List<AttractionSeries> attractions, long generation) {
+
+        TrafficSeriesDTO toDTO(int limit) {
+            ChronoUnit unit = key.granularity().getUnit();
+            List<TrafficPointDTO> buckets = new ArrayList<>(bucketHits.length);
+            for (int i = 0; i < bucketHits.length; i++) {
+                buckets.add(new TrafficPointDTO(key.from().plus(i, unit), bucketHits[i]));
+            }
+
+            List<AttractionTrafficSeriesDTO> series = new ArrayList<>(Math.min(limit, attractions.size()));
+            for (AttractionSeries attraction : attractions.subList(0, Math.min(limit, attractions.size()))) {
+                series.add(new AttractionTrafficSeriesDTO(attraction.id(), attraction.name(),
+                        attraction.totalClicks(), attraction.hits().clone()));
+            }
+
+            return new TrafficSeriesDTO(key.from(), key.to(), key.granularity(), totalClicks, buckets, series);
+        }
+    }
+}
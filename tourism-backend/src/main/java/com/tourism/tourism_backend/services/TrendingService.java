@@ -0,0 +1,208 @@
+package com.tourism.tourism_backend.services;
+
+import com.tourism.tourism_backend.dto.TrendingAttractionDTO;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.models.TrafficGranularity;
+import com.tourism.tourism_backend.models.TrafficRollup;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.TrafficRollupRepository;
+import com.tourism.tourism_backend.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * "Trending now" ranking of attractions by exponentially decayed traffic.
+ * Uses forward decay: a hit at time t adds e^(λ(t - L)) to the attraction's stored score, where
+ * L is a fixed landmark and λ = ln 2 / half-life. The decayed score at time now is the stored
+ * score times e^(-λ(now - L)); that factor is the same for every attraction, so stored scores
+ * never need to be decayed and their order never changes with time. Each hit is therefore one
+ * map update plus, if the attraction is a top candidate, one update of a bounded sorted set,
+ * and reading the top list never sorts the catalog. Because stored scores only grow, an
+ * attraction outside the set can only enter it on its own hit, where it is compared to the
+ * smallest member, so the set always holds the exact top {@code capacity} attractions.
+ */
+@Service
+public class TrendingService {
+
+    // Stored scores grow as e^(λ(t - L)); move the landmark forward before they overflow a double
+    private static final double MAX_EXPONENT = 500;
+
+    // Hourly rollups older than this many half-lives add less than 0.1% and are skipped on rebuild
+    private static final int REBUILD_HALF_LIVES = 10;
+
+    private static final Comparator<Entry> BY_SCORE_DESC = Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparing(Entry::attractionId);
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private TrafficRollupRepository trafficRollupRepository;
+
+    private final long halfLifeMs;
+    private final double lambda;
+    private final int capacity;
+
+    private final Map<Long, Double> scores = new HashMap<>();
+    private final TreeSet<Entry> top = new TreeSet<>(BY_SCORE_DESC);
+    private long landmark = System.currentTimeMillis();
+
+    public TrendingService(@Value("${traffic.trending.half-life-minutes:60}") long halfLifeMinutes,
+                           @Value("${traffic.trending.capacity:100}") int capacity) {
+        this.halfLifeMs = halfLifeMinutes * 60_000;
+        this.lambda = Math.log(2) / halfLifeMs;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds hits to an attraction's trending score as of now.
+     *
+     * @param attractionId the ID of the attraction
+     * @param hits         the number of hits
+     */
+    public void record(Long attractionId, long hits) {
+        record(attractionId, hits, System.currentTimeMillis());
+    }
+
+    /**
+     * Adds hits to an attraction's trending score as of the given time.
+     *
+     * @param attractionId the ID of the attraction
+     * @param hits         the number of hits
+     * @param at           the time of the hits in epoch milliseconds
+     */
+    public synchronized void record(Long attractionId, long hits, long at) {
+        double exponent = lambda * (at - landmark);
+        if (exponent > MAX_EXPONENT) {
+            moveLandmark(at);
+            exponent = 0;
+        }
+
+        Double previous = scores.get(attractionId);
+        double updated = (previous != null ? previous : 0) + hits * Math.exp(exponent);
+        scores.put(attractionId, updated);
+
+        boolean wasTop = previous != null && top.remove(new Entry(attractionId, previous));
+        if (wasTop || top.size() < capacity || updated > top.last().score()) {
+            top.add(new Entry(attractionId, updated));
+            if (top.size() > capacity) {
+                top.pollLast();
+            }
+        }
+    }
+
+    private void moveLandmark(long newLandmark) {
+        double factor = Math.exp(-lambda * (newLandmark - landmark));
+        scores.replaceAll((id, score) -> score * factor);
+        // Scaling keeps the order, so the top set can be rebuilt from its own members
+        List<Entry> members = new ArrayList<>(top);
+        top.clear();
+        members.forEach(entry -> top.add(new Entry(entry.attractionId(), scores.get(entry.attractionId()))));
+        landmark = newLandmark;
+    }
+
+    /**
+     * Forgets an attraction once the current transaction commits, or right away if there is
+     * none, so a delete that rolls back keeps the attraction ranked.
+     *
+     * @param attractionId the ID of the attraction
+     */
+    public void removeAfterCommit(Long attractionId) {
+        AfterCommit.run(() -> remove(attractionId));
+    }
+
+    /**
+     * Forgets an attraction, e.g. when it is deleted.
+     *
+     * @param attractionId the ID of the attraction
+     */
+    public synchronized void remove(Long attractionId) {
+        Double score = scores.remove(attractionId);
+        if (score == null || !top.remove(new Entry(attractionId, score))) {
+            return;
+        }
+        // Refill the freed slot with the best attraction outside the set; deletes are rare
+        Entry best = null;
+        for (Map.Entry<Long, Double> candidate : scores.entrySet()) {
+            Entry entry = new Entry(candidate.getKey(), candidate.getValue());
+            if (!top.contains(entry) && (best == null || BY_SCORE_DESC.compare(entry, best) < 0)) {
+                best = entry;
+            }
+        }
+        if (best != null) {
+            top.add(best);
+        }
+    }
+
+    /**
+     * Returns the attractions with the highest decayed traffic, best first.
+     *
+     * @param limit the maximum number of attractions, at most the configured capacity
+     * @return the trending attractions with their decayed scores in hits
+     */
+    public List<TrendingAttractionDTO> getTrending(int limit) {
+        if (limit < 1 || limit > capacity) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + capacity);
+        }
+
+        List<Entry> entries = new ArrayList<>(limit);
+        double decay;
+        synchronized (this) {
+            for (Entry entry : top) {
+                if (entries.size() == limit) {
+                    break;
+                }
+                entries.add(entry);
+            }
+            decay = Math.exp(-lambda * (System.currentTimeMillis() - landmark));
+        }
+
+        Map<Long, String> names = attractionRepository.findAllById(entries.stream().map(Entry::attractionId).toList())
+                .stream()
+                .collect(Collectors.toMap(Attraction::getId, Attraction::getName));
+        return entries.stream()
+                .filter(entry -> names.containsKey(entry.attractionId()))
+                .map(entry -> new TrendingAttractionDTO(entry.attractionId(), names.get(entry.attractionId()),
+                        entry.score() * decay))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Rebuilds the scores from the persisted hourly rollups, e.g. after a restart. Each hourly
+     * bucket is counted at its midpoint, so the result approximates the live scores to within
+     * the bucket's resolution.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long now = System.currentTimeMillis();
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDateTime from = TrafficGranularity.HOUR.bucketStart(LocalDateTime.now().minusSeconds(halfLifeMs * REBUILD_HALF_LIVES / 1000));
+        List<TrafficRollup> rollups = trafficRollupRepository.findByGranularityAndBucketStartGreaterThanEqual(TrafficGranularity.HOUR, from);
+
+        synchronized (this) {
+            scores.clear();
+            top.clear();
+            landmark = now;
+            for (TrafficRollup rollup : rollups) {
+                long midpoint = rollup.getBucketStart().plusMinutes(30).atZone(zone).toInstant().toEpochMilli();
+                record(rollup.getAttractionId(), rollup.getHits(), Math.min(midpoint, now));
+            }
+        }
+    }
+
+    private record Entry(Long attractionId, double score) {
+    }
+}
@@ -25,6 +25,9 @@ public class TripService {
     @Autowired
     private AttractionRepository attractionRepository;
 
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
     /**
      * Retrieves all trips from the database.
      *
@@ -59,7 +62,9 @@ public class TripService {
 
         // Create and save the trip
         Trip trip = new Trip(tripRequest.getName(), tripRequest.getDuration(), attractions);
-        return tripRepository.save(trip);
+        Trip saved = tripRepository.save(trip);
+        catalogSnapshotService.refreshTripsAfterCommit();
+        return saved;
     }
 
     /**
@@ -92,7 +97,9 @@ public class TripService {
         trip.setAttractions(attractions);
 
         // Save and return the updated trip
-        return tripRepository.save(trip);
+        Trip saved = tripRepository.save(trip);
+        catalogSnapshotService.refreshTripsAfterCommit();
+        return saved;
     }
 
     /**
@@ -106,5 +113,6 @@ public class TripService {
             throw new IllegalArgumentException("Trip not found with ID: " + id);
         }
         tripRepository.deleteById(id);
+        catalogSnapshotService.refreshTripsAfterCommit();
     }
 }
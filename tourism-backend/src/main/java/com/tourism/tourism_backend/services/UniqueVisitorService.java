@@ -0,0 +1,212 @@
+package com.tourism.tourism_backend.services;
+
+import com.tourism.tourism_backend.models.VisitorSketch;
+import com.tourism.tourism_backend.repositories.VisitorSketchRepository;
+import com.tourism.tourism_backend.util.Hashing;
+import com.tourism.tourism_backend.util.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Service that estimates distinct visitors per attraction and day with HyperLogLog sketches.
+ * Visits are added to in-memory sketches and periodically merged into the visitor_sketches table.
+ * Because sketches merge by taking the register-wise maximum, several application nodes can flush
+ * into the same row and daily sketches can be combined into estimates for any range of days, all
+ * in a fixed 2 KB per attraction and day no matter how many visitors there are.
+ */
+@Service
+public class UniqueVisitorService {
+
+    private static final Logger log = LoggerFactory.getLogger(UniqueVisitorService.class);
+
+    @Autowired
+    private VisitorSketchRepository visitorSketchRepository;
+
+    @Value("${traffic.unique-visitors.retention-days:90}")
+    private long retentionDays;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Sketches are only touched inside compute()/remove(), which are atomic per key, so a visit
+    // racing with a flush lands either in the flushed sketch or in a fresh one for the next round
+    private final ConcurrentHashMap<SketchKey, HyperLogLog> pendingSketches = new ConcurrentHashMap<>();
+
+    public UniqueVisitorService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Records a visit of an attraction by a visitor for today.
+     *
+     * @param attractionId the ID of the attraction
+     * @param visitorId    a stable identifier of the visitor, e.g. the authenticated username
+     */
+    public void record(Long attractionId, String visitorId) {
+        if (visitorId == null) {
+            return;
+        }
+        long hash = Hashing.hash64(visitorId);
+        pendingSketches.compute(new SketchKey(attractionId, LocalDate.now()), (key, sketch) -> {
+            HyperLogLog target = sketch != null ? sketch : new HyperLogLog();
+            target.addHash(hash);
+            return target;
+        });
+    }
+
+    /**
+     * Merges all in-memory sketches into their persisted rows and prunes expired rows.
+     * Each sketch is merged in its own transaction under a row lock; a failed merge is put back
+     * into memory and retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${traffic.unique-visitors.flush-interval-ms:60000}")
+    public synchronized void flush() {
+        for (SketchKey key : pendingSketches.keySet()) {
+            HyperLogLog sketch = pendingSketches.remove(key);
+            if (sketch == null) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> mergeIntoRow(key, sketch));
+            } catch (RuntimeException ex) {
+                pendingSketches.merge(key, sketch, (current, failed) -> {
+                    current.merge(failed);
+                    return current;
+                });
+                log.warn("Failed to flush visitor sketch of attraction {} for {}, will retry",
+                        key.attractionId(), key.day(), ex);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+                visitorSketchRepository.deleteSketchesBefore(LocalDate.now().minusDays(retentionDays)));
+    }
+
+    private void mergeIntoRow(SketchKey key, HyperLogLog sketch) {
+        // The row lock serializes merges from concurrent flushes, possibly on other nodes
+        VisitorSketch row = visitorSketchRepository.findByAttractionIdAndDay(key.attractionId(), key.day())
+                .orElseGet(() -> new VisitorSketch(key.attractionId(), key.day(), null));
+        if (row.getRegisters() != null) {
+            sketch.merge(row.getRegisters());
+        }
+        row.setRegisters(sketch.toBytes());
+        visitorSketchRepository.save(row);
+    }
+
+    /**
+     * Flushes outstanding sketches before the application context shuts down.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Estimates the distinct visitors from the given day on, both overall and per attraction.
+     * Persisted sketches are streamed in attraction order and merged one attraction at a time, so
+     * memory stays at a few sketches plus the top list regardless of the number of attractions.
+     * Sketches that have not been flushed yet are included.
+     *
+     * @param from  the inclusive first day
+     * @param limit the number of attractions to return
+     * @return the overall estimate and the attractions with the most distinct visitors
+     */
+    @Transactional(readOnly = true)
+    public UniqueVisitorSummary summarize(LocalDate from, int limit) {
+        Map<Long, HyperLogLog> pendingByAttraction = new HashMap<>();
+        for (SketchKey key : pendingSketches.keySet()) {
+            if (key.day().isBefore(from)) {
+                continue;
+            }
+            pendingSketches.computeIfPresent(key, (k, sketch) -> {
+                pendingByAttraction.computeIfAbsent(k.attractionId(), id -> new HyperLogLog()).merge(sketch);
+                return sketch;
+            });
+        }
+
+        HyperLogLog overall = new HyperLogLog();
+        PriorityQueue<AttractionEstimate> top = new PriorityQueue<>(Comparator.comparingLong(AttractionEstimate::uniqueVisitors));
+
+        Long currentId = null;
+        HyperLogLog current = null;
+        try (Stream<Object[]> rows = visitorSketchRepository.streamRegistersSince(from)) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                Long attractionId = (Long) row[0];
+                if (!attractionId.equals(currentId)) {
+                    if (current != null) {
+                        complete(currentId, current, pendingByAttraction, overall, top, limit);
+                    }
+                    currentId = attractionId;
+                    current = new HyperLogLog();
+                }
+                current.merge((byte[]) row[1]);
+            }
+        }
+        if (current != null) {
+            complete(currentId, current, pendingByAttraction, overall, top, limit);
+        }
+
+        // Attractions that were only visited since the last flush
+        for (Long attractionId : new ArrayList<>(pendingByAttraction.keySet())) {
+            complete(attractionId, new HyperLogLog(), pendingByAttraction, overall, top, limit);
+        }
+
+        List<AttractionEstimate> ordered = new ArrayList<>(top);
+        ordered.sort(Comparator.comparingLong(AttractionEstimate::uniqueVisitors).reversed()
+                .thenComparing(AttractionEstimate::attractionId));
+        Map<Long, Long> topAttractions = new LinkedHashMap<>();
+        ordered.forEach(estimate -> topAttractions.put(estimate.attractionId(), estimate.uniqueVisitors()));
+
+        return new UniqueVisitorSummary(overall.estimate(), topAttractions);
+    }
+
+    private void complete(Long attractionId, HyperLogLog sketch, Map<Long, HyperLogLog> pendingByAttraction,
+                          HyperLogLog overall, PriorityQueue<AttractionEstimate> top, int limit) {
+        HyperLogLog pending = pendingByAttraction.remove(attractionId);
+        if (pending != null) {
+            sketch.merge(pending);
+        }
+        overall.merge(sketch);
+
+        long estimate = sketch.estimate();
+        if (estimate > 0) {
+            top.add(new AttractionEstimate(attractionId, estimate));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+    }
+
+    /**
+     * Distinct visitor estimates: overall, and per attraction ordered from most to fewest visitors.
+     */
+    public record UniqueVisitorSummary(long uniqueVisitors, Map<Long, Long> topAttractions) {
+    }
+
+    private record SketchKey(Long attractionId, LocalDate day) {
+    }
+
+    private record AttractionEstimate(Long attractionId, long uniqueVisitors) {
+    }
+}
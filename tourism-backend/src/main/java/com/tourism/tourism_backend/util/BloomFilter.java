@@ -0,0 +1,83 @@
+package com.tourism.tourism_backend.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over pre-computed 64-bit hashes.
+ * Sized from the expected number of keys and the target false-positive rate; the k bit positions
+ * are derived from one hash by double hashing. Memory is fixed at construction, so the filter
+ * never grows with the number of keys, only its false-positive rate does.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Creates a filter sized for the expected number of keys.
+     *
+     * @param expectedKeys      the number of keys the filter should hold
+     * @param falsePositiveRate the target false-positive rate at that number of keys, e.g. 0.01
+     */
+    public BloomFilter(long expectedKeys, double falsePositiveRate) {
+        if (expectedKeys <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter size");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+
+        this.words = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedKeys * ln2));
+    }
+
+    /**
+     * Tests whether a key may have been added. False positives are possible, false negatives are not.
+     *
+     * @param hash the 64-bit hash of the key
+     * @return false if the key was definitely never added
+     */
+    public boolean mightContain(long hash) {
+        long h1 = hash;
+        long h2 = Hashing.mix64(hash) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a key to the filter.
+     *
+     * @param hash the 64-bit hash of the key
+     * @return true if the key was definitely not present before, i.e. at least one bit changed
+     */
+    public boolean put(long hash) {
+        long h1 = hash;
+        long h2 = Hashing.mix64(hash) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            long mask = 1L << bit;
+            int index = (int) (bit >>> 6);
+            if ((words.getAndUpdate(index, word -> word | mask) & mask) == 0) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returns the memory held by the bit array.
+     *
+     * @return the size in bytes
+     */
+    public long sizeInBytes() {
+        return bitCount / 8;
+    }
+}
@@ -0,0 +1,258 @@
+package com.tourism.tourism_backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Map clusters of points for every zoom level, kept up to date as points are added, moved and
+ * removed. At each zoom level up to {@link #MAX_ZOOM} the Web Mercator map is divided into square
+ * cells a quarter of a 256-pixel tile across, and the points in a cell form one cluster, drawn at
+ * their centroid. Each cell splits into four at the next level, so the levels form a pyramid, and
+ * a point changes one cell per level. Cells only keep their count and coordinate sums, except at
+ * the deepest level, which keeps the IDs of its points for zoom levels beyond it, where points are
+ * returned one by one. Instances are not thread-safe.
+ */
+public class ClusterPyramid {
+
+    // Deepest clustered zoom level; its cells are about 150 m across at the equator
+    public static final int MAX_ZOOM = 16;
+
+    // Cells per tile side, as a power of two
+    private static final int CELL_BITS = 2;
+
+    // Latitudes beyond this are off the Web Mercator map and are drawn at its edge
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    private static final Comparator<Cluster> LARGEST_FIRST = Comparator.comparingInt(Cluster::count).reversed()
+            .thenComparingDouble(Cluster::latitude).thenComparingDouble(Cluster::longitude)
+            .thenComparingLong(Cluster::id);
+
+    private final List<Map<Long, Cell>> levels = new ArrayList<>(MAX_ZOOM + 1);
+    private final Map<Long, double[]> points = new HashMap<>();
+
+    public ClusterPyramid() {
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Adds a point, or moves it if a point with the same ID is present.
+     *
+     * @param id        the ID of the point
+     * @param latitude  the latitude in degrees
+     * @param longitude the longitude in degrees
+     */
+    public void put(long id, double latitude, double longitude) {
+        remove(id);
+        double x = mercatorX(longitude);
+        double y = mercatorY(latitude);
+        points.put(id, new double[]{latitude, longitude, x, y});
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            Cell cell = levels.get(zoom).computeIfAbsent(cellKey(x, y, zoom), key -> new Cell());
+            cell.count++;
+            cell.sumX += x;
+            cell.sumY += y;
+            cell.idSum += id;
+            if (zoom == MAX_ZOOM) {
+                cell.addMember(id);
+            }
+        }
+    }
+
+    /**
+     * Removes a point.
+     *
+     * @param id the ID of the point
+     * @return true if the point was present
+     */
+    public boolean remove(long id) {
+        double[] point = points.remove(id);
+        if (point == null) {
+            return false;
+        }
+        double x = point[2];
+        double y = point[3];
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            long key = cellKey(x, y, zoom);
+            Map<Long, Cell> level = levels.get(zoom);
+            Cell cell = level.get(key);
+            if (--cell.count == 0) {
+                level.remove(key);
+                continue;
+            }
+            cell.sumX -= x;
+            cell.sumY -= y;
+            cell.idSum -= id;
+            if (zoom == MAX_ZOOM) {
+                cell.removeMember(id);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of points.
+     */
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Returns the clusters of the cells overlapping a bounding box at a zoom level, largest first.
+     * Beyond {@link #MAX_ZOOM}, returns the points inside the box instead, as clusters of one.
+     * A box whose western edge is east of its eastern edge crosses the antimeridian.
+     *
+     * @param south the southern edge in degrees
+     * @param west  the western edge in degrees
+     * @param north the northern edge in degrees, not south of the southern edge
+     * @param east  the eastern edge in degrees
+     * @param zoom  the zoom level, at least 0
+     * @return the clusters; a cluster of one point carries the point's ID and exact location
+     */
+    public List<Cluster> query(double south, double west, double north, double east, int zoom) {
+        int level = Math.min(zoom, MAX_ZOOM);
+        int cellsPerSide = 1 << (level + CELL_BITS);
+        int top = cellIndex(mercatorY(north), level);
+        int bottom = cellIndex(mercatorY(south), level);
+        int left = cellIndex(mercatorX(west), level);
+        int right = cellIndex(mercatorX(east), level);
+        boolean wraps = west > east;
+        // Column ranges [from, to] covered by the box, two if it crosses the antimeridian
+        int[][] columns = !wraps ? new int[][]{{left, right}}
+                : left <= right ? new int[][]{{0, cellsPerSide - 1}}
+                : new int[][]{{left, cellsPerSide - 1}, {0, right}};
+        long cellsInBox = 0;
+        for (int[] range : columns) {
+            cellsInBox += (range[1] - range[0] + 1L) * (bottom - top + 1L);
+        }
+
+        List<Cell> cells = new ArrayList<>();
+        Map<Long, Cell> cellsOfLevel = levels.get(level);
+        if (cellsInBox <= cellsOfLevel.size()) {
+            for (int[] range : columns) {
+                for (int column = range[0]; column <= range[1]; column++) {
+                    for (int row = top; row <= bottom; row++) {
+                        Cell cell = cellsOfLevel.get((long) column << 32 | row);
+                        if (cell != null) {
+                            cells.add(cell);
+                        }
+                    }
+                }
+            }
+        } else {
+            // A box with more cells than the level has cells with points: scan the level instead
+            for (Map.Entry<Long, Cell> entry : cellsOfLevel.entrySet()) {
+                int column = (int) (entry.getKey() >>> 32);
+                int row = (int) (long) entry.getKey();
+                if (row >= top && row <= bottom && inRanges(column, columns)) {
+                    cells.add(entry.getValue());
+                }
+            }
+        }
+
+        List<Cluster> clusters = new ArrayList<>();
+        for (Cell cell : cells) {
+            if (zoom > MAX_ZOOM) {
+                for (int i = 0; i < cell.memberCount; i++) {
+                    double[] point = points.get(cell.members[i]);
+                    boolean inLongitudes = wraps ? point[1] >= west || point[1] <= east
+                            : point[1] >= west && point[1] <= east;
+                    if (inLongitudes && point[0] >= south && point[0] <= north) {
+                        clusters.add(new Cluster(point[0], point[1], 1, cell.members[i]));
+                    }
+                }
+            } else if (cell.count == 1) {
+                double[] point = points.get(cell.idSum);
+                clusters.add(new Cluster(point[0], point[1], 1, cell.idSum));
+            } else {
+                clusters.add(new Cluster(latitude(cell.sumY / cell.count), longitude(cell.sumX / cell.count),
+                        cell.count, 0));
+            }
+        }
+        clusters.sort(LARGEST_FIRST);
+        return clusters;
+    }
+
+    private static boolean inRanges(int column, int[][] ranges) {
+        for (int[] range : ranges) {
+            if (column >= range[0] && column <= range[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long cellKey(double x, double y, int zoom) {
+        return (long) cellIndex(x, zoom) << 32 | cellIndex(y, zoom);
+    }
+
+    private static int cellIndex(double coordinate, int zoom) {
+        int cellsPerSide = 1 << (zoom + CELL_BITS);
+        return Math.min(cellsPerSide - 1, (int) (coordinate * cellsPerSide));
+    }
+
+    // Web Mercator coordinates, from 0 to 1 west to east and north to south
+    private static double mercatorX(double longitude) {
+        return (longitude + 180) / 360;
+    }
+
+    private static double mercatorY(double latitude) {
+        double sin = Math.sin(Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude))));
+        return 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    }
+
+    private static double longitude(double x) {
+        return x * 360 - 180;
+    }
+
+    private static double latitude(double y) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y))));
+    }
+
+    /**
+     * A cluster of points, or a single point if the count is 1.
+     *
+     * @param latitude  the latitude of the centroid, or of the point
+     * @param longitude the longitude of the centroid, or of the point
+     * @param count     the number of points
+     * @param id        the ID of the point if the count is 1, otherwise 0
+     */
+    public record Cluster(double latitude, double longitude, int count, long id) {
+    }
+
+    /**
+     * The points of a cell: their count, sums of their Mercator coordinates and of their IDs, which
+     * is the ID of the only point when there is one. Cells of the deepest level also list the IDs.
+     */
+    private static final class Cell {
+        private int count;
+        private double sumX;
+        private double sumY;
+        private long idSum;
+        private long[] members;
+        private int memberCount;
+
+        void addMember(long id) {
+            if (members == null) {
+                members = new long[2];
+            } else if (memberCount == members.length) {
+                members = Arrays.copyOf(members, memberCount * 2);
+            }
+            members[memberCount++] = id;
+        }
+
+        void removeMember(long id) {
+            for (int i = 0; i < memberCount; i++) {
+                if (members[i] == id) {
+                    members[i] = members[--memberCount];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.tourism.tourism_backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * In-memory spatial index of points on the earth's surface, for nearest-neighbour and radius
+ * queries by great-circle distance. Points are kept in a bucket quadtree over latitude and
+ * longitude: a leaf holds up to {@link #LEAF_CAPACITY} points and splits into four quadrants when
+ * it overflows, so dense areas such as city centres get small cells while empty oceans cost
+ * nothing. A query visits cells best-first by a lower bound of their distance from the query
+ * point and stops once no unvisited cell can hold a closer point than the ones found.
+ * Points are added and removed in place; cells emptied by removals are kept for later points.
+ * Instances are not thread-safe.
+ */
+public class GeoIndex {
+
+    // Mean earth radius
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private static final int LEAF_CAPACITY = 64;
+
+    // Leaves this deep grow instead of splitting, e.g. for many points at the same place
+    private static final int MAX_DEPTH = 24;
+
+    private static final Comparator<Neighbour> NEAREST_FIRST = Comparator.comparingDouble(Neighbour::distanceMeters)
+            .thenComparingLong(Neighbour::id);
+
+    private final Node root = new Node(-90, 90, -180, 180, 0);
+    private final Map<Long, Node> leavesById = new HashMap<>();
+
+    /**
+     * Returns the great-circle distance between two points, by the haversine formula.
+     *
+     * @return the distance in meters
+     */
+    public static double distance(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double h = haversine(Math.toRadians(latitude1), Math.cos(Math.toRadians(latitude1)), Math.toRadians(longitude1),
+                Math.toRadians(latitude2), Math.cos(Math.toRadians(latitude2)), Math.toRadians(longitude2));
+        return toMeters(h);
+    }
+
+    /**
+     * Adds a point, or moves it if a point with the same ID is indexed.
+     *
+     * @param id        the ID of the point
+     * @param latitude  the latitude in degrees, between -90 and 90
+     * @param longitude the longitude in degrees, between -180 and 180
+     * @throws IllegalArgumentException if the coordinates are out of range
+     */
+    public void put(long id, double latitude, double longitude) {
+        checkCoordinates(latitude, longitude);
+        remove(id);
+
+        Node node = root;
+        while (node.children != null) {
+            node = node.childFor(latitude, longitude);
+        }
+        node.add(id, latitude, longitude);
+        leavesById.put(id, node);
+        if (node.size > LEAF_CAPACITY && node.depth < MAX_DEPTH) {
+            split(node);
+        }
+    }
+
+    /**
+     * Removes a point.
+     *
+     * @param id the ID of the point
+     * @return true if the point was indexed
+     */
+    public boolean remove(long id) {
+        Node leaf = leavesById.remove(id);
+        if (leaf == null) {
+            return false;
+        }
+        leaf.remove(id);
+        return true;
+    }
+
+    /**
+     * Returns the number of indexed points.
+     */
+    public int size() {
+        return leavesById.size();
+    }
+
+    /**
+     * Finds the points nearest to a location, within a maximum distance.
+     *
+     * @param latitude           the latitude of the location in degrees, between -90 and 90
+     * @param longitude          the longitude of the location in degrees, between -180 and 180
+     * @param limit              the maximum number of points to return
+     * @param maxDistanceMeters  the maximum distance of a point, or infinity for none
+     * @return the points with their distances, nearest first and equal distances by ID
+     * @throws IllegalArgumentException if the coordinates are out of range
+     */
+    public List<Neighbour> nearest(double latitude, double longitude, int limit, double maxDistanceMeters) {
+        checkCoordinates(latitude, longitude);
+        double lat = Math.toRadians(latitude);
+        double cosLat = Math.cos(lat);
+        double lng = Math.toRadians(longitude);
+        // Distances are compared as haversines, which grow with the distance, to save the arcsine
+        double maxHaversine = maxDistanceMeters >= Math.PI * EARTH_RADIUS_METERS
+                ? Double.POSITIVE_INFINITY : toHaversine(maxDistanceMeters / EARTH_RADIUS_METERS);
+
+        // Furthest of the nearest points found so far first
+        PriorityQueue<Found> found = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(Found::haversine).thenComparingLong(Found::id).reversed());
+        PriorityQueue<Cell> cells = new PriorityQueue<>(Comparator.comparingDouble(Cell::bound));
+        cells.add(new Cell(root, 0));
+        while (!cells.isEmpty()) {
+            Cell cell = cells.poll();
+            double worst = found.size() < limit ? maxHaversine : Math.min(maxHaversine, found.peek().haversine());
+            if (cell.bound() > worst) {
+                break;
+            }
+            Node node = cell.node();
+            if (node.children != null) {
+                for (Node child : node.children) {
+                    double bound = toHaversine(child.lowerBound(lat, cosLat, lng));
+                    if (bound <= worst) {
+                        cells.add(new Cell(child, bound));
+                    }
+                }
+                continue;
+            }
+            for (int i = 0; i < node.size; i++) {
+                double h = haversine(lat, cosLat, lng, Math.toRadians(node.latitudes[i]), node.cosLatitudes[i],
+                        Math.toRadians(node.longitudes[i]));
+                if (h > maxHaversine) {
+                    continue;
+                }
+                if (found.size() < limit) {
+                    found.add(new Found(node.ids[i], h));
+                } else {
+                    Found furthest = found.peek();
+                    if (h < furthest.haversine() || h == furthest.haversine() && node.ids[i] < furthest.id()) {
+                        found.poll();
+                        found.add(new Found(node.ids[i], h));
+                    }
+                }
+            }
+        }
+
+        List<Neighbour> neighbours = new ArrayList<>(found.size());
+        for (Found point : found) {
+            neighbours.add(new Neighbour(point.id(), toMeters(point.haversine())));
+        }
+        neighbours.sort(NEAREST_FIRST);
+        return neighbours;
+    }
+
+    private void split(Node leaf) {
+        leaf.children = new Node[4];
+        double middleLat = (leaf.minLat + leaf.maxLat) / 2;
+        double middleLng = (leaf.minLng + leaf.maxLng) / 2;
+        int depth = leaf.depth + 1;
+        leaf.children[0] = new Node(leaf.minLat, middleLat, leaf.minLng, middleLng, depth);
+        leaf.children[1] = new Node(leaf.minLat, middleLat, middleLng, leaf.maxLng, depth);
+        leaf.children[2] = new Node(middleLat, leaf.maxLat, leaf.minLng, middleLng, depth);
+        leaf.children[3] = new Node(middleLat, leaf.maxLat, middleLng, leaf.maxLng, depth);
+        for (int i = 0; i < leaf.size; i++) {
+            Node child = leaf.childFor(leaf.latitudes[i], leaf.longitudes[i]);
+            child.add(leaf.ids[i], leaf.latitudes[i], leaf.longitudes[i]);
+            leavesById.put(leaf.ids[i], child);
+        }
+        leaf.ids = null;
+        leaf.latitudes = null;
+        leaf.cosLatitudes = null;
+        leaf.longitudes = null;
+        leaf.size = 0;
+        // All points may have landed in the same quadrant
+        for (Node child : leaf.children) {
+            if (child.size > LEAF_CAPACITY && child.depth < MAX_DEPTH) {
+                split(child);
+            }
+        }
+    }
+
+    private static void checkCoordinates(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90");
+        }
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        }
+    }
+
+    // Haversine of the central angle between two points given in radians
+    private static double haversine(double lat1, double cosLat1, double lng1, double lat2, double cosLat2, double lng2) {
+        double sinLat = Math.sin((lat2 - lat1) / 2);
+        double sinLng = Math.sin((lng2 - lng1) / 2);
+        return sinLat * sinLat + cosLat1 * cosLat2 * sinLng * sinLng;
+    }
+
+    private static double toHaversine(double angle) {
+        double sin = Math.sin(angle / 2);
+        return sin * sin;
+    }
+
+    private static double toMeters(double haversine) {
+        return 2 * Math.asin(Math.sqrt(Math.min(1, haversine))) * EARTH_RADIUS_METERS;
+    }
+
+    /**
+     * An indexed point near the query location and its distance from it.
+     */
+    public record Neighbour(long id, double distanceMeters) {
+    }
+
+    private record Found(long id, double haversine) {
+    }
+
+    private record Cell(Node node, double bound) {
+    }
+
+    /**
+     * A quadrant of the latitude/longitude plane in degrees, either split into four children or a
+     * leaf holding the points inside it.
+     */
+    private static final class Node {
+        private final double minLat;
+        private final double maxLat;
+        private final double minLng;
+        private final double maxLng;
+        private final int depth;
+        private Node[] children;
+
+        private long[] ids = new long[8];
+        private double[] latitudes = new double[8];
+        private double[] cosLatitudes = new double[8];
+        private double[] longitudes = new double[8];
+        private int size;
+
+        Node(double minLat, double maxLat, double minLng, double maxLng, int depth) {
+            this.minLat = minLat;
+            this.maxLat = maxLat;
+            this.minLng = minLng;
+            this.maxLng = maxLng;
+            this.depth = depth;
+        }
+
+        // Points on a middle line belong to the northern or eastern quadrant
+        Node childFor(double latitude, double longitude) {
+            int quadrant = (latitude >= (minLat + maxLat) / 2 ? 2 : 0) + (longitude >= (minLng + maxLng) / 2 ? 1 : 0);
+            return children[quadrant];
+        }
+
+        void add(long id, double latitude, double longitude) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                cosLatitudes = Arrays.copyOf(cosLatitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+            }
+            ids[size] = id;
+            latitudes[size] = latitude;
+            cosLatitudes[size] = Math.cos(Math.toRadians(latitude));
+            longitudes[size] = longitude;
+            size++;
+        }
+
+        void remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    latitudes[i] = latitudes[size];
+                    cosLatitudes[i] = cosLatitudes[size];
+                    longitudes[i] = longitudes[size];
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Returns a lower bound of the central angle between a point, in radians, and this
+         * quadrant. A path into the quadrant from outside its longitudes crosses the great circle
+         * of one of its side meridians, so it is at least as long as the distance to the nearer
+         * of those circles; and it is at least as long as the difference in latitude.
+         */
+        double lowerBound(double lat, double cosLat, double lng) {
+            double latGap = Math.max(0, Math.max(Math.toRadians(minLat) - lat, lat - Math.toRadians(maxLat)));
+            double west = Math.toRadians(minLng);
+            double east = Math.toRadians(maxLng);
+            if (lng >= west && lng <= east) {
+                return latGap;
+            }
+            double toWest = Math.asin(Math.min(1, cosLat * Math.abs(Math.sin(lng - west))));
+            double toEast = Math.asin(Math.min(1, cosLat * Math.abs(Math.sin(lng - east))));
+            return Math.max(latGap, Math.min(toWest, toEast));
+        }
+    }
+}
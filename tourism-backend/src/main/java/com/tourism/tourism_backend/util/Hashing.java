@@ -0,0 +1,42 @@
+package com.tourism.tourism_backend.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fast non-cryptographic 64-bit hashing for probabilistic data structures.
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * Hashes a string to 64 bits with FNV-1a followed by the MurmurHash3 finalizer for avalanche.
+     *
+     * @param value the value to hash
+     * @return the 64-bit hash
+     */
+    public static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix64(hash);
+    }
+
+    /**
+     * Applies the MurmurHash3 64-bit finalizer, spreading every input bit over the whole output.
+     *
+     * @param value the value to mix
+     * @return the mixed value
+     */
+    public static long mix64(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,131 @@
+package com.tourism.tourism_backend.util;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sketch for estimating the number of distinct values in fixed memory.
+ * Uses 2^11 one-byte registers (standard error of about 2.3%) and serializes to a
+ * precision byte followed by the raw registers. Sketches with the same precision are
+ * mergeable, so daily or per-node sketches can be combined into one estimate.
+ * Instances are not thread-safe.
+ */
+public class HyperLogLog {
+
+    public static final int PRECISION = 11;
+    public static final int REGISTER_COUNT = 1 << PRECISION;
+    public static final int SERIALIZED_SIZE = REGISTER_COUNT + 1;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTER_COUNT];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * Restores a sketch from its serialized form.
+     *
+     * @param bytes the bytes produced by {@link #toBytes()}
+     * @return the restored sketch
+     * @throws IllegalArgumentException if the bytes were written with another precision
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length != SERIALIZED_SIZE || bytes[0] != PRECISION) {
+            throw new IllegalArgumentException("Unsupported HyperLogLog format");
+        }
+        return new HyperLogLog(Arrays.copyOfRange(bytes, 1, bytes.length));
+    }
+
+    /**
+     * Serializes the sketch as the precision followed by the registers.
+     *
+     * @return the serialized sketch
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[SERIALIZED_SIZE];
+        bytes[0] = PRECISION;
+        System.arraycopy(registers, 0, bytes, 1, REGISTER_COUNT);
+        return bytes;
+    }
+
+    /**
+     * Adds a value to the sketch.
+     *
+     * @param value the value to add
+     */
+    public void add(String value) {
+        addHash(Hashing.hash64(value));
+    }
+
+    /**
+     * Adds a pre-computed 64-bit hash to the sketch.
+     *
+     * @param hash a well-mixed 64-bit hash
+     */
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Position of the first 1-bit in the remaining bits, capped for an all-zero remainder
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << PRECISION), 64 - PRECISION) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Merges another sketch into this one; the result estimates the union of both value sets.
+     *
+     * @param other the sketch to merge
+     */
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Merges a serialized sketch into this one without materializing it.
+     *
+     * @param bytes the bytes produced by {@link #toBytes()}
+     */
+    public void merge(byte[] bytes) {
+        if (bytes.length != SERIALIZED_SIZE || bytes[0] != PRECISION) {
+            throw new IllegalArgumentException("Unsupported HyperLogLog format");
+        }
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            if (bytes[i + 1] > registers[i]) {
+                registers[i] = bytes[i + 1];
+            }
+        }
+    }
+
+    /**
+     * Estimates the number of distinct values added to the sketch.
+     *
+     * @return the estimated cardinality
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeroRegisters = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeroRegisters++;
+            }
+        }
+
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+
+        // Small-range correction: linear counting is more accurate while many registers are empty
+        if (estimate <= 2.5 * REGISTER_COUNT && zeroRegisters > 0) {
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeroRegisters);
+        }
+        return Math.round(estimate);
+    }
+}
@@ -0,0 +1,356 @@
+package com.tourism.tourism_backend.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over documents with a name and a description, ranked by BM25 with the
+ * name weighted above the description (a simplified BM25F). Text is lower-cased, stripped of
+ * accents and split on anything that is not a letter or digit; a query matches the documents
+ * that contain all of its words.
+ * Each document occupies a slot, and every term keeps the slots containing it in ascending order,
+ * so a query walks the shortest posting list and looks the others up by galloping search.
+ * Updating a document moves it to a new slot at the end and removing one only marks its slot dead;
+ * dead slots are dropped from the posting lists once they outnumber the live ones.
+ * Instances are not thread-safe.
+ */
+public class InvertedIndex {
+
+    // BM25 term frequency saturation and length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // A word in the name counts as much as this many words in the description
+    private static final int NAME_WEIGHT = 3;
+
+    // Term frequencies per field are capped so both fit in one int
+    private static final int MAX_FIELD_FREQUENCY = 0xFFFF;
+
+    // Dead slots are compacted away once there are more of them than live ones, and at least this many
+    private static final int MIN_COMPACTION_SLOTS = 1024;
+
+    // Length normalizations of documents up to this weighted length are computed once per query
+    private static final int NORM_TABLE_SIZE = 256;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Comparator.comparingLong(Hit::id).reversed());
+
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+
+    private long[] slotIds = new long[1024];
+    private int[] slotLengths = new int[1024];
+    private Postings[][] slotTerms = new Postings[1024][];
+    private final BitSet deadSlots = new BitSet();
+    private int slotCount;
+    private long totalLength;
+
+    /**
+     * Splits text into normalized words.
+     *
+     * @param text the text, may be null
+     * @return the words in order of appearance, repeats included
+     */
+    public static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return words;
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String word : NON_WORD.split(normalized)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Adds a document, or replaces it if a document with the same ID is indexed.
+     *
+     * @param id          the ID of the document
+     * @param name        the name, may be null
+     * @param description the description, may be null
+     */
+    public void put(long id, String name, String description) {
+        remove(id);
+
+        List<String> nameWords = tokenize(name);
+        List<String> descriptionWords = tokenize(description);
+        Map<String, int[]> frequencies = new LinkedHashMap<>();
+        for (String word : nameWords) {
+            frequencies.computeIfAbsent(word, w -> new int[2])[0]++;
+        }
+        for (String word : descriptionWords) {
+            frequencies.computeIfAbsent(word, w -> new int[2])[1]++;
+        }
+
+        if (slotCount == slotIds.length) {
+            int capacity = slotCount * 2;
+            slotIds = Arrays.copyOf(slotIds, capacity);
+            slotLengths = Arrays.copyOf(slotLengths, capacity);
+            slotTerms = Arrays.copyOf(slotTerms, capacity);
+        }
+        int slot = slotCount++;
+        int length = NAME_WEIGHT * nameWords.size() + descriptionWords.size();
+        Postings[] documentTerms = new Postings[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+            Postings postings = terms.computeIfAbsent(entry.getKey(), Postings::new);
+            postings.add(slot, Math.min(entry.getValue()[0], MAX_FIELD_FREQUENCY) << 16
+                    | Math.min(entry.getValue()[1], MAX_FIELD_FREQUENCY));
+            documentTerms[i++] = postings;
+        }
+        slotIds[slot] = id;
+        slotLengths[slot] = length;
+        slotTerms[slot] = documentTerms;
+        slotsById.put(id, slot);
+        totalLength += length;
+    }
+
+    /**
+     * Removes a document.
+     *
+     * @param id the ID of the document
+     * @return true if the document was indexed
+     */
+    public boolean remove(long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        deadSlots.set(slot);
+        totalLength -= slotLengths[slot];
+        for (Postings postings : slotTerms[slot]) {
+            // A term no live document contains is forgotten along with its dead postings
+            if (--postings.documentFrequency == 0) {
+                terms.remove(postings.term, postings);
+            }
+        }
+        slotTerms[slot] = null;
+
+        int dead = slotCount - slotsById.size();
+        if (dead >= MIN_COMPACTION_SLOTS && dead > slotsById.size()) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of indexed documents.
+     */
+    public int size() {
+        return slotsById.size();
+    }
+
+    /**
+     * Finds the documents containing every word of a query, best match first; equal scores are
+     * ordered by ID.
+     *
+     * @param query the query
+     * @param limit the maximum number of documents to return
+     * @return the best matches and the number of matching documents
+     */
+    public Result search(String query, int limit) {
+        List<String> words = tokenize(query).stream().distinct().toList();
+        if (words.isEmpty() || slotsById.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+        Postings[] lists = new Postings[words.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = terms.get(words.get(i));
+            if (lists[i] == null) {
+                return new Result(List.of(), 0);
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(postings -> postings.size));
+
+        int documents = slotsById.size();
+        double averageLength = Math.max(1.0, (double) totalLength / documents);
+        double[] idfs = new double[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            double df = lists[i].documentFrequency;
+            idfs[i] = Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+        }
+
+        double[] norms = new double[NORM_TABLE_SIZE];
+        for (int length = 0; length < NORM_TABLE_SIZE; length++) {
+            norms[length] = lengthNorm(length, averageLength);
+        }
+
+        // A common word visits a large share of all documents, so the loop avoids per-document
+        // allocation and division where it can
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        double threshold = Double.NEGATIVE_INFINITY;
+        boolean anyDead = !deadSlots.isEmpty();
+        int[] positions = new int[lists.length];
+        int matches = 0;
+        Postings driver = lists[0];
+        candidates:
+        for (int i = 0; i < driver.size; i++) {
+            int slot = driver.slots[i];
+            if (anyDead && deadSlots.get(slot)) {
+                continue;
+            }
+            int length = slotLengths[slot];
+            double lengthNorm = length < NORM_TABLE_SIZE ? norms[length] : lengthNorm(length, averageLength);
+            double score = termScore(driver.frequencies[i], idfs[0], lengthNorm);
+            for (int t = 1; t < lists.length; t++) {
+                int position = lists[t].seek(positions[t], slot);
+                positions[t] = position;
+                if (position == lists[t].size || lists[t].slots[position] != slot) {
+                    continue candidates;
+                }
+                score += termScore(lists[t].frequencies[position], idfs[t], lengthNorm);
+            }
+            matches++;
+
+            if (score < threshold) {
+                continue;
+            }
+            long id = slotIds[slot];
+            if (best.size() < limit) {
+                best.add(new Hit(id, score));
+            } else {
+                Hit worst = best.peek();
+                if (score > worst.score() || id < worst.id()) {
+                    best.poll();
+                    best.add(new Hit(id, score));
+                }
+            }
+            if (best.size() == limit) {
+                threshold = best.peek().score();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(WORST_FIRST.reversed());
+        return new Result(hits, matches);
+    }
+
+    private static double lengthNorm(int length, double averageLength) {
+        return K1 * (1 - B + B * length / averageLength);
+    }
+
+    private static double termScore(int packedFrequency, double idf, double lengthNorm) {
+        double frequency = NAME_WEIGHT * (packedFrequency >>> 16) + (packedFrequency & MAX_FIELD_FREQUENCY);
+        return idf * frequency * (K1 + 1) / (frequency + lengthNorm);
+    }
+
+    /**
+     * Renumbers the live slots densely, keeping their order, and drops dead slots from the postings.
+     */
+    private void compact() {
+        int[] newSlots = new int[slotCount];
+        int live = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (deadSlots.get(slot)) {
+                newSlots[slot] = -1;
+            } else {
+                newSlots[slot] = live;
+                slotIds[live] = slotIds[slot];
+                slotLengths[live] = slotLengths[slot];
+                slotTerms[live] = slotTerms[slot];
+                slotsById.put(slotIds[live], live);
+                live++;
+            }
+        }
+        Arrays.fill(slotTerms, live, slotCount, null);
+        for (Postings postings : terms.values()) {
+            postings.remap(newSlots);
+        }
+        deadSlots.clear();
+        slotCount = live;
+    }
+
+    /**
+     * A matching document and its score.
+     */
+    public record Hit(long id, double score) {
+    }
+
+    /**
+     * The best matches of a query and the number of documents matching it.
+     */
+    public record Result(List<Hit> hits, int totalMatches) {
+    }
+
+    /**
+     * Ascending slots of the documents containing a term, with the term's packed frequencies in
+     * the name (high 16 bits) and description (low 16 bits). May still hold dead slots.
+     */
+    private static final class Postings {
+        private final String term;
+        private int[] slots = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+        private int documentFrequency;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(int slot, int frequency) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            slots[size] = slot;
+            frequencies[size] = frequency;
+            size++;
+            documentFrequency++;
+        }
+
+        /**
+         * Returns the first position at or after {@code from} whose slot is not below {@code slot},
+         * or size if there is none, by galloping then binary search.
+         */
+        int seek(int from, int slot) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && slots[high] < slot) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (slots[middle] < slot) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        void remap(int[] newSlots) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int slot = newSlots[slots[i]];
+                if (slot >= 0) {
+                    slots[kept] = slot;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.tourism.tourism_backend.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Read-through cache bounded by the total weight of its values, e.g. their estimated size in bytes.
+ * Entries expire a fixed time after they were loaded and the least recently used entries are
+ * evicted once the weight bound is exceeded. Concurrent misses on the same key are coalesced:
+ * one caller runs the loader and the others wait for its result, so a burst of requests for a
+ * cold key costs one load. A value whose key is invalidated while it is being loaded is returned
+ * to the callers that asked for it but not cached, so an invalidation is never undone by a load
+ * that read the old state. Null values and loader exceptions are not cached. Thread-safe.
+ */
+public class ReadThroughCache<K, V> {
+
+    private final long maxWeight;
+    private final long ttlNanos;
+    private final ToLongFunction<V> weigher;
+    private final LongSupplier clock;
+
+    // Access-ordered, so iteration starts at the least recently used entry; guarded by this
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loadSuccesses = new AtomicLong();
+    private final AtomicLong loadFailures = new AtomicLong();
+    private final AtomicLong totalLoadNanos = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ReadThroughCache(long maxWeight, long ttl, TimeUnit unit, ToLongFunction<V> weigher) {
+        this(maxWeight, ttl, unit, weigher, System::nanoTime);
+    }
+
+    /**
+     * @param maxWeight the maximum total weight of the cached values
+     * @param ttl       how long a value is cached after it was loaded
+     * @param unit      the unit of {@code ttl}
+     * @param weigher   the weight of a value, at least 1
+     * @param clock     the source of nanosecond timestamps
+     */
+    public ReadThroughCache(long maxWeight, long ttl, TimeUnit unit, ToLongFunction<V> weigher, LongSupplier clock) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Maximum weight must be positive");
+        }
+        if (ttl < 1) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
+        this.maxWeight = maxWeight;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.weigher = weigher;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached value of a key, loading and caching it on a miss. If the key is already
+     * being loaded, waits for that load instead of starting another one.
+     *
+     * @param key    the key
+     * @param loader computes the value of the key; may return null
+     * @return the value, or null if the loader returned null
+     * @throws RuntimeException whatever the loader threw, in every caller waiting for the load
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            return join(running);
+        }
+
+        long start = clock.getAsLong();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error ex) {
+            loadFailures.incrementAndGet();
+            loads.remove(key, load);
+            load.completeExceptionally(ex);
+            throw ex;
+        }
+        totalLoadNanos.addAndGet(clock.getAsLong() - start);
+        loadSuccesses.incrementAndGet();
+
+        synchronized (this) {
+            // The load is no longer registered if the key was invalidated in the meantime
+            if (loads.remove(key, load) && value != null) {
+                put(key, value, start);
+            }
+        }
+        load.complete(value);
+        return value;
+    }
+
+    /**
+     * Returns the cached value of a key without loading it or counting a hit or miss.
+     *
+     * @param key the key
+     * @return the value, or null if it is not cached or has expired
+     */
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() - entry.loadedAt() >= ttlNanos) {
+            entries.remove(key);
+            weight -= entry.weight();
+            expirations.incrementAndGet();
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Removes a key, and makes a load of the key that is still running skip caching its result.
+     *
+     * @param key the key
+     */
+    public synchronized void invalidate(K key) {
+        loads.remove(key);
+        Entry<V> entry = entries.remove(key);
+        if (entry != null) {
+            weight -= entry.weight();
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes all keys.
+     */
+    public synchronized void invalidateAll() {
+        loads.clear();
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Returns a snapshot of the cache's size and counters.
+     *
+     * @return the statistics
+     */
+    public Stats stats() {
+        int size;
+        long currentWeight;
+        synchronized (this) {
+            size = entries.size();
+            currentWeight = weight;
+        }
+        return new Stats(size, currentWeight, maxWeight, hits.get(), misses.get(), loadSuccesses.get(),
+                loadFailures.get(), totalLoadNanos.get(), evictions.get(), expirations.get(), invalidations.get());
+    }
+
+    // Must hold the lock. The age of a value counts from the start of its load.
+    private void put(K key, V value, long loadedAt) {
+        long valueWeight = Math.max(1, weigher.applyAsLong(value));
+        Entry<V> previous = entries.put(key, new Entry<>(value, valueWeight, loadedAt));
+        if (previous != null) {
+            weight -= previous.weight();
+        }
+        weight += valueWeight;
+
+        // A value heavier than the whole cache evicts everything, itself included
+        Iterator<Entry<V>> leastRecentlyUsed = entries.values().iterator();
+        while (weight > maxWeight && leastRecentlyUsed.hasNext()) {
+            weight -= leastRecentlyUsed.next().weight();
+            leastRecentlyUsed.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private record Entry<V>(V value, long weight, long loadedAt) {
+    }
+
+    /**
+     * Snapshot of a cache's size and counters. Misses include the callers that waited for
+     * another caller's load; loads count the loader calls only.
+     */
+    public record Stats(int size, long weight, long maxWeight, long hits, long misses, long loadSuccesses,
+                        long loadFailures, long totalLoadNanos, long evictions, long expirations,
+                        long invalidations) {
+    }
+}
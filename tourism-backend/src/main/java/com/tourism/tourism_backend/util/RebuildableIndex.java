@@ -0,0 +1,106 @@
+package com.tourism.tourism_backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Holder for an in-memory index that is changed incrementally and rebuilt from its source now
+ * and then. Queries share a read lock and changes take the write lock. A rebuild fills a new
+ * index without holding the lock, so queries keep using the previous index until the new one is
+ * complete; changes made meanwhile are replayed onto the new index before it is swapped in.
+ * A rebuild that fails keeps the previous index. Thread-safe.
+ *
+ * @param <T> the type of the index, which need not be thread-safe itself
+ */
+public class RebuildableIndex<T> {
+
+    private final Supplier<T> factory;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private T index;
+
+    // Changes made while a rebuild reads the source, replayed onto the rebuilt index; guarded by lock
+    private List<Consumer<T>> pendingChanges;
+
+    /**
+     * Creates a holder with an empty index.
+     *
+     * @param factory creates an empty index
+     */
+    public RebuildableIndex(Supplier<T> factory) {
+        this.factory = factory;
+        this.index = factory.get();
+    }
+
+    /**
+     * Runs a query against the index under the read lock.
+     *
+     * @param query the query
+     * @return the result of the query
+     */
+    public <R> R read(Function<T, R> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a change to the index under the write lock.
+     *
+     * @param change the change
+     */
+    public void apply(Consumer<T> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index with a new one filled by a loader, typically from a database read.
+     *
+     * @param loader fills the new, empty index
+     */
+    public void rebuild(Consumer<T> loader) {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        T rebuilt = factory.get();
+        boolean complete = false;
+        try {
+            loader.accept(rebuilt);
+            complete = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // Only swap in a complete index; a failed rebuild keeps the previous one
+                if (complete) {
+                    pendingChanges.forEach(change -> change.accept(rebuilt));
+                    index = rebuilt;
+                }
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.tourism.tourism_backend.util;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving summary of the most frequent items in a weighted stream (Metwally et al.).
+ * At most {@code capacity} counters are kept. An item that is not monitored takes over the
+ * counter with the smallest count and inherits that count as its error, so each count
+ * overestimates the item's true frequency by at most its error, and any item whose frequency
+ * exceeds total / capacity is always monitored. The {@link #errorBound()} caps both every
+ * counter's error and the frequency of any item that is not monitored.
+ * Counters are kept sorted, so the top k are read in O(k) and an update costs O(log capacity).
+ * Summaries can be merged (Agarwal et al.), so per-node summaries combine into a cluster-wide
+ * one with the same guarantees. Instances are not thread-safe.
+ */
+public class SpaceSaving {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 1 + 4 + 8 + 8 + 4;
+    private static final int COUNTER_SIZE = 8 + 8 + 8;
+
+    private static final Comparator<Counter> BY_COUNT_DESC = Comparator.comparingLong(Counter::count).reversed()
+            .thenComparingLong(Counter::item);
+
+    private final int capacity;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> sorted = new TreeSet<>(BY_COUNT_DESC);
+    private long total;
+    private long errorBound;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Restores a summary from its serialized form.
+     *
+     * @param bytes the bytes produced by {@link #toBytes()}
+     * @return the restored summary
+     * @throws IllegalArgumentException if the bytes are not a valid summary
+     */
+    public static SpaceSaving fromBytes(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.get() != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported Space-Saving format");
+            }
+            SpaceSaving summary = new SpaceSaving(buffer.getInt());
+            summary.total = buffer.getLong();
+            summary.errorBound = buffer.getLong();
+            int size = buffer.getInt();
+            if (size < 0 || size > summary.capacity || buffer.remaining() != (long) size * COUNTER_SIZE) {
+                throw new IllegalArgumentException("Unsupported Space-Saving format");
+            }
+            for (int i = 0; i < size; i++) {
+                summary.put(new Counter(buffer.getLong(), buffer.getLong(), buffer.getLong()));
+            }
+            return summary;
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Unsupported Space-Saving format");
+        }
+    }
+
+    /**
+     * Serializes the summary as a version byte, capacity, total, error bound and the counters.
+     *
+     * @return the serialized summary
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + counters.size() * COUNTER_SIZE);
+        buffer.put(FORMAT_VERSION);
+        buffer.putInt(capacity);
+        buffer.putLong(total);
+        buffer.putLong(errorBound);
+        buffer.putInt(counters.size());
+        for (Counter counter : sorted) {
+            buffer.putLong(counter.item());
+            buffer.putLong(counter.count());
+            buffer.putLong(counter.error());
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Adds occurrences of an item.
+     *
+     * @param item   the item
+     * @param weight the number of occurrences, positive
+     */
+    public void add(long item, long weight) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight must be positive");
+        }
+        total += weight;
+
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            sorted.remove(counter);
+            put(new Counter(item, counter.count() + weight, counter.error()));
+        } else if (counters.size() < capacity) {
+            put(new Counter(item, weight, 0));
+        } else {
+            // The evicted item occurred at most smallest.count() times; the newcomer may have too
+            Counter smallest = sorted.pollLast();
+            counters.remove(smallest.item());
+            errorBound = Math.max(errorBound, smallest.count());
+            put(new Counter(item, smallest.count() + weight, smallest.count()));
+        }
+    }
+
+    /**
+     * Accounts for occurrences of items that are deliberately not monitored, e.g. when seeding the
+     * summary with the exact counts of the top items only.
+     *
+     * @param weight     the total number of occurrences of those items
+     * @param maxPerItem the largest number of occurrences of any one of those items
+     */
+    public void addUnmonitored(long weight, long maxPerItem) {
+        total += weight;
+        errorBound = Math.max(errorBound, maxPerItem);
+    }
+
+    /**
+     * Merges another summary into this one; the result summarizes both streams and keeps this
+     * summary's capacity.
+     *
+     * @param other the summary to merge
+     */
+    public void merge(SpaceSaving other) {
+        // An item missing from one summary may still have occurred up to that summary's error bound
+        Map<Long, Counter> merged = new HashMap<>();
+        for (Counter counter : counters.values()) {
+            Counter match = other.counters.get(counter.item());
+            merged.put(counter.item(), match != null
+                    ? new Counter(counter.item(), counter.count() + match.count(), counter.error() + match.error())
+                    : new Counter(counter.item(), counter.count() + other.errorBound, counter.error() + other.errorBound));
+        }
+        for (Counter counter : other.counters.values()) {
+            if (!counters.containsKey(counter.item())) {
+                merged.put(counter.item(),
+                        new Counter(counter.item(), counter.count() + errorBound, counter.error() + errorBound));
+            }
+        }
+
+        List<Counter> ranked = new ArrayList<>(merged.values());
+        ranked.sort(BY_COUNT_DESC);
+        long mergedBound = errorBound + other.errorBound;
+        if (ranked.size() > capacity) {
+            // Dropped items occurred at most as often as their overestimated counts
+            mergedBound = Math.max(mergedBound, ranked.get(capacity).count());
+            ranked = ranked.subList(0, capacity);
+        }
+
+        counters.clear();
+        sorted.clear();
+        ranked.forEach(this::put);
+        total += other.total;
+        errorBound = mergedBound;
+    }
+
+    private void put(Counter counter) {
+        counters.put(counter.item(), counter);
+        sorted.add(counter);
+    }
+
+    /**
+     * Returns the monitored items with the highest counts, in O(k).
+     *
+     * @param k the maximum number of items
+     * @return the counters, highest count first
+     */
+    public List<Counter> top(int k) {
+        List<Counter> top = new ArrayList<>(Math.min(k, sorted.size()));
+        for (Counter counter : sorted) {
+            if (top.size() == k) {
+                break;
+            }
+            top.add(counter);
+        }
+        return top;
+    }
+
+    /**
+     * Returns the largest possible overestimation of any count, which is also the largest possible
+     * frequency of an item that is not monitored.
+     *
+     * @return the error bound
+     */
+    public long errorBound() {
+        return errorBound;
+    }
+
+    /**
+     * Returns the total weight added to the summary.
+     *
+     * @return the total number of occurrences
+     */
+    public long total() {
+        return total;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * A monitored item. Its true frequency lies between {@code count - error} and {@code count}.
+     */
+    public record Counter(long item, long count, long error) {
+    }
+}
@@ -0,0 +1,376 @@
+package com.tourism.tourism_backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * In-memory character trigram index over short texts such as names, for typo-tolerant lookup and
+ * prefix autocomplete. Texts are normalized like {@link InvertedIndex#tokenize(String)}, and each
+ * word contributes the trigrams of itself padded with two spaces in front and one behind, as in
+ * PostgreSQL's pg_trgm, so "rome" yields "  r", " ro", "rom", "ome" and "me ".
+ * Fuzzy lookup ranks texts by the Jaccard similarity of their trigram sets with the query's. Only
+ * texts sharing one of the query's rarest trigrams can reach the similarity threshold (prefix
+ * filtering), so candidates come from the shortest posting lists and the longer ones only add
+ * to the counts of shared trigrams. Autocomplete intersects the trigrams of the typed prefix and checks the survivors.
+ * Posting lists are ascending int slots; documents are added and removed in place as in
+ * {@link InvertedIndex}. Instances are not thread-safe.
+ */
+public class TrigramIndex {
+
+    // Dead slots are compacted away once there are more of them than live ones, and at least this many
+    private static final int MIN_COMPACTION_SLOTS = 1024;
+
+    private static final Comparator<Match> WORST_FIRST = Comparator.comparingDouble(Match::score)
+            .thenComparing(Comparator.comparingLong(Match::id).reversed());
+
+    // Completions at the start of the text rank first, then shorter texts, then lower IDs
+    private static final Comparator<Completion> WORST_COMPLETION_FIRST = Comparator.comparing(Completion::atStart)
+            .thenComparing(Comparator.comparingInt(Completion::length).reversed())
+            .thenComparing(Comparator.comparingLong(Completion::id).reversed());
+
+    private final Map<Long, Postings> trigrams = new HashMap<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+
+    private long[] slotIds = new long[1024];
+    private String[] slotTexts = new String[1024];
+    private int[] slotTrigramCounts = new int[1024];
+    private final BitSet deadSlots = new BitSet();
+    private int slotCount;
+
+    /**
+     * Returns the normalized form of a text that lookups compare: its words joined by single spaces.
+     *
+     * @param text the text, may be null
+     * @return the normalized text, empty if it has no words
+     */
+    public static String normalize(String text) {
+        return String.join(" ", InvertedIndex.tokenize(text));
+    }
+
+    /**
+     * Adds a text, or replaces it if a text with the same ID is indexed.
+     *
+     * @param id   the ID of the text
+     * @param text the text, may be null
+     */
+    public void put(long id, String text) {
+        remove(id);
+
+        String normalized = normalize(text);
+        Set<Long> keys = trigramsOf(normalized, true);
+
+        if (slotCount == slotIds.length) {
+            int capacity = slotCount * 2;
+            slotIds = Arrays.copyOf(slotIds, capacity);
+            slotTexts = Arrays.copyOf(slotTexts, capacity);
+            slotTrigramCounts = Arrays.copyOf(slotTrigramCounts, capacity);
+        }
+        int slot = slotCount++;
+        for (Long key : keys) {
+            trigrams.computeIfAbsent(key, k -> new Postings()).add(slot);
+        }
+        slotIds[slot] = id;
+        slotTexts[slot] = normalized;
+        slotTrigramCounts[slot] = keys.size();
+        slotsById.put(id, slot);
+    }
+
+    /**
+     * Removes a text.
+     *
+     * @param id the ID of the text
+     * @return true if the text was indexed
+     */
+    public boolean remove(long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        deadSlots.set(slot);
+        // The trigrams are recomputed from the text rather than kept per slot
+        for (Long key : trigramsOf(slotTexts[slot], true)) {
+            Postings postings = trigrams.get(key);
+            if (--postings.documentFrequency == 0) {
+                trigrams.remove(key);
+            }
+        }
+        slotTexts[slot] = null;
+
+        int dead = slotCount - slotsById.size();
+        if (dead >= MIN_COMPACTION_SLOTS && dead > slotsById.size()) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of indexed texts.
+     */
+    public int size() {
+        return slotsById.size();
+    }
+
+    /**
+     * Finds the texts most similar to a query, allowing for typos. The similarity of two texts is
+     * the number of trigrams they share divided by the number of distinct trigrams in either.
+     *
+     * @param query     the query
+     * @param threshold the minimum similarity, above 0 and at most 1
+     * @param limit     the maximum number of texts to return
+     * @return the matches, most similar first and equal similarities by ID
+     * @throws IllegalArgumentException if the query has more than 65535 distinct trigrams
+     */
+    public List<Match> lookup(String query, double threshold, int limit) {
+        Set<Long> keys = trigramsOf(normalize(query), true);
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        int queryTrigrams = keys.size();
+        if (queryTrigrams > Character.MAX_VALUE) {
+            throw new IllegalArgumentException("Query is too long");
+        }
+        // A text sharing fewer trigrams cannot reach the threshold, whatever its own trigram count
+        int minShared = Math.max(1, (int) Math.ceil(threshold * queryTrigrams - 1e-9));
+
+        List<Postings> lists = new ArrayList<>(queryTrigrams);
+        for (Long key : keys) {
+            Postings postings = trigrams.get(key);
+            if (postings != null) {
+                lists.add(postings);
+            }
+        }
+        if (lists.size() < minShared) {
+            return List.of();
+        }
+        lists.sort(Comparator.comparingInt(postings -> postings.size));
+
+        // A text sharing minShared trigrams shares at least one of the rarest (|lists| - minShared + 1),
+        // so only those lists add candidates and the longer ones only count for existing candidates
+        int prefixLists = lists.size() - minShared + 1;
+        // A char array of counts stays small enough for the cache on large indexes
+        char[] shared = new char[slotCount];
+        int[] candidates = new int[64];
+        int candidateCount = 0;
+        for (int t = 0; t < lists.size(); t++) {
+            Postings postings = lists.get(t);
+            int[] slots = postings.slots;
+            if (t < prefixLists) {
+                for (int i = 0; i < postings.size; i++) {
+                    int slot = slots[i];
+                    if (shared[slot]++ == 0) {
+                        if (candidateCount == candidates.length) {
+                            candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                        }
+                        candidates[candidateCount++] = slot;
+                    }
+                }
+            } else {
+                for (int i = 0; i < postings.size; i++) {
+                    int slot = slots[i];
+                    if (shared[slot] > 0) {
+                        shared[slot]++;
+                    }
+                }
+            }
+        }
+
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        for (int i = 0; i < candidateCount; i++) {
+            int slot = candidates[i];
+            int common = shared[slot];
+            if (common < minShared || deadSlots.get(slot)) {
+                continue;
+            }
+            double similarity = (double) common / (queryTrigrams + slotTrigramCounts[slot] - common);
+            if (similarity >= threshold) {
+                offer(best, new Match(slotIds[slot], similarity), limit, WORST_FIRST);
+            }
+        }
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(WORST_FIRST.reversed());
+        return matches;
+    }
+
+    /**
+     * Finds the texts in which a word starts with the query, e.g. "sag fam" does not match
+     * "Sagrada Familia" but "sagrada fam" does. Texts that start with the query come first, then
+     * shorter texts; the score of a match is the length of the query over the length of the text.
+     *
+     * @param prefix the typed prefix
+     * @param limit  the maximum number of texts to return
+     * @return the matches, best first
+     */
+    public List<Match> complete(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        Set<Long> keys = trigramsOf(normalized, false);
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        Postings[] lists = new Postings[keys.size()];
+        int n = 0;
+        for (Long key : keys) {
+            Postings postings = trigrams.get(key);
+            if (postings == null) {
+                return List.of();
+            }
+            lists[n++] = postings;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(postings -> postings.size));
+
+        String wordStart = " " + normalized;
+        PriorityQueue<Completion> best = new PriorityQueue<>(limit + 1, WORST_COMPLETION_FIRST);
+        int[] positions = new int[lists.length];
+        Postings driver = lists[0];
+        candidates:
+        for (int i = 0; i < driver.size; i++) {
+            int slot = driver.slots[i];
+            if (deadSlots.get(slot)) {
+                continue;
+            }
+            for (int t = 1; t < lists.length; t++) {
+                int position = lists[t].seek(positions[t], slot);
+                positions[t] = position;
+                if (position == lists[t].size || lists[t].slots[position] != slot) {
+                    continue candidates;
+                }
+            }
+            // Shared trigrams can come from different words, so the survivors are checked
+            String text = slotTexts[slot];
+            boolean atStart = text.startsWith(normalized);
+            if (atStart || text.contains(wordStart)) {
+                offer(best, new Completion(slotIds[slot], atStart, text.length()), limit, WORST_COMPLETION_FIRST);
+            }
+        }
+        List<Completion> completions = new ArrayList<>(best);
+        completions.sort(WORST_COMPLETION_FIRST.reversed());
+        List<Match> matches = new ArrayList<>(completions.size());
+        for (Completion completion : completions) {
+            matches.add(new Match(completion.id(), (double) normalized.length() / completion.length()));
+        }
+        return matches;
+    }
+
+    private static <T> void offer(PriorityQueue<T> best, T candidate, int limit, Comparator<T> worstFirst) {
+        if (best.size() < limit) {
+            best.add(candidate);
+        } else if (worstFirst.compare(candidate, best.peek()) > 0) {
+            best.poll();
+            best.add(candidate);
+        }
+    }
+
+    /**
+     * Returns the distinct trigrams of a normalized text. Without {@code complete}, the last word
+     * is taken as unfinished and gets no trailing padding, so it matches any word it starts.
+     */
+    private static Set<Long> trigramsOf(String normalized, boolean complete) {
+        Set<Long> keys = new HashSet<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        String[] words = normalized.split(" ");
+        for (int w = 0; w < words.length; w++) {
+            String padded = "  " + words[w] + (complete || w < words.length - 1 ? " " : "");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                keys.add((long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16 | padded.charAt(i + 2));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Renumbers the live slots densely, keeping their order, and drops dead slots from the postings.
+     */
+    private void compact() {
+        int[] newSlots = new int[slotCount];
+        int live = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (deadSlots.get(slot)) {
+                newSlots[slot] = -1;
+            } else {
+                newSlots[slot] = live;
+                slotIds[live] = slotIds[slot];
+                slotTexts[live] = slotTexts[slot];
+                slotTrigramCounts[live] = slotTrigramCounts[slot];
+                slotsById.put(slotIds[live], live);
+                live++;
+            }
+        }
+        Arrays.fill(slotTexts, live, slotCount, null);
+        for (Postings postings : trigrams.values()) {
+            postings.remap(newSlots);
+        }
+        deadSlots.clear();
+        slotCount = live;
+    }
+
+    /**
+     * A matching text and its score.
+     */
+    public record Match(long id, double score) {
+    }
+
+    private record Completion(long id, boolean atStart, int length) {
+    }
+
+    /**
+     * Ascending slots of the texts containing a trigram. May still hold dead slots.
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+        private int documentFrequency;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+            documentFrequency++;
+        }
+
+        /**
+         * Returns the first position at or after {@code from} whose slot is not below {@code slot},
+         * or size if there is none, by galloping then binary search.
+         */
+        int seek(int from, int slot) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && slots[high] < slot) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (slots[middle] < slot) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        void remap(int[] newSlots) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int slot = newSlots[slots[i]];
+                if (slot >= 0) {
+                    slots[kept++] = slot;
+                }
+            }
+            size = kept;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.tourism.tourism_backend.analytics;
+
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the analytics aggregation over 100k attractions: loading every entity with findAll and
+ * aggregating in Java (the previous implementation) versus the aggregate and top-N queries.
+ * Prints median latency and bytes allocated per call. Run with -Dbenchmarks=true.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class AnalyticsAggregationBenchmarkTest {
+
+    private static final int ATTRACTIONS = 100_000;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 7;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() {
+        List<Object[]> rows = new ArrayList<>(ATTRACTIONS);
+        for (int i = 0; i < ATTRACTIONS; i++) {
+            rows.add(new Object[]{"Benchmark " + i, "Benchmark attraction " + i, 10.0, (i * 7919) % 100_000});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO attractions (name, short_description, entrance_fee, traffic_count) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM attractions WHERE name LIKE 'Benchmark %'");
+    }
+
+    private record Result(long total, List<String> names) {
+    }
+
+    // The implementation this change replaces
+    private Result legacyAggregation() {
+        List<Attraction> allAttractions = attractionRepository.findAll();
+        int totalClicks = allAttractions.stream()
+                .mapToInt(Attraction::getTrafficCount)
+                .sum();
+        List<String> mostVisited = allAttractions.stream()
+                .filter(attraction -> attraction.getTrafficCount() > 0)
+                .sorted((a1, a2) -> Integer.compare(a2.getTrafficCount(), a1.getTrafficCount()))
+                .limit(5)
+                .map(Attraction::getName)
+                .collect(Collectors.toList());
+        return new Result(totalClicks, mostVisited);
+    }
+
+    private Result queryAggregation() {
+        int totalClicks = (int) attractionRepository.sumTrafficCounts();
+        List<String> mostVisited = attractionRepository.findMostVisited(PageRequest.of(0, 5)).stream()
+                .map(row -> (String) row[1])
+                .collect(Collectors.toList());
+        return new Result(totalClicks, mostVisited);
+    }
+
+    private Result measure(String label, Supplier<Result> aggregation) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Result result = null;
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            result = aggregation.get();
+        }
+
+        long[] nanos = new long[MEASURED_RUNS];
+        long[] bytes = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long startedAt = System.nanoTime();
+            result = aggregation.get();
+            nanos[i] = System.nanoTime() - startedAt;
+            bytes[i] = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+        Arrays.sort(nanos);
+        Arrays.sort(bytes);
+
+        System.out.printf("%s over %d attractions: median %.1f ms, median %.0f KB allocated per call%n",
+                label, ATTRACTIONS, nanos[MEASURED_RUNS / 2] / 1_000_000.0, bytes[MEASURED_RUNS / 2] / 1024.0);
+        return result;
+    }
+
+    @Test
+    public void benchmarkAnalyticsAggregation() {
+        Result legacy = measure("findAll + Java aggregation", this::legacyAggregation);
+        Result query = measure("Aggregate + top-N queries", this::queryAggregation);
+
+        assertEquals(legacy.total(), query.total());
+        assertEquals(legacy.names(), query.names());
+    }
+}
@@ -0,0 +1,219 @@
+package com.tourism.tourism_backend.analytics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.models.TrafficGranularity;
+import com.tourism.tourism_backend.models.TrafficRollup;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.TrafficRollupRepository;
+import com.tourism.tourism_backend.repositories.UserRepository;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TrafficRollupRepository trafficRollupRepository;
+
+    private String adminJwtToken;
+    private String userJwtToken;
+    private Attraction attraction;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        userRepository.save(new AppUser("Admin", "admin@example.com", new BCryptPasswordEncoder().encode("admin123"), "ADMIN"));
+        adminJwtToken = "Bearer " + obtainJwtToken("admin@example.com", "admin123");
+
+        userRepository.save(new AppUser("User", "user@example.com", new BCryptPasswordEncoder().encode("user123"), "USER"));
+        userJwtToken = "Bearer " + obtainJwtToken("user@example.com", "user123");
+
+        attraction = attractionRepository.save(
+                new Attraction("Cape Point, \"Cape of Good Hope\"", "Windy\nand wild", 376.0, List.of("photo1"), 42));
+    }
+
+    private String obtainJwtToken(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response).get("token").asText();
+    }
+
+    /**
+     * TC_EXPORT_01: Attractions export as CSV with a header and RFC 4180 quoting.
+     */
+    @Test
+    public void testExportAttractions_Csv() throws Exception {
+        String body = mockMvc.perform(get("/api/admin/export/attractions")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("text/csv")))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"attractions.csv\""))
+                .andExpect(content().string(startsWith("id,name,shortDescription,entranceFee,trafficCount\r\n")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertTrue(body.contains(attraction.getId() + ",\"Cape Point, \"\"Cape of Good Hope\"\"\",\"Windy\nand wild\",376.0,42\r\n"),
+                "Missing or misquoted row: " + body);
+    }
+
+    /**
+     * TC_EXPORT_02: Attractions export as NDJSON, one typed JSON object per line.
+     */
+    @Test
+    public void testExportAttractions_Ndjson() throws Exception {
+        String body = mockMvc.perform(get("/api/admin/export/attractions")
+                .param("format", "ndjson")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("application/x-ndjson")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertTrue(body.endsWith("\n"));
+        JsonNode exported = null;
+        for (String line : body.split("\n")) {
+            JsonNode row = new ObjectMapper().readTree(line);
+            if (row.get("id").asLong() == attraction.getId()) {
+                exported = row;
+            }
+        }
+        assertTrue(exported != null, "Attraction missing from export: " + body);
+        assertEquals("Cape Point, \"Cape of Good Hope\"", exported.get("name").asText());
+        assertEquals(376.0, exported.get("entranceFee").asDouble());
+        assertEquals(42, exported.get("trafficCount").asInt());
+        assertTrue(exported.get("trafficCount").isInt());
+    }
+
+    /**
+     * TC_EXPORT_03: gzip=true compresses the body on the fly.
+     */
+    @Test
+    public void testExportAttractions_Gzip() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/admin/export/attractions")
+                .param("gzip", "true")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        byte[] compressed = result.getResponse().getContentAsByteArray();
+        String body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertTrue(body.startsWith("id,name,shortDescription,entranceFee,trafficCount\r\n"));
+        assertTrue(body.contains("Cape of Good Hope"));
+    }
+
+    /**
+     * TC_EXPORT_04: Traffic summaries export with granularity and ISO timestamps.
+     */
+    @Test
+    public void testExportTraffic_Csv() throws Exception {
+        trafficRollupRepository.save(new TrafficRollup(attraction.getId(), TrafficGranularity.DAY,
+                LocalDateTime.parse("2020-01-01T00:00:00"), 17));
+
+        mockMvc.perform(get("/api/admin/export/traffic")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"traffic.csv\""))
+                .andExpect(content().string(startsWith("attractionId,granularity,bucketStart,hits\r\n")))
+                .andExpect(content().string(containsString(attraction.getId() + ",DAY,2020-01-01T00:00:00,17\r\n")));
+    }
+
+    /**
+     * TC_EXPORT_05: Unknown formats are rejected before anything is written.
+     */
+    @Test
+    public void testExport_UnsupportedFormat() throws Exception {
+        mockMvc.perform(get("/api/admin/export/attractions")
+                .param("format", "xml")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unsupported export format: xml"));
+    }
+
+    /**
+     * TC_EXPORT_06: Exports are for admins only.
+     */
+    @Test
+    public void testExport_NonAdminToken() throws Exception {
+        mockMvc.perform(get("/api/admin/export/attractions")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * TC_EXPORT_07: Exports require authentication.
+     */
+    @Test
+    public void testExport_NoAuthorizationHeader() throws Exception {
+        mockMvc.perform(get("/api/admin/export/traffic"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,161 @@
+package com.tourism.tourism_backend.analytics;
+
+import com.tourism.tourism_backend.services.ExportFormat;
+import com.tourism.tourism_backend.services.ExportService;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the attraction export keeps heap use flat. While rows are streamed out, the heap
+ * retained after a full GC is sampled every megabyte of output; exporting 200k attractions must
+ * retain about as much as exporting 1k, although its output alone is several times the allowed
+ * difference. Not transactional: the export reads committed rows like it does in production.
+ * Run with -Dbenchmarks=true.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class ExportHeapTest {
+
+    private static final int SMALL_CATALOG = 1_000;
+    private static final int LARGE_CATALOG = 200_000;
+    private static final int INSERT_BATCH = 10_000;
+    private static final long SAMPLE_EVERY_BYTES = 1 << 20;
+    private static final long MAX_EXTRA_HEAP_BYTES = 4L << 20;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    // The embedded H2 materializes whole result sets unless lazy execution is on; MySQL needs
+    // useCursorFetch=true in the URL for the same forward-only cursor behaviour
+    @DynamicPropertySource
+    static void lazyResultSets(DynamicPropertyRegistry registry) {
+        String url = Dotenv.configure().filename(System.getProperty("TEST_ENV", ".env.test")).load().get("DB_URL");
+        registry.add("spring.datasource.url", () -> url.startsWith("jdbc:h2:") ? url + ";LAZY_QUERY_EXECUTION=TRUE" : url);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM attractions WHERE name LIKE 'Export %'");
+    }
+
+    private void insertAttractions(int from, int to) {
+        for (int start = from; start < to; start += INSERT_BATCH) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+            for (int i = start; i < Math.min(start + INSERT_BATCH, to); i++) {
+                rows.add(new Object[]{"Export " + i, "Exported attraction number " + i, 10.0 + i % 100, i % 5000});
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO attractions (name, short_description, entrance_fee, traffic_count) VALUES (?, ?, ?, ?)", rows);
+        }
+    }
+
+    private HeapSamplingOutputStream export() throws IOException {
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+        exportService.exportAttractions(ExportFormat.CSV, out);
+        return out;
+    }
+
+    /**
+     * TC_EXPORT_HEAP_01: Retained heap does not grow with the number of exported rows.
+     */
+    @Test
+    public void testExportAttractions_FlatHeap() throws Exception {
+        insertAttractions(0, SMALL_CATALOG);
+        long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attractions", Long.class);
+        HeapSamplingOutputStream small = export();
+
+        insertAttractions(SMALL_CATALOG, LARGE_CATALOG);
+        HeapSamplingOutputStream large = export();
+
+        // Header plus one line per row
+        assertEquals(existing + LARGE_CATALOG - SMALL_CATALOG + 1, large.lines);
+        assertTrue(large.bytes > 2 * MAX_EXTRA_HEAP_BYTES, "Export too small to be meaningful: " + large.bytes);
+        assertTrue(large.extraHeap() - small.extraHeap() < MAX_EXTRA_HEAP_BYTES,
+                "Heap grew with the catalog: " + small.extraHeap() + " bytes extra for " + existing + " rows vs "
+                        + large.extraHeap() + " bytes extra for " + (existing + LARGE_CATALOG - SMALL_CATALOG) + " rows");
+    }
+
+    /**
+     * Discards the export while counting it, and samples the retained heap on the first write
+     * and after every SAMPLE_EVERY_BYTES of output.
+     */
+    private static class HeapSamplingOutputStream extends OutputStream {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final long baseline;
+        private long peak;
+        private long bytes;
+        private long lines;
+        private long nextSampleAt;
+
+        HeapSamplingOutputStream() {
+            this.baseline = retainedHeap();
+        }
+
+        private long retainedHeap() {
+            System.gc();
+            return memory.getHeapMemoryUsage().getUsed();
+        }
+
+        long extraHeap() {
+            return Math.max(0, peak - baseline);
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+            bytes += length;
+            if (bytes >= nextSampleAt) {
+                peak = Math.max(peak, retainedHeap());
+                nextSampleAt = bytes + SAMPLE_EVERY_BYTES;
+            }
+        }
+    }
+}
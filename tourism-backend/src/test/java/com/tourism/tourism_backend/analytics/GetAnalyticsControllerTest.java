@@ -3,8 +3,19 @@ package com.tourism.tourism_backend.analytics;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tourism.tourism_backend.models.AppUser;
 import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.models.TrafficGranularity;
+import com.tourism.tourism_backend.models.TrafficRollup;
+import com.tourism.tourism_backend.models.VisitorSketch;
 import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.TrafficEventRepository;
+import com.tourism.tourism_backend.repositories.TrafficRollupRepository;
 import com.tourism.tourism_backend.repositories.UserRepository;
+import com.tourism.tourism_backend.repositories.VisitorSketchRepository;
+import com.tourism.tourism_backend.services.AnalyticsService;
+import com.tourism.tourism_backend.services.TrafficCounterBuffer;
+import com.tourism.tourism_backend.services.TrafficRollupService;
+import com.tourism.tourism_backend.services.UniqueVisitorService;
+import com.tourism.tourism_backend.util.HyperLogLog;
 
 import io.github.cdimascio.dotenv.Dotenv;
 
@@ -19,8 +30,11 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -40,6 +54,27 @@ public class GetAnalyticsControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TrafficEventRepository trafficEventRepository;
+
+    @Autowired
+    private TrafficRollupRepository trafficRollupRepository;
+
+    @Autowired
+    private TrafficCounterBuffer trafficCounterBuffer;
+
+    @Autowired
+    private TrafficRollupService trafficRollupService;
+
+    @Autowired
+    private VisitorSketchRepository visitorSketchRepository;
+
+    @Autowired
+    private UniqueVisitorService uniqueVisitorService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
     private String adminJwtToken;
     private String userJwtToken;
 
@@ -91,6 +126,7 @@ public class GetAnalyticsControllerTest {
 
     @Test
     public void testRetrieveAnalytics_NoAttractions() throws Exception {
+        analyticsService.refreshSnapshot();
         mockMvc.perform(get("/api/admin/analytics")
                 .header("Authorization", adminJwtToken))
                 .andExpect(status().isOk())
@@ -106,6 +142,7 @@ public class GetAnalyticsControllerTest {
                 new Attraction("Attraction 3", "Description 3", 20.0, List.of("photo3"), 120)
         ));
 
+        analyticsService.refreshSnapshot();
         mockMvc.perform(get("/api/admin/analytics")
                 .header("Authorization", adminJwtToken))
                 .andExpect(status().isOk())
@@ -119,6 +156,7 @@ public class GetAnalyticsControllerTest {
             attractionRepository.save(new Attraction("Attraction " + i, "Description " + i, 10.0, List.of("photo" + i), i * 10));
         }
 
+        analyticsService.refreshSnapshot();
         mockMvc.perform(get("/api/admin/analytics")
                 .header("Authorization", adminJwtToken))
                 .andExpect(status().isOk())
@@ -164,6 +202,7 @@ public class GetAnalyticsControllerTest {
                 new Attraction("Attraction 2", "Description 2", 15.0, List.of("photo2"), 2_000_000)
         ));
 
+        analyticsService.refreshSnapshot();
         mockMvc.perform(get("/api/admin/analytics")
                 .header("Authorization", adminJwtToken))
                 .andExpect(status().isOk())
@@ -178,6 +217,7 @@ public class GetAnalyticsControllerTest {
                 new Attraction("Attraction B", "Description B", 15.0, List.of("photoB"), 500)
         ));
 
+        analyticsService.refreshSnapshot();
         mockMvc.perform(get("/api/admin/analytics")
                 .header("Authorization", adminJwtToken))
                 .andExpect(status().isOk())
@@ -190,6 +230,7 @@ public class GetAnalyticsControllerTest {
         String longName = "A".repeat(255);
         attractionRepository.save(new Attraction(longName, "Description", 10.0, List.of("photo"), 100));
 
+        analyticsService.refreshSnapshot();
         mockMvc.perform(get("/api/admin/analytics")
                 .header("Authorization", adminJwtToken))
                 .andExpect(status().isOk())
@@ -201,6 +242,7 @@ public class GetAnalyticsControllerTest {
         Attraction newAttraction = new Attraction("New Attraction", "Description", 10.0, List.of("photo"), 300);
         attractionRepository.save(newAttraction);
 
+        analyticsService.refreshSnapshot();
         mockMvc.perform(get("/api/admin/analytics")
                 .header("Authorization", adminJwtToken))
                 .andExpect(status().isOk())
@@ -212,6 +254,7 @@ public class GetAnalyticsControllerTest {
     public void testRetrieveAnalytics_AfterDeletingAllAttractions() throws Exception {
         attractionRepository.deleteAll();
 
+        analyticsService.refreshSnapshot();
         mockMvc.perform(get("/api/admin/analytics")
                 .header("Authorization", adminJwtToken))
                 .andExpect(status().isOk())
@@ -225,6 +268,7 @@ public class GetAnalyticsControllerTest {
         attractions.forEach(attraction -> attraction.setTrafficCount(0));
         attractionRepository.saveAll(attractions);
 
+        analyticsService.refreshSnapshot();
         mockMvc.perform(get("/api/admin/analytics")
                 .header("Authorization", adminJwtToken))
                 .andExpect(status().isOk())
@@ -239,6 +283,7 @@ public class GetAnalyticsControllerTest {
                 new Attraction("Attraction 2", "Description 2", 15.0, List.of("photo2"), 0)
         ));
 
+        analyticsService.refreshSnapshot();
         mockMvc.perform(get("/api/admin/analytics")
                 .header("Authorization", adminJwtToken))
                 .andExpect(status().isOk())
@@ -250,10 +295,201 @@ public class GetAnalyticsControllerTest {
     public void testRetrieveAnalytics_WithSpecialCharacterNames() throws Exception {
         attractionRepository.save(new Attraction("@#$%^&*()_+{}:<>?", "Special Name", 10.0, List.of("photo"), 200));
 
+        analyticsService.refreshSnapshot();
         mockMvc.perform(get("/api/admin/analytics")
                 .header("Authorization", adminJwtToken))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.mostVisitedAttractions[0]").value("@#$%^&*()_+{}:<>?"));
     }
 
+    @Test
+    public void testRetrieveAnalytics_RecentTrafficFromRollups() throws Exception {
+        // Start from empty traffic tables (rolled back with the test transaction)
+        trafficCounterBuffer.flush();
+        trafficEventRepository.deleteAll();
+        trafficRollupRepository.deleteAll();
+
+        Attraction attraction = attractionRepository.save(new Attraction("Attraction 1", "Description 1", 10.0, List.of("photo1")));
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/attractions/" + attraction.getId() + "/traffic")
+                    .header("Authorization", userJwtToken))
+                    .andExpect(status().isOk());
+        }
+
+        trafficCounterBuffer.flush();
+        trafficRollupService.rollUp();
+
+        analyticsService.refreshSnapshot();
+        mockMvc.perform(get("/api/admin/analytics")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clicksThisHour").value(3))
+                .andExpect(jsonPath("$.clicksLast24Hours").value(3))
+                .andExpect(jsonPath("$.clicksThisWeek").value(3))
+                .andExpect(jsonPath("$.clicksLastWeek").value(0));
+    }
+
+    @Test
+    public void testRetrieveAnalytics_ThisWeekVersusLastWeek() throws Exception {
+        trafficRollupRepository.deleteAll();
+
+        LocalDateTime today = TrafficGranularity.DAY.bucketStart(LocalDateTime.now());
+        trafficRollupRepository.saveAll(List.of(
+                new TrafficRollup(1L, TrafficGranularity.DAY, today.minusDays(1), 40),
+                new TrafficRollup(2L, TrafficGranularity.DAY, today.minusDays(6), 2),
+                new TrafficRollup(1L, TrafficGranularity.DAY, today.minusDays(7), 25),
+                new TrafficRollup(1L, TrafficGranularity.DAY, today.minusDays(13), 5),
+                new TrafficRollup(1L, TrafficGranularity.DAY, today.minusDays(14), 1000)
+        ));
+
+        analyticsService.refreshSnapshot();
+        mockMvc.perform(get("/api/admin/analytics")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clicksThisWeek").value(42))
+                .andExpect(jsonPath("$.clicksLastWeek").value(30));
+    }
+
+    @Test
+    public void testRetrieveAnalytics_UniqueVisitorsPerAttraction() throws Exception {
+        // Start from empty sketches (rolled back with the test transaction)
+        uniqueVisitorService.flush();
+        visitorSketchRepository.deleteAll();
+
+        Attraction attraction = attractionRepository.save(new Attraction("Attraction 1", "Description 1", 10.0, List.of("photo1")));
+        for (String token : List.of(userJwtToken, userJwtToken, userJwtToken, adminJwtToken, adminJwtToken)) {
+            mockMvc.perform(post("/api/attractions/" + attraction.getId() + "/traffic")
+                    .header("Authorization", token))
+                    .andExpect(status().isOk());
+        }
+
+        analyticsService.refreshSnapshot();
+        mockMvc.perform(get("/api/admin/analytics")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uniqueVisitorsLast7Days").value(2))
+                .andExpect(jsonPath("$.topAttractionsByUniqueVisitors.length()").value(1))
+                .andExpect(jsonPath("$.topAttractionsByUniqueVisitors[0].name").value("Attraction 1"))
+                .andExpect(jsonPath("$.topAttractionsByUniqueVisitors[0].uniqueVisitors").value(2));
+
+        // Flushing merges the in-memory sketch into its row without changing the estimate
+        uniqueVisitorService.flush();
+
+        analyticsService.refreshSnapshot();
+        mockMvc.perform(get("/api/admin/analytics")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.topAttractionsByUniqueVisitors[0].uniqueVisitors").value(2));
+    }
+
+    @Test
+    public void testRetrieveAnalytics_UniqueVisitorsMergedAcrossDays() throws Exception {
+        uniqueVisitorService.flush();
+        visitorSketchRepository.deleteAll();
+
+        Attraction attraction = attractionRepository.save(new Attraction("Attraction 1", "Description 1", 10.0, List.of("photo1")));
+        LocalDate today = LocalDate.now();
+
+        // Visitors 0-999 today, 500-1499 yesterday and 5000-5999 eight days ago (outside the window)
+        visitorSketchRepository.saveAll(List.of(
+                new VisitorSketch(attraction.getId(), today, sketchOfVisitors(0, 1000)),
+                new VisitorSketch(attraction.getId(), today.minusDays(1), sketchOfVisitors(500, 1500)),
+                new VisitorSketch(attraction.getId(), today.minusDays(8), sketchOfVisitors(5000, 6000))
+        ));
+
+        analyticsService.refreshSnapshot();
+        String response = mockMvc.perform(get("/api/admin/analytics")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // 1500 distinct visitors, within the sketch's error margin
+        long estimate = new ObjectMapper().readTree(response).get("topAttractionsByUniqueVisitors").get(0).get("uniqueVisitors").asLong();
+        assertTrue(Math.abs(estimate - 1500) < 1500 * 0.07, "Estimate out of range: " + estimate);
+    }
+
+    @Test
+    public void testRetrieveAnalytics_ServedFromSnapshot() throws Exception {
+        attractionRepository.deleteAll();
+        analyticsService.refreshSnapshot();
+
+        // Written behind the snapshot's back; only the next full recompute picks it up
+        attractionRepository.save(new Attraction("Attraction 1", "Description 1", 10.0, List.of("photo1"), 300));
+
+        mockMvc.perform(get("/api/admin/analytics")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalClicks").value(0))
+                .andExpect(jsonPath("$.mostVisitedAttractions").isEmpty())
+                .andExpect(jsonPath("$.snapshotAgeMs").isNumber())
+                .andExpect(jsonPath("$.trafficAgeMs").isNumber());
+
+        analyticsService.refreshSnapshot();
+
+        mockMvc.perform(get("/api/admin/analytics")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalClicks").value(300))
+                .andExpect(jsonPath("$.mostVisitedAttractions[0]").value("Attraction 1"));
+    }
+
+    @Test
+    public void testRetrieveAnalytics_SnapshotAge() throws Exception {
+        analyticsService.refreshSnapshot();
+        Thread.sleep(50);
+
+        String response = mockMvc.perform(get("/api/admin/analytics")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        long snapshotAgeMs = new ObjectMapper().readTree(response).get("snapshotAgeMs").asLong();
+        assertTrue(snapshotAgeMs >= 50 && snapshotAgeMs < 60_000, "Unexpected snapshot age: " + snapshotAgeMs);
+    }
+
+    @Test
+    public void testRetrieveAnalytics_UpdatedIncrementallyOnFlush() throws Exception {
+        trafficCounterBuffer.flush();
+        attractionRepository.deleteAll();
+        List<Attraction> attractions = attractionRepository.saveAll(List.of(
+                new Attraction("Attraction 1", "Description 1", 10.0, List.of("photo1"), 100),
+                new Attraction("Attraction 2", "Description 2", 15.0, List.of("photo2"), 99)
+        ));
+        analyticsService.refreshSnapshot();
+
+        // Two buffered clicks lift Attraction 2 above Attraction 1 once they are flushed
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/attractions/" + attractions.get(1).getId() + "/traffic")
+                    .header("Authorization", userJwtToken))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/admin/analytics")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalClicks").value(199))
+                .andExpect(jsonPath("$.mostVisitedAttractions[0]").value("Attraction 1"));
+
+        trafficCounterBuffer.flush();
+
+        mockMvc.perform(get("/api/admin/analytics")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalClicks").value(201))
+                .andExpect(jsonPath("$.mostVisitedAttractions.length()").value(2))
+                .andExpect(jsonPath("$.mostVisitedAttractions[0]").value("Attraction 2"))
+                .andExpect(jsonPath("$.mostVisitedAttractions[1]").value("Attraction 1"));
+    }
+
+    private byte[] sketchOfVisitors(int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.add("visitor" + i + "@example.com");
+        }
+        return sketch.toBytes();
+    }
 }
@@ -0,0 +1,100 @@
+package com.tourism.tourism_backend.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.repositories.UserRepository;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class GetTrafficQueueMetricsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String adminJwtToken;
+    private String userJwtToken;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        userRepository.save(new AppUser("Admin", "admin@example.com", new BCryptPasswordEncoder().encode("admin123"), "ADMIN"));
+        adminJwtToken = "Bearer " + obtainJwtToken("admin@example.com", "admin123");
+
+        userRepository.save(new AppUser("User", "user@example.com", new BCryptPasswordEncoder().encode("user123"), "USER"));
+        userJwtToken = "Bearer " + obtainJwtToken("user@example.com", "user123");
+    }
+
+    private String obtainJwtToken(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response).get("token").asText();
+    }
+
+    @Test
+    public void testRetrieveTrafficQueueMetrics_ValidAdminToken() throws Exception {
+        mockMvc.perform(get("/api/admin/metrics/traffic-queue")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.depth").isNumber())
+                .andExpect(jsonPath("$.capacity").value(10000))
+                .andExpect(jsonPath("$.droppedCount").isNumber())
+                .andExpect(jsonPath("$.drainRatePerSecond").isNumber())
+                .andExpect(jsonPath("$.consumerRunning").value(true));
+    }
+
+    @Test
+    public void testRetrieveTrafficQueueMetrics_NonAdminToken() throws Exception {
+        mockMvc.perform(get("/api/admin/metrics/traffic-queue")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("Access is denied"));
+    }
+
+    @Test
+    public void testRetrieveTrafficQueueMetrics_NoAuthorizationHeader() throws Exception {
+        mockMvc.perform(get("/api/admin/metrics/traffic-queue"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,333 @@
+package com.tourism.tourism_backend.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.models.TrafficEvent;
+import com.tourism.tourism_backend.models.TrafficGranularity;
+import com.tourism.tourism_backend.models.TrafficRollup;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.TrafficEventRepository;
+import com.tourism.tourism_backend.repositories.TrafficRollupRepository;
+import com.tourism.tourism_backend.repositories.UserRepository;
+import com.tourism.tourism_backend.services.TrafficRollupService;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the time-range form of GET /api/admin/analytics.
+ * Every test uses its own range in the past, so cached results of one test never leak into another.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class GetTrafficSeriesControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TrafficRollupRepository trafficRollupRepository;
+
+    @Autowired
+    private TrafficEventRepository trafficEventRepository;
+
+    @Autowired
+    private TrafficRollupService trafficRollupService;
+
+    private String adminJwtToken;
+    private Attraction first;
+    private Attraction second;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        userRepository.save(new AppUser("Admin", "admin@example.com", new BCryptPasswordEncoder().encode("admin123"), "ADMIN"));
+        adminJwtToken = "Bearer " + obtainJwtToken("admin@example.com", "admin123");
+
+        first = attractionRepository.save(new Attraction("Attraction 1", "Description 1", 10.0, List.of("photo1")));
+        second = attractionRepository.save(new Attraction("Attraction 2", "Description 2", 15.0, List.of("photo2")));
+    }
+
+    private String obtainJwtToken(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response).get("token").asText();
+    }
+
+    private TrafficRollup daily(Attraction attraction, String day, long hits) {
+        return new TrafficRollup(attraction.getId(), TrafficGranularity.DAY, LocalDateTime.parse(day + "T00:00:00"), hits);
+    }
+
+    /**
+     * TC_SERIES_01: Daily series are zero-filled, ranked by clicks and limited to the range.
+     */
+    @Test
+    public void testTrafficSeries_Daily() throws Exception {
+        trafficRollupRepository.saveAll(List.of(
+                daily(first, "2020-01-01", 5),
+                daily(first, "2020-01-03", 7),
+                daily(second, "2020-01-02", 20),
+                // Outside the range
+                daily(first, "2019-12-31", 100),
+                daily(first, "2020-01-04", 100),
+                new TrafficRollup(first.getId(), TrafficGranularity.HOUR, LocalDateTime.parse("2020-01-02T10:00:00"), 100)
+        ));
+
+        mockMvc.perform(get("/api/admin/analytics")
+                .param("from", "2020-01-01T00:00:00")
+                .param("to", "2020-01-04T00:00:00")
+                .param("granularity", "DAY")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalClicks").isNumber())
+                .andExpect(jsonPath("$.trafficSeries.granularity").value("DAY"))
+                .andExpect(jsonPath("$.trafficSeries.from").value("2020-01-01T00:00:00"))
+                .andExpect(jsonPath("$.trafficSeries.to").value("2020-01-04T00:00:00"))
+                .andExpect(jsonPath("$.trafficSeries.totalClicks").value(32))
+                .andExpect(jsonPath("$.trafficSeries.buckets.length()").value(3))
+                .andExpect(jsonPath("$.trafficSeries.buckets[1].bucketStart").value("2020-01-02T00:00:00"))
+                .andExpect(jsonPath("$.trafficSeries.buckets[*].hits", contains(5, 20, 7)))
+                .andExpect(jsonPath("$.trafficSeries.attractions.length()").value(2))
+                .andExpect(jsonPath("$.trafficSeries.attractions[0].name").value("Attraction 2"))
+                .andExpect(jsonPath("$.trafficSeries.attractions[0].totalClicks").value(20))
+                .andExpect(jsonPath("$.trafficSeries.attractions[0].hits", contains(0, 20, 0)))
+                .andExpect(jsonPath("$.trafficSeries.attractions[1].name").value("Attraction 1"))
+                .andExpect(jsonPath("$.trafficSeries.attractions[1].hits", contains(5, 0, 7)));
+    }
+
+    /**
+     * TC_SERIES_02: Hourly ranges are widened to whole buckets, including the bucket containing 'to'.
+     */
+    @Test
+    public void testTrafficSeries_HourlyAlignedToBuckets() throws Exception {
+        trafficRollupRepository.saveAll(List.of(
+                new TrafficRollup(first.getId(), TrafficGranularity.HOUR, LocalDateTime.parse("2020-02-01T10:00:00"), 3),
+                new TrafficRollup(first.getId(), TrafficGranularity.HOUR, LocalDateTime.parse("2020-02-01T12:00:00"), 4)
+        ));
+
+        mockMvc.perform(get("/api/admin/analytics")
+                .param("from", "2020-02-01T10:30:00")
+                .param("to", "2020-02-01T12:15:00")
+                .param("granularity", "HOUR")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trafficSeries.from").value("2020-02-01T10:00:00"))
+                .andExpect(jsonPath("$.trafficSeries.to").value("2020-02-01T13:00:00"))
+                .andExpect(jsonPath("$.trafficSeries.buckets[*].hits", contains(3, 0, 4)))
+                .andExpect(jsonPath("$.trafficSeries.totalClicks").value(7));
+    }
+
+    /**
+     * TC_SERIES_03: The limit caps the attraction series, not the totals.
+     */
+    @Test
+    public void testTrafficSeries_Limit() throws Exception {
+        trafficRollupRepository.saveAll(List.of(
+                daily(first, "2020-03-01", 1),
+                daily(second, "2020-03-01", 2)
+        ));
+
+        mockMvc.perform(get("/api/admin/analytics")
+                .param("from", "2020-03-01T00:00:00")
+                .param("to", "2020-03-02T00:00:00")
+                .param("limit", "1")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trafficSeries.granularity").value("DAY"))
+                .andExpect(jsonPath("$.trafficSeries.totalClicks").value(3))
+                .andExpect(jsonPath("$.trafficSeries.attractions.length()").value(1))
+                .andExpect(jsonPath("$.trafficSeries.attractions[0].name").value("Attraction 2"));
+    }
+
+    /**
+     * TC_SERIES_04: Repeated queries are served from the cache until the rollup job runs again.
+     */
+    @Test
+    public void testTrafficSeries_CachedUntilNextRollup() throws Exception {
+        trafficRollupRepository.save(daily(first, "2020-04-01", 10));
+
+        mockMvc.perform(get("/api/admin/analytics")
+                .param("from", "2020-04-01T00:00:00")
+                .param("to", "2020-04-02T00:00:00")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trafficSeries.totalClicks").value(10));
+
+        // Written behind the rollup job's back, so the cached result is still served
+        trafficRollupRepository.save(daily(second, "2020-04-01", 5));
+
+        mockMvc.perform(get("/api/admin/analytics")
+                .param("from", "2020-04-01T00:00:00")
+                .param("to", "2020-04-02T00:00:00")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trafficSeries.totalClicks").value(10));
+
+        trafficRollupService.rollUp();
+
+        mockMvc.perform(get("/api/admin/analytics")
+                .param("from", "2020-04-01T00:00:00")
+                .param("to", "2020-04-02T00:00:00")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trafficSeries.totalClicks").value(15))
+                .andExpect(jsonPath("$.trafficSeries.attractions.length()").value(2));
+    }
+
+    /**
+     * TC_SERIES_05: Deleted attractions count towards the totals but get no series.
+     */
+    @Test
+    public void testTrafficSeries_DeletedAttraction() throws Exception {
+        trafficRollupRepository.saveAll(List.of(
+                daily(first, "2020-05-01", 4),
+                daily(second, "2020-05-01", 6)
+        ));
+        attractionRepository.deleteById(second.getId());
+
+        mockMvc.perform(get("/api/admin/analytics")
+                .param("from", "2020-05-01T00:00:00")
+                .param("to", "2020-05-02T00:00:00")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trafficSeries.totalClicks").value(10))
+                .andExpect(jsonPath("$.trafficSeries.attractions.length()").value(1))
+                .andExpect(jsonPath("$.trafficSeries.attractions[0].name").value("Attraction 1"));
+    }
+
+    /**
+     * TC_SERIES_11: Hours missed between two rollup runs, e.g. while the application was down,
+     * are rolled up by the next run.
+     */
+    @Test
+    public void testTrafficSeries_MissedHoursRolledUp() throws Exception {
+        trafficRollupService.rollUp(LocalDateTime.parse("2030-01-01T00:30:00"));
+        // The test transaction never commits, so mark the run as committed by hand
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        trafficEventRepository.saveAll(List.of(
+                new TrafficEvent(first.getId(), LocalDateTime.parse("2030-01-01T01:10:00"), 3),
+                new TrafficEvent(first.getId(), LocalDateTime.parse("2030-01-01T02:20:00"), 4)
+        ));
+        trafficRollupService.rollUp(LocalDateTime.parse("2030-01-01T05:30:00"));
+
+        mockMvc.perform(get("/api/admin/analytics")
+                .param("from", "2030-01-01T00:00:00")
+                .param("to", "2030-01-02T00:00:00")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trafficSeries.totalClicks").value(7));
+    }
+
+    /**
+     * TC_SERIES_06: Without range parameters no series is computed.
+     */
+    @Test
+    public void testTrafficSeries_NotRequested() throws Exception {
+        mockMvc.perform(get("/api/admin/analytics")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trafficSeries").value(nullValue()));
+    }
+
+    /**
+     * TC_SERIES_07: Default range is the last 24 hourly buckets.
+     */
+    @Test
+    public void testTrafficSeries_DefaultHourlyRange() throws Exception {
+        mockMvc.perform(get("/api/admin/analytics")
+                .param("granularity", "HOUR")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trafficSeries.buckets.length()").value(24));
+    }
+
+    /**
+     * TC_SERIES_08: 'from' after 'to' is rejected.
+     */
+    @Test
+    public void testTrafficSeries_FromAfterTo() throws Exception {
+        mockMvc.perform(get("/api/admin/analytics")
+                .param("from", "2020-06-02T00:00:00")
+                .param("to", "2020-06-01T00:00:00")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("'from' must be before 'to'"));
+    }
+
+    /**
+     * TC_SERIES_09: Ranges longer than the bucket cap are rejected.
+     */
+    @Test
+    public void testTrafficSeries_TooManyBuckets() throws Exception {
+        mockMvc.perform(get("/api/admin/analytics")
+                .param("from", "2020-01-01T00:00:00")
+                .param("to", "2020-03-01T00:00:00")
+                .param("granularity", "HOUR")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("A range can span at most 1000 buckets"));
+    }
+
+    /**
+     * TC_SERIES_10: Unknown granularities are rejected.
+     */
+    @Test
+    public void testTrafficSeries_InvalidGranularity() throws Exception {
+        mockMvc.perform(get("/api/admin/analytics")
+                .param("granularity", "WEEK")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid value for parameter 'granularity'"));
+    }
+}
@@ -0,0 +1,255 @@
+package com.tourism.tourism_backend.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.UserRepository;
+import com.tourism.tourism_backend.services.HeavyHitterService;
+import com.tourism.tourism_backend.util.SpaceSaving;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class HeavyHittersControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HeavyHitterService heavyHitterService;
+
+    private String adminJwtToken;
+    private String userJwtToken;
+    private Attraction first;
+    private Attraction second;
+    private Attraction third;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        userRepository.save(new AppUser("Admin", "admin@example.com", new BCryptPasswordEncoder().encode("admin123"), "ADMIN"));
+        adminJwtToken = "Bearer " + obtainJwtToken("admin@example.com", "admin123");
+
+        userRepository.save(new AppUser("User", "user@example.com", new BCryptPasswordEncoder().encode("user123"), "USER"));
+        userJwtToken = "Bearer " + obtainJwtToken("user@example.com", "user123");
+
+        // Start every test from the persisted counts only (rolled back with the test transaction)
+        attractionRepository.deleteAll();
+        first = attractionRepository.save(new Attraction("Attraction 1", "Description 1", 10.0, List.of("photo1")));
+        second = attractionRepository.save(new Attraction("Attraction 2", "Description 2", 15.0, List.of("photo2")));
+        third = attractionRepository.save(new Attraction("Attraction 3", "Description 3", 20.0, List.of("photo3")));
+        heavyHitterService.rebuild();
+    }
+
+    private String obtainJwtToken(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response).get("token").asText();
+    }
+
+    private void click(Attraction attraction, int times) throws Exception {
+        for (int i = 0; i < times; i++) {
+            mockMvc.perform(post("/api/attractions/" + attraction.getId() + "/traffic")
+                    .header("Authorization", userJwtToken))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    /**
+     * TC_HH_01: Clicks are counted exactly while the summary has free counters.
+     */
+    @Test
+    public void testHeavyHitters_CountsClicks() throws Exception {
+        click(first, 3);
+        click(second, 1);
+
+        mockMvc.perform(get("/api/admin/analytics/heavy-hitters")
+                .param("limit", "2")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalHits").value(4))
+                .andExpect(jsonPath("$.errorBound").value(0))
+                .andExpect(jsonPath("$.capacity").value(1000))
+                .andExpect(jsonPath("$.attractions.length()").value(2))
+                .andExpect(jsonPath("$.attractions[0].name").value("Attraction 1"))
+                .andExpect(jsonPath("$.attractions[0].count").value(3))
+                .andExpect(jsonPath("$.attractions[0].error").value(0))
+                .andExpect(jsonPath("$.attractions[1].name").value("Attraction 2"))
+                .andExpect(jsonPath("$.attractions[1].count").value(1));
+    }
+
+    /**
+     * TC_HH_02: After a restart the summary is seeded from the persisted traffic counts.
+     */
+    @Test
+    public void testHeavyHitters_SeededFromPersistedCounts() throws Exception {
+        attractionRepository.save(new Attraction("Popular", "Description", 10.0, List.of("photo"), 500));
+        attractionRepository.save(new Attraction("Less Popular", "Description", 10.0, List.of("photo"), 300));
+        heavyHitterService.rebuild();
+        click(third, 1);
+
+        mockMvc.perform(get("/api/admin/analytics/heavy-hitters")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalHits").value(801))
+                .andExpect(jsonPath("$.attractions.length()").value(3))
+                .andExpect(jsonPath("$.attractions[0].name").value("Popular"))
+                .andExpect(jsonPath("$.attractions[0].count").value(500))
+                .andExpect(jsonPath("$.attractions[1].name").value("Less Popular"))
+                .andExpect(jsonPath("$.attractions[2].name").value("Attraction 3"));
+    }
+
+    /**
+     * TC_HH_03: The serialized sketch round-trips with its counters.
+     */
+    @Test
+    public void testHeavyHitters_Sketch() throws Exception {
+        click(second, 2);
+
+        String response = mockMvc.perform(get("/api/admin/analytics/heavy-hitters/sketch")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String encoded = new ObjectMapper().readTree(response).get("sketch").asText();
+        SpaceSaving sketch = SpaceSaving.fromBytes(Base64.getDecoder().decode(encoded));
+        assertEquals(2, sketch.total());
+        assertEquals(new SpaceSaving.Counter(second.getId(), 2, 0), sketch.top(1).get(0));
+    }
+
+    /**
+     * TC_HH_04: Merging a peer sketch adds its counts and carries its error bound over.
+     */
+    @Test
+    public void testHeavyHitters_MergeWithPeer() throws Exception {
+        click(first, 3);
+
+        // A peer with two counters saw 5 x second, 3 x first and 1 x third; third evicts first
+        SpaceSaving peer = new SpaceSaving(2);
+        peer.add(second.getId(), 5);
+        peer.add(first.getId(), 3);
+        peer.add(third.getId(), 1);
+        String sketch = Base64.getEncoder().encodeToString(peer.toBytes());
+
+        mockMvc.perform(post("/api/admin/analytics/heavy-hitters/merge")
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sketches\": [\"" + sketch + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalHits").value(12))
+                .andExpect(jsonPath("$.errorBound").value(3))
+                .andExpect(jsonPath("$.attractions.length()").value(3))
+                // 3 local hits plus up to 3 the peer no longer monitors: true count 3..6 (really 6)
+                .andExpect(jsonPath("$.attractions[0].name").value("Attraction 1"))
+                .andExpect(jsonPath("$.attractions[0].count").value(6))
+                .andExpect(jsonPath("$.attractions[0].error").value(3))
+                .andExpect(jsonPath("$.attractions[1].name").value("Attraction 2"))
+                .andExpect(jsonPath("$.attractions[1].count").value(5))
+                .andExpect(jsonPath("$.attractions[1].error").value(0))
+                // Inherited the evicted counter: true count 1..4 (really 1)
+                .andExpect(jsonPath("$.attractions[2].name").value("Attraction 3"))
+                .andExpect(jsonPath("$.attractions[2].count").value(4))
+                .andExpect(jsonPath("$.attractions[2].error").value(3));
+    }
+
+    /**
+     * TC_HH_05: Malformed sketches are rejected.
+     */
+    @Test
+    public void testHeavyHitters_MergeInvalidSketch() throws Exception {
+        mockMvc.perform(post("/api/admin/analytics/heavy-hitters/merge")
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sketches\": [\"not base64!\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid sketch encoding"));
+
+        String garbage = Base64.getEncoder().encodeToString(new byte[]{1, 2, 3});
+        mockMvc.perform(post("/api/admin/analytics/heavy-hitters/merge")
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sketches\": [\"" + garbage + "\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unsupported Space-Saving format"));
+
+        mockMvc.perform(post("/api/admin/analytics/heavy-hitters/merge")
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sketches\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.sketches").value("At least one sketch is required"));
+    }
+
+    /**
+     * TC_HH_06: The limit must fit the summary's capacity.
+     */
+    @Test
+    public void testHeavyHitters_InvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/admin/analytics/heavy-hitters")
+                .param("limit", "0")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Limit must be between 1 and 1000"));
+    }
+
+    /**
+     * TC_HH_07: Heavy hitters are for admins only.
+     */
+    @Test
+    public void testHeavyHitters_NonAdminToken() throws Exception {
+        mockMvc.perform(get("/api/admin/analytics/heavy-hitters")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isForbidden());
+    }
+}
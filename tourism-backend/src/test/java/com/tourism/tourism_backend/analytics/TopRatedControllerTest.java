@@ -0,0 +1,254 @@
+package com.tourism.tourism_backend.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.UserRepository;
+import com.tourism.tourism_backend.services.TopRatedService;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class TopRatedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TopRatedService topRatedService;
+
+    private String adminJwtToken;
+    private String userJwtToken;
+    private Long singleReviewId;
+    private Long manyReviewsId;
+    private Long lowRatedId;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        userRepository.save(new AppUser("Admin", "admin@example.com", new BCryptPasswordEncoder().encode("admin123"), "ADMIN"));
+        adminJwtToken = "Bearer " + obtainJwtToken("admin@example.com", "admin123");
+
+        userRepository.save(new AppUser("User", "user@example.com", new BCryptPasswordEncoder().encode("user123"), "USER"));
+        userJwtToken = "Bearer " + obtainJwtToken("user@example.com", "user123");
+
+        singleReviewId = attractionRepository.save(new Attraction("Single Review", "Description", 10.0, List.of("photo"))).getId();
+        manyReviewsId = attractionRepository.save(new Attraction("Many Reviews", "Description", 10.0, List.of("photo"))).getId();
+        lowRatedId = attractionRepository.save(new Attraction("Low Rated", "Description", 10.0, List.of("photo"))).getId();
+
+        // One 5-star review through the API, bulk aggregates for the others
+        mockMvc.perform(post("/api/reviews/attraction/" + singleReviewId)
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"rating\": 5, \"comment\": \"Perfect!\"}"))
+                .andExpect(status().isCreated());
+        for (int i = 0; i < 20; i++) {
+            attractionRepository.addRating(manyReviewsId, i < 15 ? 5 : 4);
+        }
+        for (int i = 0; i < 10; i++) {
+            attractionRepository.addRating(lowRatedId, 2);
+        }
+
+        // Prior mean m = (5 + 95 + 20) / 31 reviews
+        topRatedService.rebuild();
+    }
+
+    private String obtainJwtToken(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response).get("token").asText();
+    }
+
+    private static double bayesian(int reviewCount, long ratingSum) {
+        return (10 * (120.0 / 31) + ratingSum) / (10 + reviewCount);
+    }
+
+    /**
+     * TC_TOP_01: A single 5-star review ranks below a long record of good reviews.
+     */
+    @Test
+    public void testTopRated_WeighsReviewVolume() throws Exception {
+        mockMvc.perform(get("/api/admin/analytics/top-rated")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page").value(0))
+                .andExpect(jsonPath("$.size").value(20))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.priorMean").value(closeTo(120.0 / 31, 1e-9)))
+                .andExpect(jsonPath("$.priorWeight").value(10.0))
+                .andExpect(jsonPath("$.attractions[0].name").value("Many Reviews"))
+                .andExpect(jsonPath("$.attractions[0].reviewCount").value(20))
+                .andExpect(jsonPath("$.attractions[0].averageRating").value(4.75))
+                .andExpect(jsonPath("$.attractions[0].score").value(closeTo(bayesian(20, 95), 1e-9)))
+                .andExpect(jsonPath("$.attractions[1].name").value("Single Review"))
+                .andExpect(jsonPath("$.attractions[1].averageRating").value(5.0))
+                .andExpect(jsonPath("$.attractions[1].score").value(closeTo(bayesian(1, 5), 1e-9)))
+                .andExpect(jsonPath("$.attractions[2].name").value("Low Rated"));
+    }
+
+    /**
+     * TC_TOP_02: A new rating re-scores its attraction against the current prior.
+     */
+    @Test
+    public void testTopRated_IncrementalUpdate() throws Exception {
+        // Read once first, so the page below must not be cut from the ranking as it was before
+        topRatedService.getTopRated(0, 20);
+        // 30 more 5-star reviews
+        topRatedService.record(lowRatedId, 40, 170);
+
+        mockMvc.perform(get("/api/admin/analytics/top-rated")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attractions[1].name").value("Low Rated"))
+                .andExpect(jsonPath("$.attractions[1].reviewCount").value(40))
+                .andExpect(jsonPath("$.attractions[1].score").value(closeTo(bayesian(40, 170), 1e-9)))
+                .andExpect(jsonPath("$.attractions[2].name").value("Single Review"));
+    }
+
+    /**
+     * TC_TOP_07: Totals recorded twice or out of order count each review once.
+     */
+    @Test
+    public void testTopRated_RepeatedAndStaleTotalsIgnored() throws Exception {
+        topRatedService.record(lowRatedId, 12, 30);
+        topRatedService.record(lowRatedId, 12, 30);
+        topRatedService.record(lowRatedId, 11, 25);
+
+        mockMvc.perform(get("/api/admin/analytics/top-rated")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attractions[2].name").value("Low Rated"))
+                .andExpect(jsonPath("$.attractions[2].reviewCount").value(12))
+                .andExpect(jsonPath("$.attractions[2].score").value(closeTo(bayesian(12, 30), 1e-9)));
+    }
+
+    /**
+     * TC_TOP_03: Pages split the ranking in order.
+     */
+    @Test
+    public void testTopRated_Pagination() throws Exception {
+        mockMvc.perform(get("/api/admin/analytics/top-rated")
+                .param("page", "1")
+                .param("size", "2")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.attractions.length()").value(1))
+                .andExpect(jsonPath("$.attractions[0].name").value("Low Rated"));
+
+        mockMvc.perform(get("/api/admin/analytics/top-rated")
+                .param("page", "5")
+                .param("size", "2")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.attractions.length()").value(0));
+    }
+
+    // Runs what the test transaction would run on commit, without committing the test data
+    private static void runAfterCommitHooks() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+
+    /**
+     * TC_TOP_04: Deleted attractions leave the ranking once the delete commits.
+     */
+    @Test
+    public void testTopRated_DeletedAttraction() throws Exception {
+        mockMvc.perform(delete("/api/attractions/" + manyReviewsId)
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk());
+
+        // Until the delete commits it can still roll back, so the attraction stays ranked
+        mockMvc.perform(get("/api/admin/analytics/top-rated")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3));
+
+        runAfterCommitHooks();
+        mockMvc.perform(get("/api/admin/analytics/top-rated")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.attractions[0].name").value("Single Review"));
+    }
+
+    /**
+     * TC_TOP_05: Page and size must be in bounds.
+     */
+    @Test
+    public void testTopRated_InvalidPaging() throws Exception {
+        mockMvc.perform(get("/api/admin/analytics/top-rated")
+                .param("page", "-1")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Page must not be negative"));
+
+        mockMvc.perform(get("/api/admin/analytics/top-rated")
+                .param("size", "101")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Size must be between 1 and 100"));
+    }
+
+    /**
+     * TC_TOP_06: The ranking is for admins only.
+     */
+    @Test
+    public void testTopRated_NonAdminToken() throws Exception {
+        mockMvc.perform(get("/api/admin/analytics/top-rated")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isForbidden());
+    }
+}
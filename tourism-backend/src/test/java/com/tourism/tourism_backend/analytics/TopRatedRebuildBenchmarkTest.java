@@ -0,0 +1,98 @@
+package com.tourism.tourism_backend.analytics;
+
+import com.tourism.tourism_backend.dto.TopRatedPageDTO;
+import com.tourism.tourism_backend.services.TopRatedService;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times the top-rated rebuild over the rating aggregates of 1M reviews spread across 250k
+ * attractions. Prints the median rebuild time. Run with -Dbenchmarks=true.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class TopRatedRebuildBenchmarkTest {
+
+    private static final int ATTRACTIONS = 250_000;
+    private static final int REVIEWS_PER_ATTRACTION = 4;
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+
+    @Autowired
+    private TopRatedService topRatedService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() {
+        List<Object[]> rows = new ArrayList<>(ATTRACTIONS);
+        for (int i = 0; i < ATTRACTIONS; i++) {
+            // Four reviews each, with rating sums spread over 4..20
+            rows.add(new Object[]{"Benchmark " + i, "Benchmark attraction " + i, 10.0, 0,
+                    REVIEWS_PER_ATTRACTION, 4 + (i * 7919) % 17});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO attractions (name, short_description, entrance_fee, traffic_count, "
+                + "review_count, rating_sum) VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM attractions WHERE name LIKE 'Benchmark %'");
+        topRatedService.rebuild();
+    }
+
+    @Test
+    public void benchmarkTopRatedRebuild() {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            topRatedService.rebuild();
+        }
+
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long startedAt = System.nanoTime();
+            topRatedService.rebuild();
+            nanos[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(nanos);
+        double medianMs = nanos[MEASURED_RUNS / 2] / 1_000_000.0;
+        System.out.printf("Top-rated rebuild over %d reviews on %d attractions: median %.1f ms%n",
+                ATTRACTIONS * REVIEWS_PER_ATTRACTION, ATTRACTIONS, medianMs);
+
+        TopRatedPageDTO top = topRatedService.getTopRated(0, 10);
+        assertTrue(top.getTotalElements() >= ATTRACTIONS);
+        assertEquals(10, top.getAttractions().size());
+        assertTrue(medianMs < 10_000, "Rebuild took " + medianMs + " ms");
+    }
+}
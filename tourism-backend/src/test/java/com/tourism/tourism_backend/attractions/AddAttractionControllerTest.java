@@ -2,6 +2,7 @@ package com.tourism.tourism_backend.attractions;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.models.Attraction;
 import com.tourism.tourism_backend.repositories.AttractionRepository;
 import com.tourism.tourism_backend.repositories.UserRepository;
 
@@ -19,6 +20,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -547,6 +549,68 @@ public class AddAttractionControllerTest {
                 .andExpect(jsonPath("$.message").value("Attraction added successfully"));
     }
 
+    /**
+     * TC_POS_06: Add a new attraction with a location, which is stored with it.
+     */
+    @Test
+    public void testAddAttraction_WithLocation() throws Exception {
+        String requestBody = """
+            {
+                "name": "Table Mountain",
+                "description": "Flat-topped mountain above Cape Town",
+                "entranceFee": 0.0,
+                "photos": [],
+                "latitude": -33.9628,
+                "longitude": 18.4098
+            }
+        """;
+
+        mockMvc.perform(post("/api/attractions")
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(status().isCreated());
+
+        Attraction saved = attractionRepository.findAll().get(0);
+        assertEquals(-33.9628, saved.getLatitude());
+        assertEquals(18.4098, saved.getLongitude());
+    }
+
+    /**
+     * TC_NEG_08: Add a new attraction with an out-of-range or incomplete location.
+     */
+    @Test
+    public void testAddAttraction_InvalidLocation() throws Exception {
+        mockMvc.perform(post("/api/attractions")
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {
+                        "name": "Nowhere",
+                        "description": "Off the map",
+                        "entranceFee": 0.0,
+                        "latitude": 91.0,
+                        "longitude": 18.4098
+                    }
+                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.latitude").value("Latitude must be between -90 and 90"));
+
+        mockMvc.perform(post("/api/attractions")
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {
+                        "name": "Nowhere",
+                        "description": "Half a location",
+                        "entranceFee": 0.0,
+                        "latitude": -33.9628
+                    }
+                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Latitude and longitude must be given together"));
+    }
+
     // /**
     //  * TC_CORNER_05: Add a new attraction with photos containing invalid URLs.
     //  */
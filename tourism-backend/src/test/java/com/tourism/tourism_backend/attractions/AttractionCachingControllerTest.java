@@ -0,0 +1,307 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.UserRepository;
+import com.tourism.tourism_backend.services.CatalogVersionService;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Checks the ETag and Last-Modified validators of the attraction list and detail endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class AttractionCachingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    private Statistics statistics;
+    private String adminJwtToken;
+    private String userJwtToken;
+    private Long firstId;
+    private Long secondId;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        userRepository.save(new AppUser("Admin", "admin@example.com", new BCryptPasswordEncoder().encode("admin123"), "ADMIN"));
+        adminJwtToken = "Bearer " + obtainJwtToken("admin@example.com", "admin123");
+
+        userRepository.save(new AppUser("User", "user@example.com", new BCryptPasswordEncoder().encode("user123"), "USER"));
+        userJwtToken = "Bearer " + obtainJwtToken("user@example.com", "user123");
+
+        firstId = attractionRepository.save(new Attraction("Attraction 1", "Description 1", 10.0, List.of("photo1"))).getId();
+        secondId = attractionRepository.save(new Attraction("Attraction 2", "Description 2", 15.0, List.of("photo2"))).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    private String obtainJwtToken(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response).get("token").asText();
+    }
+
+    private String fetchEtag(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+    private void updateName(Long id, String name) throws Exception {
+        mockMvc.perform(put("/api/attractions/" + id)
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"" + name + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * TC_CACHE_01: A matching If-None-Match on the list is answered with 304 without a query.
+     */
+    @Test
+    public void testListAttractions_NotModified() throws Exception {
+        String etag = fetchEtag(get("/api/attractions"));
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        mockMvc.perform(get("/api/attractions").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(Attraction.class.getName()).getLoadCount());
+    }
+
+    /**
+     * TC_CACHE_02: Edits, inserts and deletes change the list ETag right away; traffic changes
+     * it once the table aggregates are reread.
+     */
+    @Test
+    public void testListAttractions_EtagChangesWithCatalog() throws Exception {
+        String initial = fetchEtag(get("/api/attractions"));
+
+        updateName(firstId, "Renamed");
+        String afterUpdate = fetchEtag(get("/api/attractions"));
+        assertNotEquals(initial, afterUpdate);
+        mockMvc.perform(get("/api/attractions").header(HttpHeaders.IF_NONE_MATCH, initial))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + firstId + ")].name").value("Renamed"));
+
+        // Takes the fingerprint of the tables as they are now
+        catalogVersionService.checkForChanges();
+        String checked = fetchEtag(get("/api/attractions"));
+        attractionRepository.incrementTrafficCount(secondId, 1);
+        assertEquals(checked, fetchEtag(get("/api/attractions")));
+        catalogVersionService.checkForChanges();
+        String afterTraffic = fetchEtag(get("/api/attractions"));
+        assertNotEquals(checked, afterTraffic);
+
+        mockMvc.perform(delete("/api/attractions/" + secondId)
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk());
+        attractionRepository.save(new Attraction("Attraction 3", "Description 3", 20.0, List.of("photo3")));
+        assertNotEquals(afterTraffic, fetchEtag(get("/api/attractions")));
+    }
+
+    /**
+     * TC_CACHE_03: Pages carry no validators, and are not answered with 304 for the list ETag.
+     */
+    @Test
+    public void testListAttractionsPage_NoValidators() throws Exception {
+        String etag = fetchEtag(get("/api/attractions"));
+
+        mockMvc.perform(get("/api/attractions").param("size", "1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+        mockMvc.perform(get("/api/attractions").param("minFee", "12").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    /**
+     * TC_CACHE_04: A matching If-None-Match on the details is answered with 304 without loading the attraction.
+     */
+    @Test
+    public void testGetAttraction_NotModified() throws Exception {
+        String etag = fetchEtag(get("/api/attractions/" + firstId).header("Authorization", userJwtToken));
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        mockMvc.perform(get("/api/attractions/" + firstId)
+                .header("Authorization", userJwtToken)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertEquals(0, statistics.getEntityStatistics(Attraction.class.getName()).getLoadCount());
+    }
+
+    /**
+     * TC_CACHE_05: Edits and new reviews change the detail ETag; other attractions' edits do not.
+     */
+    @Test
+    public void testGetAttraction_EtagChangesWithAttraction() throws Exception {
+        String initial = fetchEtag(get("/api/attractions/" + firstId).header("Authorization", userJwtToken));
+
+        updateName(secondId, "Other Renamed");
+        assertEquals(initial, fetchEtag(get("/api/attractions/" + firstId).header("Authorization", userJwtToken)));
+
+        updateName(firstId, "Renamed");
+        String afterUpdate = fetchEtag(get("/api/attractions/" + firstId).header("Authorization", userJwtToken));
+        assertNotEquals(initial, afterUpdate);
+
+        mockMvc.perform(post("/api/reviews/attraction/" + firstId)
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"rating\": 4, \"comment\": \"Nice\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/attractions/" + firstId)
+                .header("Authorization", userJwtToken)
+                .header(HttpHeaders.IF_NONE_MATCH, afterUpdate))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount").value(1));
+    }
+
+    /**
+     * TC_CACHE_06: Unknown attractions are still reported as not found.
+     */
+    @Test
+    public void testGetAttraction_NotFoundWithEtag() throws Exception {
+        mockMvc.perform(get("/api/attractions/999999")
+                .header("Authorization", userJwtToken)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"attraction-999999-0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * TC_CACHE_07: A detail cached before a write committed is reloaded rather than served under
+     * the new version's ETag.
+     */
+    @Test
+    public void testGetAttraction_StaleCachedDetailReloaded() throws Exception {
+        fetchEtag(get("/api/attractions/" + firstId).header("Authorization", userJwtToken));
+
+        // A committed write whose eviction has not run yet
+        entityManager.createNativeQuery("UPDATE attractions SET name = 'Renamed', version = version + 1 WHERE id = :id")
+                .setParameter("id", firstId)
+                .executeUpdate();
+        entityManager.clear();
+        String current = catalogVersionService.getAttractionVersion(firstId).orElseThrow().etag();
+
+        mockMvc.perform(get("/api/attractions/" + firstId).header("Authorization", userJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, current))
+                .andExpect(jsonPath("$.name").value("Renamed"));
+    }
+
+    /**
+     * TC_CACHE_08: The list ETag is derived from the data, so another instance sends the same
+     * one, and a write made there changes this instance's ETag once its aggregates are reread.
+     */
+    @Test
+    public void testListAttractions_EtagSharedAcrossInstances() throws Exception {
+        CatalogVersionService otherInstance = new CatalogVersionService(0);
+        beanFactory.autowireBean(otherInstance);
+        String etag = fetchEtag(get("/api/attractions"));
+        assertEquals(etag, otherInstance.getAttractionsVersion().etag());
+
+        // A write on the other instance, which no listener here sees
+        entityManager.createNativeQuery("UPDATE attractions SET name = 'Renamed', version = version + 1 WHERE id = :id")
+                .setParameter("id", firstId)
+                .executeUpdate();
+        String changed = otherInstance.getAttractionsVersion().etag();
+        assertNotEquals(etag, changed);
+
+        Thread.sleep(1100);
+        mockMvc.perform(get("/api/attractions").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, changed))
+                .andExpect(jsonPath("$[?(@.id == " + firstId + ")].name").value("Renamed"));
+    }
+}
@@ -0,0 +1,305 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.dto.AttractionDetailDTO;
+import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.UserRepository;
+import com.tourism.tourism_backend.services.AttractionDetailCache;
+import com.tourism.tourism_backend.util.ReadThroughCache;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Checks the read-through cache behind GET /api/attractions/{id}: hits, eviction on writes,
+ * coalesced loads, the size and time bounds, and the metrics endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class AttractionDetailCacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AttractionDetailCache attractionDetailCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String adminJwtToken;
+    private String userJwtToken;
+    private Long attractionId;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        userRepository.save(new AppUser("Admin", "admin@example.com", new BCryptPasswordEncoder().encode("admin123"), "ADMIN"));
+        adminJwtToken = "Bearer " + obtainJwtToken("admin@example.com", "admin123");
+
+        userRepository.save(new AppUser("User", "user@example.com", new BCryptPasswordEncoder().encode("user123"), "USER"));
+        userJwtToken = "Bearer " + obtainJwtToken("user@example.com", "user123");
+
+        attractionId = attractionRepository.save(
+                new Attraction("Attraction 1", "Description 1", 10.0, List.of("photo1", "photo2"))).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    private String obtainJwtToken(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response).get("token").asText();
+    }
+
+    private JsonNode fetchMetrics() throws Exception {
+        String response = mockMvc.perform(get("/api/admin/metrics/attraction-cache")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response);
+    }
+
+    /**
+     * TC_DETAIL_CACHE_01: A repeated detail request is served without loading the attraction.
+     */
+    @Test
+    public void testGetAttraction_SecondRequestIsCacheHit() throws Exception {
+        mockMvc.perform(get("/api/attractions/" + attractionId).header("Authorization", userJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Attraction 1"));
+        JsonNode before = fetchMetrics();
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        mockMvc.perform(get("/api/attractions/" + attractionId).header("Authorization", userJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Attraction 1"))
+                .andExpect(jsonPath("$.photos.length()").value(2));
+
+        assertEquals(0, statistics.getEntityStatistics(Attraction.class.getName()).getLoadCount());
+        JsonNode after = fetchMetrics();
+        assertEquals(before.get("hits").asLong() + 1, after.get("hits").asLong());
+        assertEquals(before.get("misses").asLong(), after.get("misses").asLong());
+    }
+
+    /**
+     * TC_DETAIL_CACHE_02: Updating an attraction evicts its cached detail.
+     */
+    @Test
+    public void testUpdateAttraction_EvictsDetail() throws Exception {
+        mockMvc.perform(get("/api/attractions/" + attractionId).header("Authorization", userJwtToken))
+                .andExpect(jsonPath("$.name").value("Attraction 1"));
+
+        mockMvc.perform(put("/api/attractions/" + attractionId)
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Renamed\", \"photos\": [\"photo3\"]}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/attractions/" + attractionId).header("Authorization", userJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Renamed"))
+                .andExpect(jsonPath("$.photos[0]").value("photo3"));
+    }
+
+    /**
+     * TC_DETAIL_CACHE_03: Deleting an attraction evicts its cached detail.
+     */
+    @Test
+    public void testDeleteAttraction_EvictsDetail() throws Exception {
+        mockMvc.perform(get("/api/attractions/" + attractionId).header("Authorization", userJwtToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/attractions/" + attractionId).header("Authorization", adminJwtToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/attractions/" + attractionId).header("Authorization", userJwtToken))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * TC_DETAIL_CACHE_04: A new review evicts the cached detail, so its rating summary is current.
+     */
+    @Test
+    public void testAddReview_EvictsDetail() throws Exception {
+        mockMvc.perform(get("/api/attractions/" + attractionId).header("Authorization", userJwtToken))
+                .andExpect(jsonPath("$.reviewCount").value(0));
+
+        mockMvc.perform(post("/api/reviews/attraction/" + attractionId)
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"rating\": 4, \"comment\": \"Great place\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/attractions/" + attractionId).header("Authorization", userJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount").value(1))
+                .andExpect(jsonPath("$.averageRating").value(4.0));
+    }
+
+    /**
+     * TC_DETAIL_CACHE_05: Concurrent misses on the same attraction run the loader once.
+     */
+    @Test
+    public void testConcurrentMisses_AreCoalesced() throws Exception {
+        Long id = -attractionId;
+        AttractionDetailDTO detail = new AttractionDetailDTO("Loaded", "Description", 5.0, List.of());
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        long missesBefore = attractionDetailCache.getMetrics().getMisses();
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<AttractionDetailDTO>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> attractionDetailCache.get(id, key -> {
+                    loaderCalls.incrementAndGet();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return detail;
+                })));
+            }
+
+            // Hold the load until every caller has missed and is waiting for it
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (attractionDetailCache.getMetrics().getMisses() < missesBefore + threads
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<AttractionDetailDTO> result : results) {
+                assertSame(detail, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+            attractionDetailCache.evictAfterCommit(id);
+        }
+        assertEquals(1, loaderCalls.get());
+    }
+
+    /**
+     * TC_DETAIL_CACHE_06: The cache evicts the least recently used entries beyond its weight and
+     * drops entries older than the time to live.
+     */
+    @Test
+    public void testCacheBounds_SizeAndTimeToLive() {
+        AtomicLong now = new AtomicLong();
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>(100, 10, TimeUnit.SECONDS,
+                value -> 40, now::get);
+
+        cache.get(1L, key -> "one");
+        cache.get(2L, key -> "two");
+        cache.get(1L, key -> "reloaded");
+        cache.get(3L, key -> "three");
+
+        assertEquals("one", cache.getIfPresent(1L));
+        assertNull(cache.getIfPresent(2L));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(80, cache.stats().weight());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertNull(cache.getIfPresent(1L));
+        assertEquals("reloaded", cache.get(1L, key -> "reloaded"));
+        assertEquals(1, cache.stats().expirations());
+    }
+
+    /**
+     * TC_DETAIL_CACHE_07: Cache metrics are admin only.
+     */
+    @Test
+    public void testCacheMetrics_AdminOnly() throws Exception {
+        mockMvc.perform(get("/api/admin/metrics/attraction-cache").header("Authorization", userJwtToken))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/admin/metrics/attraction-cache").header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maxWeightBytes").value(16777216))
+                .andExpect(jsonPath("$.hitRate").isNumber())
+                .andExpect(jsonPath("$.averageLoadMs").isNumber())
+                .andExpect(jsonPath("$.evictions").isNumber());
+    }
+}
@@ -0,0 +1,199 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.tourism.tourism_backend.dto.AttractionPageDTO;
+import com.tourism.tourism_backend.dto.AttractionSummaryDTO;
+import com.tourism.tourism_backend.services.AttractionFilter;
+import com.tourism.tourism_backend.services.AttractionService;
+import com.tourism.tourism_backend.services.AttractionSort;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares filtered and sorted listing pages over 1M attractions with the composite indexes on
+ * fee, fee and traffic, and rating, and with only the traffic count index the table had before.
+ * Prints the median latency of a first page and of a page deep into the results.
+ * Run with -Dbenchmarks=true.
+ */
+@SpringBootTest(properties = {"catalog.snapshot.refresh-interval-ms=3600000",
+        "analytics.snapshot.refresh-interval-ms=3600000"})
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class AttractionFilterBenchmarkTest {
+
+    private static final int ATTRACTIONS = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int SKIPPED_PAGES = 10;
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+
+    private static final Map<String, String> INDEXES = Map.of(
+            "idx_attractions_fee", "entrance_fee, id",
+            "idx_attractions_fee_traffic", "entrance_fee, traffic_count, id",
+            "idx_attractions_rating", "rating_average, id");
+
+    @Autowired
+    private AttractionService attractionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long firstId;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() {
+        firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM attractions", Long.class);
+        // One in ten free, fees up to 99.5; two in five unreviewed, the rest rated 1 to 5
+        List<Object[]> rows = new ArrayList<>(10_000);
+        for (int i = 0; i < ATTRACTIONS; i++) {
+            double fee = i % 10 == 0 ? 0 : (i * 7919L) % 200 / 2.0;
+            int reviews = i % 5 < 2 ? 0 : 1 + i % 7;
+            double average = reviews == 0 ? 0 : 1 + (i * 13L) % 401 / 100.0;
+            rows.add(new Object[]{"Benchmark " + i, "Benchmark attraction " + i, fee, (int) ((i * 104729L) % 100_000),
+                    reviews, Math.round(average * reviews), average});
+            if (rows.size() == 10_000) {
+                insert(rows);
+                rows.clear();
+            }
+        }
+        insert(rows);
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO attractions (name, short_description, entrance_fee, traffic_count, "
+                + "review_count, rating_sum, rating_average) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        // In ID ranges: one transaction removing a million rows from five indexes takes far longer
+        long lastId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM attractions", Long.class);
+        for (long from = firstId; from <= lastId; from += 10_000) {
+            jdbcTemplate.update("DELETE FROM attractions WHERE id >= ? AND id < ? AND name LIKE 'Benchmark %'",
+                    from, from + 10_000);
+        }
+    }
+
+    private record Scenario(String label, AttractionSort sort, AttractionFilter filter) {
+    }
+
+    private List<Scenario> scenarios() {
+        return List.of(
+                new Scenario("free, by ID", AttractionSort.ID, new AttractionFilter(0.0, 0.0, null, null)),
+                new Scenario("fee 10-20, by fee", AttractionSort.ENTRANCE_FEE, new AttractionFilter(10.0, 20.0, null, null)),
+                new Scenario("fee 10-20 and traffic >= 50000, by ID", AttractionSort.ID,
+                        new AttractionFilter(10.0, 20.0, 50_000, null)),
+                new Scenario("traffic >= 90000, by traffic", AttractionSort.TRAFFIC_COUNT,
+                        new AttractionFilter(null, null, 90_000, null)),
+                new Scenario("rating >= 4.5, by rating", AttractionSort.RATING, new AttractionFilter(null, null, null, 4.5)),
+                new Scenario("by rating", AttractionSort.RATING, AttractionFilter.NONE));
+    }
+
+    private static List<Long> ids(AttractionPageDTO page) {
+        return page.getItems().stream().map(AttractionSummaryDTO::getId).toList();
+    }
+
+    // H2 serves a repeated query from its last result while no table has changed
+    private void invalidateQueryResults() {
+        jdbcTemplate.update("UPDATE attractions SET traffic_count = traffic_count WHERE id = (SELECT MAX(id) FROM attractions)");
+    }
+
+    private double medianMillis(Supplier<AttractionPageDTO> query, List<List<Long>> results) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            invalidateQueryResults();
+            query.get();
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        List<Long> result = null;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            invalidateQueryResults();
+            long startedAt = System.nanoTime();
+            AttractionPageDTO page = query.get();
+            nanos[i] = System.nanoTime() - startedAt;
+            result = ids(page);
+        }
+        Arrays.sort(nanos);
+        results.add(result);
+        return nanos[MEASURED_RUNS / 2] / 1_000_000.0;
+    }
+
+    /**
+     * Times the first page of each scenario and the page after {@link #SKIPPED_PAGES} pages,
+     * returning the IDs served and recording the medians under their labels.
+     */
+    private List<List<Long>> measure(Map<String, Double> medians) {
+        List<List<Long>> results = new ArrayList<>();
+        for (Scenario scenario : scenarios()) {
+            medians.put(scenario.label() + ", first page", medianMillis(
+                    () -> attractionService.getAttractionsPage(null, PAGE_SIZE, scenario.sort(), scenario.filter()),
+                    results));
+
+            String cursor = null;
+            for (int i = 0; i < SKIPPED_PAGES; i++) {
+                cursor = attractionService.getAttractionsPage(cursor, PAGE_SIZE, scenario.sort(), scenario.filter())
+                        .getNextCursor();
+            }
+            String deepCursor = cursor;
+            medians.put(scenario.label() + ", page " + (SKIPPED_PAGES + 1), medianMillis(
+                    () -> attractionService.getAttractionsPage(deepCursor, PAGE_SIZE, scenario.sort(), scenario.filter()),
+                    results));
+        }
+        return results;
+    }
+
+    @Test
+    public void benchmarkFilteredListing() {
+        Map<String, Double> indexed = new LinkedHashMap<>();
+        List<List<Long>> indexedResults = measure(indexed);
+
+        Map<String, Double> unindexed = new LinkedHashMap<>();
+        List<List<Long>> unindexedResults;
+        INDEXES.keySet().forEach(name -> jdbcTemplate.execute("DROP INDEX " + name));
+        try {
+            unindexedResults = measure(unindexed);
+        } finally {
+            INDEXES.forEach((name, columns) ->
+                    jdbcTemplate.execute("CREATE INDEX " + name + " ON attractions (" + columns + ")"));
+        }
+
+        assertEquals(indexedResults, unindexedResults);
+        indexedResults.forEach(ids -> assertEquals(PAGE_SIZE, ids.size()));
+        indexed.forEach((label, millis) -> System.out.printf(
+                "%s over %d attractions: median %.2f ms with composite indexes, %.2f ms without%n",
+                label, ATTRACTIONS, millis, unindexed.get(label)));
+        assertTrue(indexed.values().stream().mapToDouble(Double::doubleValue).sum()
+                < unindexed.values().stream().mapToDouble(Double::doubleValue).sum());
+    }
+}
@@ -0,0 +1,131 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.tourism.tourism_backend.services.AttractionSearchService;
+import com.tourism.tourism_backend.util.InvertedIndex;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times attraction searches over 500k attractions whose words follow a skewed distribution, so
+ * queries mix very common and rare words. Prints the median and 99th percentile latency of the
+ * index lookup alone and of the whole search, which also reads the returned attractions from
+ * the database. Run with -Dbenchmarks=true.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class AttractionSearchBenchmarkTest {
+
+    private static final int ATTRACTIONS = 500_000;
+    private static final int VOCABULARY = 20_000;
+    private static final int DESCRIPTION_WORDS = 12;
+    private static final int WARMUP_QUERIES = 500;
+    private static final int MEASURED_QUERIES = 2_000;
+
+    @Autowired
+    private AttractionSearchService attractionSearchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Random random = new Random(42);
+    private final List<Object[]> rows = new ArrayList<>(ATTRACTIONS);
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    // Word ranks are skewed towards the front of the vocabulary, roughly like natural text
+    private String word() {
+        double r = random.nextDouble();
+        return "w" + (int) (VOCABULARY * r * r * r);
+    }
+
+    @BeforeEach
+    public void setup() {
+        for (int i = 0; i < ATTRACTIONS; i++) {
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < DESCRIPTION_WORDS; w++) {
+                description.append(word()).append(' ');
+            }
+            rows.add(new Object[]{"Benchmark " + word() + " " + word(), description.toString(), 10.0, 0, 0, 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO attractions (name, short_description, entrance_fee, traffic_count, "
+                + "review_count, rating_sum) VALUES (?, ?, ?, ?, ?, ?)", rows);
+        attractionSearchService.rebuild();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM attractions WHERE name LIKE 'Benchmark %'");
+        attractionSearchService.rebuild();
+    }
+
+    private double[] time(List<String> queries, Consumer<String> search) {
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            search.accept(queries.get(i));
+        }
+        long[] nanos = new long[MEASURED_QUERIES];
+        for (int i = 0; i < MEASURED_QUERIES; i++) {
+            long startedAt = System.nanoTime();
+            search.accept(queries.get(WARMUP_QUERIES + i));
+            nanos[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(nanos);
+        return new double[]{nanos[MEASURED_QUERIES / 2] / 1_000_000.0, nanos[MEASURED_QUERIES * 99 / 100] / 1_000_000.0};
+    }
+
+    @Test
+    public void benchmarkSearch() {
+        List<String> queries = new ArrayList<>(WARMUP_QUERIES + MEASURED_QUERIES);
+        for (int i = 0; i < WARMUP_QUERIES + MEASURED_QUERIES; i++) {
+            // One, two or three words
+            switch (i % 3) {
+                case 0 -> queries.add(word());
+                case 1 -> queries.add(word() + " " + word());
+                default -> queries.add(word() + " " + word() + " " + word());
+            }
+        }
+
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < rows.size(); i++) {
+            index.put(i + 1, (String) rows.get(i)[0], (String) rows.get(i)[1]);
+        }
+        double[] indexMs = time(queries, query -> index.search(query, 20));
+        double[] searchMs = time(queries, query -> attractionSearchService.search(query, 20));
+        System.out.printf("Search over %d attractions: index median %.2f ms, p99 %.2f ms; "
+                        + "with database read median %.2f ms, p99 %.2f ms%n",
+                ATTRACTIONS, indexMs[0], indexMs[1], searchMs[0], searchMs[1]);
+
+        assertTrue(attractionSearchService.size() >= ATTRACTIONS);
+        assertTrue(indexMs[1] < 25, "p99 index latency was " + indexMs[1] + " ms");
+        assertTrue(searchMs[1] < 50, "p99 search latency was " + searchMs[1] + " ms");
+    }
+}
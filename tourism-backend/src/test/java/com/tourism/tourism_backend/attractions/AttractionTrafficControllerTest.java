@@ -5,6 +5,7 @@ import com.tourism.tourism_backend.models.AppUser;
 import com.tourism.tourism_backend.models.Attraction;
 import com.tourism.tourism_backend.repositories.AttractionRepository;
 import com.tourism.tourism_backend.repositories.UserRepository;
+import com.tourism.tourism_backend.services.TrafficCounterBuffer;
 
 import io.github.cdimascio.dotenv.Dotenv;
 
@@ -18,7 +19,11 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -36,6 +41,9 @@ public class AttractionTrafficControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TrafficCounterBuffer trafficCounterBuffer;
+
     private String adminJwtToken;
 
     private Attraction attraction1;
@@ -140,6 +148,43 @@ public class AttractionTrafficControllerTest {
                 .andExpect(jsonPath("$.trafficCount").value(1));
     }
 
+    /**
+     * TC_POS_05: Buffered clicks are written to the attractions table on flush.
+     */
+    @Test
+    public void testIncrementTrafficCount_PersistedOnFlush() throws Exception {
+        for (int i = 1; i <= 2; i++) {
+            mockMvc.perform(post("/api/attractions/" + attraction3.getId() + "/traffic")
+                    .header("Authorization", adminJwtToken)
+                    .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.trafficCount").value(i));
+        }
+
+        trafficCounterBuffer.flush();
+
+        assertEquals(2, attractionRepository.findTrafficCountById(attraction3.getId()).orElseThrow());
+        assertEquals(0, trafficCounterBuffer.pendingFor(attraction3.getId()));
+    }
+
+    /**
+     * TC_POS_06: Buffered clicks of a deleted attraction are only dropped once the delete commits.
+     */
+    @Test
+    public void testIncrementTrafficCount_DiscardedAfterDeleteCommits() throws Exception {
+        mockMvc.perform(post("/api/attractions/" + attraction3.getId() + "/traffic")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/attractions/" + attraction3.getId())
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk());
+        assertEquals(1, trafficCounterBuffer.pendingFor(attraction3.getId()));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(0, trafficCounterBuffer.pendingFor(attraction3.getId()));
+    }
+
     /**
      * TC_NEG_01: Increment traffic count for non-existent attraction.
      */
@@ -0,0 +1,246 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.UserRepository;
+import com.tourism.tourism_backend.services.AttractionTrafficService;
+import com.tourism.tourism_backend.services.TrafficCounterBuffer;
+import com.tourism.tourism_backend.services.TrafficIngestionMode;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class BatchTrafficControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AttractionTrafficService attractionTrafficService;
+
+    @Autowired
+    private TrafficCounterBuffer trafficCounterBuffer;
+
+    private String userJwtToken;
+
+    private Attraction attraction1;
+    private Attraction attraction2;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        attraction1 = attractionRepository.save(new Attraction("Table Mountain", "Flat-topped mountain", 390.0, null));
+        attraction2 = attractionRepository.save(new Attraction("Boulders Beach", "Penguin colony", 190.0, null, 10));
+
+        userRepository.save(new AppUser("User", "user@example.com",
+                new BCryptPasswordEncoder().encode("user123"), "USER"));
+        userJwtToken = "Bearer " + obtainJwtToken("user@example.com", "user123");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        setIngestionMode(TrafficIngestionMode.WRITE_BEHIND);
+        trafficCounterBuffer.discard(attraction1.getId());
+        trafficCounterBuffer.discard(attraction2.getId());
+    }
+
+    private String obtainJwtToken(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response).get("token").asText();
+    }
+
+    private void setIngestionMode(TrafficIngestionMode mode) {
+        AttractionTrafficService target = AopTestUtils.getUltimateTargetObject(attractionTrafficService);
+        ReflectionTestUtils.setField(target, "ingestionMode", mode);
+    }
+
+    private String batch(long... idsAndCounts) {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < idsAndCounts.length; i += 2) {
+            if (i > 0) {
+                items.append(",");
+            }
+            items.append("{\"attractionId\": ").append(idsAndCounts[i])
+                    .append(", \"count\": ").append(idsAndCounts[i + 1]).append("}");
+        }
+        return "{\"items\": [" + items + "]}";
+    }
+
+    /**
+     * TC_POS_01: Known and unknown IDs in one batch get per-ID results in request order.
+     */
+    @Test
+    public void testBatchTraffic_MixedKnownAndUnknownIds() throws Exception {
+        mockMvc.perform(post("/api/attractions/traffic/batch")
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch(attraction1.getId(), 2, 9999, 1, attraction2.getId(), 3)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(3))
+                .andExpect(jsonPath("$.results[0].attractionId").value(attraction1.getId()))
+                .andExpect(jsonPath("$.results[0].found").value(true))
+                .andExpect(jsonPath("$.results[0].trafficCount").value(2))
+                .andExpect(jsonPath("$.results[1].attractionId").value(9999))
+                .andExpect(jsonPath("$.results[1].found").value(false))
+                .andExpect(jsonPath("$.results[1].trafficCount").isEmpty())
+                .andExpect(jsonPath("$.results[2].attractionId").value(attraction2.getId()))
+                .andExpect(jsonPath("$.results[2].found").value(true))
+                .andExpect(jsonPath("$.results[2].trafficCount").value(13));
+    }
+
+    /**
+     * TC_POS_02: Repeated IDs within a batch are summed into a single result.
+     */
+    @Test
+    public void testBatchTraffic_RepeatedIdsAreSummed() throws Exception {
+        mockMvc.perform(post("/api/attractions/traffic/batch")
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch(attraction1.getId(), 1, attraction1.getId(), 4)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(1))
+                .andExpect(jsonPath("$.results[0].trafficCount").value(5));
+    }
+
+    /**
+     * TC_POS_03: Buffered batch counts are written to the database by the next flush.
+     */
+    @Test
+    public void testBatchTraffic_PersistedOnFlush() throws Exception {
+        mockMvc.perform(post("/api/attractions/traffic/batch")
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch(attraction1.getId(), 2, attraction2.getId(), 5)))
+                .andExpect(status().isOk());
+
+        trafficCounterBuffer.flush();
+
+        assertEquals(2, attractionRepository.findTrafficCountById(attraction1.getId()).orElseThrow());
+        assertEquals(15, attractionRepository.findTrafficCountById(attraction2.getId()).orElseThrow());
+    }
+
+    /**
+     * TC_POS_04: Without write-behind the batch is written immediately in one batched update.
+     */
+    @Test
+    public void testBatchTraffic_SynchronousBatchUpdate() throws Exception {
+        setIngestionMode(TrafficIngestionMode.SYNC);
+
+        mockMvc.perform(post("/api/attractions/traffic/batch")
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch(attraction1.getId(), 3, attraction2.getId(), 1, 9999, 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].trafficCount").value(3))
+                .andExpect(jsonPath("$.results[1].trafficCount").value(11))
+                .andExpect(jsonPath("$.results[2].found").value(false));
+
+        assertEquals(3, attractionRepository.findTrafficCountById(attraction1.getId()).orElseThrow());
+        assertEquals(11, attractionRepository.findTrafficCountById(attraction2.getId()).orElseThrow());
+    }
+
+    /**
+     * TC_NEG_01: An empty batch is rejected.
+     */
+    @Test
+    public void testBatchTraffic_EmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/attractions/traffic/batch")
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.items").value("At least one attraction is required"));
+    }
+
+    /**
+     * TC_NEG_02: A non-positive count is rejected.
+     */
+    @Test
+    public void testBatchTraffic_InvalidCount() throws Exception {
+        mockMvc.perform(post("/api/attractions/traffic/batch")
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch(attraction1.getId(), 0)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation failed"));
+    }
+
+    /**
+     * TC_NEG_03: A batch larger than the limit is rejected.
+     */
+    @Test
+    public void testBatchTraffic_TooManyItems() throws Exception {
+        long[] idsAndCounts = new long[501 * 2];
+        for (int i = 0; i < idsAndCounts.length; i += 2) {
+            idsAndCounts[i] = i + 1;
+            idsAndCounts[i + 1] = 1;
+        }
+
+        mockMvc.perform(post("/api/attractions/traffic/batch")
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch(idsAndCounts)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.items").value("A batch can contain at most 500 attractions"));
+    }
+
+    /**
+     * TC_NEG_04: A batch without authentication is rejected.
+     */
+    @Test
+    public void testBatchTraffic_Unauthorized() throws Exception {
+        mockMvc.perform(post("/api/attractions/traffic/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch(attraction1.getId(), 1)))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,238 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.models.Trip;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.TripRepository;
+import com.tourism.tourism_backend.services.CatalogSnapshotService;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests the pre-serialized snapshots behind GET /api/attractions and GET /api/trips.
+ * Snapshots are rebuilt synchronously inside the test transaction so they see its rows.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class CatalogSnapshotControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() {
+        Attraction attraction1 = attractionRepository.save(new Attraction("Attraction 1", "Description 1", 10.0, List.of("photo1")));
+        Attraction attraction2 = attractionRepository.save(new Attraction("Attraction 2", "Description 2", 15.0, List.of("photo2")));
+        tripRepository.save(new Trip("Trip 1", List.of("Day 1", "Day 2"), List.of(attraction1, attraction2)));
+        entityManager.flush();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @AfterTransaction
+    public void rebuildCommittedSnapshots() {
+        // Leave snapshots of the committed tables for the other tests
+        catalogSnapshotService.refresh();
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private MockHttpServletResponse perform(String path, String acceptEncoding) throws Exception {
+        // Trips need a signed-in user
+        MockHttpServletRequestBuilder request = get(path).with(user("user@example.com"));
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    /**
+     * TC_SNAP_01: The attraction listing is served from the snapshot, identical to the live
+     * listing, without a statement.
+     */
+    @Test
+    public void testAttractions_ServedFromSnapshot() throws Exception {
+        MockHttpServletResponse live = perform("/api/attractions", null);
+        assertNull(live.getHeader(HttpHeaders.VARY));
+
+        catalogSnapshotService.refresh();
+        statistics.clear();
+        MockHttpServletResponse snapshot = perform("/api/attractions", null);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, snapshot.getHeader(HttpHeaders.VARY));
+        assertNull(snapshot.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(live.getContentAsString(), snapshot.getContentAsString());
+        assertEquals(live.getHeader(HttpHeaders.ETAG), snapshot.getHeader(HttpHeaders.ETAG));
+        assertTrue(snapshot.getContentType().startsWith("application/json"));
+    }
+
+    /**
+     * TC_SNAP_02: Clients accepting gzip get the precompressed listing; others, or those
+     * refusing gzip with q=0, get plain JSON.
+     */
+    @Test
+    public void testAttractions_Gzip() throws Exception {
+        String live = perform("/api/attractions", null).getContentAsString();
+        catalogSnapshotService.refresh();
+
+        for (String acceptEncoding : List.of("gzip", "br, gzip;q=0.5", "deflate, *")) {
+            MockHttpServletResponse compressed = perform("/api/attractions", acceptEncoding);
+            assertEquals("gzip", compressed.getHeader(HttpHeaders.CONTENT_ENCODING), acceptEncoding);
+            assertEquals(live, gunzip(compressed.getContentAsByteArray()));
+        }
+        for (String acceptEncoding : List.of("identity", "gzip;q=0", "*, gzip;q=0")) {
+            MockHttpServletResponse plain = perform("/api/attractions", acceptEncoding);
+            assertNull(plain.getHeader(HttpHeaders.CONTENT_ENCODING), acceptEncoding);
+            assertEquals(live, plain.getContentAsString());
+        }
+    }
+
+    /**
+     * TC_SNAP_03: A write the snapshot was not rebuilt for is served from the database, and
+     * conditional requests are still answered with 304.
+     */
+    @Test
+    public void testAttractions_StaleSnapshotNotServed() throws Exception {
+        catalogSnapshotService.refresh();
+        String etag = perform("/api/attractions", null).getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/attractions").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        attractionRepository.save(new Attraction("Attraction 3", "Description 3", 20.0, List.of("photo3")));
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/attractions").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$[?(@.name == 'Attraction 3')]").exists());
+    }
+
+    /**
+     * TC_SNAP_04: The trip listing is served from its snapshot, attractions embedded, without a
+     * statement.
+     */
+    @Test
+    public void testTrips_ServedFromSnapshot() throws Exception {
+        String live = perform("/api/trips", null).getContentAsString();
+        entityManager.clear();
+
+        catalogSnapshotService.refresh();
+        statistics.clear();
+        MockHttpServletResponse compressed = perform("/api/trips", "gzip");
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals("gzip", compressed.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(live, gunzip(compressed.getContentAsByteArray()));
+        assertTrue(live.contains("\"name\":\"Trip 1\""));
+    }
+
+    /**
+     * TC_SNAP_05: The gzip and plain listings carry different ETags, and each one is only
+     * answered with 304 for its own encoding.
+     */
+    @Test
+    public void testAttractions_EtagPerEncoding() throws Exception {
+        catalogSnapshotService.refresh();
+        String plainEtag = perform("/api/attractions", null).getHeader(HttpHeaders.ETAG);
+        String gzipEtag = perform("/api/attractions", "gzip").getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(plainEtag, gzipEtag);
+        mockMvc.perform(get("/api/attractions")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/attractions")
+                .header(HttpHeaders.IF_NONE_MATCH, plainEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/attractions")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, plainEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, gzipEtag));
+        mockMvc.perform(get("/api/attractions")
+                .header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, plainEtag));
+    }
+}
@@ -0,0 +1,117 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.tourism.tourism_backend.util.ClusterPyramid;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times viewport queries and moves on a cluster pyramid of 1M points, scattered around a few
+ * hundred city centres like those of the geo index benchmark. Viewports are 1280 by 800 pixels
+ * around random city centres at zoom levels from 2 to 18. Prints the median and 99th percentile
+ * latency of each. Run with -Dbenchmarks=true.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class ClusterPyramidBenchmarkTest {
+
+    private static final int POINTS = 1_000_000;
+    private static final int CITIES = 500;
+    private static final int WARMUP_OPERATIONS = 2_000;
+    private static final int MEASURED_OPERATIONS = 10_000;
+
+    private final Random random = new Random(42);
+    private final double[][] cities = new double[CITIES][];
+    private final ClusterPyramid pyramid = new ClusterPyramid();
+
+    private double latitude(double value) {
+        return Math.max(-85, Math.min(85, value));
+    }
+
+    private double longitude(double value) {
+        return value > 180 ? value - 360 : value < -180 ? value + 360 : value;
+    }
+
+    private double[] nearRandomCity(double spread) {
+        double[] city = cities[random.nextInt(CITIES)];
+        return new double[]{latitude(city[0] + random.nextGaussian() * spread),
+                longitude(city[1] + random.nextGaussian() * spread)};
+    }
+
+    @BeforeEach
+    public void setup() {
+        for (int c = 0; c < CITIES; c++) {
+            cities[c] = new double[]{random.nextDouble() * 120 - 60, random.nextDouble() * 360 - 180};
+        }
+        for (int i = 0; i < POINTS; i++) {
+            double[] point = i % 10 == 0
+                    ? new double[]{random.nextDouble() * 170 - 85, random.nextDouble() * 360 - 180}
+                    : nearRandomCity(0.2);
+            pyramid.put(i, point[0], point[1]);
+        }
+    }
+
+    private double[] time(IntConsumer operation) {
+        for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+            operation.accept(i);
+        }
+        long[] nanos = new long[MEASURED_OPERATIONS];
+        for (int i = 0; i < MEASURED_OPERATIONS; i++) {
+            long startedAt = System.nanoTime();
+            operation.accept(WARMUP_OPERATIONS + i);
+            nanos[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(nanos);
+        return new double[]{nanos[MEASURED_OPERATIONS / 2] / 1_000_000.0,
+                nanos[MEASURED_OPERATIONS * 99 / 100] / 1_000_000.0};
+    }
+
+    @Test
+    public void benchmarkViewportsAndMoves() {
+        int operations = WARMUP_OPERATIONS + MEASURED_OPERATIONS;
+        double[][] viewports = new double[operations][];
+        int[] zooms = new int[operations];
+        for (int i = 0; i < operations; i++) {
+            double[] centre = nearRandomCity(0.1);
+            zooms[i] = 2 + random.nextInt(17);
+            // 1280 by 800 pixels of 256-pixel tiles, ignoring the stretch of latitudes
+            double degreesPerPixel = 360.0 / (256L << zooms[i]);
+            double halfWidth = Math.min(180, 640 * degreesPerPixel);
+            double halfHeight = 400 * degreesPerPixel;
+            viewports[i] = new double[]{latitude(centre[0] - halfHeight), longitude(centre[1] - halfWidth),
+                    latitude(centre[0] + halfHeight), longitude(centre[1] + halfWidth)};
+        }
+        double[][] moves = new double[operations][];
+        for (int i = 0; i < operations; i++) {
+            moves[i] = nearRandomCity(0.2);
+        }
+
+        int[] maxClusters = new int[1];
+        double[] viewportMs = time(i -> {
+            double[] box = viewports[i];
+            int clusters = pyramid.query(box[0], box[1], box[2], box[3], zooms[i]).size();
+            maxClusters[0] = Math.max(maxClusters[0], clusters);
+        });
+        double[] moveMs = time(i -> pyramid.put(random.nextInt(POINTS), moves[i][0], moves[i][1]));
+        System.out.printf("Cluster pyramid over %d points: viewport median %.3f ms, p99 %.3f ms, "
+                        + "up to %d clusters; move median %.4f ms, p99 %.4f ms%n",
+                POINTS, viewportMs[0], viewportMs[1], maxClusters[0], moveMs[0], moveMs[1]);
+
+        assertEquals(POINTS, pyramid.size());
+        // Every point is in exactly one cluster of the whole world at every level
+        for (int zoom = 0; zoom <= ClusterPyramid.MAX_ZOOM; zoom += 4) {
+            List<ClusterPyramid.Cluster> world = pyramid.query(-85.06, -180, 85.06, 180, zoom);
+            assertEquals(POINTS, world.stream().mapToLong(ClusterPyramid.Cluster::count).sum());
+        }
+        assertTrue(viewportMs[1] < 50, "p99 viewport latency was " + viewportMs[1] + " ms");
+        assertTrue(moveMs[1] < 1, "p99 move latency was " + moveMs[1] + " ms");
+    }
+}
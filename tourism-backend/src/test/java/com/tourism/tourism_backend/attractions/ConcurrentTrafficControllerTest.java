@@ -0,0 +1,218 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.UserRepository;
+import com.tourism.tourism_backend.services.AttractionTrafficService;
+import com.tourism.tourism_backend.services.TrafficCounterBuffer;
+import com.tourism.tourism_backend.services.TrafficIngestionMode;
+import com.tourism.tourism_backend.services.TrafficIngestionQueue;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fires concurrent POST /api/attractions/{id}/traffic requests at a single attraction and checks
+ * that no increment is lost. Not transactional: every request must commit so that concurrent
+ * writers really contend for the same row. The throughput of each path is measured with
+ * -Dbenchmarks=true.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ConcurrentTrafficControllerTest {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 200;
+    private static final int BENCHMARK_REQUESTS = 2000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AttractionTrafficService attractionTrafficService;
+
+    @Autowired
+    private TrafficCounterBuffer trafficCounterBuffer;
+
+    @Autowired
+    private TrafficIngestionQueue trafficIngestionQueue;
+
+    private Attraction attraction;
+    private AppUser user;
+    private String userJwtToken;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        attraction = attractionRepository.save(new Attraction("Robben Island", "Historic island prison", 600.0, null));
+        user = userRepository.save(new AppUser("Load Tester", "load.tester@example.com",
+                new BCryptPasswordEncoder().encode("load123"), "USER"));
+        userJwtToken = "Bearer " + obtainJwtToken("load.tester@example.com", "load123");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        setIngestionMode(TrafficIngestionMode.WRITE_BEHIND);
+        trafficCounterBuffer.discard(attraction.getId());
+        attractionRepository.deleteById(attraction.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    private String obtainJwtToken(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response).get("token").asText();
+    }
+
+    private void setIngestionMode(TrafficIngestionMode mode) {
+        AttractionTrafficService target = AopTestUtils.getUltimateTargetObject(attractionTrafficService);
+        ReflectionTestUtils.setField(target, "ingestionMode", mode);
+    }
+
+    /**
+     * Sends traffic POSTs from THREADS threads and returns the observed throughput in req/s.
+     */
+    private double fireConcurrentClicks(int requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>(requests);
+
+        for (int i = 0; i < requests; i++) {
+            statuses.add(executor.submit(() -> {
+                start.await();
+                return mockMvc.perform(post("/api/attractions/" + attraction.getId() + "/traffic")
+                                .header("Authorization", userJwtToken))
+                        .andReturn()
+                        .getResponse()
+                        .getStatus();
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<Integer> responseStatus : statuses) {
+            assertEquals(200, responseStatus.get());
+        }
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        executor.shutdown();
+
+        return requests / elapsedSeconds;
+    }
+
+    // Waits for the queue consumer to write the attraction's clicks
+    private void awaitQueueDrained() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (trafficIngestionQueue.pendingFor(attraction.getId()) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    /**
+     * TC_CONC_01: Concurrent clicks through the atomic UPDATE path lose no increments.
+     */
+    @Test
+    public void testConcurrentIncrements_AtomicUpdate() throws Exception {
+        setIngestionMode(TrafficIngestionMode.SYNC);
+
+        fireConcurrentClicks(REQUESTS);
+
+        assertEquals(REQUESTS, attractionRepository.findTrafficCountById(attraction.getId()).orElseThrow());
+    }
+
+    /**
+     * TC_CONC_02: Concurrent clicks through the write-behind buffer lose no increments once flushed.
+     */
+    @Test
+    public void testConcurrentIncrements_WriteBehind() throws Exception {
+        setIngestionMode(TrafficIngestionMode.WRITE_BEHIND);
+
+        fireConcurrentClicks(REQUESTS);
+
+        trafficCounterBuffer.flush();
+        assertEquals(REQUESTS, attractionRepository.findTrafficCountById(attraction.getId()).orElseThrow());
+    }
+
+    /**
+     * TC_CONC_03: Concurrent clicks through the ingestion queue lose no increments once drained.
+     */
+    @Test
+    public void testConcurrentIncrements_Queue() throws Exception {
+        setIngestionMode(TrafficIngestionMode.QUEUE);
+
+        fireConcurrentClicks(REQUESTS);
+
+        awaitQueueDrained();
+        assertEquals(REQUESTS, attractionRepository.findTrafficCountById(attraction.getId()).orElseThrow());
+    }
+
+    /**
+     * Measures the throughput of each ingestion path under concurrent clicks.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    public void benchmarkConcurrentIncrements() throws Exception {
+        int expected = 0;
+        for (TrafficIngestionMode mode : TrafficIngestionMode.values()) {
+            setIngestionMode(mode);
+            double throughput = fireConcurrentClicks(BENCHMARK_REQUESTS);
+            System.out.printf("%s path: %d requests on %d threads, %.0f req/s%n", mode, BENCHMARK_REQUESTS, THREADS, throughput);
+
+            trafficCounterBuffer.flush();
+            awaitQueueDrained();
+            expected += BENCHMARK_REQUESTS;
+            assertEquals(expected, attractionRepository.findTrafficCountById(attraction.getId()).orElseThrow());
+        }
+    }
+}
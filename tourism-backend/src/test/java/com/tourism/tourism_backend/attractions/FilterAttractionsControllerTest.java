@@ -0,0 +1,206 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class FilterAttractionsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() {
+        attractionRepository.deleteAll();
+        // Fee, traffic count and ratings; Attraction 2 has no reviews
+        save("Attraction 1", 0.0, 50, 5, 4);
+        save("Attraction 2", 0.0, 10);
+        save("Attraction 3", 12.5, 30, 3);
+        save("Attraction 4", 20.0, 30, 5);
+        save("Attraction 5", 40.0, 0, 2, 3);
+        save("Attraction 6", 0.0, 30, 4);
+        save("Attraction 7", 12.5, 40, 4);
+    }
+
+    private void save(String name, double fee, int trafficCount, int... ratings) {
+        Long id = attractionRepository.save(new Attraction(name, "Description", fee, List.of("url"), trafficCount)).getId();
+        for (int rating : ratings) {
+            attractionRepository.addRating(id, rating);
+        }
+    }
+
+    private JsonNode fetchPage(MockHttpServletRequestBuilder request) throws Exception {
+        String response = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return new ObjectMapper().readTree(response);
+    }
+
+    /**
+     * Follows nextCursor, sending the same filter with each page, and returns the names served.
+     */
+    private List<String> fetchAllPages(int size, String... filter) throws Exception {
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/attractions").param("size", String.valueOf(size));
+            for (int i = 0; i < filter.length; i += 2) {
+                request.param(filter[i], filter[i + 1]);
+            }
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = fetchPage(request);
+            page.get("items").forEach(item -> names.add(item.get("name").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+        return names;
+    }
+
+    /**
+     * TC_FILTER_01: A fee range of zero lists the free attractions, in ID order by default.
+     */
+    @Test
+    public void testFilterAttractions_FreeOnly() throws Exception {
+        assertEquals(List.of("Attraction 1", "Attraction 2", "Attraction 6"),
+                fetchAllPages(20, "minFee", "0", "maxFee", "0"));
+    }
+
+    /**
+     * TC_FILTER_02: A fee range is inclusive and pages by fee across equal fees.
+     */
+    @Test
+    public void testFilterAttractions_FeeRangeByFee() throws Exception {
+        assertEquals(List.of("Attraction 3", "Attraction 7", "Attraction 4"),
+                fetchAllPages(1, "minFee", "10", "maxFee", "20", "sort", "entranceFee"));
+        assertEquals(List.of("Attraction 1", "Attraction 2", "Attraction 6", "Attraction 3", "Attraction 7",
+                        "Attraction 4", "Attraction 5"),
+                fetchAllPages(2, "sort", "entranceFee"));
+    }
+
+    /**
+     * TC_FILTER_03: A minimum traffic count pages the busiest first, across equal counts.
+     */
+    @Test
+    public void testFilterAttractions_MinTrafficCount() throws Exception {
+        assertEquals(List.of("Attraction 1", "Attraction 7", "Attraction 6", "Attraction 4", "Attraction 3"),
+                fetchAllPages(2, "minTrafficCount", "30", "sort", "trafficCount"));
+    }
+
+    /**
+     * TC_FILTER_04: Sorting by rating lists the best rated first and unrated attractions last;
+     * a minimum rating leaves unrated attractions out.
+     */
+    @Test
+    public void testFilterAttractions_ByRating() throws Exception {
+        assertEquals(List.of("Attraction 4", "Attraction 1", "Attraction 7", "Attraction 6", "Attraction 3",
+                        "Attraction 5", "Attraction 2"),
+                fetchAllPages(3, "sort", "rating"));
+        assertEquals(List.of("Attraction 4", "Attraction 1", "Attraction 7", "Attraction 6", "Attraction 3",
+                        "Attraction 5"),
+                fetchAllPages(2, "minRating", "2.5", "sort", "rating"));
+        assertEquals(List.of(), fetchAllPages(5, "minRating", "1", "maxFee", "0", "minTrafficCount", "60"));
+    }
+
+    /**
+     * TC_FILTER_05: Combined conditions all apply.
+     */
+    @Test
+    public void testFilterAttractions_Combined() throws Exception {
+        assertEquals(List.of("Attraction 1", "Attraction 7", "Attraction 6"),
+                fetchAllPages(1, "maxFee", "15", "minTrafficCount", "30", "minRating", "4", "sort", "rating"));
+        mockMvc.perform(get("/api/attractions")
+                        .param("maxFee", "15").param("minTrafficCount", "30").param("minRating", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[0].name").value("Attraction 1"))
+                .andExpect(jsonPath("$.items[1].name").value("Attraction 6"))
+                .andExpect(jsonPath("$.items[2].name").value("Attraction 7"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    /**
+     * TC_FILTER_06: Out of range or inconsistent bounds are rejected.
+     */
+    @Test
+    public void testFilterAttractions_InvalidBounds() throws Exception {
+        mockMvc.perform(get("/api/attractions").param("minFee", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Minimum fee must not be negative"));
+
+        mockMvc.perform(get("/api/attractions").param("maxFee", "-0.5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Maximum fee must not be negative"));
+
+        mockMvc.perform(get("/api/attractions").param("minFee", "20").param("maxFee", "10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Minimum fee must not be greater than maximum fee"));
+
+        mockMvc.perform(get("/api/attractions").param("minTrafficCount", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Minimum traffic count must not be negative"));
+
+        mockMvc.perform(get("/api/attractions").param("minRating", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Minimum rating must be between 1 and 5"));
+
+        mockMvc.perform(get("/api/attractions").param("minRating", "NaN"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Minimum rating must be between 1 and 5"));
+    }
+
+    /**
+     * TC_FILTER_07: Rating and fee cursors with a key that is not a finite number are rejected.
+     */
+    @Test
+    public void testFilterAttractions_InvalidCursor() throws Exception {
+        for (String position : List.of("rating:abc:1", "rating:Infinity:1", "entranceFee:NaN:1", "rating:4.5")) {
+            String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes());
+            mockMvc.perform(get("/api/attractions").param("cursor", forged))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("Invalid cursor"));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.services.AttractionSearchService;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.lessThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for GET /api/attractions/search/fuzzy and GET /api/attractions/search/autocomplete.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class FuzzyAttractionLookupControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private AttractionSearchService attractionSearchService;
+
+    private Long sagradaId, familiaId, sagresId;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() {
+        sagradaId = attractionRepository.save(new Attraction("Sagrada Família",
+                "Gaudí's unfinished basilica", 26.0, List.of("sagrada.jpg"))).getId();
+        familiaId = attractionRepository.save(new Attraction("Casa Família Sagrada",
+                "A guesthouse", 0.0, List.of())).getId();
+        sagresId = attractionRepository.save(new Attraction("Sagres Fortress",
+                "Clifftop fortress on the Atlantic", 3.0, List.of())).getId();
+
+        // Changes made in this uncommitted transaction are only picked up by a rebuild
+        attractionSearchService.rebuild();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        attractionSearchService.remove(sagradaId);
+        attractionSearchService.remove(familiaId);
+        attractionSearchService.remove(sagresId);
+    }
+
+    /**
+     * TC_FUZZY_01: A misspelled name finds the attraction, most similar name first.
+     */
+    @Test
+    public void testFuzzyLookup_Misspelling() throws Exception {
+        mockMvc.perform(get("/api/attractions/search/fuzzy").param("q", "sagarda famila"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(sagradaId))
+                .andExpect(jsonPath("$[0].name").value("Sagrada Família"))
+                .andExpect(jsonPath("$[0].score", lessThan(1.0)))
+                .andExpect(jsonPath("$[1].id").value(familiaId));
+
+        mockMvc.perform(get("/api/attractions/search/fuzzy").param("q", "SAGRADA FAMILIA").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(sagradaId))
+                .andExpect(jsonPath("$[0].score").value(1.0));
+    }
+
+    /**
+     * TC_FUZZY_02: Names below the similarity threshold are left out.
+     */
+    @Test
+    public void testFuzzyLookup_Threshold() throws Exception {
+        mockMvc.perform(get("/api/attractions/search/fuzzy").param("q", "sagres fortres"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(sagresId));
+
+        mockMvc.perform(get("/api/attractions/search/fuzzy").param("q", "zqxj"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    /**
+     * TC_FUZZY_03: Autocomplete matches names in which a word starts with the prefix, names
+     * starting with it first.
+     */
+    @Test
+    public void testAutocomplete_WordPrefixes() throws Exception {
+        mockMvc.perform(get("/api/attractions/search/autocomplete").param("q", "sagra"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(sagradaId))
+                .andExpect(jsonPath("$[1].id").value(familiaId));
+
+        mockMvc.perform(get("/api/attractions/search/autocomplete").param("q", "Sagrada Fam"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(sagradaId));
+
+        mockMvc.perform(get("/api/attractions/search/autocomplete").param("q", "sag fam"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    /**
+     * TC_FUZZY_04: Indexing an update or a deletion changes the results right away.
+     */
+    @Test
+    public void testFuzzyLookup_IncrementalUpdates() throws Exception {
+        attractionSearchService.index(sagresId, "Sagrada Tower", "Renamed");
+        mockMvc.perform(get("/api/attractions/search/autocomplete").param("q", "sagrada"))
+                .andExpect(jsonPath("$.length()").value(3));
+        mockMvc.perform(get("/api/attractions/search/fuzzy").param("q", "sagres fortres"))
+                .andExpect(jsonPath("$.length()").value(0));
+
+        attractionSearchService.remove(sagradaId);
+        mockMvc.perform(get("/api/attractions/search/autocomplete").param("q", "sagrada"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(sagresId));
+    }
+
+    /**
+     * TC_FUZZY_05: A query without words or an out-of-range limit is rejected.
+     */
+    @Test
+    public void testFuzzyLookup_InvalidParameters() throws Exception {
+        mockMvc.perform(get("/api/attractions/search/fuzzy"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Query must contain at least one word"));
+
+        mockMvc.perform(get("/api/attractions/search/autocomplete").param("q", "sagr").param("limit", "101"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Limit must be between 1 and 100"));
+    }
+}
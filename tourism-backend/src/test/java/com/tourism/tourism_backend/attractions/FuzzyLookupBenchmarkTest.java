@@ -0,0 +1,107 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.tourism.tourism_backend.util.TrigramIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times fuzzy name lookups and autocompletions on a trigram index of 1M attraction names made
+ * of random proper names and a common kind of place, e.g. "Stumiaros Bralen Castle". Lookups are existing names with one typo; completions are the first
+ * letters of existing names. Prints the median and 99th percentile latency of each.
+ * Run with -Dbenchmarks=true.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class FuzzyLookupBenchmarkTest {
+
+    private static final int NAMES = 1_000_000;
+    private static final int WARMUP_QUERIES = 2_000;
+    private static final int MEASURED_QUERIES = 5_000;
+    private static final String[] ONSETS = {"b", "c", "d", "f", "g", "h", "k", "l", "m", "n", "p", "r", "s", "t",
+            "v", "z", "br", "ch", "st", "tr"};
+    private static final String[] VOWELS = {"a", "e", "i", "o", "u", "ia"};
+    private static final String[] CODAS = {"", "", "", "n", "r", "s", "l", "m"};
+    private static final String[] KINDS = {"Museum", "Castle", "Garden", "Tower", "Bridge", "Cathedral",
+            "Market", "Park", "Palace", "Beach"};
+
+    private final Random random = new Random(42);
+    private final List<String> names = new ArrayList<>(NAMES);
+    private final TrigramIndex index = new TrigramIndex();
+
+    // Proper names of two or three syllables, like "Bralen" or "Stumiaros"
+    private String word() {
+        StringBuilder word = new StringBuilder();
+        int syllables = 2 + random.nextInt(2);
+        for (int i = 0; i < syllables; i++) {
+            word.append(ONSETS[random.nextInt(ONSETS.length)]).append(VOWELS[random.nextInt(VOWELS.length)])
+                    .append(CODAS[random.nextInt(CODAS.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+
+    @BeforeEach
+    public void setup() {
+        for (int i = 0; i < NAMES; i++) {
+            String name = word() + " " + (random.nextBoolean() ? word() + " " : "") + KINDS[random.nextInt(KINDS.length)];
+            names.add(name);
+            index.put(i + 1, name);
+        }
+    }
+
+    private String typo(String name) {
+        StringBuilder typed = new StringBuilder(name.toLowerCase());
+        int at = random.nextInt(typed.length());
+        switch (random.nextInt(3)) {
+            case 0 -> typed.deleteCharAt(at);
+            case 1 -> typed.setCharAt(at, (char) ('a' + random.nextInt(26)));
+            default -> typed.insert(at, (char) ('a' + random.nextInt(26)));
+        }
+        return typed.toString();
+    }
+
+    private double[] time(List<String> queries, Consumer<String> lookup) {
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            lookup.accept(queries.get(i));
+        }
+        long[] nanos = new long[MEASURED_QUERIES];
+        for (int i = 0; i < MEASURED_QUERIES; i++) {
+            long startedAt = System.nanoTime();
+            lookup.accept(queries.get(WARMUP_QUERIES + i));
+            nanos[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(nanos);
+        return new double[]{nanos[MEASURED_QUERIES / 2] / 1_000_000.0, nanos[MEASURED_QUERIES * 99 / 100] / 1_000_000.0};
+    }
+
+    @Test
+    public void benchmarkLookups() {
+        List<String> misspelled = new ArrayList<>(WARMUP_QUERIES + MEASURED_QUERIES);
+        List<String> prefixes = new ArrayList<>(WARMUP_QUERIES + MEASURED_QUERIES);
+        for (int i = 0; i < WARMUP_QUERIES + MEASURED_QUERIES; i++) {
+            String name = names.get(random.nextInt(NAMES));
+            misspelled.add(typo(name));
+            prefixes.add(name.substring(0, Math.min(name.length(), 3 + random.nextInt(8))));
+        }
+
+        double[] lookupMs = time(misspelled, query -> index.lookup(query, 0.3, 10));
+        double[] completeMs = time(prefixes, prefix -> index.complete(prefix, 10));
+        System.out.printf("Trigram index over %d names: fuzzy lookup median %.2f ms, p99 %.2f ms; "
+                        + "autocomplete median %.2f ms, p99 %.2f ms%n",
+                NAMES, lookupMs[0], lookupMs[1], completeMs[0], completeMs[1]);
+
+        assertEquals(NAMES, index.size());
+        assertTrue(lookupMs[1] < 100, "p99 lookup latency was " + lookupMs[1] + " ms");
+        assertTrue(completeMs[1] < 50, "p99 autocomplete latency was " + completeMs[1] + " ms");
+    }
+}
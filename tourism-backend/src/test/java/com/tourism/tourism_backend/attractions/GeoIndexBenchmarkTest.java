@@ -0,0 +1,111 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.tourism.tourism_backend.util.GeoIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times radius and k-nearest-neighbour queries on a geo index of 1M points. Most points are
+ * scattered around a few hundred city centres, as attractions are, and the rest anywhere on
+ * land or sea. Queries are made near random city centres, and a sample is checked against a full
+ * scan. Prints the median and 99th percentile
+ * latency of each kind of query. Run with -Dbenchmarks=true.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class GeoIndexBenchmarkTest {
+
+    private static final int POINTS = 1_000_000;
+    private static final int CITIES = 500;
+    private static final int WARMUP_QUERIES = 2_000;
+    private static final int MEASURED_QUERIES = 10_000;
+
+    private final Random random = new Random(42);
+    private final double[][] cities = new double[CITIES][];
+    private final double[] latitudes = new double[POINTS];
+    private final double[] longitudes = new double[POINTS];
+    private final GeoIndex index = new GeoIndex();
+
+    private double latitude(double value) {
+        return Math.max(-90, Math.min(90, value));
+    }
+
+    private double longitude(double value) {
+        return value > 180 ? value - 360 : value < -180 ? value + 360 : value;
+    }
+
+    @BeforeEach
+    public void setup() {
+        for (int c = 0; c < CITIES; c++) {
+            cities[c] = new double[]{random.nextDouble() * 120 - 60, random.nextDouble() * 360 - 180};
+        }
+        for (int i = 0; i < POINTS; i++) {
+            if (i % 10 == 0) {
+                latitudes[i] = random.nextDouble() * 180 - 90;
+                longitudes[i] = random.nextDouble() * 360 - 180;
+            } else {
+                // Within tens of kilometres of a city centre
+                double[] city = cities[random.nextInt(CITIES)];
+                latitudes[i] = latitude(city[0] + random.nextGaussian() * 0.2);
+                longitudes[i] = longitude(city[1] + random.nextGaussian() * 0.2);
+            }
+            index.put(i, latitudes[i], longitudes[i]);
+        }
+    }
+
+    private double[] time(IntConsumer query) {
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            query.accept(i);
+        }
+        long[] nanos = new long[MEASURED_QUERIES];
+        for (int i = 0; i < MEASURED_QUERIES; i++) {
+            long startedAt = System.nanoTime();
+            query.accept(i);
+            nanos[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(nanos);
+        return new double[]{nanos[MEASURED_QUERIES / 2] / 1_000_000.0, nanos[MEASURED_QUERIES * 99 / 100] / 1_000_000.0};
+    }
+
+    @Test
+    public void benchmarkQueries() {
+        double[][] locations = new double[WARMUP_QUERIES + MEASURED_QUERIES][];
+        for (int i = 0; i < locations.length; i++) {
+            double[] city = cities[random.nextInt(CITIES)];
+            locations[i] = new double[]{latitude(city[0] + random.nextGaussian() * 0.1), longitude(city[1] + random.nextGaussian() * 0.1)};
+        }
+
+        double[] nearestMs = time(i -> index.nearest(locations[i][0], locations[i][1], 10, Double.POSITIVE_INFINITY));
+        double[] radiusMs = time(i -> index.nearest(locations[i][0], locations[i][1], 100, 5_000));
+        System.out.printf("Geo index over %d points: 10 nearest median %.3f ms, p99 %.3f ms; "
+                        + "100 nearest within 5 km median %.3f ms, p99 %.3f ms%n",
+                POINTS, nearestMs[0], nearestMs[1], radiusMs[0], radiusMs[1]);
+
+        assertEquals(POINTS, index.size());
+        // The pruned search finds the same nearest points as a full scan, near the poles too
+        for (int q = 0; q < 20; q++) {
+            double lat = q < 5 ? 85 + random.nextDouble() * 5 : locations[q][0];
+            double lng = q < 5 ? random.nextDouble() * 360 - 180 : locations[q][1];
+            double[] distances = new double[POINTS];
+            for (int i = 0; i < POINTS; i++) {
+                distances[i] = GeoIndex.distance(lat, lng, latitudes[i], longitudes[i]);
+            }
+            Arrays.sort(distances);
+            List<GeoIndex.Neighbour> nearest = index.nearest(lat, lng, 10, Double.POSITIVE_INFINITY);
+            for (int k = 0; k < 10; k++) {
+                assertEquals(distances[k], nearest.get(k).distanceMeters(), 1e-6);
+            }
+        }
+        assertTrue(nearestMs[1] < 10, "p99 nearest latency was " + nearestMs[1] + " ms");
+        assertTrue(radiusMs[1] < 10, "p99 radius latency was " + radiusMs[1] + " ms");
+    }
+}
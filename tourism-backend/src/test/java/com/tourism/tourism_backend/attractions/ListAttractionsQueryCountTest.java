@@ -0,0 +1,172 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.services.AttractionService;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Counts the SQL statements behind the attraction listing. The listing must read the attractions
+ * table once, however many attractions and photos there are, rather than once per attraction.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class ListAttractionsQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private AttractionService attractionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() {
+        attractionRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    private void addAttractions(int count) {
+        List<Attraction> attractions = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            attractions.add(new Attraction("Attraction " + i, "Description " + i, 10.0,
+                    List.of("cover" + i, "photo" + i)));
+        }
+        attractionRepository.saveAll(attractions);
+        // Write the rows and start the request from an empty persistence context
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long countStatements(MockHttpServletRequestBuilder request, int expectedLength, String lengthPath)
+            throws Exception {
+        statistics.clear();
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(lengthPath).value(expectedLength));
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * TC_QC_01: The full listing issues the same number of statements for 5 and 200 attractions.
+     */
+    @Test
+    public void testListAttractions_ConstantQueryCount() throws Exception {
+        addAttractions(5);
+        long small = countStatements(get("/api/attractions"), 5, "$.length()");
+
+        addAttractions(195);
+        long large = countStatements(get("/api/attractions"), 200, "$.length()");
+
+        // The aggregates behind the listing ETag, reread after the write, and the listing itself
+        assertEquals(2, small);
+        assertEquals(small, large);
+    }
+
+    /**
+     * TC_QC_02: A page issues one statement whatever its size.
+     */
+    @Test
+    public void testListAttractionsPage_ConstantQueryCount() throws Exception {
+        addAttractions(150);
+
+        assertEquals(1, countStatements(get("/api/attractions").param("size", "5"), 5, "$.items.length()"));
+        assertEquals(1, countStatements(get("/api/attractions").param("size", "100"), 100, "$.items.length()"));
+    }
+
+    /**
+     * TC_QC_03: The listing carries the first photo as the cover photo.
+     */
+    @Test
+    public void testListAttractions_CoverPhoto() throws Exception {
+        addAttractions(2);
+        attractionRepository.save(new Attraction("No Photos", "Description", 10.0, List.of()));
+
+        mockMvc.perform(get("/api/attractions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].coverPhoto").value("cover1"))
+                .andExpect(jsonPath("$[1].coverPhoto").value("cover2"))
+                .andExpect(jsonPath("$[2].name").value("No Photos"))
+                .andExpect(jsonPath("$[2].coverPhoto").doesNotExist())
+                .andExpect(jsonPath("$[0].photos").doesNotExist());
+    }
+
+    /**
+     * TC_QC_04: Attractions saved before the cover photo was kept get their first photo as cover.
+     */
+    @Test
+    public void testListAttractions_CoverPhotoBackfilled() throws Exception {
+        addAttractions(2);
+        attractionRepository.save(new Attraction("No Photos", "Description", 10.0, List.of()));
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE attractions SET cover_photo = NULL");
+
+        attractionService.backfillCoverPhotos();
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/attractions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].coverPhoto").value("cover1"))
+                .andExpect(jsonPath("$[1].coverPhoto").value("cover2"))
+                .andExpect(jsonPath("$[2].coverPhoto").doesNotExist());
+    }
+}
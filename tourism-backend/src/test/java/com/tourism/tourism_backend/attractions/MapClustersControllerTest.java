@@ -0,0 +1,186 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.services.AttractionGeoService;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for GET /api/attractions/map.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class MapClustersControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private AttractionGeoService attractionGeoService;
+
+    private Long tableMountainId, waterfrontId, robbenIslandId, apartheidMuseumId, suvaId, taveuniId, unmappedId;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    private Long save(String name, Double latitude, Double longitude) {
+        Attraction attraction = new Attraction(name, "Test attraction", 0.0, List.of());
+        attraction.setLatitude(latitude);
+        attraction.setLongitude(longitude);
+        return attractionRepository.save(attraction).getId();
+    }
+
+    @BeforeEach
+    public void setup() {
+        tableMountainId = save("Table Mountain", -33.9628, 18.4098);
+        waterfrontId = save("V&A Waterfront", -33.9036, 18.4207);
+        robbenIslandId = save("Robben Island", -33.8076, 18.3712);
+        apartheidMuseumId = save("Apartheid Museum", -26.2377, 28.0109);
+        suvaId = save("Suva Harbour", -18.1416, 178.4419);
+        taveuniId = save("Taveuni", -16.85, -179.95);
+        unmappedId = save("Unmapped Attraction", null, null);
+
+        // Changes made in this uncommitted transaction are only picked up by a rebuild
+        attractionGeoService.rebuild();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (Long id : List.of(tableMountainId, waterfrontId, robbenIslandId, apartheidMuseumId, suvaId, taveuniId,
+                unmappedId)) {
+            attractionGeoService.remove(id);
+        }
+    }
+
+    /**
+     * TC_MAP_01: Zoomed out, nearby attractions form one cluster with a count at their centroid,
+     * and a lone attraction is returned with its ID and name.
+     */
+    @Test
+    public void testMap_ClustersWhenZoomedOut() throws Exception {
+        mockMvc.perform(get("/api/attractions/map")
+                        .param("south", "-35").param("west", "16").param("north", "-22").param("east", "33")
+                        .param("zoom", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].count").value(3))
+                .andExpect(jsonPath("$[0].attractionId").doesNotExist())
+                .andExpect(jsonPath("$[0].latitude", closeTo(-33.89, 0.01)))
+                .andExpect(jsonPath("$[0].longitude", closeTo(18.40, 0.01)))
+                .andExpect(jsonPath("$[1].count").value(1))
+                .andExpect(jsonPath("$[1].attractionId").value(apartheidMuseumId))
+                .andExpect(jsonPath("$[1].name").value("Apartheid Museum"))
+                .andExpect(jsonPath("$[1].latitude").value(-26.2377));
+
+        mockMvc.perform(get("/api/attractions/map")
+                        .param("south", "-85").param("west", "-180").param("north", "85").param("east", "180")
+                        .param("zoom", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].count").value(4));
+    }
+
+    /**
+     * TC_MAP_02: Zoomed in beyond the deepest cluster level, only the attractions inside the
+     * viewport are returned, one by one.
+     */
+    @Test
+    public void testMap_SinglePointsWhenZoomedIn() throws Exception {
+        mockMvc.perform(get("/api/attractions/map")
+                        .param("south", "-33.91").param("west", "18.41").param("north", "-33.90").param("east", "18.43")
+                        .param("zoom", "17"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].count").value(1))
+                .andExpect(jsonPath("$[0].attractionId").value(waterfrontId))
+                .andExpect(jsonPath("$[0].latitude").value(-33.9036))
+                .andExpect(jsonPath("$[0].longitude").value(18.4207));
+    }
+
+    /**
+     * TC_MAP_03: A viewport whose western edge is east of its eastern edge crosses the antimeridian.
+     */
+    @Test
+    public void testMap_AcrossAntimeridian() throws Exception {
+        mockMvc.perform(get("/api/attractions/map")
+                        .param("south", "-19").param("west", "178").param("north", "-16").param("east", "-179")
+                        .param("zoom", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[?(@.attractionId == " + suvaId + ")]").exists())
+                .andExpect(jsonPath("$[?(@.attractionId == " + taveuniId + ")]").exists());
+    }
+
+    /**
+     * TC_MAP_04: Indexing a new location, a move or a deletion updates the clusters right away.
+     */
+    @Test
+    public void testMap_IncrementalUpdates() throws Exception {
+        attractionGeoService.index(unmappedId, -33.95, 18.41);
+        attractionGeoService.index(apartheidMuseumId, -33.92, 18.42);
+        attractionGeoService.remove(tableMountainId);
+
+        mockMvc.perform(get("/api/attractions/map")
+                        .param("south", "-35").param("west", "16").param("north", "-22").param("east", "33")
+                        .param("zoom", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].count").value(4));
+    }
+
+    /**
+     * TC_MAP_05: Missing or out-of-range parameters are rejected.
+     */
+    @Test
+    public void testMap_InvalidParameters() throws Exception {
+        mockMvc.perform(get("/api/attractions/map")
+                        .param("south", "-35").param("west", "16").param("north", "-22").param("east", "33"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Zoom must be between 0 and 22"));
+
+        mockMvc.perform(get("/api/attractions/map")
+                        .param("south", "-22").param("west", "16").param("north", "-35").param("east", "33")
+                        .param("zoom", "3"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("South must not be greater than north"));
+
+        mockMvc.perform(get("/api/attractions/map")
+                        .param("south", "-95").param("west", "16").param("north", "-22").param("east", "33")
+                        .param("zoom", "3"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Latitude must be between -90 and 90"));
+    }
+}
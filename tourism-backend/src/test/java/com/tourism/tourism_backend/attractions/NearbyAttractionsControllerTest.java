@@ -0,0 +1,188 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.services.AttractionGeoService;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for GET /api/attractions/nearby and GET /api/attractions/nearest.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class NearbyAttractionsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private AttractionGeoService attractionGeoService;
+
+    private Long tableMountainId, waterfrontId, robbenIslandId, apartheidMuseumId, suvaId, taveuniId, unmappedId;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    private Long save(String name, Double latitude, Double longitude) {
+        Attraction attraction = new Attraction(name, "Test attraction", 0.0, List.of());
+        attraction.setLatitude(latitude);
+        attraction.setLongitude(longitude);
+        return attractionRepository.save(attraction).getId();
+    }
+
+    @BeforeEach
+    public void setup() {
+        tableMountainId = save("Table Mountain", -33.9628, 18.4098);
+        waterfrontId = save("V&A Waterfront", -33.9036, 18.4207);
+        robbenIslandId = save("Robben Island", -33.8076, 18.3712);
+        apartheidMuseumId = save("Apartheid Museum", -26.2377, 28.0109);
+        suvaId = save("Suva Harbour", -18.1416, 178.4419);
+        taveuniId = save("Taveuni", -16.85, -179.95);
+        unmappedId = save("Unmapped Attraction", null, null);
+
+        // Changes made in this uncommitted transaction are only picked up by a rebuild
+        attractionGeoService.rebuild();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (Long id : List.of(tableMountainId, waterfrontId, robbenIslandId, apartheidMuseumId, suvaId, taveuniId,
+                unmappedId)) {
+            attractionGeoService.remove(id);
+        }
+    }
+
+    /**
+     * TC_NEARBY_01: A radius query returns the attractions within the radius, nearest first,
+     * with their distances and locations.
+     */
+    @Test
+    public void testNearby_WithinRadius() throws Exception {
+        mockMvc.perform(get("/api/attractions/nearby")
+                        .param("lat", "-33.9628").param("lng", "18.4098").param("radius", "10000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].attraction.id").value(tableMountainId))
+                .andExpect(jsonPath("$[0].distanceMeters").value(0.0))
+                .andExpect(jsonPath("$[1].attraction.id").value(waterfrontId))
+                .andExpect(jsonPath("$[1].attraction.name").value("V&A Waterfront"))
+                .andExpect(jsonPath("$[1].attraction.latitude").value(-33.9036))
+                .andExpect(jsonPath("$[1].attraction.longitude").value(18.4207))
+                .andExpect(jsonPath("$[1].distanceMeters", closeTo(6659, 1)));
+
+        mockMvc.perform(get("/api/attractions/nearby")
+                        .param("lat", "-33.9628").param("lng", "18.4098").param("radius", "20000").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].attraction.id").value(waterfrontId));
+    }
+
+    /**
+     * TC_NEARBY_02: A k-nearest query returns k attractions however far away they are, and never
+     * attractions without a location.
+     */
+    @Test
+    public void testNearest_KNearest() throws Exception {
+        mockMvc.perform(get("/api/attractions/nearest")
+                        .param("lat", "-26.2041").param("lng", "28.0473").param("k", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].attraction.id").value(apartheidMuseumId))
+                .andExpect(jsonPath("$[0].distanceMeters", closeTo(5210, 1)))
+                .andExpect(jsonPath("$[1].attraction.id").value(robbenIslandId))
+                .andExpect(jsonPath("$[2].attraction.id").value(waterfrontId))
+                .andExpect(jsonPath("$[3].attraction.id").value(tableMountainId))
+                .andExpect(jsonPath("$[3].distanceMeters", closeTo(1265312, 1)));
+
+        mockMvc.perform(get("/api/attractions/nearest")
+                        .param("lat", "-26.2041").param("lng", "28.0473").param("k", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.attraction.id == " + unmappedId + ")]").isEmpty());
+    }
+
+    /**
+     * TC_NEARBY_03: Distances are measured across the antimeridian.
+     */
+    @Test
+    public void testNearest_AcrossAntimeridian() throws Exception {
+        mockMvc.perform(get("/api/attractions/nearest")
+                        .param("lat", "-16.9").param("lng", "179.99").param("k", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].attraction.id").value(taveuniId))
+                .andExpect(jsonPath("$[0].distanceMeters", closeTo(8466, 1)))
+                .andExpect(jsonPath("$[1].attraction.id").value(suvaId));
+    }
+
+    /**
+     * TC_NEARBY_04: Indexing a new location or a deletion changes the results right away.
+     */
+    @Test
+    public void testNearby_IncrementalUpdates() throws Exception {
+        attractionGeoService.index(unmappedId, -33.9630, 18.4100);
+        mockMvc.perform(get("/api/attractions/nearest")
+                        .param("lat", "-33.9628").param("lng", "18.4098").param("k", "2"))
+                .andExpect(jsonPath("$[1].attraction.id").value(unmappedId));
+
+        attractionGeoService.index(tableMountainId, null, null);
+        attractionGeoService.remove(unmappedId);
+        mockMvc.perform(get("/api/attractions/nearby")
+                        .param("lat", "-33.9628").param("lng", "18.4098").param("radius", "10000"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].attraction.id").value(waterfrontId));
+    }
+
+    /**
+     * TC_NEARBY_05: Missing or out-of-range parameters are rejected.
+     */
+    @Test
+    public void testNearby_InvalidParameters() throws Exception {
+        mockMvc.perform(get("/api/attractions/nearby").param("lng", "18.4098").param("radius", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Latitude must be between -90 and 90"));
+
+        mockMvc.perform(get("/api/attractions/nearest").param("lat", "-33.9628").param("lng", "181"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Longitude must be between -180 and 180"));
+
+        mockMvc.perform(get("/api/attractions/nearby").param("lat", "-33.9628").param("lng", "18.4098").param("radius", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Radius must be positive and at most 20000000 meters"));
+
+        mockMvc.perform(get("/api/attractions/nearest").param("lat", "-33.9628").param("lng", "18.4098").param("k", "101"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("K must be between 1 and 100"));
+    }
+}
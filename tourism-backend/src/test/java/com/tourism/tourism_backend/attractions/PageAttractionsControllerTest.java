@@ -0,0 +1,188 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class PageAttractionsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() {
+        attractionRepository.deleteAll();
+        // Traffic counts 0, 10, 20, 0, 10, 20, ... so every traffic page boundary falls on ties
+        for (int i = 1; i <= 25; i++) {
+            attractionRepository.save(new Attraction("Attraction " + i, "Description " + i, 10.0,
+                    List.of("url" + i), (i - 1) % 3 * 10));
+        }
+    }
+
+    private JsonNode fetchPage(MockHttpServletRequestBuilder request) throws Exception {
+        String response = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return new ObjectMapper().readTree(response);
+    }
+
+    /**
+     * Follows nextCursor until the last page and returns the names in the order served.
+     */
+    private List<String> fetchAllPages(String sort, int size) throws Exception {
+        List<String> names = new ArrayList<>();
+        JsonNode page = fetchPage(get("/api/attractions").param("sort", sort).param("size", String.valueOf(size)));
+        while (true) {
+            page.get("items").forEach(item -> names.add(item.get("name").asText()));
+            if (page.get("nextCursor").isNull()) {
+                return names;
+            }
+            assertEquals(size, page.get("items").size());
+            page = fetchPage(get("/api/attractions").param("cursor", page.get("nextCursor").asText())
+                    .param("size", String.valueOf(size)));
+        }
+    }
+
+    /**
+     * TC_PAGE_01: Paging by ID serves every attraction once, in creation order.
+     */
+    @Test
+    public void testPageAttractions_ById() throws Exception {
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= 25; i++) {
+            expected.add("Attraction " + i);
+        }
+
+        assertEquals(expected, fetchAllPages("id", 10));
+    }
+
+    /**
+     * TC_PAGE_02: Paging by traffic serves every attraction once, most visited first, across ties.
+     */
+    @Test
+    public void testPageAttractions_ByTrafficCount() throws Exception {
+        List<String> expected = new ArrayList<>();
+        for (int traffic = 20; traffic >= 0; traffic -= 10) {
+            for (int i = 25; i >= 1; i--) {
+                if ((i - 1) % 3 * 10 == traffic) {
+                    expected.add("Attraction " + i);
+                }
+            }
+        }
+
+        assertEquals(expected, fetchAllPages("trafficCount", 4));
+    }
+
+    /**
+     * TC_PAGE_03: A page carries the listing fields and the default size applies.
+     */
+    @Test
+    public void testPageAttractions_FirstPage() throws Exception {
+        mockMvc.perform(get("/api/attractions").param("sort", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(20))
+                .andExpect(jsonPath("$.items[0].name").value("Attraction 1"))
+                .andExpect(jsonPath("$.items[0].shortDescription").value("Description 1"))
+                .andExpect(jsonPath("$.items[0].coverPhoto").value("url1"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    /**
+     * TC_PAGE_04: A page that reaches the end has no next cursor.
+     */
+    @Test
+    public void testPageAttractions_LastPage() throws Exception {
+        mockMvc.perform(get("/api/attractions").param("size", "25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(25))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    /**
+     * TC_PAGE_05: The page size is capped.
+     */
+    @Test
+    public void testPageAttractions_SizeOutOfBounds() throws Exception {
+        mockMvc.perform(get("/api/attractions").param("size", "101"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Size must be between 1 and 100"));
+
+        mockMvc.perform(get("/api/attractions").param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Size must be between 1 and 100"));
+    }
+
+    /**
+     * TC_PAGE_06: Tampered or foreign cursors are rejected.
+     */
+    @Test
+    public void testPageAttractions_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/attractions").param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString("trafficCount:abc".getBytes());
+        mockMvc.perform(get("/api/attractions").param("cursor", forged))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+
+        String idCursor = fetchPage(get("/api/attractions").param("size", "5")).get("nextCursor").asText();
+        mockMvc.perform(get("/api/attractions").param("cursor", idCursor).param("sort", "trafficCount"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Cursor does not match sort: trafficCount"));
+    }
+
+    /**
+     * TC_PAGE_07: Unknown sort orders are rejected.
+     */
+    @Test
+    public void testPageAttractions_InvalidSort() throws Exception {
+        mockMvc.perform(get("/api/attractions").param("sort", "name"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unsupported sort: name"));
+    }
+}
@@ -0,0 +1,162 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.services.AttractionSearchService;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for GET /api/attractions/search.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class SearchAttractionsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private AttractionSearchService attractionSearchService;
+
+    private Long harbourId, museumId, gardenId;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() {
+        harbourId = attractionRepository.save(new Attraction("Harbour Walk",
+                "A walk along the old harbour with views of the Maritime Museum", 0.0, List.of("harbour.jpg"))).getId();
+        museumId = attractionRepository.save(new Attraction("Maritime Museum",
+                "Ships, maps and the history of the harbour", 12.5, List.of("museum.jpg"))).getId();
+        gardenId = attractionRepository.save(new Attraction("Café Botanical Garden",
+                "Gardens and a café in the city centre", 5.0, List.of())).getId();
+
+        // Changes made in this uncommitted transaction are only picked up by a rebuild
+        attractionSearchService.rebuild();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        attractionSearchService.remove(harbourId);
+        attractionSearchService.remove(museumId);
+        attractionSearchService.remove(gardenId);
+    }
+
+    /**
+     * TC_SEARCH_01: Matches in the name rank above matches in the description.
+     */
+    @Test
+    public void testSearch_NameMatchesRankFirst() throws Exception {
+        mockMvc.perform(get("/api/attractions/search").param("q", "museum"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.query").value("museum"))
+                .andExpect(jsonPath("$.totalMatches").value(2))
+                .andExpect(jsonPath("$.items[0].attraction.id").value(museumId))
+                .andExpect(jsonPath("$.items[0].attraction.name").value("Maritime Museum"))
+                .andExpect(jsonPath("$.items[0].attraction.coverPhoto").value("museum.jpg"))
+                .andExpect(jsonPath("$.items[1].attraction.id").value(harbourId))
+                .andExpect(jsonPath("$.items[0].score").isNumber());
+    }
+
+    /**
+     * TC_SEARCH_02: Every word of the query must match, in any case and with or without accents.
+     */
+    @Test
+    public void testSearch_AllWordsMatchIgnoringCaseAndAccents() throws Exception {
+        mockMvc.perform(get("/api/attractions/search").param("q", "HARBOUR maps"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMatches").value(1))
+                .andExpect(jsonPath("$.items[0].attraction.id").value(museumId));
+
+        mockMvc.perform(get("/api/attractions/search").param("q", "cafe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMatches").value(1))
+                .andExpect(jsonPath("$.items[0].attraction.id").value(gardenId));
+
+        mockMvc.perform(get("/api/attractions/search").param("q", "harbour volcano"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMatches").value(0))
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    /**
+     * TC_SEARCH_03: The limit caps the items but not the number of matches.
+     */
+    @Test
+    public void testSearch_Limit() throws Exception {
+        mockMvc.perform(get("/api/attractions/search").param("q", "harbour").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMatches").value(2))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].attraction.id").value(harbourId));
+    }
+
+    /**
+     * TC_SEARCH_04: Indexing an update or a deletion changes the results right away.
+     */
+    @Test
+    public void testSearch_IncrementalUpdates() throws Exception {
+        attractionSearchService.index(gardenId, "Botanical Garden", "Palms next to the harbour");
+        mockMvc.perform(get("/api/attractions/search").param("q", "harbour"))
+                .andExpect(jsonPath("$.totalMatches").value(3));
+        mockMvc.perform(get("/api/attractions/search").param("q", "cafe"))
+                .andExpect(jsonPath("$.totalMatches").value(0));
+
+        attractionSearchService.remove(harbourId);
+        mockMvc.perform(get("/api/attractions/search").param("q", "harbour"))
+                .andExpect(jsonPath("$.totalMatches").value(2))
+                .andExpect(jsonPath("$.items[*].attraction.id", containsInAnyOrder(
+                        museumId.intValue(), gardenId.intValue())));
+    }
+
+    /**
+     * TC_SEARCH_05: A query without words or an out-of-range limit is rejected.
+     */
+    @Test
+    public void testSearch_InvalidParameters() throws Exception {
+        mockMvc.perform(get("/api/attractions/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Query must contain at least one word"));
+
+        mockMvc.perform(get("/api/attractions/search").param("q", " - "))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/attractions/search").param("q", "harbour").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Limit must be between 1 and 100"));
+    }
+}
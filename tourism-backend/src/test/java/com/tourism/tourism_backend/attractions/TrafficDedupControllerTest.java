@@ -0,0 +1,209 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.UserRepository;
+import com.tourism.tourism_backend.services.TrafficDeduplicator;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "traffic.dedup.enabled=true",
+        "traffic.dedup.window-seconds=3600",
+        "traffic.dedup.expected-keys-per-window=10000"
+})
+@AutoConfigureMockMvc
+@Transactional
+public class TrafficDedupControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TrafficDeduplicator trafficDeduplicator;
+
+    private String adminJwtToken;
+    private String userJwtToken;
+
+    private Attraction attraction1;
+    private Attraction attraction2;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        attraction1 = attractionRepository.save(new Attraction("Kirstenbosch", "Botanical garden", 220.0, null));
+        attraction2 = attractionRepository.save(new Attraction("Chapman's Peak", "Coastal drive", 65.0, null));
+
+        userRepository.save(new AppUser("Admin", "admin@example.com", new BCryptPasswordEncoder().encode("admin123"), "ADMIN"));
+        adminJwtToken = "Bearer " + obtainJwtToken("admin@example.com", "admin123");
+
+        userRepository.save(new AppUser("User", "user@example.com", new BCryptPasswordEncoder().encode("user123"), "USER"));
+        userJwtToken = "Bearer " + obtainJwtToken("user@example.com", "user123");
+    }
+
+    private String obtainJwtToken(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response).get("token").asText();
+    }
+
+    /**
+     * TC_POS_01: Repeated clicks by the same user within the window count once.
+     */
+    @Test
+    public void testDedup_RepeatedClicksCountOnce() throws Exception {
+        long suppressedBefore = trafficDeduplicator.getMetrics().getSuppressedHits();
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/attractions/" + attraction1.getId() + "/traffic")
+                    .header("Authorization", userJwtToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.trafficCount").value(1));
+        }
+
+        assertEquals(suppressedBefore + 2, trafficDeduplicator.getMetrics().getSuppressedHits());
+    }
+
+    /**
+     * TC_POS_02: Different users and different attractions are counted separately.
+     */
+    @Test
+    public void testDedup_KeyedByUserAndAttraction() throws Exception {
+        mockMvc.perform(post("/api/attractions/" + attraction1.getId() + "/traffic")
+                .header("Authorization", userJwtToken))
+                .andExpect(jsonPath("$.trafficCount").value(1));
+        mockMvc.perform(post("/api/attractions/" + attraction1.getId() + "/traffic")
+                .header("Authorization", adminJwtToken))
+                .andExpect(jsonPath("$.trafficCount").value(2));
+        mockMvc.perform(post("/api/attractions/" + attraction2.getId() + "/traffic")
+                .header("Authorization", userJwtToken))
+                .andExpect(jsonPath("$.trafficCount").value(1));
+    }
+
+    /**
+     * TC_POS_03: A click counts again once it has aged out of both filter generations.
+     */
+    @Test
+    public void testDedup_CountsAgainAfterWindow() throws Exception {
+        mockMvc.perform(post("/api/attractions/" + attraction1.getId() + "/traffic")
+                .header("Authorization", userJwtToken))
+                .andExpect(jsonPath("$.trafficCount").value(1));
+
+        // Still suppressed one rotation later, forgotten after the second
+        trafficDeduplicator.rotate();
+        mockMvc.perform(post("/api/attractions/" + attraction1.getId() + "/traffic")
+                .header("Authorization", userJwtToken))
+                .andExpect(jsonPath("$.trafficCount").value(1));
+
+        trafficDeduplicator.rotate();
+        mockMvc.perform(post("/api/attractions/" + attraction1.getId() + "/traffic")
+                .header("Authorization", userJwtToken))
+                .andExpect(jsonPath("$.trafficCount").value(2));
+    }
+
+    /**
+     * TC_POS_04: A batch counts each attraction at most once per window.
+     */
+    @Test
+    public void testDedup_BatchCountsEachAttractionOnce() throws Exception {
+        String batch = "{\"items\": [{\"attractionId\": " + attraction1.getId() + ", \"count\": 5}, "
+                + "{\"attractionId\": " + attraction2.getId() + ", \"count\": 1}]}";
+
+        mockMvc.perform(post("/api/attractions/traffic/batch")
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].trafficCount").value(1))
+                .andExpect(jsonPath("$.results[1].trafficCount").value(1));
+
+        mockMvc.perform(post("/api/attractions/traffic/batch")
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].found").value(true))
+                .andExpect(jsonPath("$.results[0].trafficCount").value(1))
+                .andExpect(jsonPath("$.results[1].trafficCount").value(1));
+    }
+
+    /**
+     * TC_POS_05: The metrics endpoint reports the suppressed hits.
+     */
+    @Test
+    public void testDedup_MetricsReportSuppressedHits() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/attractions/" + attraction2.getId() + "/traffic")
+                    .header("Authorization", userJwtToken))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/admin/metrics/traffic-dedup")
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.windowSeconds").value(3600))
+                .andExpect(jsonPath("$.suppressedHits").isNumber())
+                .andExpect(jsonPath("$.memoryBytes").isNumber());
+    }
+
+    /**
+     * TC_NEG_01: A missing attraction still returns 404 for a repeated click, and is not
+     * remembered in the window.
+     */
+    @Test
+    public void testDedup_UnknownAttraction() throws Exception {
+        long keysBefore = trafficDeduplicator.getMetrics().getKeysInCurrentWindow();
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/attractions/9999/traffic")
+                    .header("Authorization", userJwtToken))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.error").value("Attraction not found with ID: 9999"));
+        }
+        assertEquals(keysBefore, trafficDeduplicator.getMetrics().getKeysInCurrentWindow());
+    }
+}
@@ -0,0 +1,181 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.UserRepository;
+import com.tourism.tourism_backend.services.TrafficCounterBuffer;
+import com.tourism.tourism_backend.services.TrafficIngestionQueue;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Exercises de-duplication together with a full ingestion queue. Not transactional: the queue
+ * consumer writes on its own thread and must see the committed attractions.
+ */
+@SpringBootTest(properties = {
+        "traffic.ingestion.mode=QUEUE",
+        "traffic.queue.capacity=1",
+        "traffic.dedup.enabled=true",
+        "traffic.dedup.window-seconds=3600",
+        "traffic.dedup.expected-keys-per-window=10000"
+})
+@AutoConfigureMockMvc
+public class TrafficDedupQueueControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TrafficIngestionQueue trafficIngestionQueue;
+
+    @Autowired
+    private TrafficCounterBuffer trafficCounterBuffer;
+
+    private Attraction attraction;
+    private Attraction otherAttraction;
+    private AppUser user;
+    private String userJwtToken;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        attraction = attractionRepository.save(new Attraction("Boulders Beach", "Penguin colony", 190.0, null));
+        otherAttraction = attractionRepository.save(new Attraction("Chapman's Peak", "Coastal drive", 64.0, null));
+        // A fresh user per test, so no click is remembered from an earlier test
+        String email = "dedup.queue." + System.nanoTime() + "@example.com";
+        user = userRepository.save(new AppUser("Dedup Queue Tester", email,
+                new BCryptPasswordEncoder().encode("dedup123"), "USER"));
+        userJwtToken = "Bearer " + obtainJwtToken(email, "dedup123");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        trafficIngestionQueue.start();
+        awaitDrained();
+        trafficCounterBuffer.discard(attraction.getId());
+        trafficCounterBuffer.discard(otherAttraction.getId());
+        attractionRepository.deleteById(attraction.getId());
+        attractionRepository.deleteById(otherAttraction.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    private String obtainJwtToken(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response).get("token").asText();
+    }
+
+    private void awaitDrained() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((trafficIngestionQueue.pendingFor(attraction.getId()) > 0
+                || trafficIngestionQueue.pendingFor(otherAttraction.getId()) > 0)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    // Pauses the consumer and takes the only queue slot with a click on the other attraction
+    private void fillQueue() throws Exception {
+        trafficIngestionQueue.stop();
+        mockMvc.perform(post("/api/attractions/" + otherAttraction.getId() + "/traffic")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * TC_NEG_01: A click turned away by a full queue counts when it is retried, and only once.
+     */
+    @Test
+    public void testDedupQueue_RetriedClickCounted() throws Exception {
+        fillQueue();
+
+        mockMvc.perform(post("/api/attractions/" + attraction.getId() + "/traffic")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+
+        trafficIngestionQueue.start();
+        awaitDrained();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/attractions/" + attraction.getId() + "/traffic")
+                    .header("Authorization", userJwtToken))
+                    .andExpect(status().isOk());
+            awaitDrained();
+        }
+
+        assertEquals(1, attractionRepository.findTrafficCountById(attraction.getId()).orElseThrow());
+    }
+
+    /**
+     * TC_NEG_02: A batch turned away by a full queue counts when it is retried, and only once.
+     */
+    @Test
+    public void testDedupQueue_RetriedBatchCounted() throws Exception {
+        fillQueue();
+        String batch = "{\"items\": [{\"attractionId\": " + attraction.getId() + ", \"count\": 3}]}";
+
+        mockMvc.perform(post("/api/attractions/traffic/batch")
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch))
+                .andExpect(status().isServiceUnavailable());
+
+        trafficIngestionQueue.start();
+        awaitDrained();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/attractions/traffic/batch")
+                    .header("Authorization", userJwtToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(batch))
+                    .andExpect(status().isOk());
+            awaitDrained();
+        }
+
+        assertEquals(1, attractionRepository.findTrafficCountById(attraction.getId()).orElseThrow());
+    }
+}
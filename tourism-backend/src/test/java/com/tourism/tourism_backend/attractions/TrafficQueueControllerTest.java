@@ -0,0 +1,176 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.UserRepository;
+import com.tourism.tourism_backend.services.TrafficCounterBuffer;
+import com.tourism.tourism_backend.services.TrafficIngestionQueue;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Exercises the QUEUE ingestion mode with a tiny queue. Not transactional: the queue consumer
+ * writes on its own thread and must see the committed attraction.
+ */
+@SpringBootTest(properties = {
+        "traffic.ingestion.mode=QUEUE",
+        "traffic.queue.capacity=3",
+        "traffic.queue.retry-after-seconds=2"
+})
+@AutoConfigureMockMvc
+public class TrafficQueueControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TrafficIngestionQueue trafficIngestionQueue;
+
+    @Autowired
+    private TrafficCounterBuffer trafficCounterBuffer;
+
+    private Attraction attraction;
+    private AppUser user;
+    private String userJwtToken;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        attraction = attractionRepository.save(new Attraction("Cape Point", "Southwestern tip of the peninsula", 376.0, null));
+        user = userRepository.save(new AppUser("Queue Tester", "queue.tester@example.com",
+                new BCryptPasswordEncoder().encode("queue123"), "USER"));
+        userJwtToken = "Bearer " + obtainJwtToken("queue.tester@example.com", "queue123");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        trafficIngestionQueue.start();
+        awaitDrained();
+        trafficCounterBuffer.discard(attraction.getId());
+        attractionRepository.deleteById(attraction.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    private String obtainJwtToken(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response).get("token").asText();
+    }
+
+    private void awaitDrained() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (trafficIngestionQueue.pendingFor(attraction.getId()) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * TC_POS_01: Queued clicks are acknowledged immediately and written by the consumer.
+     */
+    @Test
+    public void testQueuedTraffic_WrittenByConsumer() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            mockMvc.perform(post("/api/attractions/" + attraction.getId() + "/traffic")
+                    .header("Authorization", userJwtToken))
+                    .andExpect(status().isOk());
+            awaitDrained();
+        }
+
+        assertEquals(5, attractionRepository.findTrafficCountById(attraction.getId()).orElseThrow());
+    }
+
+    /**
+     * TC_NEG_01: A full queue rejects clicks with 503 and Retry-After, and keeps what it accepted.
+     */
+    @Test
+    public void testQueuedTraffic_FullQueueRejected() throws Exception {
+        trafficIngestionQueue.stop();
+        long droppedBefore = trafficIngestionQueue.getMetrics().getDroppedCount();
+
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/api/attractions/" + attraction.getId() + "/traffic")
+                    .header("Authorization", userJwtToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.trafficCount").value(i));
+        }
+
+        mockMvc.perform(post("/api/attractions/" + attraction.getId() + "/traffic")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").value("Too much traffic, please retry later"));
+
+        assertEquals(3, trafficIngestionQueue.getMetrics().getDepth());
+        assertEquals(droppedBefore + 1, trafficIngestionQueue.getMetrics().getDroppedCount());
+
+        trafficIngestionQueue.start();
+        awaitDrained();
+
+        assertEquals(3, attractionRepository.findTrafficCountById(attraction.getId()).orElseThrow());
+    }
+
+    /**
+     * TC_NEG_02: A batch is rejected as a whole when the queue is full.
+     */
+    @Test
+    public void testQueuedBatch_FullQueueRejected() throws Exception {
+        trafficIngestionQueue.stop();
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/attractions/" + attraction.getId() + "/traffic")
+                    .header("Authorization", userJwtToken))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(post("/api/attractions/traffic/batch")
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\": [{\"attractionId\": " + attraction.getId() + ", \"count\": 4}]}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+
+        assertEquals(3, trafficIngestionQueue.pendingFor(attraction.getId()));
+    }
+}
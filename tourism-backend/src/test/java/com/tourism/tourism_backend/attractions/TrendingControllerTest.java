@@ -0,0 +1,221 @@
+package com.tourism.tourism_backend.attractions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.models.TrafficGranularity;
+import com.tourism.tourism_backend.models.TrafficRollup;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.TrafficRollupRepository;
+import com.tourism.tourism_backend.repositories.UserRepository;
+import com.tourism.tourism_backend.services.TrendingService;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class TrendingControllerTest {
+
+    private static final long HOUR_MS = 3_600_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TrafficRollupRepository trafficRollupRepository;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    private String adminJwtToken;
+    private String userJwtToken;
+
+    private Attraction attraction1;
+    private Attraction attraction2;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        // Start every test from an empty ranking (rollups are rolled back with the test transaction)
+        trafficRollupRepository.deleteAll();
+        trendingService.rebuild();
+
+        attraction1 = attractionRepository.save(new Attraction("V&A Waterfront", "Harbour precinct", 0.0, null));
+        attraction2 = attractionRepository.save(new Attraction("Bo-Kaap", "Colourful neighbourhood", 0.0, null));
+
+        userRepository.save(new AppUser("Admin", "admin@example.com", new BCryptPasswordEncoder().encode("admin123"), "ADMIN"));
+        adminJwtToken = "Bearer " + obtainJwtToken("admin@example.com", "admin123");
+
+        userRepository.save(new AppUser("User", "user@example.com", new BCryptPasswordEncoder().encode("user123"), "USER"));
+        userJwtToken = "Bearer " + obtainJwtToken("user@example.com", "user123");
+    }
+
+    private String obtainJwtToken(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response).get("token").asText();
+    }
+
+    /**
+     * TC_POS_01: Clicks rank attractions by their recent traffic.
+     */
+    @Test
+    public void testTrending_RankedByClicks() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/attractions/" + attraction2.getId() + "/traffic")
+                    .header("Authorization", userJwtToken))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/api/attractions/" + attraction1.getId() + "/traffic")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/attractions/trending")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Bo-Kaap"))
+                .andExpect(jsonPath("$[0].score", closeTo(3.0, 0.01), Double.class))
+                .andExpect(jsonPath("$[1].name").value("V&A Waterfront"));
+    }
+
+    /**
+     * TC_POS_02: Old traffic decays, so a recent click outranks many older ones.
+     */
+    @Test
+    public void testTrending_OldTrafficDecays() throws Exception {
+        long now = System.currentTimeMillis();
+        // Five half-lives ago 10 hits are worth 10 / 32 of a hit today
+        trendingService.record(attraction1.getId(), 10, now - 5 * HOUR_MS);
+        trendingService.record(attraction2.getId(), 1, now);
+
+        mockMvc.perform(get("/api/attractions/trending")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].attractionId").value(attraction2.getId()))
+                .andExpect(jsonPath("$[1].attractionId").value(attraction1.getId()))
+                .andExpect(jsonPath("$[1].score", closeTo(10.0 / 32, 0.01), Double.class));
+    }
+
+    /**
+     * TC_POS_03: The ranking is rebuilt from the hourly rollups, e.g. after a restart.
+     */
+    @Test
+    public void testTrending_RebuiltFromRollups() throws Exception {
+        LocalDateTime currentHour = TrafficGranularity.HOUR.bucketStart(LocalDateTime.now());
+        trafficRollupRepository.saveAll(List.of(
+                new TrafficRollup(attraction1.getId(), TrafficGranularity.HOUR, currentHour.minusHours(8), 100),
+                new TrafficRollup(attraction2.getId(), TrafficGranularity.HOUR, currentHour.minusHours(1), 5)
+        ));
+
+        trendingService.rebuild();
+
+        mockMvc.perform(get("/api/attractions/trending")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Bo-Kaap"))
+                .andExpect(jsonPath("$[1].name").value("V&A Waterfront"));
+    }
+
+    /**
+     * TC_POS_04: The limit caps the number of returned attractions.
+     */
+    @Test
+    public void testTrending_Limit() throws Exception {
+        trendingService.record(attraction1.getId(), 2);
+        trendingService.record(attraction2.getId(), 1);
+
+        mockMvc.perform(get("/api/attractions/trending?limit=1")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("V&A Waterfront"));
+    }
+
+    /**
+     * TC_POS_05: A deleted attraction leaves the ranking.
+     */
+    @Test
+    public void testTrending_DeletedAttractionRemoved() throws Exception {
+        trendingService.record(attraction1.getId(), 2);
+        trendingService.record(attraction2.getId(), 1);
+
+        mockMvc.perform(delete("/api/attractions/" + attraction1.getId())
+                .header("Authorization", adminJwtToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/attractions/trending")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Bo-Kaap"));
+    }
+
+    /**
+     * TC_NEG_01: A limit outside the supported range is rejected.
+     */
+    @Test
+    public void testTrending_InvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/attractions/trending?limit=0")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Limit must be between 1 and 100"));
+    }
+
+    /**
+     * TC_NEG_02: The trending list requires authentication.
+     */
+    @Test
+    public void testTrending_Unauthorized() throws Exception {
+        mockMvc.perform(get("/api/attractions/trending"))
+                .andExpect(status().isUnauthorized());
+    }
+}
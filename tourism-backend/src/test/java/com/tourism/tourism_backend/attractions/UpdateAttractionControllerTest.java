@@ -7,6 +7,7 @@ import com.tourism.tourism_backend.repositories.AttractionRepository;
 import com.tourism.tourism_backend.repositories.UserRepository;
 
 import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.persistence.EntityManager;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,10 +16,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -43,6 +47,12 @@ public class UpdateAttractionControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private String adminJwtToken;
 
     private Long attractionId;
@@ -576,4 +586,87 @@ public class UpdateAttractionControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Entrance fee must be a positive number"));
     }
+
+    /**
+     * TC_CORNER_07: Clicks flushed while the attraction is being edited are not overwritten by
+     * the traffic count the update read.
+     */
+    @Test
+    public void testUpdateAttraction_KeepsConcurrentTraffic() throws Exception {
+        entityManager.flush();
+        attractionRepository.incrementTrafficCounts(Map.of(attractionId, 5L));
+
+        mockMvc.perform(put("/api/attractions/" + attractionId)
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"New Name\"}"))
+                .andExpect(status().isOk());
+        entityManager.flush();
+        entityManager.clear();
+
+        Attraction updated = attractionRepository.findById(attractionId).orElseThrow();
+        assertEquals("New Name", updated.getName());
+        assertEquals(5, updated.getTrafficCount());
+    }
+
+    /**
+     * TC_CORNER_08: A review committed while the attraction is being edited is not overwritten by
+     * the rating aggregates the update read.
+     */
+    @Test
+    public void testUpdateAttraction_KeepsConcurrentReview() throws Exception {
+        entityManager.flush();
+        // Another transaction's review, behind the back of this persistence context
+        jdbcTemplate.update("UPDATE attractions SET review_count = review_count + 1, rating_sum = rating_sum + 4, "
+                + "four_star_count = four_star_count + 1, rating_average = 4 WHERE id = ?", attractionId);
+
+        mockMvc.perform(put("/api/attractions/" + attractionId)
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"New Name\"}"))
+                .andExpect(status().isOk());
+        entityManager.flush();
+        entityManager.clear();
+
+        Attraction updated = attractionRepository.findById(attractionId).orElseThrow();
+        assertEquals("New Name", updated.getName());
+        assertEquals(1, updated.getReviewCount());
+        assertEquals(4.0, updated.getAverageRating());
+        assertArrayEquals(new int[]{0, 0, 0, 1, 0}, updated.getRatingHistogram());
+        assertEquals(4.0, updated.getRatingAverage());
+    }
+
+    /**
+     * TC_CORNER_09: Rating fields in the request body are ignored; they are response-only.
+     */
+    @Test
+    public void testUpdateAttraction_RatingFieldsReadOnly() throws Exception {
+        mockMvc.perform(put("/api/attractions/" + attractionId)
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"New Name\", \"reviewCount\": 99, \"averageRating\": 5.0, "
+                        + "\"ratingHistogram\": [0, 0, 0, 0, 99]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("New Name"))
+                .andExpect(jsonPath("$.reviewCount").value(0))
+                .andExpect(jsonPath("$.averageRating").doesNotExist());
+    }
+
+    /**
+     * TC_CORNER_10: An update of an attraction that was changed after it was read is rejected
+     * with 409 instead of overwriting the change.
+     */
+    @Test
+    public void testUpdateAttraction_ConcurrentChange() throws Exception {
+        entityManager.flush();
+        // Another transaction's change, behind the back of this persistence context
+        jdbcTemplate.update("UPDATE attractions SET version = version + 1 WHERE id = ?", attractionId);
+
+        mockMvc.perform(put("/api/attractions/" + attractionId)
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"New Name\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("The resource was changed by another request, please retry"));
+    }
 }
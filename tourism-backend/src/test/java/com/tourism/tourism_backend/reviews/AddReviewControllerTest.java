@@ -21,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -350,6 +351,68 @@ public class AddReviewControllerTest {
         }
     }
 
+    private void addReview(Long attractionId, int rating) throws Exception {
+        mockMvc.perform(post("/api/reviews/attraction/" + attractionId)
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"rating\": " + rating + ", \"comment\": \"Rated " + rating + "\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    public void testAddReview_UpdatesRatingAggregates() throws Exception {
+        addReview(attractionId1, 5);
+        addReview(attractionId1, 4);
+        addReview(attractionId1, 4);
+        addReview(attractionId1, 1);
+
+        mockMvc.perform(get("/api/attractions/" + attractionId1)
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount").value(4))
+                .andExpect(jsonPath("$.averageRating").value(3.5))
+                .andExpect(jsonPath("$.ratingHistogram[0]").value(1))
+                .andExpect(jsonPath("$.ratingHistogram[1]").value(0))
+                .andExpect(jsonPath("$.ratingHistogram[2]").value(0))
+                .andExpect(jsonPath("$.ratingHistogram[3]").value(2))
+                .andExpect(jsonPath("$.ratingHistogram[4]").value(1));
+
+        mockMvc.perform(get("/api/attractions")
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + attractionId1 + ")].reviewCount").value(4))
+                .andExpect(jsonPath("$[?(@.id == " + attractionId1 + ")].averageRating").value(3.5))
+                .andExpect(jsonPath("$[?(@.id == " + attractionId2 + ")].reviewCount").value(0));
+    }
+
+    @Test
+    public void testAddReview_NoReviewsHasNoAverage() throws Exception {
+        mockMvc.perform(get("/api/attractions/" + attractionId2)
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount").value(0))
+                .andExpect(jsonPath("$.averageRating").doesNotExist())
+                .andExpect(jsonPath("$.ratingHistogram.length()").value(5));
+    }
+
+    @Test
+    public void testAddReview_InvalidReviewLeavesAggregatesUnchanged() throws Exception {
+        addReview(attractionId3, 2);
+
+        mockMvc.perform(post("/api/reviews/attraction/" + attractionId3)
+                .header("Authorization", userJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"rating\": 6, \"comment\": \"Too high\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/attractions/" + attractionId3)
+                .header("Authorization", userJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewCount").value(1))
+                .andExpect(jsonPath("$.averageRating").value(2.0))
+                .andExpect(jsonPath("$.ratingHistogram[1]").value(1));
+    }
+
     // @Test
     // public void testAddReview_FloatingPointRating() throws Exception {
     //     String requestBody = """
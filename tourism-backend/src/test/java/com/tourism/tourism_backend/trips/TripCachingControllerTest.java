@@ -0,0 +1,201 @@
+package com.tourism.tourism_backend.trips;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tourism.tourism_backend.models.AppUser;
+import com.tourism.tourism_backend.models.Attraction;
+import com.tourism.tourism_backend.models.Trip;
+import com.tourism.tourism_backend.repositories.AttractionRepository;
+import com.tourism.tourism_backend.repositories.TripRepository;
+import com.tourism.tourism_backend.repositories.UserRepository;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Checks the ETag and Last-Modified validators of the trip list and detail endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class TripCachingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AttractionRepository attractionRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String adminJwtToken;
+    private Long attractionId1, attractionId2;
+    private Long tripId;
+
+    @BeforeAll
+    static void setUp() {
+        // Load the .env.test file
+        String envFile = System.getProperty("TEST_ENV", ".env.test");
+        Dotenv dotenv = Dotenv.configure().filename(envFile).load();
+
+        // Set system properties for testing
+        System.setProperty("server.port", dotenv.get("SERVER_PORT"));
+        System.setProperty("spring.datasource.url", dotenv.get("DB_URL"));
+        System.setProperty("spring.datasource.username", dotenv.get("DB_USERNAME"));
+        System.setProperty("spring.datasource.password", dotenv.get("DB_PASSWORD"));
+        System.setProperty("jwt.secret", dotenv.get("JWT_SECRET"));
+        System.setProperty("jwt.expiration.ms", dotenv.get("JWT_EXPIRATION_MS"));
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        Attraction attraction1 = attractionRepository.save(new Attraction("Attraction 1", "Description 1", 10.0, List.of("photo1")));
+        Attraction attraction2 = attractionRepository.save(new Attraction("Attraction 2", "Description 2", 15.0, List.of("photo2")));
+        attractionId1 = attraction1.getId();
+        attractionId2 = attraction2.getId();
+        tripId = tripRepository.save(new Trip("Trip 1", List.of("Day 1", "Day 2"), List.of(attraction1))).getId();
+
+        userRepository.save(new AppUser("Admin", "admin@example.com", new BCryptPasswordEncoder().encode("admin123"), "ADMIN"));
+        adminJwtToken = "Bearer " + obtainJwtToken("admin@example.com", "admin123");
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    private String obtainJwtToken(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"" + email + "\", \"password\": \"" + password + "\" }"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return new ObjectMapper().readTree(response).get("token").asText();
+    }
+
+    private String fetchEtag(String url) throws Exception {
+        return mockMvc.perform(get(url).header("Authorization", adminJwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+    /**
+     * TC_TRIP_CACHE_01: Matching If-None-Match headers are answered with 304 without loading trips.
+     */
+    @Test
+    public void testTrips_NotModified() throws Exception {
+        String listEtag = fetchEtag("/api/trips");
+        String detailEtag = fetchEtag("/api/trips/" + tripId);
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        mockMvc.perform(get("/api/trips")
+                .header("Authorization", adminJwtToken)
+                .header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/trips/" + tripId)
+                .header("Authorization", adminJwtToken)
+                .header(HttpHeaders.IF_NONE_MATCH, detailEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertEquals(0, statistics.getEntityStatistics(Trip.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(Attraction.class.getName()).getLoadCount());
+    }
+
+    /**
+     * TC_TRIP_CACHE_02: Changing only a trip's attraction list changes its ETags.
+     */
+    @Test
+    public void testTrips_EtagChangesWithAttractionList() throws Exception {
+        String listEtag = fetchEtag("/api/trips");
+        String detailEtag = fetchEtag("/api/trips/" + tripId);
+
+        mockMvc.perform(put("/api/trips/" + tripId)
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {
+                        "name": "Trip 1",
+                        "duration": ["Day 1", "Day 2"],
+                        "attractionIds": [%d, %d]
+                    }
+                """.formatted(attractionId1, attractionId2)))
+                .andExpect(status().isOk());
+
+        assertNotEquals(listEtag, fetchEtag("/api/trips"));
+        assertNotEquals(detailEtag, fetchEtag("/api/trips/" + tripId));
+    }
+
+    /**
+     * TC_TRIP_CACHE_03: Editing an embedded attraction changes the trip ETags.
+     */
+    @Test
+    public void testTrips_EtagChangesWithEmbeddedAttraction() throws Exception {
+        String detailEtag = fetchEtag("/api/trips/" + tripId);
+
+        mockMvc.perform(put("/api/attractions/" + attractionId2)
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Not In Trip\"}"))
+                .andExpect(status().isOk());
+        assertEquals(detailEtag, fetchEtag("/api/trips/" + tripId));
+
+        mockMvc.perform(put("/api/attractions/" + attractionId1)
+                .header("Authorization", adminJwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Renamed\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/trips/" + tripId)
+                .header("Authorization", adminJwtToken)
+                .header(HttpHeaders.IF_NONE_MATCH, detailEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attractions[0].name").value("Renamed"));
+    }
+}